@@ -1,7 +1,10 @@
 package com.erp.course.backend.config;
 
+import com.erp.course.backend.security.IdempotencyKeyFilter;
 import com.erp.course.backend.security.JwtAuthenticationFilter;
+import com.erp.course.backend.service.IdempotencyStore;
 import com.erp.course.backend.service.UserDetailsServiceImpl;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -16,6 +19,7 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -34,6 +38,9 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
     
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+    
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
@@ -58,8 +65,12 @@ public class SecurityConfig {
             .csrf(AbstractHttpConfigurer::disable)
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
+                // Async handlers resume on an ASYNC dispatch of a request that was already authorized;
+                // the stateless JWT context is not carried over to it
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/health", "/actuator/health/**", "/actuator/info").permitAll()
+                .requestMatchers("/actuator/metrics/**").hasRole("ADMIN")
                 .requestMatchers("/", "/actuator/**", "/debug/**").permitAll()
                 .requestMatchers("/api/admin/**").hasRole("ADMIN")
                 .requestMatchers("/api/instructor/**").hasAnyRole("ADMIN", "INSTRUCTOR")
@@ -69,6 +80,8 @@ public class SecurityConfig {
         
         http.authenticationProvider(authenticationProvider());
         http.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+        // Not a bean on purpose: it must run inside the chain, after the user is authorized
+        http.addFilterAfter(new IdempotencyKeyFilter(idempotencyStore), AuthorizationFilter.class);
         
         return http.build();
     }
@@ -83,6 +96,7 @@ public class SecurityConfig {
         ));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        configuration.setExposedHeaders(Arrays.asList(IdempotencyKeyFilter.REPLAYED_HEADER, "ETag"));
         configuration.setAllowCredentials(true);
         
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -4,16 +4,27 @@ import com.erp.course.backend.dto.*;
 import com.erp.course.backend.service.InstructorService;
 import com.erp.course.backend.service.StudentService;
 import com.erp.course.backend.service.CourseService;
+import com.erp.course.backend.service.EnrollmentIndexService;
+import com.erp.course.backend.service.EnrollmentService;
+import com.erp.course.backend.service.ExportService;
+import com.erp.course.backend.service.FinalGradeService;
+import com.erp.course.backend.service.GpaService;
+import com.erp.course.backend.service.ScheduleConflictService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -30,18 +41,44 @@ public class AdminController {
     @Autowired
     private CourseService courseService;
     
+    @Autowired
+    private EnrollmentService enrollmentService;
+    
+    @Autowired
+    private EnrollmentIndexService enrollmentIndexService;
+    
+    @Autowired
+    private ScheduleConflictService scheduleConflictService;
+    
+    @Autowired
+    private ExportService exportService;
+    
+    @Autowired
+    private FinalGradeService finalGradeService;
+    
+    @Autowired
+    private GpaService gpaService;
+    
     // ================================
     // INSTRUCTOR MANAGEMENT ENDPOINTS
     // ================================
     
     @GetMapping("/instructors")
-    public ResponseEntity<List<InstructorResponse>> getAllInstructors() {
+    public ResponseEntity<?> getAllInstructors(@RequestParam(required = false) String cursor,
+                                               @RequestParam(required = false) Integer limit) {
+        if (cursor != null || limit != null) {
+            return pageOrBadRequest(() -> instructorService.getInstructorPage(false, null, cursor, limit));
+        }
         List<InstructorResponse> instructors = instructorService.getAllInstructors();
         return ResponseEntity.ok(instructors);
     }
     
     @GetMapping("/instructors/active")
-    public ResponseEntity<List<InstructorResponse>> getActiveInstructors() {
+    public ResponseEntity<?> getActiveInstructors(@RequestParam(required = false) String cursor,
+                                                  @RequestParam(required = false) Integer limit) {
+        if (cursor != null || limit != null) {
+            return pageOrBadRequest(() -> instructorService.getInstructorPage(true, null, cursor, limit));
+        }
         List<InstructorResponse> instructors = instructorService.getAllActiveInstructors();
         return ResponseEntity.ok(instructors);
     }
@@ -61,7 +98,12 @@ public class AdminController {
     }
     
     @GetMapping("/instructors/department/{department}")
-    public ResponseEntity<List<InstructorResponse>> getInstructorsByDepartment(@PathVariable String department) {
+    public ResponseEntity<?> getInstructorsByDepartment(@PathVariable String department,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(required = false) Integer limit) {
+        if (cursor != null || limit != null) {
+            return pageOrBadRequest(() -> instructorService.getInstructorPage(true, department, cursor, limit));
+        }
         List<InstructorResponse> instructors = instructorService.getInstructorsByDepartment(department);
         return ResponseEntity.ok(instructors);
     }
@@ -139,13 +181,21 @@ public class AdminController {
     // ================================
     
     @GetMapping("/students")
-    public ResponseEntity<List<StudentResponse>> getAllStudents() {
+    public ResponseEntity<?> getAllStudents(@RequestParam(required = false) String cursor,
+                                            @RequestParam(required = false) Integer limit) {
+        if (cursor != null || limit != null) {
+            return pageOrBadRequest(() -> studentService.getStudentPage(false, null, null, null, cursor, limit));
+        }
         List<StudentResponse> students = studentService.getAllStudents();
         return ResponseEntity.ok(students);
     }
     
     @GetMapping("/students/active")
-    public ResponseEntity<List<StudentResponse>> getActiveStudents() {
+    public ResponseEntity<?> getActiveStudents(@RequestParam(required = false) String cursor,
+                                               @RequestParam(required = false) Integer limit) {
+        if (cursor != null || limit != null) {
+            return pageOrBadRequest(() -> studentService.getStudentPage(true, null, null, null, cursor, limit));
+        }
         List<StudentResponse> students = studentService.getAllActiveStudents();
         return ResponseEntity.ok(students);
     }
@@ -165,19 +215,34 @@ public class AdminController {
     }
     
     @GetMapping("/students/major/{major}")
-    public ResponseEntity<List<StudentResponse>> getStudentsByMajor(@PathVariable String major) {
+    public ResponseEntity<?> getStudentsByMajor(@PathVariable String major,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(required = false) Integer limit) {
+        if (cursor != null || limit != null) {
+            return pageOrBadRequest(() -> studentService.getStudentPage(true, major, null, null, cursor, limit));
+        }
         List<StudentResponse> students = studentService.getStudentsByMajor(major);
         return ResponseEntity.ok(students);
     }
     
     @GetMapping("/students/year/{year}")
-    public ResponseEntity<List<StudentResponse>> getStudentsByYear(@PathVariable Integer year) {
+    public ResponseEntity<?> getStudentsByYear(@PathVariable Integer year,
+                                               @RequestParam(required = false) String cursor,
+                                               @RequestParam(required = false) Integer limit) {
+        if (cursor != null || limit != null) {
+            return pageOrBadRequest(() -> studentService.getStudentPage(true, null, year, null, cursor, limit));
+        }
         List<StudentResponse> students = studentService.getStudentsByYear(year);
         return ResponseEntity.ok(students);
     }
     
     @GetMapping("/students/status/{status}")
-    public ResponseEntity<List<StudentResponse>> getStudentsByStatus(@PathVariable String status) {
+    public ResponseEntity<?> getStudentsByStatus(@PathVariable String status,
+                                                 @RequestParam(required = false) String cursor,
+                                                 @RequestParam(required = false) Integer limit) {
+        if (cursor != null || limit != null) {
+            return pageOrBadRequest(() -> studentService.getStudentPage(true, null, null, status, cursor, limit));
+        }
         List<StudentResponse> students = studentService.getStudentsByStatus(status);
         return ResponseEntity.ok(students);
     }
@@ -255,14 +320,22 @@ public class AdminController {
     // ================================
     
     @GetMapping("/courses")
-    public ResponseEntity<List<CourseResponse>> getAllCourses() {
-        List<CourseResponse> courses = courseService.getAllCourses();
+    public ResponseEntity<?> getAllCourses(@RequestParam(required = false) String cursor,
+                                           @RequestParam(required = false) Integer limit) {
+        if (cursor != null || limit != null) {
+            return pageOrBadRequest(() -> courseService.getCoursePage(false, false, false, null, null, null, cursor, limit));
+        }
+        List<CourseSummary> courses = courseService.getAllCourses();
         return ResponseEntity.ok(courses);
     }
     
     @GetMapping("/courses/active")
-    public ResponseEntity<List<CourseResponse>> getActiveCourses() {
-        List<CourseResponse> courses = courseService.getAllActiveCourses();
+    public ResponseEntity<?> getActiveCourses(@RequestParam(required = false) String cursor,
+                                              @RequestParam(required = false) Integer limit) {
+        if (cursor != null || limit != null) {
+            return pageOrBadRequest(() -> courseService.getCoursePage(true, false, false, null, null, null, cursor, limit));
+        }
+        List<CourseSummary> courses = courseService.getAllActiveCourses();
         return ResponseEntity.ok(courses);
     }
     
@@ -281,26 +354,41 @@ public class AdminController {
     }
     
     @GetMapping("/courses/department/{department}")
-    public ResponseEntity<List<CourseResponse>> getCoursesByDepartment(@PathVariable String department) {
-        List<CourseResponse> courses = courseService.getCoursesByDepartment(department);
+    public ResponseEntity<?> getCoursesByDepartment(@PathVariable String department,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @RequestParam(required = false) Integer limit) {
+        if (cursor != null || limit != null) {
+            return pageOrBadRequest(() -> courseService.getCoursePage(true, false, false, department, null, null, cursor, limit));
+        }
+        List<CourseSummary> courses = courseService.getCoursesByDepartment(department);
         return ResponseEntity.ok(courses);
     }
     
     @GetMapping("/courses/semester/{semester}")
-    public ResponseEntity<List<CourseResponse>> getCoursesBySemester(@PathVariable Integer semester) {
-        List<CourseResponse> courses = courseService.getCoursesBySemester(semester);
+    public ResponseEntity<?> getCoursesBySemester(@PathVariable Integer semester,
+                                                  @RequestParam(required = false) String cursor,
+                                                  @RequestParam(required = false) Integer limit) {
+        if (cursor != null || limit != null) {
+            return pageOrBadRequest(() -> courseService.getCoursePage(true, false, false, null, semester, null, cursor, limit));
+        }
+        List<CourseSummary> courses = courseService.getCoursesBySemester(semester);
         return ResponseEntity.ok(courses);
     }
     
     @GetMapping("/courses/instructor/{instructorId}")
-    public ResponseEntity<List<CourseResponse>> getCoursesByInstructor(@PathVariable Long instructorId) {
-        List<CourseResponse> courses = courseService.getCoursesByInstructor(instructorId);
+    public ResponseEntity<?> getCoursesByInstructor(@PathVariable Long instructorId,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @RequestParam(required = false) Integer limit) {
+        if (cursor != null || limit != null) {
+            return pageOrBadRequest(() -> courseService.getCoursePage(false, false, false, null, null, instructorId, cursor, limit));
+        }
+        List<CourseSummary> courses = courseService.getCoursesByInstructor(instructorId);
         return ResponseEntity.ok(courses);
     }
     
     @GetMapping("/courses/search")
-    public ResponseEntity<List<CourseResponse>> searchCourses(@RequestParam String query) {
-        List<CourseResponse> courses = courseService.searchCoursesByNameOrCode(query);
+    public ResponseEntity<List<CourseSummary>> searchCourses(@RequestParam String query) {
+        List<CourseSummary> courses = courseService.searchCoursesByNameOrCode(query);
         return ResponseEntity.ok(courses);
     }
     
@@ -377,6 +465,36 @@ public class AdminController {
         }
     }
     
+    // Bulk roster enrollment: JSON body {"studentIds": [...]}
+    @PostMapping(value = "/courses/{courseId}/enroll", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> bulkEnrollStudents(@PathVariable Long courseId,
+                                                @Valid @RequestBody BulkEnrollmentRequest request) {
+        try {
+            BulkEnrollmentSummary summary = enrollmentService.bulkEnroll(courseId, request.getStudentIds());
+            return ResponseEntity.ok(summary);
+        } catch (RuntimeException e) {
+            System.out.println("❌ Error in bulkEnrollStudents: " + e.getMessage());
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+    
+    // Bulk roster enrollment: text/csv body with student ids separated by commas or new lines
+    @PostMapping(value = "/courses/{courseId}/enroll", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE})
+    public ResponseEntity<?> bulkEnrollStudentsCsv(@PathVariable Long courseId, @RequestBody String csv) {
+        try {
+            List<Long> studentIds = parseStudentIds(csv);
+            if (studentIds.size() > BulkEnrollmentRequest.MAX_STUDENT_IDS) {
+                return ResponseEntity.badRequest().body(new MessageResponse(
+                        "A single request may not enroll more than " + BulkEnrollmentRequest.MAX_STUDENT_IDS + " students"));
+            }
+            BulkEnrollmentSummary summary = enrollmentService.bulkEnroll(courseId, studentIds);
+            return ResponseEntity.ok(summary);
+        } catch (RuntimeException e) {
+            System.out.println("❌ Error in bulkEnrollStudentsCsv: " + e.getMessage());
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+    
     @DeleteMapping("/courses/{courseId}/enroll/{studentId}")
     public ResponseEntity<?> removeStudentFromCourse(@PathVariable Long courseId, @PathVariable Long studentId) {
         try {
@@ -387,6 +505,13 @@ public class AdminController {
         }
     }
     
+    // Every student currently enrolled in two courses whose timetables overlap
+    @GetMapping("/courses/schedule-conflicts")
+    public ResponseEntity<List<ScheduleConflict>> getScheduleConflicts() {
+        List<ScheduleConflict> conflicts = scheduleConflictService.findAllConflicts();
+        return ResponseEntity.ok(conflicts);
+    }
+    
     @PutMapping("/courses/{courseId}/enrollment/open")
     public ResponseEntity<?> openEnrollment(@PathVariable Long courseId) {
         try {
@@ -536,4 +661,127 @@ public class AdminController {
         
         return ResponseEntity.ok(statistics);
     }
-} 
\ No newline at end of file
+    
+    // Students enrolled in both courses, answered from the in-memory enrollment bitmaps
+    @GetMapping("/statistics/courses/{courseId}/co-enrollment/{otherCourseId}")
+    public ResponseEntity<Map<String, Object>> getCoEnrollmentStatistics(@PathVariable Long courseId,
+                                                                         @PathVariable Long otherCourseId,
+                                                                         @RequestParam(defaultValue = "false") boolean includeStudentIds) {
+        Map<String, Object> statistics = new HashMap<>();
+        
+        statistics.put("courseId", courseId);
+        statistics.put("otherCourseId", otherCourseId);
+        statistics.put("courseEnrollment", enrollmentIndexService.getEnrollmentCount(courseId));
+        statistics.put("otherCourseEnrollment", enrollmentIndexService.getEnrollmentCount(otherCourseId));
+        statistics.put("sharedStudents", enrollmentIndexService.getCoEnrollmentCount(courseId, otherCourseId));
+        if (includeStudentIds) {
+            statistics.put("studentIds", enrollmentIndexService.getCoEnrolledStudentIds(courseId, otherCourseId));
+        }
+        
+        return ResponseEntity.ok(statistics);
+    }
+    
+    // ================================
+    // FINAL GRADES
+    // ================================
+    
+    // Term-end rebuild of every course's final grades, several courses in parallel
+    @PostMapping("/final-grades/recompute")
+    public ResponseEntity<?> recomputeFinalGrades() {
+        try {
+            Map<String, Object> summary = finalGradeService.recomputeAllCourses();
+            return ResponseEntity.ok(summary);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+    
+    // Rebuild every student's GPA from final grades in the background; poll the GET for progress
+    @PostMapping("/gpa/recompute")
+    public ResponseEntity<?> startGpaRecompute() {
+        try {
+            GpaRecomputeStatus status = gpaService.startRecompute();
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(status);
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new MessageResponse(e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/gpa/recompute")
+    public ResponseEntity<?> getGpaRecomputeStatus() {
+        GpaRecomputeStatus status = gpaService.getRecomputeStatus();
+        if (status == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new MessageResponse("No GPA recompute has been started"));
+        }
+        return ResponseEntity.ok(status);
+    }
+    
+    // ================================
+    // DATA EXPORT
+    // ================================
+    
+    // Streams a whole table (students, instructors, courses or results) as NDJSON or CSV
+    @GetMapping("/export/{dataset}")
+    public ResponseEntity<?> exportData(@PathVariable String dataset,
+                                        @RequestParam(defaultValue = "ndjson") String format) {
+        ExportService.Dataset exportDataset;
+        ExportService.Format exportFormat;
+        try {
+            exportDataset = ExportService.Dataset.valueOf(dataset.toUpperCase());
+            exportFormat = ExportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Unknown export: " + dataset + " as " + format));
+        }
+        
+        StreamingResponseBody body = out -> exportService.export(exportDataset, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportService.contentType(exportFormat)))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + exportService.fileName(exportDataset, exportFormat) + "\"")
+                .body(body);
+    }
+    
+    // ================================
+    // HELPER METHODS
+    // ================================
+    
+    // Paged variant of a list endpoint; an invalid cursor is a client error
+    private ResponseEntity<?> pageOrBadRequest(Supplier<CursorPage<?>> page) {
+        try {
+            return ResponseEntity.ok(page.get());
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+    
+    // Accepts one id per line or comma/semicolon separated ids; a first line without any numeric
+    // token is treated as a header, any other non-numeric token is rejected
+    private List<Long> parseStudentIds(String csv) {
+        List<Long> studentIds = new ArrayList<>();
+        if (csv == null) {
+            return studentIds;
+        }
+        String[] lines = csv.split("\\r?\\n");
+        for (int i = 0; i < lines.length; i++) {
+            List<Long> lineIds = new ArrayList<>();
+            String invalid = null;
+            for (String token : lines[i].split("[,;\\s]+")) {
+                if (token.isEmpty()) {
+                    continue;
+                }
+                try {
+                    lineIds.add(Long.valueOf(token));
+                } catch (NumberFormatException e) {
+                    if (invalid == null) {
+                        invalid = token;
+                    }
+                }
+            }
+            if (invalid != null && !(i == 0 && lineIds.isEmpty())) {
+                throw new RuntimeException("Invalid student id in CSV at line " + (i + 1) + ": " + invalid);
+            }
+            studentIds.addAll(lineIds);
+        }
+        return studentIds;
+    }
+}
@@ -8,8 +8,11 @@ import com.erp.course.backend.entity.User;
 import com.erp.course.backend.service.CourseContentService;
 import com.erp.course.backend.service.InstructorService;
 import com.erp.course.backend.service.StudentService;
+import com.erp.course.backend.util.ETags;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -142,13 +145,21 @@ public class CourseContentController {
     @PreAuthorize("hasRole('STUDENT')")
     public ResponseEntity<List<CourseContentResponse>> getPublishedContentForCourse(
             @PathVariable Long courseId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
             Authentication authentication) {
         try {
             User user = (User) authentication.getPrincipal();
             Long studentId = studentService.getStudentByEmail(user.getEmail()).getId();
             
+            // Unchanged content is answered from the version query alone
+            String etag = courseContentService.getPublishedContentETag(courseId, studentId);
+            CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+            }
+            
             List<CourseContentResponse> content = courseContentService.getPublishedContentForCourse(courseId, studentId);
-            return ResponseEntity.ok(content);
+            return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(content);
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
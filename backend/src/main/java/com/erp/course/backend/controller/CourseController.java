@@ -1,12 +1,15 @@
 package com.erp.course.backend.controller;
 
 import com.erp.course.backend.dto.*;
+import com.erp.course.backend.service.CourseFacetService;
 import com.erp.course.backend.service.CourseService;
+import com.erp.course.backend.service.EnrollmentQueueService;
 import com.erp.course.backend.service.StudentService;
 import com.erp.course.backend.entity.User;
 import com.erp.course.backend.entity.Student;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -17,6 +20,8 @@ import org.springframework.web.bind.annotation.*;
 import java.util.List;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/courses")
@@ -26,23 +31,40 @@ public class CourseController {
     @Autowired
     private CourseService courseService;
     
+    @Autowired
+    private CourseFacetService courseFacetService;
+    
     @Autowired
     private StudentService studentService;
     
+    @Autowired
+    private EnrollmentQueueService enrollmentQueueService;
+    
+    @Autowired
+    private AsyncTaskExecutor applicationTaskExecutor;
+    
     // ================================
     // ADMIN COURSE MANAGEMENT
     // ================================
     
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<CourseResponse>> getAllCourses() {
-        List<CourseResponse> courses = courseService.getAllCourses();
+    public ResponseEntity<?> getAllCourses(@RequestParam(required = false) String cursor,
+                                           @RequestParam(required = false) Integer limit) {
+        if (cursor != null || limit != null) {
+            return pageOrBadRequest(() -> courseService.getCoursePage(false, false, false, null, null, null, cursor, limit));
+        }
+        List<CourseSummary> courses = courseService.getAllCourses();
         return ResponseEntity.ok(courses);
     }
     
     @GetMapping("/active")
-    public ResponseEntity<List<CourseResponse>> getActiveCourses() {
-        List<CourseResponse> courses = courseService.getAllActiveCourses();
+    public ResponseEntity<?> getActiveCourses(@RequestParam(required = false) String cursor,
+                                              @RequestParam(required = false) Integer limit) {
+        if (cursor != null || limit != null) {
+            return pageOrBadRequest(() -> courseService.getCoursePage(true, false, false, null, null, null, cursor, limit));
+        }
+        List<CourseSummary> courses = courseService.getAllActiveCourses();
         return ResponseEntity.ok(courses);
     }
     
@@ -120,41 +142,84 @@ public class CourseController {
     // ================================
     
     @GetMapping("/department/{department}")
-    public ResponseEntity<List<CourseResponse>> getCoursesByDepartment(@PathVariable String department) {
-        List<CourseResponse> courses = courseService.getCoursesByDepartment(department);
+    public ResponseEntity<?> getCoursesByDepartment(@PathVariable String department,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @RequestParam(required = false) Integer limit) {
+        if (cursor != null || limit != null) {
+            return pageOrBadRequest(() -> courseService.getCoursePage(true, false, false, department, null, null, cursor, limit));
+        }
+        List<CourseSummary> courses = courseService.getCoursesByDepartment(department);
         return ResponseEntity.ok(courses);
     }
     
     @GetMapping("/semester/{semester}")
-    public ResponseEntity<List<CourseResponse>> getCoursesBySemester(@PathVariable Integer semester) {
-        List<CourseResponse> courses = courseService.getCoursesBySemester(semester);
+    public ResponseEntity<?> getCoursesBySemester(@PathVariable Integer semester,
+                                                  @RequestParam(required = false) String cursor,
+                                                  @RequestParam(required = false) Integer limit) {
+        if (cursor != null || limit != null) {
+            return pageOrBadRequest(() -> courseService.getCoursePage(true, false, false, null, semester, null, cursor, limit));
+        }
+        List<CourseSummary> courses = courseService.getCoursesBySemester(semester);
         return ResponseEntity.ok(courses);
     }
     
     @GetMapping("/instructor/{instructorId}")
-    public ResponseEntity<List<CourseResponse>> getCoursesByInstructor(@PathVariable Long instructorId) {
-        List<CourseResponse> courses = courseService.getCoursesByInstructor(instructorId);
+    public ResponseEntity<?> getCoursesByInstructor(@PathVariable Long instructorId,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @RequestParam(required = false) Integer limit) {
+        if (cursor != null || limit != null) {
+            return pageOrBadRequest(() -> courseService.getCoursePage(false, false, false, null, null, instructorId, cursor, limit));
+        }
+        List<CourseSummary> courses = courseService.getCoursesByInstructor(instructorId);
         return ResponseEntity.ok(courses);
     }
     
     @GetMapping("/search")
-    public ResponseEntity<List<CourseResponse>> searchCourses(@RequestParam String query) {
-        List<CourseResponse> courses = courseService.searchCoursesByNameOrCode(query);
+    public ResponseEntity<List<CourseSummary>> searchCourses(@RequestParam String query) {
+        List<CourseSummary> courses = courseService.searchCoursesByNameOrCode(query);
         return ResponseEntity.ok(courses);
     }
     
     @GetMapping("/available")
-    public ResponseEntity<List<CourseResponse>> getCoursesWithAvailableSpots() {
-        List<CourseResponse> courses = courseService.getCoursesWithAvailableSpots();
+    public ResponseEntity<?> getCoursesWithAvailableSpots(@RequestParam(required = false) String cursor,
+                                                          @RequestParam(required = false) Integer limit) {
+        if (cursor != null || limit != null) {
+            return pageOrBadRequest(() -> courseService.getCoursePage(true, true, true, null, null, null, cursor, limit));
+        }
+        List<CourseSummary> courses = courseService.getCoursesWithAvailableSpots();
         return ResponseEntity.ok(courses);
     }
     
     @GetMapping("/enrollment-open")
-    public ResponseEntity<List<CourseResponse>> getCoursesWithOpenEnrollment() {
-        List<CourseResponse> courses = courseService.getCoursesWithOpenEnrollment();
+    public ResponseEntity<?> getCoursesWithOpenEnrollment(@RequestParam(required = false) String cursor,
+                                                          @RequestParam(required = false) Integer limit) {
+        if (cursor != null || limit != null) {
+            return pageOrBadRequest(() -> courseService.getCoursePage(true, true, false, null, null, null, cursor, limit));
+        }
+        List<CourseSummary> courses = courseService.getCoursesWithOpenEnrollment();
         return ResponseEntity.ok(courses);
     }
     
+    // Any combination of filters (repeat a parameter to OR values); returns one page plus
+    // per-value counts for department, semester, credits, enrollmentOpen and hasSeats
+    @GetMapping("/catalog")
+    public ResponseEntity<?> searchCatalog(@RequestParam(required = false) String query,
+                                           @RequestParam(required = false) List<String> department,
+                                           @RequestParam(required = false) List<Integer> semester,
+                                           @RequestParam(required = false) List<Integer> credits,
+                                           @RequestParam(required = false) Boolean enrollmentOpen,
+                                           @RequestParam(required = false) Boolean hasSeats,
+                                           @RequestParam(required = false) String cursor,
+                                           @RequestParam(required = false) Integer limit) {
+        try {
+            CourseFacetPage page = courseFacetService.search(query, department, semester, credits,
+                    enrollmentOpen, hasSeats, cursor, limit);
+            return ResponseEntity.ok(page);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+    
     // ================================
     // ENROLLMENT MANAGEMENT (ADMIN)
     // ================================
@@ -209,17 +274,35 @@ public class CourseController {
     
     @PostMapping("/{courseId}/self-enroll")
     @PreAuthorize("hasRole('STUDENT')")
-    public ResponseEntity<?> selfEnrollInCourse(@PathVariable Long courseId) {
+    public CompletableFuture<ResponseEntity<?>> selfEnrollInCourse(@PathVariable Long courseId) {
         try {
             // Get student ID from security context - this would need to be implemented
             // For now, assuming we get it from the request or session
             // TODO: Implement proper student ID retrieval from security context
             Long studentId = getCurrentStudentId();
             
-            CourseResponse course = courseService.enrollStudent(courseId, studentId);
-            return ResponseEntity.ok(course);
+            // Goes through the admission queue without holding the request thread; answers 202 with
+            // the ticket if the batch has not run within the await time. The course is loaded on the
+            // task executor rather than on the queue's drainer thread that completes the ticket.
+            return enrollmentQueueService.submitAsync(courseId, studentId).<ResponseEntity<?>>thenApplyAsync(ticket -> {
+                if (!ticket.isDone()) {
+                    return ResponseEntity.accepted().body(ticket);
+                }
+                if (ticket.isWaitlisted()) {
+                    return ResponseEntity.ok(ticket);
+                }
+                if (!ticket.isEnrolled()) {
+                    return ResponseEntity.badRequest().body(new MessageResponse(ticket.getMessage()));
+                }
+                try {
+                    CourseResponse course = courseService.getCourseByIdOrThrow(courseId);
+                    return ResponseEntity.ok(course);
+                } catch (RuntimeException e) {
+                    return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+                }
+            }, applicationTaskExecutor);
         } catch (RuntimeException e) {
-            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(new MessageResponse(e.getMessage())));
         }
     }
     
@@ -238,14 +321,14 @@ public class CourseController {
     }
     
     @GetMapping("/student/{studentId}")
-    public ResponseEntity<List<CourseResponse>> getCoursesForStudent(@PathVariable Long studentId) {
-        List<CourseResponse> courses = courseService.getCoursesForStudent(studentId);
+    public ResponseEntity<List<CourseSummary>> getCoursesForStudent(@PathVariable Long studentId) {
+        List<CourseSummary> courses = courseService.getCoursesForStudent(studentId);
         return ResponseEntity.ok(courses);
     }
     
     @GetMapping("/student/{studentId}/available")
-    public ResponseEntity<List<CourseResponse>> getAvailableCoursesForStudent(@PathVariable Long studentId) {
-        List<CourseResponse> courses = courseService.getAvailableCoursesForStudent(studentId);
+    public ResponseEntity<List<CourseSummary>> getAvailableCoursesForStudent(@PathVariable Long studentId) {
+        List<CourseSummary> courses = courseService.getAvailableCoursesForStudent(studentId);
         return ResponseEntity.ok(courses);
     }
     
@@ -254,7 +337,7 @@ public class CourseController {
     public ResponseEntity<?> getMyCourses() {
         try {
             Long studentId = getCurrentStudentId();
-            List<CourseResponse> courses = courseService.getCoursesForStudent(studentId);
+            List<CourseSummary> courses = courseService.getCoursesForStudent(studentId);
             return ResponseEntity.ok(courses);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
@@ -266,7 +349,7 @@ public class CourseController {
     public ResponseEntity<?> getMyAvailableCourses() {
         try {
             Long studentId = getCurrentStudentId();
-            List<CourseResponse> courses = courseService.getAvailableCoursesForStudent(studentId);
+            List<CourseSummary> courses = courseService.getAvailableCoursesForStudent(studentId);
             return ResponseEntity.ok(courses);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
@@ -337,6 +420,15 @@ public class CourseController {
     // HELPER METHODS
     // ================================
     
+    // Paged variant of a list endpoint; an invalid cursor is a client error
+    private ResponseEntity<?> pageOrBadRequest(Supplier<CursorPage<?>> page) {
+        try {
+            return ResponseEntity.ok(page.get());
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+    
     private Long getCurrentStudentId() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         
@@ -2,6 +2,8 @@ package com.erp.course.backend.controller;
 
 import com.erp.course.backend.dto.*;
 import com.erp.course.backend.service.CourseService;
+import com.erp.course.backend.service.FinalGradeService;
+import com.erp.course.backend.service.RankService;
 import com.erp.course.backend.service.InstructorService;
 import com.erp.course.backend.service.StudentService;
 import com.erp.course.backend.service.ResultService;
@@ -14,6 +16,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
@@ -36,6 +39,12 @@ public class InstructorController {
     @Autowired
     private ResultService resultService;
     
+    @Autowired
+    private FinalGradeService finalGradeService;
+    
+    @Autowired
+    private RankService rankService;
+    
     // ================================
     // INSTRUCTOR PROFILE ENDPOINTS
     // ================================
@@ -111,7 +120,8 @@ public class InstructorController {
     public ResponseEntity<?> getMyCourses() {
         try {
             Long instructorId = getCurrentInstructorId();
-            List<CourseResponse> courses = courseService.getCoursesByInstructor(instructorId);
+            // The dashboard builds its student list from these rosters
+            List<CourseResponse> courses = courseService.getCoursesWithRosterByInstructor(instructorId);
             return ResponseEntity.ok(courses);
         } catch (RuntimeException e) {
             System.out.println("❌ Error in getMyCourses: " + e.getMessage());
@@ -120,10 +130,10 @@ public class InstructorController {
     }
     
     @GetMapping("/courses/active")
-    public ResponseEntity<List<CourseResponse>> getMyActiveCourses() {
+    public ResponseEntity<List<CourseSummary>> getMyActiveCourses() {
         try {
             Long instructorId = getCurrentInstructorId();
-            List<CourseResponse> courses = courseService.getActiveCoursesByInstructor(instructorId);
+            List<CourseSummary> courses = courseService.getActiveCoursesByInstructor(instructorId);
             return ResponseEntity.ok(courses);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
@@ -287,6 +297,7 @@ public class InstructorController {
             statistics.put("enrollmentOpen", course.getEnrollmentOpen());
             statistics.put("utilizationRate", course.getMaxCapacity() > 0 ? 
                 (double) course.getCurrentEnrollment() / course.getMaxCapacity() * 100 : 0.0);
+            statistics.put("results", resultService.getResultAggregateForCourse(courseId));
             
             return ResponseEntity.ok(statistics);
         } catch (RuntimeException e) {
@@ -336,6 +347,19 @@ public class InstructorController {
         }
     }
     
+    // Whole assessment column in one request; each entry is reported separately
+    @PostMapping("/courses/{courseId}/results/batch")
+    public ResponseEntity<?> createResultBatch(@PathVariable Long courseId, @Valid @RequestBody ResultBatchRequest request) {
+        try {
+            Long instructorId = getCurrentInstructorId();
+            ResultBatchSummary summary = resultService.createResultBatch(courseId, instructorId, request);
+            return ResponseEntity.ok(summary);
+        } catch (RuntimeException e) {
+            System.out.println("❌ Error in createResultBatch: " + e.getMessage());
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+    
     @PutMapping("/results/{resultId}")
     public ResponseEntity<?> updateResult(@PathVariable Long resultId, @Valid @RequestBody ResultRequest request) {
         try {
@@ -403,17 +427,40 @@ public class InstructorController {
     }
     
     @PutMapping("/courses/{courseId}/results/release")
-    public ResponseEntity<?> releaseAllResultsForCourse(@PathVariable Long courseId) {
+    public ResponseEntity<?> releaseAllResultsForCourse(@PathVariable Long courseId,
+                                                        @RequestParam(required = false) String title,
+                                                        @RequestParam(required = false) String resultType) {
         try {
             Long instructorId = getCurrentInstructorId();
-            resultService.bulkReleaseResultsForCourse(courseId);
-            return ResponseEntity.ok(new MessageResponse("All results released successfully"));
+            int released = resultService.bulkReleaseResults(courseId, instructorId, title, resultType);
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", "All results released successfully");
+            response.put("updatedCount", released);
+            return ResponseEntity.ok(response);
         } catch (RuntimeException e) {
             System.out.println("❌ Error in releaseAllResultsForCourse: " + e.getMessage());
             return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
         }
     }
     
+    // Optional title and resultType narrow the unrelease to one assessment or type
+    @PutMapping("/courses/{courseId}/results/unrelease")
+    public ResponseEntity<?> unreleaseAllResultsForCourse(@PathVariable Long courseId,
+                                                          @RequestParam(required = false) String title,
+                                                          @RequestParam(required = false) String resultType) {
+        try {
+            Long instructorId = getCurrentInstructorId();
+            int unreleased = resultService.bulkUnreleaseResults(courseId, instructorId, title, resultType);
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", "All results unreleased successfully");
+            response.put("updatedCount", unreleased);
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            System.out.println("❌ Error in unreleaseAllResultsForCourse: " + e.getMessage());
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+    
     // ================================
     // RESULT STATISTICS ENDPOINTS
     // ================================
@@ -432,6 +479,47 @@ public class InstructorController {
         }
     }
     
+    // Histogram in whole-point bins (default 10), letter grades and a per-type breakdown;
+    // released=true or false restricts to one release state
+    @GetMapping("/courses/{courseId}/results/distribution")
+    public ResponseEntity<?> getResultDistributionForCourse(@PathVariable Long courseId,
+                                                            @RequestParam(defaultValue = "10") Integer binWidth,
+                                                            @RequestParam(required = false) Boolean released) {
+        try {
+            ResultDistribution distribution = resultService.getBinnedDistributionForCourse(courseId, released, binWidth);
+            return ResponseEntity.ok(distribution);
+        } catch (RuntimeException e) {
+            System.out.println("❌ Error in getResultDistributionForCourse: " + e.getMessage());
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+    
+    // Average, spread and range of each assessment in the course, keyed by title
+    @GetMapping("/courses/{courseId}/results/assessments")
+    public ResponseEntity<?> getAssessmentAggregatesForCourse(@PathVariable Long courseId) {
+        try {
+            Map<String, ResultAggregate> assessments = resultService.getAssessmentAggregatesForCourse(courseId);
+            return ResponseEntity.ok(assessments);
+        } catch (RuntimeException e) {
+            System.out.println("❌ Error in getAssessmentAggregatesForCourse: " + e.getMessage());
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+    
+    // Released-result summary with quartiles; e.g. ?percentiles=10,90 adds p10 and p90
+    @GetMapping("/courses/{courseId}/results/statistics")
+    public ResponseEntity<?> getResultStatisticsForCourse(@PathVariable Long courseId,
+                                                          @RequestParam(required = false) List<Double> percentiles) {
+        try {
+            ResultService.ResultStatistics statistics = resultService.getResultStatisticsForCourse(
+                    courseId, percentiles != null ? percentiles : List.of());
+            return ResponseEntity.ok(statistics);
+        } catch (RuntimeException e) {
+            System.out.println("❌ Error in getResultStatisticsForCourse: " + e.getMessage());
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+    
     @GetMapping("/courses/{courseId}/students/{studentId}/results/average")
     public ResponseEntity<?> getAverageResultForStudentInCourse(@PathVariable Long courseId, @PathVariable Long studentId) {
         try {
@@ -447,6 +535,70 @@ public class InstructorController {
         }
     }
     
+    // ================================
+    // FINAL GRADE ENDPOINTS
+    // ================================
+    
+    @GetMapping("/courses/{courseId}/grading-scheme")
+    public ResponseEntity<?> getGradingScheme(@PathVariable Long courseId) {
+        try {
+            GradingScheme scheme = finalGradeService.getGradingScheme(courseId);
+            return ResponseEntity.ok(scheme);
+        } catch (RuntimeException e) {
+            System.out.println("❌ Error in getGradingScheme: " + e.getMessage());
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+    
+    // Replaces the whole scheme and recomputes the course's final grades; an empty list
+    // falls back to the plain average of released results
+    @PutMapping("/courses/{courseId}/grading-scheme")
+    public ResponseEntity<?> setGradingScheme(@PathVariable Long courseId, @Valid @RequestBody GradingScheme request) {
+        try {
+            Long instructorId = getCurrentInstructorId();
+            GradingScheme scheme = finalGradeService.setGradingScheme(courseId, instructorId, request);
+            return ResponseEntity.ok(scheme);
+        } catch (RuntimeException e) {
+            System.out.println("❌ Error in setGradingScheme: " + e.getMessage());
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/courses/{courseId}/final-grades")
+    public ResponseEntity<?> getFinalGradesForCourse(@PathVariable Long courseId) {
+        try {
+            List<FinalGradeResponse> finalGrades = finalGradeService.getFinalGradesForCourse(courseId);
+            return ResponseEntity.ok(finalGrades);
+        } catch (RuntimeException e) {
+            System.out.println("❌ Error in getFinalGradesForCourse: " + e.getMessage());
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/courses/{courseId}/students/{studentId}/rank")
+    public ResponseEntity<?> getStudentRankInCourse(@PathVariable Long courseId, @PathVariable Long studentId) {
+        try {
+            RankResponse rank = rankService.getCourseRank(courseId, studentId);
+            return ResponseEntity.ok(rank);
+        } catch (RuntimeException e) {
+            System.out.println("❌ Error in getStudentRankInCourse: " + e.getMessage());
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+    
+    // Lowest final grade inside the top N percent, e.g. ?top=10,25,50 gives top10, top25 and top50
+    @GetMapping("/courses/{courseId}/rank/cutoffs")
+    public ResponseEntity<?> getRankCutoffsForCourse(@PathVariable Long courseId,
+                                                     @RequestParam(defaultValue = "10,25,50") List<Double> top) {
+        try {
+            Map<String, BigDecimal> cutoffs = rankService.getCourseCutoffs(courseId, top);
+            return ResponseEntity.ok(cutoffs);
+        } catch (RuntimeException e) {
+            System.out.println("❌ Error in getRankCutoffsForCourse: " + e.getMessage());
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+    
     // ================================
     // UTILITY METHODS
     // ================================
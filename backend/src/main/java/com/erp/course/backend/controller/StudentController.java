@@ -2,20 +2,31 @@ package com.erp.course.backend.controller;
 
 import com.erp.course.backend.dto.*;
 import com.erp.course.backend.service.CourseService;
+import com.erp.course.backend.service.EnrollmentQueueService;
+import com.erp.course.backend.service.FinalGradeService;
+import com.erp.course.backend.service.RankService;
 import com.erp.course.backend.service.StudentService;
 import com.erp.course.backend.service.ResultService;
+import com.erp.course.backend.service.WaitlistService;
+import com.erp.course.backend.util.ETags;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/student")
@@ -32,6 +43,21 @@ public class StudentController {
     @Autowired
     private ResultService resultService;
     
+    @Autowired
+    private EnrollmentQueueService enrollmentQueueService;
+    
+    @Autowired
+    private WaitlistService waitlistService;
+    
+    @Autowired
+    private FinalGradeService finalGradeService;
+    
+    @Autowired
+    private RankService rankService;
+    
+    @Autowired
+    private AsyncTaskExecutor applicationTaskExecutor;
+    
     // ================================
     // STUDENT PROFILE ENDPOINTS
     // ================================
@@ -64,11 +90,16 @@ public class StudentController {
     // ================================
     
     @GetMapping("/courses")
-    public ResponseEntity<?> getMyEnrolledCourses() {
+    public ResponseEntity<?> getMyEnrolledCourses(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
             Long studentId = getCurrentStudentId();
-            List<CourseResponse> courses = courseService.getCoursesForStudent(studentId);
-            return ResponseEntity.ok(courses);
+            String etag = courseService.getCoursesForStudentETag(studentId);
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return notModified(etag);
+            }
+            List<CourseSummary> courses = courseService.getCoursesForStudent(studentId);
+            return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache().cachePrivate()).body(courses);
         } catch (RuntimeException e) {
             System.out.println("❌ Error in getMyEnrolledCourses: " + e.getMessage());
             return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
@@ -76,9 +107,13 @@ public class StudentController {
     }
     
     @GetMapping("/courses/available")
-    public ResponseEntity<?> getAvailableCourses() {
+    public ResponseEntity<?> getAvailableCourses(@RequestParam(required = false) String cursor,
+                                                 @RequestParam(required = false) Integer limit) {
         try {
-            List<CourseResponse> courses = courseService.getCoursesWithOpenEnrollment();
+            if (cursor != null || limit != null) {
+                return ResponseEntity.ok(courseService.getCoursePage(true, true, false, null, null, null, cursor, limit));
+            }
+            List<CourseSummary> courses = courseService.getCoursesWithOpenEnrollment();
             return ResponseEntity.ok(courses);
         } catch (RuntimeException e) {
             System.out.println("❌ Error in getAvailableCourses: " + e.getMessage());
@@ -87,13 +122,76 @@ public class StudentController {
     }
     
     @PostMapping("/courses/{courseId}/enroll")
-    public ResponseEntity<?> enrollInCourse(@PathVariable Long courseId) {
+    public CompletableFuture<ResponseEntity<?>> enrollInCourse(@PathVariable Long courseId) {
         try {
             Long studentId = getCurrentStudentId();
-            courseService.enrollStudent(courseId, studentId);
-            return ResponseEntity.ok(new MessageResponse("Successfully enrolled in course"));
+            // Goes through the admission queue without holding the request thread; answers 202 with
+            // the ticket if the batch has not run within the await time
+            return enrollmentQueueService.submitAsync(courseId, studentId).<ResponseEntity<?>>thenApply(ticket -> {
+                if (!ticket.isDone()) {
+                    return ResponseEntity.accepted().body(ticket);
+                }
+                if (!ticket.isEnrolled() && !ticket.isWaitlisted()) {
+                    return ResponseEntity.badRequest().body(ticket);
+                }
+                return ResponseEntity.ok(ticket);
+            });
         } catch (RuntimeException e) {
             System.out.println("❌ Error in enrollInCourse: " + e.getMessage());
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(new MessageResponse(e.getMessage())));
+        }
+    }
+    
+    @PostMapping("/courses/{courseId}/enroll/ticket")
+    public ResponseEntity<?> requestEnrollmentTicket(@PathVariable Long courseId) {
+        try {
+            Long studentId = getCurrentStudentId();
+            EnrollmentTicket ticket = enrollmentQueueService.submit(courseId, studentId);
+            return ResponseEntity.accepted().body(ticket);
+        } catch (RuntimeException e) {
+            System.out.println("❌ Error in requestEnrollmentTicket: " + e.getMessage());
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/enrollment-tickets/{ticketId}")
+    public ResponseEntity<?> getEnrollmentTicket(@PathVariable String ticketId) {
+        try {
+            Long studentId = getCurrentStudentId();
+            EnrollmentTicket ticket = enrollmentQueueService.getTicket(ticketId)
+                    .orElseThrow(() -> new RuntimeException("Enrollment ticket not found or expired"));
+            if (!ticket.getStudentId().equals(studentId)) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+            }
+            return ResponseEntity.ok(ticket);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/enrollment-tickets/{ticketId}/stream")
+    public ResponseEntity<?> streamEnrollmentTicket(@PathVariable String ticketId) {
+        try {
+            Long studentId = getCurrentStudentId();
+            EnrollmentTicket ticket = enrollmentQueueService.getTicket(ticketId)
+                    .orElseThrow(() -> new RuntimeException("Enrollment ticket not found or expired"));
+            if (!ticket.getStudentId().equals(studentId)) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+            }
+            
+            SseEmitter emitter = new SseEmitter(60000L);
+            emitter.send(SseEmitter.event().name("ticket").data(ticket));
+            // Written on the task executor, so a slow client never holds up the queue's drainer thread
+            ticket.getCompletion().whenCompleteAsync((completed, error) -> {
+                try {
+                    emitter.send(SseEmitter.event().name("outcome").data(completed));
+                    emitter.complete();
+                } catch (IOException e) {
+                    emitter.completeWithError(e);
+                }
+            }, applicationTaskExecutor);
+            return ResponseEntity.ok(emitter);
+        } catch (IOException | RuntimeException e) {
             return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
         }
     }
@@ -102,14 +200,53 @@ public class StudentController {
     public ResponseEntity<?> unenrollFromCourse(@PathVariable Long courseId) {
         try {
             Long studentId = getCurrentStudentId();
-            courseService.removeStudentFromCourse(courseId, studentId);
-            return ResponseEntity.ok(new MessageResponse("Successfully unenrolled from course"));
+            EnrollmentResult result = waitlistService.unenrollAndPromote(courseId, studentId);
+            return ResponseEntity.ok(result);
         } catch (RuntimeException e) {
             System.out.println("❌ Error in unenrollFromCourse: " + e.getMessage());
             return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
         }
     }
     
+    // ================================
+    // WAITLIST ENDPOINTS
+    // ================================
+    
+    @PostMapping("/courses/{courseId}/waitlist")
+    public ResponseEntity<?> joinWaitlist(@PathVariable Long courseId) {
+        try {
+            Long studentId = getCurrentStudentId();
+            WaitlistPosition position = waitlistService.joinWaitlist(courseId, studentId);
+            return ResponseEntity.ok(position);
+        } catch (RuntimeException e) {
+            System.out.println("❌ Error in joinWaitlist: " + e.getMessage());
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+    
+    @DeleteMapping("/courses/{courseId}/waitlist")
+    public ResponseEntity<?> leaveWaitlist(@PathVariable Long courseId) {
+        try {
+            Long studentId = getCurrentStudentId();
+            waitlistService.leaveWaitlist(courseId, studentId);
+            return ResponseEntity.ok(new MessageResponse("Successfully left the waitlist"));
+        } catch (RuntimeException e) {
+            System.out.println("❌ Error in leaveWaitlist: " + e.getMessage());
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/courses/{courseId}/waitlist/position")
+    public ResponseEntity<?> getMyWaitlistPosition(@PathVariable Long courseId) {
+        try {
+            Long studentId = getCurrentStudentId();
+            WaitlistPosition position = waitlistService.getPosition(courseId, studentId);
+            return ResponseEntity.ok(position);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+    
     @GetMapping("/courses/{courseId}")
     public ResponseEntity<CourseResponse> getMyCourseById(@PathVariable Long courseId) {
         try {
@@ -132,11 +269,16 @@ public class StudentController {
     // ================================
     
     @GetMapping("/results")
-    public ResponseEntity<?> getMyResults() {
+    public ResponseEntity<?> getMyResults(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
             Long studentId = getCurrentStudentId();
+            String etag = resultService.getReleasedResultsETag(studentId);
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return notModified(etag);
+            }
             List<ResultResponse> results = resultService.getReleasedResultsByStudent(studentId);
-            return ResponseEntity.ok(results);
+            return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache().cachePrivate()).body(results);
         } catch (RuntimeException e) {
             System.out.println("❌ Error in getMyResults: " + e.getMessage());
             return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
@@ -185,6 +327,45 @@ public class StudentController {
         }
     }
     
+    // Weighted final grade of every course with released results
+    @GetMapping("/final-grades")
+    public ResponseEntity<?> getMyFinalGrades() {
+        try {
+            Long studentId = getCurrentStudentId();
+            List<FinalGradeResponse> finalGrades = finalGradeService.getFinalGradesForStudent(studentId);
+            return ResponseEntity.ok(finalGrades);
+        } catch (RuntimeException e) {
+            System.out.println("❌ Error in getMyFinalGrades: " + e.getMessage());
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+    
+    // Standing in a course by final grade, e.g. rank 3 of 40, top 7.5%
+    @GetMapping("/courses/{courseId}/rank")
+    public ResponseEntity<?> getMyCourseRank(@PathVariable Long courseId) {
+        try {
+            Long studentId = getCurrentStudentId();
+            RankResponse rank = rankService.getCourseRank(courseId, studentId);
+            return ResponseEntity.ok(rank);
+        } catch (RuntimeException e) {
+            System.out.println("❌ Error in getMyCourseRank: " + e.getMessage());
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+    
+    // Standing by GPA among active students of the same major
+    @GetMapping("/rank")
+    public ResponseEntity<?> getMyMajorRank() {
+        try {
+            Long studentId = getCurrentStudentId();
+            RankResponse rank = rankService.getMajorRank(studentId);
+            return ResponseEntity.ok(rank);
+        } catch (RuntimeException e) {
+            System.out.println("❌ Error in getMyMajorRank: " + e.getMessage());
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+    
     // ================================
     // STATISTICS ENDPOINTS
     // ================================
@@ -194,7 +375,7 @@ public class StudentController {
         try {
             Long studentId = getCurrentStudentId();
             StudentResponse profile = studentService.getStudentByIdOrThrow(studentId);
-            List<CourseResponse> enrolledCourses = courseService.getCoursesForStudent(studentId);
+            List<CourseSummary> enrolledCourses = courseService.getCoursesForStudent(studentId);
             List<ResultResponse> results = resultService.getReleasedResultsByStudent(studentId);
             Double averageResult = resultService.getAverageResultForStudent(studentId);
             
@@ -232,6 +413,14 @@ public class StudentController {
     // UTILITY METHODS
     // ================================
     
+    // Polling dashboards revalidate with If-None-Match; private so shared caches never keep it
+    private ResponseEntity<?> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .build();
+    }
+    
     private String getCurrentSemester() {
         // Simple semester calculation based on current date
         java.time.LocalDate now = java.time.LocalDate.now();
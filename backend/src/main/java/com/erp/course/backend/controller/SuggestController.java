@@ -0,0 +1,84 @@
+package com.erp.course.backend.controller;
+
+import com.erp.course.backend.dto.MessageResponse;
+import com.erp.course.backend.dto.Suggestion;
+import com.erp.course.backend.service.SuggestService;
+import com.erp.course.backend.util.PrefixTrie;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/suggest")
+@CrossOrigin(origins = "*")
+public class SuggestController {
+    
+    @Autowired
+    private SuggestService suggestService;
+    
+    // Typeahead completions; types defaults to every type the caller may see
+    @GetMapping
+    public ResponseEntity<?> suggest(@RequestParam String q,
+                                     @RequestParam(required = false) List<String> types,
+                                     @RequestParam(required = false) Integer limit) {
+        try {
+            Set<SuggestService.Type> allowed = allowedTypes();
+            Set<SuggestService.Type> requested = EnumSet.noneOf(SuggestService.Type.class);
+            if (types == null || types.isEmpty()) {
+                requested.addAll(allowed);
+            } else {
+                for (String type : types) {
+                    requested.add(parseType(type));
+                }
+                requested.retainAll(allowed);
+            }
+            
+            int k = limit != null ? limit : PrefixTrie.MAX_K;
+            if (k < 1 || k > PrefixTrie.MAX_K) {
+                throw new RuntimeException("Limit must be between 1 and " + PrefixTrie.MAX_K);
+            }
+            
+            List<Suggestion> suggestions = suggestService.suggest(q, requested, k);
+            return ResponseEntity.ok(suggestions);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+    
+    // ================================
+    // HELPER METHODS
+    // ================================
+    
+    // Students are not offered other students; admins and instructors see every type
+    private Set<SuggestService.Type> allowedTypes() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new RuntimeException("No authenticated user found");
+        }
+        
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            String role = authority.getAuthority();
+            if ("ROLE_ADMIN".equals(role) || "ROLE_INSTRUCTOR".equals(role)) {
+                return EnumSet.allOf(SuggestService.Type.class);
+            }
+        }
+        return EnumSet.of(SuggestService.Type.COURSE, SuggestService.Type.INSTRUCTOR);
+    }
+    
+    private static SuggestService.Type parseType(String type) {
+        try {
+            return SuggestService.Type.valueOf(type.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Unknown suggestion type: " + type);
+        }
+    }
+}
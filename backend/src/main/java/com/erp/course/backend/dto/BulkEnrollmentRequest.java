@@ -0,0 +1,31 @@
+package com.erp.course.backend.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public class BulkEnrollmentRequest {
+    
+    // Largest roster one request may enroll, JSON or CSV
+    public static final int MAX_STUDENT_IDS = 5000;
+    
+    @NotEmpty(message = "At least one student id is required")
+    @Size(max = MAX_STUDENT_IDS, message = "A single request may not enroll more than {max} students")
+    private List<Long> studentIds;
+    
+    // Constructors
+    public BulkEnrollmentRequest() {}
+    
+    public BulkEnrollmentRequest(List<Long> studentIds) {
+        this.studentIds = studentIds;
+    }
+    
+    // Getters and Setters
+    public List<Long> getStudentIds() {
+        return studentIds;
+    }
+    
+    public void setStudentIds(List<Long> studentIds) {
+        this.studentIds = studentIds;
+    }
+}
@@ -0,0 +1,98 @@
+package com.erp.course.backend.dto;
+
+import java.util.List;
+
+public class BulkEnrollmentSummary {
+    
+    private Long courseId;
+    private int requested;
+    private int enrolled;
+    private int alreadyEnrolled;
+    private int full;
+    private int rejected;
+    private Integer availableSpots;
+    private List<EnrollmentResult> results;
+    
+    // Constructors
+    public BulkEnrollmentSummary() {}
+    
+    public BulkEnrollmentSummary(Long courseId, List<EnrollmentResult> results) {
+        this.courseId = courseId;
+        this.results = results;
+        this.requested = results.size();
+        for (EnrollmentResult result : results) {
+            switch (result.getStatus()) {
+                case "ENROLLED": enrolled++; break;
+                case "ALREADY_ENROLLED": alreadyEnrolled++; break;
+                case "FULL": full++; break;
+                default: rejected++;
+            }
+            availableSpots = result.getAvailableSpots();
+        }
+    }
+    
+    // Getters and Setters
+    public Long getCourseId() {
+        return courseId;
+    }
+    
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+    
+    public int getRequested() {
+        return requested;
+    }
+    
+    public void setRequested(int requested) {
+        this.requested = requested;
+    }
+    
+    public int getEnrolled() {
+        return enrolled;
+    }
+    
+    public void setEnrolled(int enrolled) {
+        this.enrolled = enrolled;
+    }
+    
+    public int getAlreadyEnrolled() {
+        return alreadyEnrolled;
+    }
+    
+    public void setAlreadyEnrolled(int alreadyEnrolled) {
+        this.alreadyEnrolled = alreadyEnrolled;
+    }
+    
+    public int getFull() {
+        return full;
+    }
+    
+    public void setFull(int full) {
+        this.full = full;
+    }
+    
+    public int getRejected() {
+        return rejected;
+    }
+    
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+    
+    public Integer getAvailableSpots() {
+        return availableSpots;
+    }
+    
+    public void setAvailableSpots(Integer availableSpots) {
+        this.availableSpots = availableSpots;
+    }
+    
+    public List<EnrollmentResult> getResults() {
+        return results;
+    }
+    
+    public void setResults(List<EnrollmentResult> results) {
+        this.results = results;
+    }
+}
@@ -0,0 +1,78 @@
+package com.erp.course.backend.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public class CourseFacetPage {
+    
+    private List<CourseSummary> items;
+    private String nextCursor; // null on the last page
+    private Integer limit;
+    private Boolean hasMore;
+    private Long total; // courses matching every filter, across all pages
+    
+    // Dimension -> value -> courses that would match if that value were the dimension's only
+    // filter (each dimension's count ignores its own selection, so options stay visible)
+    private Map<String, Map<String, Long>> facets;
+    
+    // Constructors
+    public CourseFacetPage() {}
+    
+    public CourseFacetPage(CursorPage<CourseSummary> page, Long total, Map<String, Map<String, Long>> facets) {
+        this.items = page.getItems();
+        this.nextCursor = page.getNextCursor();
+        this.limit = page.getLimit();
+        this.hasMore = page.getHasMore();
+        this.total = total;
+        this.facets = facets;
+    }
+    
+    // Getters and Setters
+    public List<CourseSummary> getItems() {
+        return items;
+    }
+    
+    public void setItems(List<CourseSummary> items) {
+        this.items = items;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+    
+    public Integer getLimit() {
+        return limit;
+    }
+    
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+    
+    public Boolean getHasMore() {
+        return hasMore;
+    }
+    
+    public void setHasMore(Boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+    
+    public Long getTotal() {
+        return total;
+    }
+    
+    public void setTotal(Long total) {
+        this.total = total;
+    }
+    
+    public Map<String, Map<String, Long>> getFacets() {
+        return facets;
+    }
+    
+    public void setFacets(Map<String, Map<String, Long>> facets) {
+        this.facets = facets;
+    }
+}
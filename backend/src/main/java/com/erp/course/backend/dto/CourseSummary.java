@@ -0,0 +1,298 @@
+package com.erp.course.backend.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Roster-free view of a course for list endpoints, built directly by a JPQL constructor
+// expression (see CourseRepository) so listing courses never touches course_enrollments
+public class CourseSummary {
+    
+    private Long id;
+    private String courseCode;
+    private String courseName;
+    private String description;
+    private Integer credits;
+    private String department;
+    private Integer semester;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private String schedule;
+    private String location;
+    private Integer maxCapacity;
+    private Integer currentEnrollment;
+    private Integer availableSpots;
+    private Boolean isActive;
+    private Boolean enrollmentOpen;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    
+    // Instructor information
+    private Long instructorId;
+    private String instructorName;
+    private String instructorEmail;
+    private String instructorDepartment;
+    
+    // Enrollment information
+    private Boolean isFull;
+    private Boolean canEnroll;
+    
+    // Constructors
+    public CourseSummary() {}
+    
+    public CourseSummary(Long id, String courseCode, String courseName, String description, Integer credits,
+                         String department, Integer semester, LocalDate startDate, LocalDate endDate,
+                         String schedule, String location, Integer maxCapacity, Integer currentEnrollment,
+                         Boolean isActive, Boolean enrollmentOpen, LocalDateTime createdAt, LocalDateTime updatedAt,
+                         Long instructorId, String instructorFirstName, String instructorLastName,
+                         String instructorEmail, String instructorDepartment) {
+        this.id = id;
+        this.courseCode = courseCode;
+        this.courseName = courseName;
+        this.description = description;
+        this.credits = credits;
+        this.department = department;
+        this.semester = semester;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.schedule = schedule;
+        this.location = location;
+        this.maxCapacity = maxCapacity;
+        this.currentEnrollment = currentEnrollment;
+        this.isActive = isActive;
+        this.enrollmentOpen = enrollmentOpen;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.instructorId = instructorId;
+        this.instructorName = instructorFirstName + " " + instructorLastName;
+        this.instructorEmail = instructorEmail;
+        this.instructorDepartment = instructorDepartment;
+        
+        // Same derivations as Course.getAvailableSpots(), isFull() and canEnroll()
+        this.availableSpots = maxCapacity - currentEnrollment;
+        this.isFull = currentEnrollment >= maxCapacity;
+        this.canEnroll = isActive && enrollmentOpen && !this.isFull;
+    }
+    
+    // Copy with the given seat count and the derived fields recomputed
+    public CourseSummary withEnrollment(int currentEnrollment) {
+        CourseSummary copy = new CourseSummary();
+        copy.id = id;
+        copy.courseCode = courseCode;
+        copy.courseName = courseName;
+        copy.description = description;
+        copy.credits = credits;
+        copy.department = department;
+        copy.semester = semester;
+        copy.startDate = startDate;
+        copy.endDate = endDate;
+        copy.schedule = schedule;
+        copy.location = location;
+        copy.maxCapacity = maxCapacity;
+        copy.currentEnrollment = currentEnrollment;
+        copy.isActive = isActive;
+        copy.enrollmentOpen = enrollmentOpen;
+        copy.createdAt = createdAt;
+        copy.updatedAt = updatedAt;
+        copy.instructorId = instructorId;
+        copy.instructorName = instructorName;
+        copy.instructorEmail = instructorEmail;
+        copy.instructorDepartment = instructorDepartment;
+        copy.availableSpots = copy.maxCapacity - copy.currentEnrollment;
+        copy.isFull = copy.currentEnrollment >= copy.maxCapacity;
+        copy.canEnroll = copy.isActive && copy.enrollmentOpen && !copy.isFull;
+        return copy;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getCourseCode() {
+        return courseCode;
+    }
+    
+    public void setCourseCode(String courseCode) {
+        this.courseCode = courseCode;
+    }
+    
+    public String getCourseName() {
+        return courseName;
+    }
+    
+    public void setCourseName(String courseName) {
+        this.courseName = courseName;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public void setDescription(String description) {
+        this.description = description;
+    }
+    
+    public Integer getCredits() {
+        return credits;
+    }
+    
+    public void setCredits(Integer credits) {
+        this.credits = credits;
+    }
+    
+    public String getDepartment() {
+        return department;
+    }
+    
+    public void setDepartment(String department) {
+        this.department = department;
+    }
+    
+    public Integer getSemester() {
+        return semester;
+    }
+    
+    public void setSemester(Integer semester) {
+        this.semester = semester;
+    }
+    
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+    
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+    
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+    
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+    
+    public String getSchedule() {
+        return schedule;
+    }
+    
+    public void setSchedule(String schedule) {
+        this.schedule = schedule;
+    }
+    
+    public String getLocation() {
+        return location;
+    }
+    
+    public void setLocation(String location) {
+        this.location = location;
+    }
+    
+    public Integer getMaxCapacity() {
+        return maxCapacity;
+    }
+    
+    public void setMaxCapacity(Integer maxCapacity) {
+        this.maxCapacity = maxCapacity;
+    }
+    
+    public Integer getCurrentEnrollment() {
+        return currentEnrollment;
+    }
+    
+    public void setCurrentEnrollment(Integer currentEnrollment) {
+        this.currentEnrollment = currentEnrollment;
+    }
+    
+    public Integer getAvailableSpots() {
+        return availableSpots;
+    }
+    
+    public void setAvailableSpots(Integer availableSpots) {
+        this.availableSpots = availableSpots;
+    }
+    
+    public Boolean getIsActive() {
+        return isActive;
+    }
+    
+    public void setIsActive(Boolean isActive) {
+        this.isActive = isActive;
+    }
+    
+    public Boolean getEnrollmentOpen() {
+        return enrollmentOpen;
+    }
+    
+    public void setEnrollmentOpen(Boolean enrollmentOpen) {
+        this.enrollmentOpen = enrollmentOpen;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+    
+    public Long getInstructorId() {
+        return instructorId;
+    }
+    
+    public void setInstructorId(Long instructorId) {
+        this.instructorId = instructorId;
+    }
+    
+    public String getInstructorName() {
+        return instructorName;
+    }
+    
+    public void setInstructorName(String instructorName) {
+        this.instructorName = instructorName;
+    }
+    
+    public String getInstructorEmail() {
+        return instructorEmail;
+    }
+    
+    public void setInstructorEmail(String instructorEmail) {
+        this.instructorEmail = instructorEmail;
+    }
+    
+    public String getInstructorDepartment() {
+        return instructorDepartment;
+    }
+    
+    public void setInstructorDepartment(String instructorDepartment) {
+        this.instructorDepartment = instructorDepartment;
+    }
+    
+    public Boolean getIsFull() {
+        return isFull;
+    }
+    
+    public void setIsFull(Boolean isFull) {
+        this.isFull = isFull;
+    }
+    
+    public Boolean getCanEnroll() {
+        return canEnroll;
+    }
+    
+    public void setCanEnroll(Boolean canEnroll) {
+        this.canEnroll = canEnroll;
+    }
+}
@@ -0,0 +1,69 @@
+package com.erp.course.backend.dto;
+
+import com.erp.course.backend.util.KeysetCursor;
+
+import java.util.List;
+import java.util.function.Function;
+
+public class CursorPage<T> {
+    
+    private List<T> items;
+    private String nextCursor; // null on the last page
+    private Integer limit;
+    private Boolean hasMore;
+    
+    // Constructors
+    public CursorPage() {}
+    
+    public CursorPage(List<T> items, String nextCursor, Integer limit, Boolean hasMore) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.limit = limit;
+        this.hasMore = hasMore;
+    }
+    
+    // Rows are fetched with limit + 1; the extra row only tells us another page exists
+    public static <T> CursorPage<T> fromRows(List<T> rows, int limit, Function<T, String> key, Function<T, Long> id) {
+        boolean hasMore = rows.size() > limit;
+        List<T> items = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            T last = items.get(items.size() - 1);
+            nextCursor = KeysetCursor.encode(key.apply(last), id.apply(last));
+        }
+        return new CursorPage<>(items, nextCursor, limit, hasMore);
+    }
+    
+    // Getters and Setters
+    public List<T> getItems() {
+        return items;
+    }
+    
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+    
+    public Integer getLimit() {
+        return limit;
+    }
+    
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+    
+    public Boolean getHasMore() {
+        return hasMore;
+    }
+    
+    public void setHasMore(Boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -0,0 +1,43 @@
+package com.erp.course.backend.dto;
+
+// Results in [lower, upper); the last bin also holds results equal to its upper bound (100)
+public class DistributionBin {
+    
+    private Integer lower;
+    private Integer upper;
+    private Long count;
+    
+    // Constructors
+    public DistributionBin() {}
+    
+    public DistributionBin(Integer lower, Integer upper, Long count) {
+        this.lower = lower;
+        this.upper = upper;
+        this.count = count;
+    }
+    
+    // Getters and Setters
+    public Integer getLower() {
+        return lower;
+    }
+    
+    public void setLower(Integer lower) {
+        this.lower = lower;
+    }
+    
+    public Integer getUpper() {
+        return upper;
+    }
+    
+    public void setUpper(Integer upper) {
+        this.upper = upper;
+    }
+    
+    public Long getCount() {
+        return count;
+    }
+    
+    public void setCount(Long count) {
+        this.count = count;
+    }
+}
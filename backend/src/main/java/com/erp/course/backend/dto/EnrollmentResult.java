@@ -0,0 +1,62 @@
+package com.erp.course.backend.dto;
+
+public class EnrollmentResult {
+    
+    private Long courseId;
+    private Long studentId;
+    private String status; // ENROLLED, UNENROLLED, ALREADY_ENROLLED, FULL, REJECTED
+    private Integer availableSpots;
+    private String message;
+    
+    // Constructors
+    public EnrollmentResult() {}
+    
+    public EnrollmentResult(Long courseId, Long studentId, String status, Integer availableSpots, String message) {
+        this.courseId = courseId;
+        this.studentId = studentId;
+        this.status = status;
+        this.availableSpots = availableSpots;
+        this.message = message;
+    }
+    
+    // Getters and Setters
+    public Long getCourseId() {
+        return courseId;
+    }
+    
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+    
+    public Long getStudentId() {
+        return studentId;
+    }
+    
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public void setStatus(String status) {
+        this.status = status;
+    }
+    
+    public Integer getAvailableSpots() {
+        return availableSpots;
+    }
+    
+    public void setAvailableSpots(Integer availableSpots) {
+        this.availableSpots = availableSpots;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+    
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
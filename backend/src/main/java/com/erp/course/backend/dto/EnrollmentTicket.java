@@ -0,0 +1,142 @@
+package com.erp.course.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+
+public class EnrollmentTicket {
+    
+    private String ticketId;
+    private Long courseId;
+    private Long studentId;
+    private volatile String status = "QUEUED"; // QUEUED, then the EnrollmentResult status
+    private Integer queuePosition;
+    private volatile Integer availableSpots;
+    private volatile String message;
+    private LocalDateTime submittedAt;
+    private volatile LocalDateTime completedAt;
+    
+    @JsonIgnore
+    private final CompletableFuture<EnrollmentTicket> completion = new CompletableFuture<>();
+    
+    // Constructors
+    public EnrollmentTicket() {}
+    
+    public EnrollmentTicket(String ticketId, Long courseId, Long studentId, Integer queuePosition) {
+        this.ticketId = ticketId;
+        this.courseId = courseId;
+        this.studentId = studentId;
+        this.queuePosition = queuePosition;
+        this.message = "Enrollment request queued";
+        this.submittedAt = LocalDateTime.now();
+    }
+    
+    // Helper methods
+    public void complete(EnrollmentResult result) {
+        this.status = result.getStatus();
+        this.availableSpots = result.getAvailableSpots();
+        this.message = result.getMessage();
+        this.completedAt = LocalDateTime.now();
+        completion.complete(this);
+    }
+    
+    public void fail(String message) {
+        this.status = "REJECTED";
+        this.message = message;
+        this.completedAt = LocalDateTime.now();
+        completion.complete(this);
+    }
+    
+    @JsonIgnore
+    public boolean isDone() {
+        return completion.isDone();
+    }
+    
+    @JsonIgnore
+    public boolean isEnrolled() {
+        return "ENROLLED".equals(status);
+    }
+    
+    @JsonIgnore
+    public boolean isWaitlisted() {
+        return "WAITLISTED".equals(status);
+    }
+    
+    @JsonIgnore
+    public CompletableFuture<EnrollmentTicket> getCompletion() {
+        return completion;
+    }
+    
+    // Getters and Setters
+    public String getTicketId() {
+        return ticketId;
+    }
+    
+    public void setTicketId(String ticketId) {
+        this.ticketId = ticketId;
+    }
+    
+    public Long getCourseId() {
+        return courseId;
+    }
+    
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+    
+    public Long getStudentId() {
+        return studentId;
+    }
+    
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public void setStatus(String status) {
+        this.status = status;
+    }
+    
+    public Integer getQueuePosition() {
+        return queuePosition;
+    }
+    
+    public void setQueuePosition(Integer queuePosition) {
+        this.queuePosition = queuePosition;
+    }
+    
+    public Integer getAvailableSpots() {
+        return availableSpots;
+    }
+    
+    public void setAvailableSpots(Integer availableSpots) {
+        this.availableSpots = availableSpots;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+    
+    public void setMessage(String message) {
+        this.message = message;
+    }
+    
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+    
+    public void setSubmittedAt(LocalDateTime submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+    
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+    
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+}
@@ -0,0 +1,116 @@
+package com.erp.course.backend.dto;
+
+import com.erp.course.backend.entity.FinalGrade;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class FinalGradeResponse {
+    
+    private Long courseId;
+    private String courseCode;
+    private String courseName;
+    private Long studentId;
+    private String studentNumber;
+    private String studentName;
+    private BigDecimal grade;
+    private String letterGrade;
+    private Integer resultCount;
+    private LocalDateTime computedAt;
+    
+    // Constructors
+    public FinalGradeResponse() {}
+    
+    public FinalGradeResponse(FinalGrade finalGrade) {
+        this.courseId = finalGrade.getCourse().getId();
+        this.courseCode = finalGrade.getCourse().getCourseCode();
+        this.courseName = finalGrade.getCourse().getCourseName();
+        this.studentId = finalGrade.getStudent().getId();
+        this.studentNumber = finalGrade.getStudent().getStudentId();
+        this.studentName = finalGrade.getStudent().getFirstName() + " " + finalGrade.getStudent().getLastName();
+        this.grade = finalGrade.getGrade();
+        this.letterGrade = finalGrade.getLetterGrade();
+        this.resultCount = finalGrade.getResultCount();
+        this.computedAt = finalGrade.getComputedAt();
+    }
+    
+    // Getters and Setters
+    public Long getCourseId() {
+        return courseId;
+    }
+    
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+    
+    public String getCourseCode() {
+        return courseCode;
+    }
+    
+    public void setCourseCode(String courseCode) {
+        this.courseCode = courseCode;
+    }
+    
+    public String getCourseName() {
+        return courseName;
+    }
+    
+    public void setCourseName(String courseName) {
+        this.courseName = courseName;
+    }
+    
+    public Long getStudentId() {
+        return studentId;
+    }
+    
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+    
+    public String getStudentNumber() {
+        return studentNumber;
+    }
+    
+    public void setStudentNumber(String studentNumber) {
+        this.studentNumber = studentNumber;
+    }
+    
+    public String getStudentName() {
+        return studentName;
+    }
+    
+    public void setStudentName(String studentName) {
+        this.studentName = studentName;
+    }
+    
+    public BigDecimal getGrade() {
+        return grade;
+    }
+    
+    public void setGrade(BigDecimal grade) {
+        this.grade = grade;
+    }
+    
+    public String getLetterGrade() {
+        return letterGrade;
+    }
+    
+    public void setLetterGrade(String letterGrade) {
+        this.letterGrade = letterGrade;
+    }
+    
+    public Integer getResultCount() {
+        return resultCount;
+    }
+    
+    public void setResultCount(Integer resultCount) {
+        this.resultCount = resultCount;
+    }
+    
+    public LocalDateTime getComputedAt() {
+        return computedAt;
+    }
+    
+    public void setComputedAt(LocalDateTime computedAt) {
+        this.computedAt = computedAt;
+    }
+}
@@ -0,0 +1,90 @@
+package com.erp.course.backend.dto;
+
+import java.time.LocalDateTime;
+
+// Progress of the whole-student-body GPA recompute
+public class GpaRecomputeStatus {
+    
+    private String state; // RUNNING, COMPLETED, FAILED
+    private Integer totalStudents;
+    private Integer processedStudents;
+    private Integer failedStudents;
+    private Double percentComplete;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    
+    // Constructors
+    public GpaRecomputeStatus() {}
+    
+    public GpaRecomputeStatus(String state, Integer totalStudents, Integer processedStudents, Integer failedStudents,
+                              LocalDateTime startedAt, LocalDateTime finishedAt) {
+        this.state = state;
+        this.totalStudents = totalStudents;
+        this.processedStudents = processedStudents;
+        this.failedStudents = failedStudents;
+        if (totalStudents == null || totalStudents == 0) {
+            this.percentComplete = "RUNNING".equals(state) ? 0.0 : 100.0;
+        } else {
+            this.percentComplete = Math.round(1000.0 * (processedStudents + failedStudents) / totalStudents) / 10.0;
+        }
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+    }
+    
+    // Getters and Setters
+    public String getState() {
+        return state;
+    }
+    
+    public void setState(String state) {
+        this.state = state;
+    }
+    
+    public Integer getTotalStudents() {
+        return totalStudents;
+    }
+    
+    public void setTotalStudents(Integer totalStudents) {
+        this.totalStudents = totalStudents;
+    }
+    
+    public Integer getProcessedStudents() {
+        return processedStudents;
+    }
+    
+    public void setProcessedStudents(Integer processedStudents) {
+        this.processedStudents = processedStudents;
+    }
+    
+    public Integer getFailedStudents() {
+        return failedStudents;
+    }
+    
+    public void setFailedStudents(Integer failedStudents) {
+        this.failedStudents = failedStudents;
+    }
+    
+    public Double getPercentComplete() {
+        return percentComplete;
+    }
+    
+    public void setPercentComplete(Double percentComplete) {
+        this.percentComplete = percentComplete;
+    }
+    
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+    
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+    
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+    
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+}
@@ -0,0 +1,45 @@
+package com.erp.course.backend.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public class GradeDistribution {
+    
+    private Long total;
+    private List<DistributionBin> bins;
+    private Map<String, Long> letterGrades; // A, B, C, D, F with the thresholds of Result.getLetterResult
+    
+    // Constructors
+    public GradeDistribution() {}
+    
+    public GradeDistribution(Long total, List<DistributionBin> bins, Map<String, Long> letterGrades) {
+        this.total = total;
+        this.bins = bins;
+        this.letterGrades = letterGrades;
+    }
+    
+    // Getters and Setters
+    public Long getTotal() {
+        return total;
+    }
+    
+    public void setTotal(Long total) {
+        this.total = total;
+    }
+    
+    public List<DistributionBin> getBins() {
+        return bins;
+    }
+    
+    public void setBins(List<DistributionBin> bins) {
+        this.bins = bins;
+    }
+    
+    public Map<String, Long> getLetterGrades() {
+        return letterGrades;
+    }
+    
+    public void setLetterGrades(Map<String, Long> letterGrades) {
+        this.letterGrades = letterGrades;
+    }
+}
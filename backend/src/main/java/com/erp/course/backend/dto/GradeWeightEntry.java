@@ -0,0 +1,75 @@
+package com.erp.course.backend.dto;
+
+import com.erp.course.backend.entity.GradeWeight;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.math.BigDecimal;
+
+// One category of a grading scheme, e.g. ASSIGNMENT at 30% with the lowest result dropped
+public class GradeWeightEntry {
+    
+    @NotNull(message = "Result type is required")
+    private String resultType;
+    
+    @NotNull(message = "Weight is required")
+    @DecimalMin(value = "0.0", message = "Weight cannot be negative")
+    @DecimalMax(value = "100.0", message = "Weight cannot exceed 100")
+    private BigDecimal weight;
+    
+    @Min(value = 0, message = "Drop lowest cannot be negative")
+    @Max(value = 50, message = "Drop lowest cannot exceed 50")
+    private Integer dropLowest = 0;
+    
+    private Boolean extraCredit = false;
+    
+    // Constructors
+    public GradeWeightEntry() {}
+    
+    public GradeWeightEntry(String resultType, BigDecimal weight, Integer dropLowest, Boolean extraCredit) {
+        this.resultType = resultType;
+        this.weight = weight;
+        this.dropLowest = dropLowest;
+        this.extraCredit = extraCredit;
+    }
+    
+    public GradeWeightEntry(GradeWeight gradeWeight) {
+        this(gradeWeight.getResultType().name(), gradeWeight.getWeight(),
+             gradeWeight.getDropLowest(), gradeWeight.getExtraCredit());
+    }
+    
+    // Getters and Setters
+    public String getResultType() {
+        return resultType;
+    }
+    
+    public void setResultType(String resultType) {
+        this.resultType = resultType;
+    }
+    
+    public BigDecimal getWeight() {
+        return weight;
+    }
+    
+    public void setWeight(BigDecimal weight) {
+        this.weight = weight;
+    }
+    
+    public Integer getDropLowest() {
+        return dropLowest;
+    }
+    
+    public void setDropLowest(Integer dropLowest) {
+        this.dropLowest = dropLowest;
+    }
+    
+    public Boolean getExtraCredit() {
+        return extraCredit;
+    }
+    
+    public void setExtraCredit(Boolean extraCredit) {
+        this.extraCredit = extraCredit;
+    }
+}
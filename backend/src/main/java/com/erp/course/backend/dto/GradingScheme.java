@@ -0,0 +1,44 @@
+package com.erp.course.backend.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.ArrayList;
+import java.util.List;
+
+// A course's weighting scheme. Regular category weights add up to 100; extra-credit categories
+// are added on top. An empty scheme means the final grade is the plain average of released results.
+public class GradingScheme {
+    
+    private Long courseId;
+    
+    @Valid
+    @NotNull(message = "Categories are required")
+    @Size(max = 20, message = "A grading scheme may not have more than 20 categories")
+    private List<GradeWeightEntry> categories = new ArrayList<>();
+    
+    // Constructors
+    public GradingScheme() {}
+    
+    public GradingScheme(Long courseId, List<GradeWeightEntry> categories) {
+        this.courseId = courseId;
+        this.categories = categories;
+    }
+    
+    // Getters and Setters
+    public Long getCourseId() {
+        return courseId;
+    }
+    
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+    
+    public List<GradeWeightEntry> getCategories() {
+        return categories;
+    }
+    
+    public void setCategories(List<GradeWeightEntry> categories) {
+        this.categories = categories;
+    }
+}
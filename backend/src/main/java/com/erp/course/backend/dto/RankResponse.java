@@ -0,0 +1,94 @@
+package com.erp.course.backend.dto;
+
+// A student's standing among the students of a course (by final grade) or of a major (by GPA)
+public class RankResponse {
+    
+    private String scope; // COURSE or MAJOR
+    private Long courseId;
+    private String major;
+    private Long studentId;
+    private Long rank; // 1 is the best; ties share a rank
+    private Long total;
+    private Double topPercent; // "top 12%": rank as a share of the total
+    private Double percentile; // share of students with a lower score
+    
+    // Constructors
+    public RankResponse() {}
+    
+    public RankResponse(String scope, Long courseId, String major, Long studentId, Long rank, Long total,
+                        Double topPercent, Double percentile) {
+        this.scope = scope;
+        this.courseId = courseId;
+        this.major = major;
+        this.studentId = studentId;
+        this.rank = rank;
+        this.total = total;
+        this.topPercent = topPercent;
+        this.percentile = percentile;
+    }
+    
+    // Getters and Setters
+    public String getScope() {
+        return scope;
+    }
+    
+    public void setScope(String scope) {
+        this.scope = scope;
+    }
+    
+    public Long getCourseId() {
+        return courseId;
+    }
+    
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+    
+    public String getMajor() {
+        return major;
+    }
+    
+    public void setMajor(String major) {
+        this.major = major;
+    }
+    
+    public Long getStudentId() {
+        return studentId;
+    }
+    
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+    
+    public Long getRank() {
+        return rank;
+    }
+    
+    public void setRank(Long rank) {
+        this.rank = rank;
+    }
+    
+    public Long getTotal() {
+        return total;
+    }
+    
+    public void setTotal(Long total) {
+        this.total = total;
+    }
+    
+    public Double getTopPercent() {
+        return topPercent;
+    }
+    
+    public void setTopPercent(Double topPercent) {
+        this.topPercent = topPercent;
+    }
+    
+    public Double getPercentile() {
+        return percentile;
+    }
+    
+    public void setPercentile(Double percentile) {
+        this.percentile = percentile;
+    }
+}
@@ -0,0 +1,74 @@
+package com.erp.course.backend.dto;
+
+// Summary of released results for a course, student, course and student, or assessment
+public class ResultAggregate {
+    
+    private Long totalResults;
+    private Double averageResult;
+    private Double highestResult;
+    private Double lowestResult;
+    private Double standardDeviation;
+    private Double variance;
+    
+    // Constructors
+    public ResultAggregate() {}
+    
+    public ResultAggregate(Long totalResults, Double averageResult, Double highestResult,
+                           Double lowestResult, Double standardDeviation, Double variance) {
+        this.totalResults = totalResults;
+        this.averageResult = averageResult;
+        this.highestResult = highestResult;
+        this.lowestResult = lowestResult;
+        this.standardDeviation = standardDeviation;
+        this.variance = variance;
+    }
+    
+    // Getters and Setters
+    public Long getTotalResults() {
+        return totalResults;
+    }
+    
+    public void setTotalResults(Long totalResults) {
+        this.totalResults = totalResults;
+    }
+    
+    public Double getAverageResult() {
+        return averageResult;
+    }
+    
+    public void setAverageResult(Double averageResult) {
+        this.averageResult = averageResult;
+    }
+    
+    public Double getHighestResult() {
+        return highestResult;
+    }
+    
+    public void setHighestResult(Double highestResult) {
+        this.highestResult = highestResult;
+    }
+    
+    public Double getLowestResult() {
+        return lowestResult;
+    }
+    
+    public void setLowestResult(Double lowestResult) {
+        this.lowestResult = lowestResult;
+    }
+    
+    public Double getStandardDeviation() {
+        return standardDeviation;
+    }
+    
+    public void setStandardDeviation(Double standardDeviation) {
+        this.standardDeviation = standardDeviation;
+    }
+    
+    public Double getVariance() {
+        return variance;
+    }
+    
+    public void setVariance(Double variance) {
+        this.variance = variance;
+    }
+}
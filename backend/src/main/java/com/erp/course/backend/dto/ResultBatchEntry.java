@@ -0,0 +1,35 @@
+package com.erp.course.backend.dto;
+
+import java.math.BigDecimal;
+
+// One student's value in a gradebook column; checked per entry so one bad row does not fail the batch
+public class ResultBatchEntry {
+    
+    private Long studentId;
+    private BigDecimal resultValue;
+    
+    // Constructors
+    public ResultBatchEntry() {}
+    
+    public ResultBatchEntry(Long studentId, BigDecimal resultValue) {
+        this.studentId = studentId;
+        this.resultValue = resultValue;
+    }
+    
+    // Getters and Setters
+    public Long getStudentId() {
+        return studentId;
+    }
+    
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+    
+    public BigDecimal getResultValue() {
+        return resultValue;
+    }
+    
+    public void setResultValue(BigDecimal resultValue) {
+        this.resultValue = resultValue;
+    }
+}
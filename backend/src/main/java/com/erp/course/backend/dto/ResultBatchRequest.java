@@ -0,0 +1,78 @@
+package com.erp.course.backend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+// A whole assessment column: shared type and title, one value per student
+public class ResultBatchRequest {
+    
+    @NotNull(message = "Result type is required")
+    private String resultType;
+    
+    @NotBlank(message = "Title is required")
+    @Size(max = 200, message = "Title cannot exceed 200 characters")
+    private String title;
+    
+    @Size(max = 1000, message = "Description cannot exceed 1000 characters")
+    private String description;
+    
+    private Boolean isReleased = false;
+    
+    @NotEmpty(message = "At least one entry is required")
+    @Size(max = 5000, message = "A single request may not record more than 5000 results")
+    private List<ResultBatchEntry> entries;
+    
+    // Constructors
+    public ResultBatchRequest() {}
+    
+    public ResultBatchRequest(String resultType, String title, String description, List<ResultBatchEntry> entries) {
+        this.resultType = resultType;
+        this.title = title;
+        this.description = description;
+        this.entries = entries;
+    }
+    
+    // Getters and Setters
+    public String getResultType() {
+        return resultType;
+    }
+    
+    public void setResultType(String resultType) {
+        this.resultType = resultType;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public void setTitle(String title) {
+        this.title = title;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public void setDescription(String description) {
+        this.description = description;
+    }
+    
+    public Boolean getIsReleased() {
+        return isReleased;
+    }
+    
+    public void setIsReleased(Boolean isReleased) {
+        this.isReleased = isReleased;
+    }
+    
+    public List<ResultBatchEntry> getEntries() {
+        return entries;
+    }
+    
+    public void setEntries(List<ResultBatchEntry> entries) {
+        this.entries = entries;
+    }
+}
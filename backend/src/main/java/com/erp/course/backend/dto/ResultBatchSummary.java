@@ -0,0 +1,98 @@
+package com.erp.course.backend.dto;
+
+import java.util.List;
+
+public class ResultBatchSummary {
+    
+    private Long courseId;
+    private String resultType;
+    private String title;
+    private int requested;
+    private int created;
+    private int alreadyExists;
+    private int rejected;
+    private List<ResultEntryOutcome> results;
+    
+    // Constructors
+    public ResultBatchSummary() {}
+    
+    public ResultBatchSummary(Long courseId, String resultType, String title, List<ResultEntryOutcome> results) {
+        this.courseId = courseId;
+        this.resultType = resultType;
+        this.title = title;
+        this.results = results;
+        this.requested = results.size();
+        for (ResultEntryOutcome result : results) {
+            switch (result.getStatus()) {
+                case "CREATED": created++; break;
+                case "ALREADY_EXISTS": alreadyExists++; break;
+                default: rejected++;
+            }
+        }
+    }
+    
+    // Getters and Setters
+    public Long getCourseId() {
+        return courseId;
+    }
+    
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+    
+    public String getResultType() {
+        return resultType;
+    }
+    
+    public void setResultType(String resultType) {
+        this.resultType = resultType;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public void setTitle(String title) {
+        this.title = title;
+    }
+    
+    public int getRequested() {
+        return requested;
+    }
+    
+    public void setRequested(int requested) {
+        this.requested = requested;
+    }
+    
+    public int getCreated() {
+        return created;
+    }
+    
+    public void setCreated(int created) {
+        this.created = created;
+    }
+    
+    public int getAlreadyExists() {
+        return alreadyExists;
+    }
+    
+    public void setAlreadyExists(int alreadyExists) {
+        this.alreadyExists = alreadyExists;
+    }
+    
+    public int getRejected() {
+        return rejected;
+    }
+    
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+    
+    public List<ResultEntryOutcome> getResults() {
+        return results;
+    }
+    
+    public void setResults(List<ResultEntryOutcome> results) {
+        this.results = results;
+    }
+}
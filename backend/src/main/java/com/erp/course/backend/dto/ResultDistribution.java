@@ -0,0 +1,65 @@
+package com.erp.course.backend.dto;
+
+import java.util.Map;
+
+public class ResultDistribution {
+    
+    private Long courseId;
+    private Boolean released; // null when released and unreleased results are both counted
+    private Integer binWidth;
+    private GradeDistribution overall;
+    private Map<String, GradeDistribution> byResultType;
+    
+    // Constructors
+    public ResultDistribution() {}
+    
+    public ResultDistribution(Long courseId, Boolean released, Integer binWidth,
+                              GradeDistribution overall, Map<String, GradeDistribution> byResultType) {
+        this.courseId = courseId;
+        this.released = released;
+        this.binWidth = binWidth;
+        this.overall = overall;
+        this.byResultType = byResultType;
+    }
+    
+    // Getters and Setters
+    public Long getCourseId() {
+        return courseId;
+    }
+    
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+    
+    public Boolean getReleased() {
+        return released;
+    }
+    
+    public void setReleased(Boolean released) {
+        this.released = released;
+    }
+    
+    public Integer getBinWidth() {
+        return binWidth;
+    }
+    
+    public void setBinWidth(Integer binWidth) {
+        this.binWidth = binWidth;
+    }
+    
+    public GradeDistribution getOverall() {
+        return overall;
+    }
+    
+    public void setOverall(GradeDistribution overall) {
+        this.overall = overall;
+    }
+    
+    public Map<String, GradeDistribution> getByResultType() {
+        return byResultType;
+    }
+    
+    public void setByResultType(Map<String, GradeDistribution> byResultType) {
+        this.byResultType = byResultType;
+    }
+}
@@ -0,0 +1,54 @@
+package com.erp.course.backend.dto;
+
+import java.math.BigDecimal;
+
+public class ResultEntryOutcome {
+    
+    private Long studentId;
+    private BigDecimal resultValue;
+    private String status; // CREATED, ALREADY_EXISTS, REJECTED
+    private String message;
+    
+    // Constructors
+    public ResultEntryOutcome() {}
+    
+    public ResultEntryOutcome(Long studentId, BigDecimal resultValue, String status, String message) {
+        this.studentId = studentId;
+        this.resultValue = resultValue;
+        this.status = status;
+        this.message = message;
+    }
+    
+    // Getters and Setters
+    public Long getStudentId() {
+        return studentId;
+    }
+    
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+    
+    public BigDecimal getResultValue() {
+        return resultValue;
+    }
+    
+    public void setResultValue(BigDecimal resultValue) {
+        this.resultValue = resultValue;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public void setStatus(String status) {
+        this.status = status;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+    
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,83 @@
+package com.erp.course.backend.dto;
+
+public class ScheduleConflict {
+    
+    private Long studentId;
+    private Long courseId;
+    private String courseCode;
+    private String schedule;
+    private Long conflictingCourseId;
+    private String conflictingCourseCode;
+    private String conflictingSchedule;
+    
+    // Constructors
+    public ScheduleConflict() {}
+    
+    public ScheduleConflict(Long studentId, Long courseId, String courseCode, String schedule,
+                            Long conflictingCourseId, String conflictingCourseCode, String conflictingSchedule) {
+        this.studentId = studentId;
+        this.courseId = courseId;
+        this.courseCode = courseCode;
+        this.schedule = schedule;
+        this.conflictingCourseId = conflictingCourseId;
+        this.conflictingCourseCode = conflictingCourseCode;
+        this.conflictingSchedule = conflictingSchedule;
+    }
+    
+    // Getters and Setters
+    public Long getStudentId() {
+        return studentId;
+    }
+    
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+    
+    public Long getCourseId() {
+        return courseId;
+    }
+    
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+    
+    public String getCourseCode() {
+        return courseCode;
+    }
+    
+    public void setCourseCode(String courseCode) {
+        this.courseCode = courseCode;
+    }
+    
+    public String getSchedule() {
+        return schedule;
+    }
+    
+    public void setSchedule(String schedule) {
+        this.schedule = schedule;
+    }
+    
+    public Long getConflictingCourseId() {
+        return conflictingCourseId;
+    }
+    
+    public void setConflictingCourseId(Long conflictingCourseId) {
+        this.conflictingCourseId = conflictingCourseId;
+    }
+    
+    public String getConflictingCourseCode() {
+        return conflictingCourseCode;
+    }
+    
+    public void setConflictingCourseCode(String conflictingCourseCode) {
+        this.conflictingCourseCode = conflictingCourseCode;
+    }
+    
+    public String getConflictingSchedule() {
+        return conflictingSchedule;
+    }
+    
+    public void setConflictingSchedule(String conflictingSchedule) {
+        this.conflictingSchedule = conflictingSchedule;
+    }
+}
@@ -0,0 +1,62 @@
+package com.erp.course.backend.dto;
+
+public class Suggestion {
+    
+    private String type; // COURSE, STUDENT or INSTRUCTOR
+    private Long id;
+    private String label;
+    private String detail; // course code, student ID or instructor department
+    private Long popularity; // enrolled students; ranks completions
+    
+    // Constructors
+    public Suggestion() {}
+    
+    public Suggestion(String type, Long id, String label, String detail, Long popularity) {
+        this.type = type;
+        this.id = id;
+        this.label = label;
+        this.detail = detail;
+        this.popularity = popularity;
+    }
+    
+    // Getters and Setters
+    public String getType() {
+        return type;
+    }
+    
+    public void setType(String type) {
+        this.type = type;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getLabel() {
+        return label;
+    }
+    
+    public void setLabel(String label) {
+        this.label = label;
+    }
+    
+    public String getDetail() {
+        return detail;
+    }
+    
+    public void setDetail(String detail) {
+        this.detail = detail;
+    }
+    
+    public Long getPopularity() {
+        return popularity;
+    }
+    
+    public void setPopularity(Long popularity) {
+        this.popularity = popularity;
+    }
+}
@@ -0,0 +1,64 @@
+package com.erp.course.backend.dto;
+
+import java.time.LocalDateTime;
+
+public class WaitlistPosition {
+    
+    private Long courseId;
+    private Long studentId;
+    private Long position; // 1 = next in line
+    private Long waitlistSize;
+    private LocalDateTime joinedAt;
+    
+    // Constructors
+    public WaitlistPosition() {}
+    
+    public WaitlistPosition(Long courseId, Long studentId, Long position, Long waitlistSize, LocalDateTime joinedAt) {
+        this.courseId = courseId;
+        this.studentId = studentId;
+        this.position = position;
+        this.waitlistSize = waitlistSize;
+        this.joinedAt = joinedAt;
+    }
+    
+    // Getters and Setters
+    public Long getCourseId() {
+        return courseId;
+    }
+    
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+    
+    public Long getStudentId() {
+        return studentId;
+    }
+    
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+    
+    public Long getPosition() {
+        return position;
+    }
+    
+    public void setPosition(Long position) {
+        this.position = position;
+    }
+    
+    public Long getWaitlistSize() {
+        return waitlistSize;
+    }
+    
+    public void setWaitlistSize(Long waitlistSize) {
+        this.waitlistSize = waitlistSize;
+    }
+    
+    public LocalDateTime getJoinedAt() {
+        return joinedAt;
+    }
+    
+    public void setJoinedAt(LocalDateTime joinedAt) {
+        this.joinedAt = joinedAt;
+    }
+}
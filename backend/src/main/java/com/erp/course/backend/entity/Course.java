@@ -6,6 +6,7 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Max;
+import com.erp.course.backend.util.WeeklySchedule;
 import java.time.LocalDateTime;
 import java.time.LocalDate;
 import java.util.HashSet;
@@ -60,6 +61,10 @@ public class Course {
     @Size(max = 100)
     private String schedule; // e.g., "MWF 10:00-11:00"
     
+    // Weekly 5-minute slot bitset derived from schedule (see WeeklySchedule); null if unparseable
+    @Column(name = "schedule_mask", length = 256)
+    private byte[] scheduleMask;
+    
     @Size(max = 50)
     private String location;
     
@@ -69,7 +74,9 @@ public class Course {
     @Column(nullable = false)
     private Integer maxCapacity;
     
-    @Column(nullable = false)
+    // Written only by the seat UPDATE queries in CourseRepository, so saving a course loaded
+    // before a concurrent seat claim never puts the old count back
+    @Column(nullable = false, updatable = false)
     private Integer currentEnrollment = 0;
     
     @Column(nullable = false)
@@ -93,7 +100,9 @@ public class Course {
     @JoinTable(
         name = "course_enrollments",
         joinColumns = @JoinColumn(name = "course_id"),
-        inverseJoinColumns = @JoinColumn(name = "student_id")
+        inverseJoinColumns = @JoinColumn(name = "student_id"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_course_enrollments_course_student", columnNames = {"course_id", "student_id"}),
+        indexes = @Index(name = "idx_course_enrollments_student", columnList = "student_id")
     )
     private Set<Student> enrolledStudents = new HashSet<>();
     
@@ -128,11 +137,13 @@ public class Course {
         if (this.currentEnrollment == null) {
             this.currentEnrollment = 0;
         }
+        this.scheduleMask = WeeklySchedule.encode(this.schedule);
     }
     
     @PreUpdate
     public void onUpdate() {
         this.updatedAt = LocalDateTime.now();
+        this.scheduleMask = WeeklySchedule.encode(this.schedule);
     }
     
     // Helper methods
@@ -244,6 +255,14 @@ public class Course {
         this.schedule = schedule;
     }
     
+    public byte[] getScheduleMask() {
+        return scheduleMask;
+    }
+    
+    public void setScheduleMask(byte[] scheduleMask) {
+        this.scheduleMask = scheduleMask;
+    }
+    
     public String getLocation() {
         return location;
     }
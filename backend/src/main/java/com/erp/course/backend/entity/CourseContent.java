@@ -6,8 +6,13 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import java.time.LocalDateTime;
 
+// Course and author are both read by CourseContentResponse; list queries load them in one join
 @Entity
 @Table(name = "course_contents")
+@NamedEntityGraph(name = "CourseContent.withCourseAndAuthor", attributeNodes = {
+    @NamedAttributeNode("course"),
+    @NamedAttributeNode("createdBy")
+})
 public class CourseContent {
     
     @Id
@@ -0,0 +1,104 @@
+package com.erp.course.backend.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Materialized final grade of a student in a course, derived from released results and the
+// course's grading scheme. Maintained by FinalGradeService; never edited directly.
+@Entity
+@Table(name = "final_grades",
+    uniqueConstraints = @UniqueConstraint(name = "uk_final_grades_course_student", columnNames = {"course_id", "student_id"}),
+    indexes = @Index(name = "idx_final_grades_student", columnList = "student_id"))
+public class FinalGrade {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false, precision = 5, scale = 2)
+    private BigDecimal grade;
+    
+    @Column(name = "letter_grade", nullable = false, length = 2)
+    private String letterGrade;
+    
+    @Column(name = "result_count", nullable = false)
+    private Integer resultCount; // released results the grade was computed from
+    
+    @Column(name = "computed_at")
+    private LocalDateTime computedAt;
+    
+    // Relationships
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "course_id", nullable = false)
+    private Course course;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "student_id", nullable = false)
+    private Student student;
+    
+    // Constructors
+    public FinalGrade() {}
+    
+    public FinalGrade(Course course, Student student) {
+        this.course = course;
+        this.student = student;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public BigDecimal getGrade() {
+        return grade;
+    }
+    
+    public void setGrade(BigDecimal grade) {
+        this.grade = grade;
+    }
+    
+    public String getLetterGrade() {
+        return letterGrade;
+    }
+    
+    public void setLetterGrade(String letterGrade) {
+        this.letterGrade = letterGrade;
+    }
+    
+    public Integer getResultCount() {
+        return resultCount;
+    }
+    
+    public void setResultCount(Integer resultCount) {
+        this.resultCount = resultCount;
+    }
+    
+    public LocalDateTime getComputedAt() {
+        return computedAt;
+    }
+    
+    public void setComputedAt(LocalDateTime computedAt) {
+        this.computedAt = computedAt;
+    }
+    
+    public Course getCourse() {
+        return course;
+    }
+    
+    public void setCourse(Course course) {
+        this.course = course;
+    }
+    
+    public Student getStudent() {
+        return student;
+    }
+    
+    public void setStudent(Student student) {
+        this.student = student;
+    }
+}
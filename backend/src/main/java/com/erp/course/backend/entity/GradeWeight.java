@@ -0,0 +1,138 @@
+package com.erp.course.backend.entity;
+
+import com.erp.course.backend.entity.Result.ResultType;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// One category of a course's grading scheme: how much a result type counts towards the final grade
+@Entity
+@Table(name = "grade_weights",
+    uniqueConstraints = @UniqueConstraint(name = "uk_grade_weights_course_type", columnNames = {"course_id", "result_type"}))
+public class GradeWeight {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "result_type", nullable = false)
+    private ResultType resultType;
+    
+    @NotNull
+    @DecimalMin(value = "0.0", message = "Weight cannot be negative")
+    @DecimalMax(value = "100.0", message = "Weight cannot exceed 100")
+    @Column(nullable = false, precision = 5, scale = 2)
+    private BigDecimal weight; // percent of the final grade
+    
+    @Min(0)
+    @Column(name = "drop_lowest", nullable = false)
+    private Integer dropLowest = 0; // lowest N results of this type are ignored
+    
+    @Column(name = "extra_credit", nullable = false)
+    private Boolean extraCredit = false; // added on top of the weighted grade instead of being part of it
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    // Relationships
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "course_id", nullable = false)
+    private Course course;
+    
+    // Constructors
+    public GradeWeight() {}
+    
+    public GradeWeight(Course course, ResultType resultType, BigDecimal weight, Integer dropLowest, Boolean extraCredit) {
+        this.course = course;
+        this.resultType = resultType;
+        this.weight = weight;
+        this.dropLowest = dropLowest;
+        this.extraCredit = extraCredit;
+    }
+    
+    // Lifecycle methods
+    @PrePersist
+    public void onCreate() {
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    @PreUpdate
+    public void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public ResultType getResultType() {
+        return resultType;
+    }
+    
+    public void setResultType(ResultType resultType) {
+        this.resultType = resultType;
+    }
+    
+    public BigDecimal getWeight() {
+        return weight;
+    }
+    
+    public void setWeight(BigDecimal weight) {
+        this.weight = weight;
+    }
+    
+    public Integer getDropLowest() {
+        return dropLowest;
+    }
+    
+    public void setDropLowest(Integer dropLowest) {
+        this.dropLowest = dropLowest;
+    }
+    
+    public Boolean getExtraCredit() {
+        return extraCredit;
+    }
+    
+    public void setExtraCredit(Boolean extraCredit) {
+        this.extraCredit = extraCredit;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+    
+    public Course getCourse() {
+        return course;
+    }
+    
+    public void setCourse(Course course) {
+        this.course = course;
+    }
+}
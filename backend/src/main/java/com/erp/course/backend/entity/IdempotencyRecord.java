@@ -0,0 +1,145 @@
+package com.erp.course.backend.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "idempotency_keys",
+    uniqueConstraints = @UniqueConstraint(name = "uk_idempotency_keys_key", columnNames = "idempotency_key"),
+    indexes = @Index(name = "idx_idempotency_keys_expires_at", columnList = "expires_at"))
+public class IdempotencyRecord {
+    
+    public static final String IN_PROGRESS = "IN_PROGRESS";
+    public static final String COMPLETED = "COMPLETED";
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    // Client key scoped by the caller, e.g. "alice:3f1c..."
+    @Column(name = "idempotency_key", nullable = false, length = 320)
+    private String idempotencyKey;
+    
+    // Hash of method, path and body; a reused key with a different request is refused
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+    
+    @Column(nullable = false, length = 20)
+    private String state; // IN_PROGRESS, COMPLETED
+    
+    @Column(name = "response_status")
+    private Integer responseStatus;
+    
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+    
+    @Column(name = "response_body", length = 1048576)
+    private byte[] responseBody;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+    
+    // Constructors
+    public IdempotencyRecord() {}
+    
+    public IdempotencyRecord(String idempotencyKey, String requestHash, LocalDateTime createdAt, LocalDateTime expiresAt) {
+        this.idempotencyKey = idempotencyKey;
+        this.requestHash = requestHash;
+        this.state = IN_PROGRESS;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+    
+    // Helper methods
+    public boolean isCompleted() {
+        return COMPLETED.equals(state);
+    }
+    
+    public boolean isExpired(LocalDateTime now) {
+        return expiresAt.isBefore(now);
+    }
+    
+    public void complete(int status, String contentType, byte[] body, LocalDateTime expiresAt) {
+        this.state = COMPLETED;
+        this.responseStatus = status;
+        this.contentType = contentType;
+        this.responseBody = body;
+        this.expiresAt = expiresAt;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+    
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+    
+    public String getRequestHash() {
+        return requestHash;
+    }
+    
+    public void setRequestHash(String requestHash) {
+        this.requestHash = requestHash;
+    }
+    
+    public String getState() {
+        return state;
+    }
+    
+    public void setState(String state) {
+        this.state = state;
+    }
+    
+    public Integer getResponseStatus() {
+        return responseStatus;
+    }
+    
+    public void setResponseStatus(Integer responseStatus) {
+        this.responseStatus = responseStatus;
+    }
+    
+    public String getContentType() {
+        return contentType;
+    }
+    
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+    
+    public byte[] getResponseBody() {
+        return responseBody;
+    }
+    
+    public void setResponseBody(byte[] responseBody) {
+        this.responseBody = responseBody;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+    
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
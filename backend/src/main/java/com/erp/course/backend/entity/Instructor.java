@@ -10,7 +10,7 @@ import java.time.LocalDateTime;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "instructors")
+@Table(name = "instructors", indexes = @Index(name = "idx_instructors_last_name", columnList = "last_name, id"))
 public class Instructor {
     
     @Id
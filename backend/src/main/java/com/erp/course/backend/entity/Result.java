@@ -9,8 +9,14 @@ import jakarta.validation.constraints.DecimalMin;
 import java.time.LocalDateTime;
 import java.math.BigDecimal;
 
+// Student, course and instructor are all read by ResultResponse; list queries load them in one join
 @Entity
 @Table(name = "results")
+@NamedEntityGraph(name = "Result.withParticipants", attributeNodes = {
+    @NamedAttributeNode("student"),
+    @NamedAttributeNode("course"),
+    @NamedAttributeNode("instructor")
+})
 public class Result {
     
     @Id
@@ -127,10 +133,15 @@ public class Result {
     }
     
     public String getLetterResult() {
-        if (resultValue.compareTo(BigDecimal.valueOf(90)) >= 0) return "A";
-        if (resultValue.compareTo(BigDecimal.valueOf(80)) >= 0) return "B";
-        if (resultValue.compareTo(BigDecimal.valueOf(70)) >= 0) return "C";
-        if (resultValue.compareTo(BigDecimal.valueOf(60)) >= 0) return "D";
+        return letterFor(resultValue);
+    }
+    
+    // Letter grade for a 0-100 value (also used for computed final grades)
+    public static String letterFor(BigDecimal value) {
+        if (value.compareTo(BigDecimal.valueOf(90)) >= 0) return "A";
+        if (value.compareTo(BigDecimal.valueOf(80)) >= 0) return "B";
+        if (value.compareTo(BigDecimal.valueOf(70)) >= 0) return "C";
+        if (value.compareTo(BigDecimal.valueOf(60)) >= 0) return "D";
         return "F";
     }
     
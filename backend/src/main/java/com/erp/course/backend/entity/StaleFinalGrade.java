@@ -0,0 +1,68 @@
+package com.erp.course.backend.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Marks a final grade whose results changed and that has not been recomputed since. Written in the
+// transaction that changes the results and deleted by the recompute, so a change survives a full
+// recompute queue, a restart or repeated failures until FinalGradeService gets it right.
+@Entity
+@Table(name = "stale_final_grades",
+    indexes = @Index(name = "idx_stale_final_grades_course_student", columnList = "course_id, student_id"))
+public class StaleFinalGrade {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "course_id", nullable = false)
+    private Long courseId;
+    
+    @Column(name = "student_id")
+    private Long studentId; // null when every student of the course is stale
+    
+    @Column(name = "marked_at", nullable = false)
+    private LocalDateTime markedAt;
+    
+    // Constructors
+    public StaleFinalGrade() {}
+    
+    public StaleFinalGrade(Long courseId, Long studentId, LocalDateTime markedAt) {
+        this.courseId = courseId;
+        this.studentId = studentId;
+        this.markedAt = markedAt;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getCourseId() {
+        return courseId;
+    }
+    
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+    
+    public Long getStudentId() {
+        return studentId;
+    }
+    
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+    
+    public LocalDateTime getMarkedAt() {
+        return markedAt;
+    }
+    
+    public void setMarkedAt(LocalDateTime markedAt) {
+        this.markedAt = markedAt;
+    }
+}
@@ -6,12 +6,15 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Max;
+import org.hibernate.annotations.DynamicUpdate;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.math.BigDecimal;
 
+// Dynamic updates so saving a profile never writes back a stale gpa maintained by GpaService
 @Entity
-@Table(name = "students")
+@DynamicUpdate
+@Table(name = "students", indexes = @Index(name = "idx_students_last_name", columnList = "last_name, id"))
 public class Student {
     
     @Id
@@ -67,6 +70,13 @@ public class Student {
     @Column(precision = 5, scale = 2)
     private BigDecimal gpa;
     
+    // Running GPA sums (credits x grade points, graded credits); written only by GpaService updates
+    @Column(name = "gpa_points", precision = 10, scale = 2, insertable = false, updatable = false)
+    private BigDecimal gpaPoints;
+    
+    @Column(name = "gpa_credits", insertable = false, updatable = false)
+    private Integer gpaCredits;
+    
     @Size(max = 50)
     private String status; // ACTIVE, INACTIVE, GRADUATED, SUSPENDED
     
@@ -234,6 +244,14 @@ public class Student {
         this.gpa = gpa;
     }
     
+    public BigDecimal getGpaPoints() {
+        return gpaPoints;
+    }
+    
+    public Integer getGpaCredits() {
+        return gpaCredits;
+    }
+    
     public String getStatus() {
         return status;
     }
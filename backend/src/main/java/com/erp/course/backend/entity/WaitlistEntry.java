@@ -0,0 +1,88 @@
+package com.erp.course.backend.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "course_waitlist",
+    uniqueConstraints = @UniqueConstraint(name = "uk_course_waitlist_course_student", columnNames = {"course_id", "student_id"}),
+    indexes = @Index(name = "idx_course_waitlist_course_position", columnList = "course_id, position"))
+public class WaitlistEntry {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @NotNull
+    @Column(nullable = false)
+    private Long position; // increasing per course in waitlist order, gaps allowed until renumbered
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    // Relationships
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "course_id", nullable = false)
+    private Course course;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "student_id", nullable = false)
+    private Student student;
+    
+    // Constructors
+    public WaitlistEntry() {}
+    
+    public WaitlistEntry(Course course, Student student, Long position) {
+        this.course = course;
+        this.student = student;
+        this.position = position;
+    }
+    
+    // Lifecycle methods
+    @PrePersist
+    public void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getPosition() {
+        return position;
+    }
+    
+    public void setPosition(Long position) {
+        this.position = position;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public Course getCourse() {
+        return course;
+    }
+    
+    public void setCourse(Course course) {
+        this.course = course;
+    }
+    
+    public Student getStudent() {
+        return student;
+    }
+    
+    public void setStudent(Student student) {
+        this.student = student;
+    }
+}
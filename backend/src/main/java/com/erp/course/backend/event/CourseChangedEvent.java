@@ -0,0 +1,21 @@
+package com.erp.course.backend.event;
+
+// Published by CourseService when a course is created, edited, opened, closed or removed
+public class CourseChangedEvent {
+    
+    private final Long courseId;
+    private final boolean listingOnly; // only enrollment status changed; departments and semesters did not
+    
+    public CourseChangedEvent(Long courseId, boolean listingOnly) {
+        this.courseId = courseId;
+        this.listingOnly = listingOnly;
+    }
+    
+    public Long getCourseId() {
+        return courseId;
+    }
+    
+    public boolean isListingOnly() {
+        return listingOnly;
+    }
+}
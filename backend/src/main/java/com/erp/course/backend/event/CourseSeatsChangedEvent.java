@@ -0,0 +1,16 @@
+package com.erp.course.backend.event;
+
+// Published by EnrollmentService when enrollments move a course's seat count. Carries no count:
+// listeners re-read it once the transaction commits, so handling an event twice is harmless.
+public class CourseSeatsChangedEvent {
+    
+    private final Long courseId;
+    
+    public CourseSeatsChangedEvent(Long courseId) {
+        this.courseId = courseId;
+    }
+    
+    public Long getCourseId() {
+        return courseId;
+    }
+}
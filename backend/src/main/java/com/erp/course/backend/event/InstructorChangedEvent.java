@@ -0,0 +1,15 @@
+package com.erp.course.backend.event;
+
+// Published by InstructorService when an instructor is created, edited, deactivated, reactivated or removed
+public class InstructorChangedEvent {
+    
+    private final Long instructorId;
+    
+    public InstructorChangedEvent(Long instructorId) {
+        this.instructorId = instructorId;
+    }
+    
+    public Long getInstructorId() {
+        return instructorId;
+    }
+}
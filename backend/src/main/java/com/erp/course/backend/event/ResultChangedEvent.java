@@ -0,0 +1,26 @@
+package com.erp.course.backend.event;
+
+// Published by ResultService when any result in a course is created, edited, released, unreleased or deleted.
+// studentId is set when a single student's results changed and null when the change spans the course.
+public class ResultChangedEvent {
+    
+    private final Long courseId;
+    private final Long studentId;
+    
+    public ResultChangedEvent(Long courseId) {
+        this(courseId, null);
+    }
+    
+    public ResultChangedEvent(Long courseId, Long studentId) {
+        this.courseId = courseId;
+        this.studentId = studentId;
+    }
+    
+    public Long getCourseId() {
+        return courseId;
+    }
+    
+    public Long getStudentId() {
+        return studentId;
+    }
+}
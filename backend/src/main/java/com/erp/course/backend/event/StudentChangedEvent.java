@@ -0,0 +1,15 @@
+package com.erp.course.backend.event;
+
+// Published by StudentService when a student is created, edited, deactivated, reactivated or removed
+public class StudentChangedEvent {
+    
+    private final Long studentId;
+    
+    public StudentChangedEvent(Long studentId) {
+        this.studentId = studentId;
+    }
+    
+    public Long getStudentId() {
+        return studentId;
+    }
+}
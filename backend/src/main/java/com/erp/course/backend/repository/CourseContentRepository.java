@@ -2,6 +2,7 @@ package com.erp.course.backend.repository;
 
 import com.erp.course.backend.entity.CourseContent;
 import com.erp.course.backend.entity.CourseContent.ContentType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -15,33 +16,43 @@ import java.util.Optional;
 public interface CourseContentRepository extends JpaRepository<CourseContent, Long> {
     
     // Find all content for a course
+    @EntityGraph("CourseContent.withCourseAndAuthor")
     List<CourseContent> findByCourse_Id(Long courseId);
     
     // Find all active content for a course
+    @EntityGraph("CourseContent.withCourseAndAuthor")
     List<CourseContent> findByCourse_IdAndIsActiveTrue(Long courseId);
     
     // Find all published content for a course (what students see)
+    @EntityGraph("CourseContent.withCourseAndAuthor")
     List<CourseContent> findByCourse_IdAndIsActiveTrueAndIsPublishedTrue(Long courseId);
     
     // Find content by course and ordered by sort order
+    @EntityGraph("CourseContent.withCourseAndAuthor")
     List<CourseContent> findByCourse_IdAndIsActiveTrueOrderBySortOrderAsc(Long courseId);
     
     // Find published content by course and ordered by sort order
+    @EntityGraph("CourseContent.withCourseAndAuthor")
     List<CourseContent> findByCourse_IdAndIsActiveTrueAndIsPublishedTrueOrderBySortOrderAsc(Long courseId);
     
     // Find content by type
+    @EntityGraph("CourseContent.withCourseAndAuthor")
     List<CourseContent> findByCourse_IdAndContentTypeAndIsActiveTrue(Long courseId, ContentType contentType);
     
     // Find published content by type
+    @EntityGraph("CourseContent.withCourseAndAuthor")
     List<CourseContent> findByCourse_IdAndContentTypeAndIsActiveTrueAndIsPublishedTrue(Long courseId, ContentType contentType);
     
     // Find content created by instructor
+    @EntityGraph("CourseContent.withCourseAndAuthor")
     List<CourseContent> findByCreatedByIdAndIsActiveTrue(Long instructorId);
     
     // Find content by course and instructor
+    @EntityGraph("CourseContent.withCourseAndAuthor")
     List<CourseContent> findByCourse_IdAndCreatedByIdAndIsActiveTrue(Long courseId, Long instructorId);
     
     // Search content by title
+    @EntityGraph("CourseContent.withCourseAndAuthor")
     @Query("SELECT cc FROM CourseContent cc WHERE " +
            "cc.course.id = :courseId AND " +
            "cc.isActive = true AND " +
@@ -49,6 +60,7 @@ public interface CourseContentRepository extends JpaRepository<CourseContent, Lo
     List<CourseContent> searchContentByTitle(@Param("courseId") Long courseId, @Param("searchTerm") String searchTerm);
     
     // Search published content by title
+    @EntityGraph("CourseContent.withCourseAndAuthor")
     @Query("SELECT cc FROM CourseContent cc WHERE " +
            "cc.course.id = :courseId AND " +
            "cc.isActive = true AND " +
@@ -66,6 +78,7 @@ public interface CourseContentRepository extends JpaRepository<CourseContent, Lo
     Long countByCourse_IdAndContentTypeAndIsActiveTrue(Long courseId, ContentType contentType);
     
     // Find content by course and instructor (for authorization)
+    @EntityGraph("CourseContent.withCourseAndAuthor")
     @Query("SELECT cc FROM CourseContent cc WHERE " +
            "cc.course.id = :courseId AND " +
            "cc.course.instructor.id = :instructorId AND " +
@@ -90,6 +103,7 @@ public interface CourseContentRepository extends JpaRepository<CourseContent, Lo
     List<CourseContent> findAllWithFiles();
     
     // Find content by course and content type ordered by sort order
+    @EntityGraph("CourseContent.withCourseAndAuthor")
     @Query("SELECT cc FROM CourseContent cc WHERE " +
            "cc.course.id = :courseId AND " +
            "cc.contentType = :contentType AND " +
@@ -106,6 +120,7 @@ public interface CourseContentRepository extends JpaRepository<CourseContent, Lo
     List<ContentType> getDistinctContentTypes(@Param("courseId") Long courseId);
     
     // Find recent content (last 30 days)
+    @EntityGraph("CourseContent.withCourseAndAuthor")
     @Query("SELECT cc FROM CourseContent cc WHERE " +
            "cc.course.id = :courseId AND " +
            "cc.isActive = true AND " +
@@ -115,6 +130,7 @@ public interface CourseContentRepository extends JpaRepository<CourseContent, Lo
     List<CourseContent> findRecentContent(@Param("courseId") Long courseId, @Param("thirtyDaysAgo") LocalDateTime thirtyDaysAgo);
     
     // Find announcements (for special handling)
+    @EntityGraph("CourseContent.withCourseAndAuthor")
     @Query("SELECT cc FROM CourseContent cc WHERE " +
            "cc.course.id = :courseId AND " +
            "cc.contentType = 'ANNOUNCEMENT' AND " +
@@ -122,4 +138,12 @@ public interface CourseContentRepository extends JpaRepository<CourseContent, Lo
            "cc.isPublished = true " +
            "ORDER BY cc.createdAt DESC")
     List<CourseContent> findAnnouncementsForCourse(@Param("courseId") Long courseId);
+    
+    // Version of a course's published content: [count, newest content, course and author updates]
+    @Query("SELECT COUNT(cc), MAX(cc.updatedAt), MAX(c.updatedAt), MAX(i.updatedAt) FROM CourseContent cc " +
+           "JOIN cc.course c JOIN cc.createdBy i WHERE " +
+           "c.id = :courseId AND " +
+           "cc.isActive = true AND " +
+           "cc.isPublished = true")
+    List<Object[]> findPublishedContentVersion(@Param("courseId") Long courseId);
 } 
\ No newline at end of file
@@ -1,18 +1,35 @@
 package com.erp.course.backend.repository;
 
+import com.erp.course.backend.dto.CourseSummary;
 import com.erp.course.backend.entity.Course;
 import com.erp.course.backend.entity.Instructor;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Long> {
     
+    // Constructor projection shared by the summary queries: one SELECT with the instructor
+    // joined in and no roster, so list endpoints never lazy-load enrolledStudents
+    String SUMMARY_SELECT = "SELECT new com.erp.course.backend.dto.CourseSummary(" +
+            "c.id, c.courseCode, c.courseName, c.description, c.credits, c.department, c.semester, " +
+            "c.startDate, c.endDate, c.schedule, c.location, c.maxCapacity, c.currentEnrollment, " +
+            "c.isActive, c.enrollmentOpen, c.createdAt, c.updatedAt, " +
+            "i.id, i.firstName, i.lastName, i.email, i.department) " +
+            "FROM Course c JOIN c.instructor i ";
+    
     // Find by course code
     Optional<Course> findByCourseCode(String courseCode);
     
@@ -147,4 +164,194 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
     // Get average enrollment by instructor
     @Query("SELECT AVG(c.currentEnrollment) FROM Course c WHERE c.instructor.id = :instructorId AND c.isActive = true")
     Double getAverageEnrollmentByInstructor(@Param("instructorId") Long instructorId);
-} 
\ No newline at end of file
+    
+    // ================================
+    // COURSE SUMMARY PROJECTIONS
+    // ================================
+    
+    // All courses
+    @Query(SUMMARY_SELECT)
+    List<CourseSummary> findAllSummaries();
+    
+    // All active courses
+    @Query(SUMMARY_SELECT + "WHERE c.isActive = true")
+    List<CourseSummary> findActiveSummaries();
+    
+    // Active courses by department
+    @Query(SUMMARY_SELECT + "WHERE c.department = :department AND c.isActive = true")
+    List<CourseSummary> findActiveSummariesByDepartment(@Param("department") String department);
+    
+    // Active courses by semester
+    @Query(SUMMARY_SELECT + "WHERE c.semester = :semester AND c.isActive = true")
+    List<CourseSummary> findActiveSummariesBySemester(@Param("semester") Integer semester);
+    
+    // Courses by instructor ID
+    @Query(SUMMARY_SELECT + "WHERE i.id = :instructorId")
+    List<CourseSummary> findSummariesByInstructorId(@Param("instructorId") Long instructorId);
+    
+    // Active courses by instructor ID
+    @Query(SUMMARY_SELECT + "WHERE i.id = :instructorId AND c.isActive = true")
+    List<CourseSummary> findActiveSummariesByInstructorId(@Param("instructorId") Long instructorId);
+    
+    // Search active courses by name or code
+    @Query(SUMMARY_SELECT + "WHERE " +
+           "(LOWER(c.courseName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+           "LOWER(c.courseCode) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) AND " +
+           "c.isActive = true")
+    List<CourseSummary> searchSummariesByNameOrCode(@Param("searchTerm") String searchTerm);
+    
+    // Active courses by ID (search hits, re-ordered by the caller)
+    @Query(SUMMARY_SELECT + "WHERE c.id IN :ids AND c.isActive = true")
+    List<CourseSummary> findActiveSummariesByIds(@Param("ids") Collection<Long> ids);
+    
+    // Searchable text of every active course: id, code, name, department, description
+    @Query("SELECT c.id, c.courseCode, c.courseName, c.department, c.description FROM Course c WHERE c.isActive = true")
+    List<Object[]> findActiveSearchText();
+    
+    // Searchable text of one course, or no row once it is inactive
+    @Query("SELECT c.id, c.courseCode, c.courseName, c.department, c.description FROM Course c " +
+           "WHERE c.id = :courseId AND c.isActive = true")
+    List<Object[]> findActiveSearchTextById(@Param("courseId") Long courseId);
+    
+    // Courses with available spots
+    @Query(SUMMARY_SELECT + "WHERE c.currentEnrollment < c.maxCapacity AND c.enrollmentOpen = true AND c.isActive = true")
+    List<CourseSummary> findSummariesWithAvailableSpots();
+    
+    // Courses with open enrollment
+    @Query(SUMMARY_SELECT + "WHERE c.enrollmentOpen = true AND c.isActive = true")
+    List<CourseSummary> findSummariesWithOpenEnrollment();
+    
+    // Active courses a specific student is enrolled in
+    @Query(SUMMARY_SELECT + "JOIN c.enrolledStudents s WHERE s.id = :studentId AND c.isActive = true")
+    List<CourseSummary> findSummariesByEnrolledStudent(@Param("studentId") Long studentId);
+    
+    // Open courses with free seats that a specific student is NOT enrolled in
+    @Query(SUMMARY_SELECT + "WHERE c.isActive = true AND c.enrollmentOpen = true AND " +
+           "c.currentEnrollment < c.maxCapacity AND " +
+           "c.id NOT IN (SELECT c2.id FROM Course c2 JOIN c2.enrolledStudents s WHERE s.id = :studentId)")
+    List<CourseSummary> findAvailableSummariesForStudent(@Param("studentId") Long studentId);
+    
+    // Keyset page ordered by (courseCode, id): rows strictly after the cursor, null filters ignored; the leading
+    // courseCode bound lets the unique code index seek to the cursor
+    @Query(SUMMARY_SELECT + "WHERE " +
+           "(:activeOnly = false OR c.isActive = true) AND " +
+           "(:openOnly = false OR c.enrollmentOpen = true) AND " +
+           "(:availableOnly = false OR c.currentEnrollment < c.maxCapacity) AND " +
+           "(:department IS NULL OR c.department = :department) AND " +
+           "(:semester IS NULL OR c.semester = :semester) AND " +
+           "(:instructorId IS NULL OR i.id = :instructorId) AND " +
+           "c.courseCode >= :afterCode AND (c.courseCode > :afterCode OR c.id > :afterId) " +
+           "ORDER BY c.courseCode, c.id")
+    List<CourseSummary> findSummaryPageAfter(@Param("activeOnly") boolean activeOnly,
+                                             @Param("openOnly") boolean openOnly,
+                                             @Param("availableOnly") boolean availableOnly,
+                                             @Param("department") String department,
+                                             @Param("semester") Integer semester,
+                                             @Param("instructorId") Long instructorId,
+                                             @Param("afterCode") String afterCode,
+                                             @Param("afterId") Long afterId,
+                                             Pageable pageable);
+    
+    // Committed seat counts of one course: [currentEnrollment, maxCapacity]
+    @Query("SELECT c.currentEnrollment, c.maxCapacity FROM Course c WHERE c.id = :courseId")
+    List<Object[]> findSeatCounts(@Param("courseId") Long courseId);
+    
+    // Next chunk of an export: courses in id order after the last one written
+    @Query(SUMMARY_SELECT + "WHERE c.id > :afterId ORDER BY c.id")
+    List<CourseSummary> findExportChunkAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    // Version of a student's enrolled-course list: [count, newest course update, newest instructor update]
+    @Query("SELECT COUNT(c), MAX(c.updatedAt), MAX(i.updatedAt) FROM Course c JOIN c.instructor i " +
+           "JOIN c.enrolledStudents s WHERE s.id = :studentId AND c.isActive = true")
+    List<Object[]> findEnrolledCoursesVersion(@Param("studentId") Long studentId);
+    
+    // Instructor's courses with rosters fetched in the same query (instructor dashboard)
+    @Query("SELECT DISTINCT c FROM Course c JOIN FETCH c.instructor LEFT JOIN FETCH c.enrolledStudents " +
+           "WHERE c.instructor.id = :instructorId")
+    List<Course> findByInstructorIdWithRoster(@Param("instructorId") Long instructorId);
+    
+    // ================================
+    // ATOMIC SEAT RESERVATION
+    // ================================
+    
+    // Claim one seat in a single conditional update (0 rows = inactive, closed, full or missing)
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Course c SET c.currentEnrollment = c.currentEnrollment + 1, c.updatedAt = :now WHERE " +
+           "c.id = :courseId AND c.isActive = true AND c.enrollmentOpen = true AND " +
+           "c.currentEnrollment < c.maxCapacity")
+    int claimSeat(@Param("courseId") Long courseId, @Param("now") LocalDateTime now);
+    
+    // Take seats allocated under the course lock (batch enrollment)
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Course c SET c.currentEnrollment = c.currentEnrollment + :seats, c.updatedAt = :now WHERE c.id = :courseId")
+    int addSeats(@Param("courseId") Long courseId, @Param("seats") int seats, @Param("now") LocalDateTime now);
+    
+    // Give one seat back
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Course c SET c.currentEnrollment = c.currentEnrollment - 1, c.updatedAt = :now WHERE " +
+           "c.id = :courseId AND c.currentEnrollment > 0")
+    int releaseSeat(@Param("courseId") Long courseId, @Param("now") LocalDateTime now);
+    
+    // Check a single enrollment row without hydrating the roster
+    @Query(value = "SELECT COUNT(*) FROM course_enrollments WHERE course_id = :courseId AND student_id = :studentId",
+           nativeQuery = true)
+    Long countEnrollment(@Param("courseId") Long courseId, @Param("studentId") Long studentId);
+    
+    // Insert a single enrollment row (guarded by uk_course_enrollments_course_student)
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO course_enrollments (course_id, student_id) VALUES (:courseId, :studentId)",
+           nativeQuery = true)
+    int insertEnrollment(@Param("courseId") Long courseId, @Param("studentId") Long studentId);
+    
+    // Delete a single enrollment row
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM course_enrollments WHERE course_id = :courseId AND student_id = :studentId",
+           nativeQuery = true)
+    int deleteEnrollment(@Param("courseId") Long courseId, @Param("studentId") Long studentId);
+    
+    // Get remaining seats for a course
+    @Query("SELECT c.maxCapacity - c.currentEnrollment FROM Course c WHERE c.id = :courseId")
+    Integer findAvailableSpots(@Param("courseId") Long courseId);
+    
+    // Lock the course row for batched seat allocation
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Course c WHERE c.id = :courseId")
+    Optional<Course> findByIdForUpdate(@Param("courseId") Long courseId);
+    
+    // Find which of the given students are already enrolled in a course
+    @Query("SELECT s.id FROM Course c JOIN c.enrolledStudents s WHERE c.id = :courseId AND s.id IN :studentIds")
+    List<Long> findEnrolledStudentIds(@Param("courseId") Long courseId, @Param("studentIds") Collection<Long> studentIds);
+    
+    // ================================
+    // SCHEDULE CONFLICT DETECTION
+    // ================================
+    
+    // Schedule and date range of one course without loading the entity:
+    // [schedule, scheduleMask, startDate, endDate]
+    @Query("SELECT c.schedule, c.scheduleMask, c.startDate, c.endDate FROM Course c WHERE c.id = :courseId")
+    List<Object[]> findScheduleWindow(@Param("courseId") Long courseId);
+    
+    // Other active courses the given students attend whose dates overlap the range:
+    // [studentId, courseId, courseCode, schedule, scheduleMask]
+    @Query("SELECT s.id, c.id, c.courseCode, c.schedule, c.scheduleMask FROM Course c JOIN c.enrolledStudents s " +
+           "WHERE s.id IN :studentIds AND c.id <> :courseId AND c.isActive = true AND " +
+           "c.startDate <= :endDate AND c.endDate >= :startDate")
+    List<Object[]> findOverlappingEnrollmentSchedules(@Param("courseId") Long courseId,
+                                                      @Param("studentIds") Collection<Long> studentIds,
+                                                      @Param("startDate") LocalDate startDate,
+                                                      @Param("endDate") LocalDate endDate);
+    
+    // Every active enrollment with its schedule, grouped by student for the conflict report:
+    // [studentId, courseId, courseCode, schedule, scheduleMask, startDate, endDate]
+    @Query("SELECT s.id, c.id, c.courseCode, c.schedule, c.scheduleMask, c.startDate, c.endDate " +
+           "FROM Course c JOIN c.enrolledStudents s WHERE c.isActive = true ORDER BY s.id, c.id")
+    List<Object[]> findActiveEnrollmentSchedules();
+    
+    // Ids of every course (used by the term-end final grade recompute)
+    @Query("SELECT c.id FROM Course c ORDER BY c.id")
+    List<Long> findAllIds();
+    
+    // Credit hours of a course (weight of its final grade in the GPA)
+    @Query("SELECT c.credits FROM Course c WHERE c.id = :courseId")
+    Integer findCreditsById(@Param("courseId") Long courseId);
+}
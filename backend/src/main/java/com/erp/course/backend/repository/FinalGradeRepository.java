@@ -0,0 +1,50 @@
+package com.erp.course.backend.repository;
+
+import com.erp.course.backend.entity.FinalGrade;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface FinalGradeRepository extends JpaRepository<FinalGrade, Long> {
+    
+    // Find and lock a student's final grade in a course, so concurrent recomputes apply GPA changes once
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT f FROM FinalGrade f WHERE f.course.id = :courseId AND f.student.id = :studentId")
+    Optional<FinalGrade> findForUpdate(@Param("courseId") Long courseId, @Param("studentId") Long studentId);
+    
+    // Get and lock all final grades of a course (used by the course recompute)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT f FROM FinalGrade f WHERE f.course.id = :courseId")
+    List<FinalGrade> findByCourseForUpdate(@Param("courseId") Long courseId);
+    
+    // Get the final grades of a course with students loaded, best first
+    @Query("SELECT f FROM FinalGrade f JOIN FETCH f.student JOIN FETCH f.course WHERE f.course.id = :courseId " +
+           "ORDER BY f.grade DESC, f.student.id ASC")
+    List<FinalGrade> findWithStudentsByCourse(@Param("courseId") Long courseId);
+    
+    // Get the final grades of a student with courses loaded
+    @Query("SELECT f FROM FinalGrade f JOIN FETCH f.course JOIN FETCH f.student WHERE f.student.id = :studentId " +
+           "ORDER BY f.course.courseCode ASC")
+    List<FinalGrade> findWithCoursesByStudent(@Param("studentId") Long studentId);
+    
+    // [studentId, letterGrade, credits] of every final grade of the given students, for the GPA recompute
+    @Query("SELECT f.student.id, f.letterGrade, c.credits FROM FinalGrade f JOIN f.course c WHERE f.student.id IN :studentIds")
+    List<Object[]> findGpaRowsByStudents(@Param("studentIds") Collection<Long> studentIds);
+    
+    // [studentId, grade] of every final grade of a course (rank fallback before the index is loaded)
+    @Query("SELECT f.student.id, f.grade FROM FinalGrade f WHERE f.course.id = :courseId")
+    List<Object[]> findGradesByCourse(@Param("courseId") Long courseId);
+    
+    // Grade of one final grade, empty once it is removed (rank index refresh)
+    @Query("SELECT f.grade FROM FinalGrade f WHERE f.course.id = :courseId AND f.student.id = :studentId")
+    List<BigDecimal> findGrade(@Param("courseId") Long courseId, @Param("studentId") Long studentId);
+}
@@ -0,0 +1,22 @@
+package com.erp.course.backend.repository;
+
+import com.erp.course.backend.entity.GradeWeight;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface GradeWeightRepository extends JpaRepository<GradeWeight, Long> {
+    
+    // Get the grading scheme of a course
+    List<GradeWeight> findByCourse_IdOrderByResultType(Long courseId);
+    
+    // Remove the grading scheme of a course (before saving a replacement)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM GradeWeight g WHERE g.course.id = :courseId")
+    int deleteByCourseId(@Param("courseId") Long courseId);
+}
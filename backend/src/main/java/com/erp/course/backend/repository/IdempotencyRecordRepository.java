@@ -0,0 +1,34 @@
+package com.erp.course.backend.repository;
+
+import com.erp.course.backend.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+    
+    Optional<IdempotencyRecord> findByIdempotencyKey(String idempotencyKey);
+    
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.idempotencyKey = :key")
+    int deleteByKey(@Param("key") String key);
+    
+    // Take over a stale claim only if nobody else has touched it since it was read
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.id = :id AND r.state = :state AND r.createdAt = :createdAt")
+    int deleteIfUnchanged(@Param("id") Long id, @Param("state") String state, @Param("createdAt") LocalDateTime createdAt);
+    
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -1,10 +1,15 @@
 package com.erp.course.backend.repository;
 
 import com.erp.course.backend.entity.Instructor;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.List;
 
@@ -35,6 +40,28 @@ public interface InstructorRepository extends JpaRepository<Instructor, Long> {
     @Query("SELECT i FROM Instructor i WHERE i.isActive = true AND (i.firstName LIKE %:name% OR i.lastName LIKE %:name%)")
     List<Instructor> findActiveInstructorsByNameContaining(@Param("name") String name);
     
+    // Active instructors by ID (people-search hits, re-ordered by the caller)
+    List<Instructor> findByIdInAndIsActiveTrue(Collection<Long> ids);
+    
+    // Searchable text of every active instructor: id, employeeId, first name, last name, email
+    @Query("SELECT i.id, i.employeeId, i.firstName, i.lastName, i.email FROM Instructor i WHERE i.isActive = true")
+    List<Object[]> findActiveSearchText();
+    
+    @Query("SELECT i.id, i.employeeId, i.firstName, i.lastName, i.email FROM Instructor i WHERE i.id = :id AND i.isActive = true")
+    List<Object[]> findActiveSearchTextById(@Param("id") Long id);
+    
+    // Active instructors for typeahead: id, employeeId, first name, last name, department,
+    // students across their active courses (the popularity used for ranking)
+    @Query("SELECT i.id, i.employeeId, i.firstName, i.lastName, i.department, COALESCE(SUM(c.currentEnrollment), 0) " +
+           "FROM Instructor i LEFT JOIN Course c ON c.instructor = i AND c.isActive = true " +
+           "WHERE i.isActive = true GROUP BY i.id, i.employeeId, i.firstName, i.lastName, i.department")
+    List<Object[]> findActiveSuggestRows();
+    
+    @Query("SELECT i.id, i.employeeId, i.firstName, i.lastName, i.department, COALESCE(SUM(c.currentEnrollment), 0) " +
+           "FROM Instructor i LEFT JOIN Course c ON c.instructor = i AND c.isActive = true " +
+           "WHERE i.isActive = true AND i.id = :id GROUP BY i.id, i.employeeId, i.firstName, i.lastName, i.department")
+    List<Object[]> findActiveSuggestRowById(@Param("id") Long id);
+    
     @Query("SELECT DISTINCT i.department FROM Instructor i WHERE i.isActive = true")
     List<String> findAllActiveDepartments();
     
@@ -46,4 +73,22 @@ public interface InstructorRepository extends JpaRepository<Instructor, Long> {
     
     @Query("SELECT COUNT(i) FROM Instructor i WHERE i.department = :department AND i.isActive = true")
     long countByDepartmentAndActive(@Param("department") String department);
+    
+    // Keyset page ordered by (lastName, id): rows strictly after the cursor, null filters ignored; the leading
+    // lastName bound keeps it a range scan of idx_instructors_last_name
+    @Query("SELECT i FROM Instructor i WHERE " +
+           "(:activeOnly = false OR i.isActive = true) AND " +
+           "(:department IS NULL OR i.department = :department) AND " +
+           "i.lastName >= :afterName AND (i.lastName > :afterName OR i.id > :afterId) " +
+           "ORDER BY i.lastName, i.id")
+    List<Instructor> findPageAfter(@Param("activeOnly") boolean activeOnly,
+                                   @Param("department") String department,
+                                   @Param("afterName") String afterName,
+                                   @Param("afterId") Long afterId,
+                                   Pageable pageable);
+    
+    // Next chunk of an export: instructors in id order after the last one written
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT i FROM Instructor i WHERE i.id > :afterId ORDER BY i.id")
+    List<Instructor> findExportChunkAfter(@Param("afterId") Long afterId, Pageable pageable);
 } 
\ No newline at end of file
@@ -2,39 +2,59 @@ package com.erp.course.backend.repository;
 
 import com.erp.course.backend.entity.Result;
 import com.erp.course.backend.entity.Result.ResultType;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ResultRepository extends JpaRepository<Result, Long> {
     
     // Find results by course
+    @EntityGraph("Result.withParticipants")
     List<Result> findByCourseIdAndIsActiveTrue(Long courseId);
     
     // Find results by student
+    @EntityGraph("Result.withParticipants")
     List<Result> findByStudentIdAndIsActiveTrue(Long studentId);
     
     // Find results by instructor
+    @EntityGraph("Result.withParticipants")
     List<Result> findByInstructorIdAndIsActiveTrue(Long instructorId);
     
     // Find results by course and student
+    @EntityGraph("Result.withParticipants")
     List<Result> findByCourseIdAndStudentIdAndIsActiveTrue(Long courseId, Long studentId);
     
     // Find results by course and instructor
+    @EntityGraph("Result.withParticipants")
     List<Result> findByCourseIdAndInstructorIdAndIsActiveTrue(Long courseId, Long instructorId);
     
     // Find released results by student
+    @EntityGraph("Result.withParticipants")
     List<Result> findByStudentIdAndIsReleasedTrueAndIsActiveTrue(Long studentId);
     
     // Find released results by course and student
+    @EntityGraph("Result.withParticipants")
     List<Result> findByCourseIdAndStudentIdAndIsReleasedTrueAndIsActiveTrue(Long courseId, Long studentId);
     
     // Find results by course and result type
+    @EntityGraph("Result.withParticipants")
     List<Result> findByCourseIdAndResultTypeAndIsActiveTrue(Long courseId, ResultType resultType);
     
     // Find results by course, student, and result type
@@ -42,9 +62,11 @@ public interface ResultRepository extends JpaRepository<Result, Long> {
         Long courseId, Long studentId, ResultType resultType, String title);
     
     // Find unreleased results by course
+    @EntityGraph("Result.withParticipants")
     List<Result> findByCourseIdAndIsReleasedFalseAndIsActiveTrue(Long courseId);
     
     // Find released results by course
+    @EntityGraph("Result.withParticipants")
     List<Result> findByCourseIdAndIsReleasedTrueAndIsActiveTrue(Long courseId);
     
     // Count results by course
@@ -75,6 +97,42 @@ public interface ResultRepository extends JpaRepository<Result, Long> {
     @Query("SELECT r.resultValue, COUNT(r) FROM Result r WHERE r.course.id = :courseId AND r.isReleased = true AND r.isActive = true GROUP BY r.resultValue ORDER BY r.resultValue DESC")
     List<Object[]> getResultDistributionForCourse(@Param("courseId") Long courseId);
     
+    // Active results of a course counted per type and whole point: [resultType, FLOOR(resultValue), count]
+    @Query("SELECT r.resultType, FLOOR(r.resultValue), COUNT(r) FROM Result r WHERE r.course.id = :courseId " +
+           "AND r.isActive = true GROUP BY r.resultType, FLOOR(r.resultValue)")
+    List<Object[]> countByTypeAndPointForCourse(@Param("courseId") Long courseId);
+    
+    // The same counts restricted to released or unreleased results
+    @Query("SELECT r.resultType, FLOOR(r.resultValue), COUNT(r) FROM Result r WHERE r.course.id = :courseId " +
+           "AND r.isActive = true AND r.isReleased = :released GROUP BY r.resultType, FLOOR(r.resultValue)")
+    List<Object[]> countByTypeAndPointForCourseAndReleased(@Param("courseId") Long courseId, @Param("released") Boolean released);
+    
+    // Active results a bulk release or unrelease will change: [studentId, title, resultValue];
+    // title and resultType are optional filters. Locked, so the UPDATE that follows changes exactly
+    // these rows and the rollups record what it changed
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r.student.id, r.title, r.resultValue FROM Result r WHERE r.course.id = :courseId " +
+           "AND r.isActive = true AND r.isReleased = :released " +
+           "AND (:title IS NULL OR r.title = :title) AND (:resultType IS NULL OR r.resultType = :resultType)")
+    List<Object[]> findBulkReleaseRows(@Param("courseId") Long courseId, @Param("released") Boolean released,
+                                       @Param("title") String title, @Param("resultType") ResultType resultType);
+    
+    // Release a course's unreleased results in one statement; returns the number released
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Result r SET r.isReleased = true, r.releasedAt = :now, r.updatedAt = :now " +
+           "WHERE r.course.id = :courseId AND r.isActive = true AND r.isReleased = false " +
+           "AND (:title IS NULL OR r.title = :title) AND (:resultType IS NULL OR r.resultType = :resultType)")
+    int releaseAll(@Param("courseId") Long courseId, @Param("title") String title,
+                   @Param("resultType") ResultType resultType, @Param("now") LocalDateTime now);
+    
+    // Unrelease a course's released results in one statement; returns the number unreleased
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Result r SET r.isReleased = false, r.releasedAt = NULL, r.updatedAt = :now " +
+           "WHERE r.course.id = :courseId AND r.isActive = true AND r.isReleased = true " +
+           "AND (:title IS NULL OR r.title = :title) AND (:resultType IS NULL OR r.resultType = :resultType)")
+    int unreleaseAll(@Param("courseId") Long courseId, @Param("title") String title,
+                     @Param("resultType") ResultType resultType, @Param("now") LocalDateTime now);
+    
     // Find students with results in a course
     @Query("SELECT DISTINCT r.student FROM Result r WHERE r.course.id = :courseId AND r.isActive = true")
     List<Object> getStudentsWithResultsInCourse(@Param("courseId") Long courseId);
@@ -88,16 +146,20 @@ public interface ResultRepository extends JpaRepository<Result, Long> {
         Long courseId, Long studentId, ResultType resultType, String title);
     
     // Find results by instructor and release status
+    @EntityGraph("Result.withParticipants")
     List<Result> findByInstructorIdAndIsReleasedAndIsActiveTrue(Long instructorId, Boolean isReleased);
     
     // Find results by course and release status
+    @EntityGraph("Result.withParticipants")
     List<Result> findByCourseIdAndIsReleasedAndIsActiveTrue(Long courseId, Boolean isReleased);
     
     // Get latest results for a student
+    @EntityGraph("Result.withParticipants")
     @Query("SELECT r FROM Result r WHERE r.student.id = :studentId AND r.isReleased = true AND r.isActive = true ORDER BY r.createdAt DESC")
     List<Result> getLatestResultsForStudent(@Param("studentId") Long studentId);
     
     // Get latest results for a course
+    @EntityGraph("Result.withParticipants")
     @Query("SELECT r FROM Result r WHERE r.course.id = :courseId AND r.isActive = true ORDER BY r.createdAt DESC")
     List<Result> getLatestResultsForCourse(@Param("courseId") Long courseId);
     
@@ -108,4 +170,44 @@ public interface ResultRepository extends JpaRepository<Result, Long> {
     // Delete all results for a student (soft delete by setting isActive = false)
     @Query("UPDATE Result r SET r.isActive = false WHERE r.student.id = :studentId")
     void softDeleteResultsByStudent(@Param("studentId") Long studentId);
+    
+    // Next chunk of an export, active results in id order after the last one written, as flat rows:
+    // [id, studentNumber, firstName, lastName, courseCode, resultType, title, resultValue, isReleased, releasedAt, createdAt]
+    @Query("SELECT r.id, s.studentId, s.firstName, s.lastName, c.courseCode, r.resultType, r.title, " +
+           "r.resultValue, r.isReleased, r.releasedAt, r.createdAt " +
+           "FROM Result r JOIN r.student s JOIN r.course c WHERE r.isActive = true AND r.id > :afterId ORDER BY r.id")
+    List<Object[]> findExportChunkAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    // Version of a student's released results: [count, newest result, student, course and instructor updates]
+    @Query("SELECT COUNT(r), MAX(r.updatedAt), MAX(s.updatedAt), MAX(c.updatedAt), MAX(i.updatedAt) " +
+           "FROM Result r JOIN r.student s JOIN r.course c JOIN r.instructor i " +
+           "WHERE s.id = :studentId AND r.isReleased = true AND r.isActive = true")
+    List<Object[]> findReleasedResultsVersion(@Param("studentId") Long studentId);
+    
+    // Released result values for a course, read through a JDBC cursor without loading entities
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT r.resultValue FROM Result r WHERE r.course.id = :courseId AND r.isReleased = true AND r.isActive = true")
+    Stream<BigDecimal> streamReleasedValuesByCourse(@Param("courseId") Long courseId);
+    
+    // Released result values for a student
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT r.resultValue FROM Result r WHERE r.student.id = :studentId AND r.isReleased = true AND r.isActive = true")
+    Stream<BigDecimal> streamReleasedValuesByStudent(@Param("studentId") Long studentId);
+    
+    // Which of the given students already have an active result for this assessment
+    @Query("SELECT r.student.id FROM Result r WHERE r.course.id = :courseId AND r.resultType = :resultType " +
+           "AND r.title = :title AND r.isActive = true AND r.student.id IN :studentIds")
+    List<Long> findGradedStudentIds(@Param("courseId") Long courseId, @Param("resultType") ResultType resultType,
+                                    @Param("title") String title, @Param("studentIds") Collection<Long> studentIds);
+    
+    // Released (type, value) pairs of one student in one course, for final-grade computation
+    @Query("SELECT r.resultType, r.resultValue FROM Result r WHERE r.course.id = :courseId AND r.student.id = :studentId " +
+           "AND r.isReleased = true AND r.isActive = true")
+    List<Object[]> findReleasedTypeValues(@Param("courseId") Long courseId, @Param("studentId") Long studentId);
+    
+    // Released (student id, type, value) rows of a whole course, for final-grade computation
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT r.student.id, r.resultType, r.resultValue FROM Result r WHERE r.course.id = :courseId " +
+           "AND r.isReleased = true AND r.isActive = true")
+    List<Object[]> findReleasedTypeValuesByCourse(@Param("courseId") Long courseId);
 } 
\ No newline at end of file
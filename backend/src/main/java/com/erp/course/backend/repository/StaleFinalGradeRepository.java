@@ -0,0 +1,23 @@
+package com.erp.course.backend.repository;
+
+import com.erp.course.backend.entity.StaleFinalGrade;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StaleFinalGradeRepository extends JpaRepository<StaleFinalGrade, Long> {
+    
+    // Markers one student recompute clears
+    List<StaleFinalGrade> findByCourseIdAndStudentId(Long courseId, Long studentId);
+    
+    // Markers one course recompute clears, including those of single students
+    List<StaleFinalGrade> findByCourseId(Long courseId);
+    
+    // Get the oldest markers (limit through the pageable)
+    @Query("SELECT s FROM StaleFinalGrade s ORDER BY s.id ASC")
+    List<StaleFinalGrade> findOldest(Pageable pageable);
+}
@@ -1,10 +1,19 @@
 package com.erp.course.backend.repository;
 
 import com.erp.course.backend.entity.Student;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.List;
 
@@ -43,6 +52,23 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     @Query("SELECT s FROM Student s WHERE s.isActive = true AND (s.firstName LIKE %:name% OR s.lastName LIKE %:name%)")
     List<Student> findActiveStudentsByNameContaining(@Param("name") String name);
     
+    // Active students by ID (people-search hits, re-ordered by the caller)
+    List<Student> findByIdInAndIsActiveTrue(Collection<Long> ids);
+    
+    // Searchable text of every active student: id, studentId, first name, last name, email
+    @Query("SELECT s.id, s.studentId, s.firstName, s.lastName, s.email FROM Student s WHERE s.isActive = true")
+    List<Object[]> findActiveSearchText();
+    
+    @Query("SELECT s.id, s.studentId, s.firstName, s.lastName, s.email FROM Student s WHERE s.id = :id AND s.isActive = true")
+    List<Object[]> findActiveSearchTextById(@Param("id") Long id);
+    
+    // Active students for typeahead: id, studentId, first name, last name
+    @Query("SELECT s.id, s.studentId, s.firstName, s.lastName FROM Student s WHERE s.isActive = true")
+    List<Object[]> findActiveSuggestRows();
+    
+    @Query("SELECT s.id, s.studentId, s.firstName, s.lastName FROM Student s WHERE s.isActive = true AND s.id = :id")
+    List<Object[]> findActiveSuggestRowById(@Param("id") Long id);
+    
     @Query("SELECT DISTINCT s.major FROM Student s WHERE s.isActive = true")
     List<String> findAllActiveMajors();
     
@@ -66,4 +92,66 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     
     @Query("SELECT AVG(s.gpa) FROM Student s WHERE s.major = :major AND s.isActive = true AND s.gpa IS NOT NULL")
     Double findAverageGpaByMajor(@Param("major") String major);
-} 
\ No newline at end of file
+    
+    @Query("SELECT s.id FROM Student s WHERE s.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+    
+    // Keyset page ordered by (lastName, id): rows strictly after the cursor, null filters ignored; the leading
+    // lastName bound keeps it a range scan of idx_students_last_name
+    @Query("SELECT s FROM Student s WHERE " +
+           "(:activeOnly = false OR s.isActive = true) AND " +
+           "(:major IS NULL OR s.major = :major) AND " +
+           "(:year IS NULL OR s.year = :year) AND " +
+           "(:status IS NULL OR s.status = :status) AND " +
+           "s.lastName >= :afterName AND (s.lastName > :afterName OR s.id > :afterId) " +
+           "ORDER BY s.lastName, s.id")
+    List<Student> findPageAfter(@Param("activeOnly") boolean activeOnly,
+                                @Param("major") String major,
+                                @Param("year") Integer year,
+                                @Param("status") String status,
+                                @Param("afterName") String afterName,
+                                @Param("afterId") Long afterId,
+                                Pageable pageable);
+    
+    // Next chunk of an export: students in id order after the last one written
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT s FROM Student s WHERE s.id > :afterId ORDER BY s.id")
+    List<Student> findExportChunkAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    // ================================
+    // GPA MAINTENANCE
+    // ================================
+    
+    // Apply a change to the running GPA sums in one statement. gpa is assigned first so it reads the
+    // old sums on every database; it keeps its value when no graded credits remain.
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE students SET " +
+                   "gpa = CASE WHEN COALESCE(gpa_credits, 0) + :credits > 0 " +
+                   "THEN ROUND((COALESCE(gpa_points, 0) + :points) / (COALESCE(gpa_credits, 0) + :credits), 2) ELSE gpa END, " +
+                   "gpa_points = COALESCE(gpa_points, 0) + :points, " +
+                   "gpa_credits = COALESCE(gpa_credits, 0) + :credits " +
+                   "WHERE id = :studentId",
+           nativeQuery = true)
+    int addGradePoints(@Param("studentId") Long studentId, @Param("points") BigDecimal points, @Param("credits") Integer credits);
+    
+    // Ids of every student in id order (used to split the GPA recompute into chunks)
+    @Query("SELECT s.id FROM Student s ORDER BY s.id")
+    List<Long> findAllIds();
+    
+    // Lock a chunk of students so incremental GPA updates wait for the chunk's rewrite
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Student s WHERE s.id IN :ids")
+    List<Student> findAllForUpdate(@Param("ids") Collection<Long> ids);
+    
+    // ================================
+    // CLASS RANK
+    // ================================
+    
+    // [major, gpa, isActive] of one student
+    @Query("SELECT s.major, s.gpa, s.isActive FROM Student s WHERE s.id = :studentId")
+    List<Object[]> findRankRow(@Param("studentId") Long studentId);
+    
+    // [id, gpa] of the active students of a major with a GPA (rank fallback before the index is loaded)
+    @Query("SELECT s.id, s.gpa FROM Student s WHERE s.major = :major AND s.isActive = true AND s.gpa IS NOT NULL")
+    List<Object[]> findGpasByMajor(@Param("major") String major);
+}
@@ -0,0 +1,46 @@
+package com.erp.course.backend.repository;
+
+import com.erp.course.backend.entity.WaitlistEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+    
+    // Find a student's entry on a course waitlist
+    Optional<WaitlistEntry> findByCourse_IdAndStudent_Id(Long courseId, Long studentId);
+    
+    // Count entries on a course waitlist
+    Long countByCourse_Id(Long courseId);
+    
+    // Get the highest position handed out for a course
+    @Query("SELECT COALESCE(MAX(w.position), 0) FROM WaitlistEntry w WHERE w.course.id = :courseId")
+    Long findMaxPosition(@Param("courseId") Long courseId);
+    
+    // Get the head of a course waitlist (limit through the pageable)
+    @Query("SELECT w FROM WaitlistEntry w WHERE w.course.id = :courseId ORDER BY w.position ASC")
+    List<WaitlistEntry> findHead(@Param("courseId") Long courseId, Pageable pageable);
+    
+    // Count entries at or ahead of a position (the rank, while the in-memory index is not loaded)
+    @Query("SELECT COUNT(w) FROM WaitlistEntry w WHERE w.course.id = :courseId AND w.position <= :position")
+    Long countUpToPosition(@Param("courseId") Long courseId, @Param("position") Long position);
+    
+    // Get all positions of a course waitlist (used to re-read one course into the in-memory index)
+    @Query("SELECT w.position FROM WaitlistEntry w WHERE w.course.id = :courseId")
+    List<Long> findPositionsByCourse(@Param("courseId") Long courseId);
+    
+    // Get every course id and position (used to load the in-memory index)
+    @Query("SELECT w.course.id, w.position FROM WaitlistEntry w")
+    List<Object[]> findAllPositions();
+    
+    // Find which of the given students are already waitlisted for a course
+    @Query("SELECT w FROM WaitlistEntry w WHERE w.course.id = :courseId AND w.student.id IN :studentIds")
+    List<WaitlistEntry> findByCourseAndStudents(@Param("courseId") Long courseId, @Param("studentIds") Collection<Long> studentIds);
+}
@@ -0,0 +1,229 @@
+package com.erp.course.backend.security;
+
+import com.erp.course.backend.entity.IdempotencyRecord;
+import com.erp.course.backend.service.IdempotencyStore;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+
+// Makes POST/PUT/PATCH/DELETE requests carrying an Idempotency-Key header safe to retry.
+// The first request with a key runs normally and its response is stored; repeats with the
+// same key and body get the stored response back (marked Idempotent-Replayed) without
+// reaching the controllers. Registered in SecurityConfig after authorization, so keys
+// are scoped to the authenticated user and unauthorized calls never touch the store.
+public class IdempotencyKeyFilter extends OncePerRequestFilter {
+    
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final int MAX_STORED_BODY = 1024 * 1024;
+    private static final String KEY_ATTRIBUTE = IdempotencyKeyFilter.class.getName() + ".KEY";
+    
+    private final IdempotencyStore idempotencyStore;
+    
+    public IdempotencyKeyFilter(IdempotencyStore idempotencyStore) {
+        this.idempotencyStore = idempotencyStore;
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        boolean mutating = "POST".equals(method) || "PUT".equals(method)
+                || "PATCH".equals(method) || "DELETE".equals(method);
+        return !mutating || request.getHeader(HEADER) == null || request.getRequestURI().startsWith("/api/auth/");
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (isAsyncDispatch(request)) {
+            resumeAsync(request, response, filterChain);
+            return;
+        }
+        
+        String clientKey = request.getHeader(HEADER).trim();
+        if (clientKey.isEmpty() || clientKey.length() > MAX_KEY_LENGTH) {
+            writeMessage(response, HttpStatus.BAD_REQUEST, HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        String key = currentUser() + ":" + clientKey;
+        String requestHash = hash(request.getMethod(), request.getRequestURI(), request.getQueryString(), cachedRequest.body);
+        
+        Optional<IdempotencyRecord> existing = idempotencyStore.claim(key, requestHash);
+        if (existing.isPresent()) {
+            replayOrRefuse(existing.get(), requestHash, response);
+            return;
+        }
+        
+        request.setAttribute(KEY_ATTRIBUTE, key);
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        proceed(key, cachedRequest, cachingResponse, cachingResponse, filterChain);
+    }
+    
+    // Async handlers (queued enrollment) write their response on the async dispatch; store it there
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+    
+    private void resumeAsync(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String key = (String) request.getAttribute(KEY_ATTRIBUTE);
+        ContentCachingResponseWrapper cachingResponse = WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+        if (key == null || cachingResponse == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        proceed(key, request, response, cachingResponse, filterChain);
+    }
+    
+    private void proceed(String key, HttpServletRequest request, HttpServletResponse response,
+                         ContentCachingResponseWrapper cachingResponse, FilterChain filterChain)
+            throws ServletException, IOException {
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            idempotencyStore.release(key);
+            throw e;
+        }
+        if (request.isAsyncStarted()) {
+            // Completed on the async dispatch
+            return;
+        }
+        
+        int status = cachingResponse.getStatus();
+        byte[] body = cachingResponse.getContentAsByteArray();
+        if (status >= 500 || body.length > MAX_STORED_BODY) {
+            // Not a stable outcome worth replaying; let the client retry for real
+            idempotencyStore.release(key);
+        } else {
+            idempotencyStore.complete(key, status, cachingResponse.getContentType(), body);
+        }
+        cachingResponse.copyBodyToResponse();
+    }
+    
+    // ================================
+    // HELPER METHODS
+    // ================================
+    
+    private void replayOrRefuse(IdempotencyRecord record, String requestHash, HttpServletResponse response) throws IOException {
+        if (!record.getRequestHash().equals(requestHash)) {
+            writeMessage(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    HEADER + " was already used for a different request");
+            return;
+        }
+        if (!record.isCompleted()) {
+            writeMessage(response, HttpStatus.CONFLICT,
+                    "A request with this " + HEADER + " is still being processed");
+            return;
+        }
+        
+        response.setStatus(record.getResponseStatus());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (record.getContentType() != null) {
+            response.setContentType(record.getContentType());
+        }
+        byte[] body = record.getResponseBody();
+        if (body != null && body.length > 0) {
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+        }
+    }
+    
+    // Same shape as MessageResponse so the frontend error handling keeps working
+    private void writeMessage(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("{\"message\":\"" + message.replace("\"", "\\\"") + "\"}");
+    }
+    
+    private String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : "anonymous";
+    }
+    
+    private String hash(String method, String uri, String query, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((method + " " + uri + "?" + (query != null ? query : "") + "\n").getBytes(StandardCharsets.UTF_8));
+            digest.update(body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    // Reads the body once up front so it can be hashed and still be read by the controller
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        
+        private final byte[] body;
+        
+        private CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+        
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream stream = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return stream.available() == 0;
+                }
+                
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+                
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+                
+                @Override
+                public int read() {
+                    return stream.read();
+                }
+                
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return stream.read(buffer, offset, length);
+                }
+            };
+        }
+        
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding() != null ? getCharacterEncoding() : StandardCharsets.UTF_8.name();
+            return new BufferedReader(new InputStreamReader(getInputStream(), Charset.forName(encoding)));
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.erp.course.backend.service;
+
+import com.erp.course.backend.dto.CourseSummary;
+import com.erp.course.backend.event.CourseChangedEvent;
+import com.erp.course.backend.event.CourseSeatsChangedEvent;
+import com.erp.course.backend.repository.CourseRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// In-process cache for the student-facing catalog lists and the active catalog behind faceted
+// search. Entries expire after a TTL and the least recently used ones are dropped past
+// max-entries. Course edits invalidate the lists they can affect once the transaction commits;
+// enrollments only move seat counts, so the committed count is read back and written into the
+// cached lists instead of flushing them. Writing the absolute count rather than applying a delta
+// keeps the patch correct when a list was loaded after the commit and already holds the change.
+@Service
+public class CourseCatalogCache {
+    
+    public static final String OPEN_ENROLLMENT = "openEnrollment";
+    public static final String AVAILABLE_SPOTS = "availableSpots";
+    public static final String DEPARTMENTS = "departments";
+    public static final String SEMESTERS = "semesters";
+    public static final String ACTIVE_COURSES = "activeCourses";
+    
+    private static final String CACHE_NAME = "courseCatalog";
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    @Value("${app.catalog.cache.ttl-ms:300000}")
+    private long ttlMs;
+    
+    @Value("${app.catalog.cache.max-entries:64}")
+    private int maxEntries;
+    
+    // Access-ordered so the eldest entry is the least recently used; guarded by this
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    
+    // Bumped on every invalidation or patch so loads that raced with one are not stored
+    private long generation = 0;
+    
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong patches = new AtomicLong();
+    
+    @PostConstruct
+    public void registerMetrics() {
+        FunctionCounter.builder("cache.gets", hits, AtomicLong::get)
+                .tag("cache", CACHE_NAME).tag("result", "hit").register(meterRegistry);
+        FunctionCounter.builder("cache.gets", misses, AtomicLong::get)
+                .tag("cache", CACHE_NAME).tag("result", "miss").register(meterRegistry);
+        FunctionCounter.builder("cache.evictions", evictions, AtomicLong::get)
+                .tag("cache", CACHE_NAME).register(meterRegistry);
+        FunctionCounter.builder("cache.invalidations", invalidations, AtomicLong::get)
+                .tag("cache", CACHE_NAME).register(meterRegistry);
+        FunctionCounter.builder("cache.patches", patches, AtomicLong::get)
+                .tag("cache", CACHE_NAME).register(meterRegistry);
+        Gauge.builder("cache.size", this, CourseCatalogCache::size)
+                .tag("cache", CACHE_NAME).register(meterRegistry);
+    }
+    
+    // ================================
+    // READS
+    // ================================
+    
+    // Cached list for the key, loading it on a miss. The returned list is shared and read-only.
+    @SuppressWarnings("unchecked")
+    public <T> List<T> get(String key, Supplier<List<T>> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt > System.currentTimeMillis()) {
+                hits.incrementAndGet();
+                return (List<T>) entry.value;
+            }
+            if (entry != null) {
+                entries.remove(key);
+                evictions.incrementAndGet();
+            }
+            loadGeneration = generation;
+        }
+        
+        misses.incrementAndGet();
+        List<T> loaded = Collections.unmodifiableList(new ArrayList<>(loader.get()));
+        
+        synchronized (this) {
+            if (loadGeneration == generation) {
+                entries.put(key, new Entry(loaded, System.currentTimeMillis() + ttlMs));
+                evictEldest();
+            }
+        }
+        return loaded;
+    }
+    
+    public synchronized int size() {
+        return entries.size();
+    }
+    
+    // ================================
+    // INVALIDATION (after commit)
+    // ================================
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onCourseChanged(CourseChangedEvent event) {
+        generation++;
+        invalidate(OPEN_ENROLLMENT);
+        invalidate(AVAILABLE_SPOTS);
+        invalidate(ACTIVE_COURSES);
+        if (!event.isListingOnly()) {
+            invalidate(DEPARTMENTS);
+            invalidate(SEMESTERS);
+        }
+    }
+    
+    // The count is read outside the lock so requests are not held up by the query. Every patch
+    // starts by bumping the generation, and a list loaded after that already holds the commit; if
+    // anything else bumped it while the count was read, that count may be the older one, so the
+    // seat lists are dropped instead of patched.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatsChanged(CourseSeatsChangedEvent event) {
+        long readGeneration;
+        synchronized (this) {
+            readGeneration = ++generation;
+            if (!entries.containsKey(OPEN_ENROLLMENT) && !entries.containsKey(AVAILABLE_SPOTS)
+                    && !entries.containsKey(ACTIVE_COURSES)) {
+                return;
+            }
+        }
+        
+        List<Object[]> rows = courseRepository.findSeatCounts(event.getCourseId());
+        
+        synchronized (this) {
+            if (readGeneration != generation) {
+                invalidate(OPEN_ENROLLMENT);
+                invalidate(AVAILABLE_SPOTS);
+                invalidate(ACTIVE_COURSES);
+                return;
+            }
+            if (rows.isEmpty()) {
+                return;
+            }
+            int currentEnrollment = (Integer) rows.get(0)[0];
+            boolean hasFreeSeats = currentEnrollment < (Integer) rows.get(0)[1];
+            patchSeats(OPEN_ENROLLMENT, event.getCourseId(), currentEnrollment, false, hasFreeSeats);
+            patchSeats(AVAILABLE_SPOTS, event.getCourseId(), currentEnrollment, true, hasFreeSeats);
+            patchSeats(ACTIVE_COURSES, event.getCourseId(), currentEnrollment, false, hasFreeSeats);
+        }
+    }
+    
+    // ================================
+    // HELPER METHODS
+    // ================================
+    
+    @SuppressWarnings("unchecked")
+    private void patchSeats(String key, Long courseId, int currentEnrollment, boolean onlyWithFreeSeats,
+                            boolean hasFreeSeats) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return;
+        }
+        List<CourseSummary> courses = new ArrayList<>((List<CourseSummary>) entry.value);
+        for (int i = 0; i < courses.size(); i++) {
+            if (courses.get(i).getId().equals(courseId)) {
+                CourseSummary patched = courses.get(i).withEnrollment(currentEnrollment);
+                if (onlyWithFreeSeats && patched.getIsFull()) {
+                    courses.remove(i);
+                } else {
+                    courses.set(i, patched);
+                }
+                entry.value = Collections.unmodifiableList(courses);
+                patches.incrementAndGet();
+                return;
+            }
+        }
+        if (onlyWithFreeSeats && hasFreeSeats) {
+            // A full course may have just freed a seat; the list has no row to patch
+            invalidate(key);
+        }
+    }
+    
+    private void invalidate(String key) {
+        if (entries.remove(key) != null) {
+            invalidations.incrementAndGet();
+        }
+    }
+    
+    private void evictEldest() {
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions.incrementAndGet();
+        }
+    }
+    
+    private static final class Entry {
+        private List<?> value;
+        private final long expiresAt;
+        
+        private Entry(List<?> value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -9,6 +9,7 @@ import com.erp.course.backend.dto.CourseContentResponse;
 import com.erp.course.backend.repository.CourseContentRepository;
 import com.erp.course.backend.repository.CourseRepository;
 import com.erp.course.backend.repository.InstructorRepository;
+import com.erp.course.backend.util.ETags;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -31,6 +32,9 @@ public class CourseContentService {
     @Autowired
     private InstructorRepository instructorRepository;
     
+    @Autowired
+    private EnrollmentService enrollmentService;
+    
     // ================================
     // INSTRUCTOR CONTENT MANAGEMENT
     // ================================
@@ -136,15 +140,7 @@ public class CourseContentService {
     
     public List<CourseContentResponse> getPublishedContentForCourse(Long courseId, Long studentId) {
         // Verify student is enrolled in the course
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new RuntimeException("Course not found"));
-        
-        boolean isEnrolled = course.getEnrolledStudents().stream()
-                .anyMatch(student -> student.getId().equals(studentId));
-        
-        if (!isEnrolled) {
-            throw new RuntimeException("Access denied: You are not enrolled in this course");
-        }
+        verifyEnrollment(courseId, studentId);
         
         return courseContentRepository.findByCourse_IdAndIsActiveTrueAndIsPublishedTrueOrderBySortOrderAsc(courseId)
                 .stream()
@@ -152,17 +148,17 @@ public class CourseContentService {
                 .collect(Collectors.toList());
     }
     
+    // Changes whenever the course's published content would; enrollment is still checked
+    public String getPublishedContentETag(Long courseId, Long studentId) {
+        verifyEnrollment(courseId, studentId);
+        
+        Object[] version = courseContentRepository.findPublishedContentVersion(courseId).get(0);
+        return ETags.weak("content", courseId, version[0], version[1], version[2], version[3]);
+    }
+    
     public List<CourseContentResponse> getPublishedContentByType(Long courseId, ContentType contentType, Long studentId) {
         // Verify student is enrolled in the course
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new RuntimeException("Course not found"));
-        
-        boolean isEnrolled = course.getEnrolledStudents().stream()
-                .anyMatch(student -> student.getId().equals(studentId));
-        
-        if (!isEnrolled) {
-            throw new RuntimeException("Access denied: You are not enrolled in this course");
-        }
+        verifyEnrollment(courseId, studentId);
         
         return courseContentRepository.findPublishedContentByTypeOrdered(courseId, contentType)
                 .stream()
@@ -179,28 +175,14 @@ public class CourseContentService {
         }
         
         // Verify student is enrolled in the course
-        Course course = content.getCourse();
-        boolean isEnrolled = course.getEnrolledStudents().stream()
-                .anyMatch(student -> student.getId().equals(studentId));
-        
-        if (!isEnrolled) {
-            throw new RuntimeException("Access denied: You are not enrolled in this course");
-        }
+        verifyEnrollment(content.getCourse().getId(), studentId);
         
         return Optional.of(convertToResponse(content));
     }
     
     public List<CourseContentResponse> getAnnouncementsForCourse(Long courseId, Long studentId) {
         // Verify student is enrolled in the course
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new RuntimeException("Course not found"));
-        
-        boolean isEnrolled = course.getEnrolledStudents().stream()
-                .anyMatch(student -> student.getId().equals(studentId));
-        
-        if (!isEnrolled) {
-            throw new RuntimeException("Access denied: You are not enrolled in this course");
-        }
+        verifyEnrollment(courseId, studentId);
         
         return courseContentRepository.findAnnouncementsForCourse(courseId)
                 .stream()
@@ -210,15 +192,7 @@ public class CourseContentService {
     
     public List<CourseContentResponse> getRecentContentForCourse(Long courseId, Long studentId) {
         // Verify student is enrolled in the course
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new RuntimeException("Course not found"));
-        
-        boolean isEnrolled = course.getEnrolledStudents().stream()
-                .anyMatch(student -> student.getId().equals(studentId));
-        
-        if (!isEnrolled) {
-            throw new RuntimeException("Access denied: You are not enrolled in this course");
-        }
+        verifyEnrollment(courseId, studentId);
         
         // Calculate 30 days ago
         LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(30);
@@ -235,19 +209,22 @@ public class CourseContentService {
     
     public List<ContentType> getAvailableContentTypes(Long courseId, Long studentId) {
         // Verify student is enrolled in the course
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new RuntimeException("Course not found"));
-        
-        boolean isEnrolled = course.getEnrolledStudents().stream()
-                .anyMatch(student -> student.getId().equals(studentId));
-        
-        if (!isEnrolled) {
-            throw new RuntimeException("Access denied: You are not enrolled in this course");
-        }
+        verifyEnrollment(courseId, studentId);
         
         return courseContentRepository.getDistinctContentTypes(courseId);
     }
     
+    // Join-table lookup only; the course row is read just to tell "not found" from "not enrolled"
+    private void verifyEnrollment(Long courseId, Long studentId) {
+        if (enrollmentService.isEnrolled(courseId, studentId)) {
+            return;
+        }
+        if (!courseRepository.existsById(courseId)) {
+            throw new RuntimeException("Course not found");
+        }
+        throw new RuntimeException("Access denied: You are not enrolled in this course");
+    }
+    
     // ================================
     // CONVERSION METHODS
     // ================================
@@ -0,0 +1,150 @@
+package com.erp.course.backend.service;
+
+import com.erp.course.backend.dto.CourseFacetPage;
+import com.erp.course.backend.dto.CourseSummary;
+import com.erp.course.backend.dto.CursorPage;
+import com.erp.course.backend.repository.CourseRepository;
+import com.erp.course.backend.util.KeysetCursor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+// Faceted search over the active catalog. Every filter is optional and multi-valued (values
+// within a dimension are OR-ed, dimensions are AND-ed). One pass over the cached catalog
+// yields both the matching courses and the counts for every dimension: a course that passes
+// all filters counts towards every dimension, and a course that fails exactly one counts
+// towards that dimension only, so each dimension's counts ignore its own selection.
+@Service
+public class CourseFacetService {
+    
+    private static final String DEPARTMENT = "department";
+    private static final String SEMESTER = "semester";
+    private static final String CREDITS = "credits";
+    private static final String ENROLLMENT_OPEN = "enrollmentOpen";
+    private static final String HAS_SEATS = "hasSeats";
+    
+    private static final String[] DIMENSIONS = {DEPARTMENT, SEMESTER, CREDITS, ENROLLMENT_OPEN, HAS_SEATS};
+    
+    private static final Comparator<CourseSummary> BY_CODE =
+            Comparator.comparing(CourseSummary::getCourseCode).thenComparing(CourseSummary::getId);
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    @Autowired
+    private CourseCatalogCache courseCatalogCache;
+    
+    @Autowired
+    private CourseSearchService courseSearchService;
+    
+    // Page ordered by (courseCode, id); null or empty filters are ignored
+    public CourseFacetPage search(String query, List<String> departments, List<Integer> semesters,
+                                  List<Integer> credits, Boolean enrollmentOpen, Boolean hasSeats,
+                                  String cursor, Integer limit) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = KeysetCursor.clampLimit(limit);
+        Set<Long> textMatches = query != null && !query.isBlank() ? courseSearchService.matchingCourseIds(query) : null;
+        
+        Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+        for (String dimension : DIMENSIONS) {
+            facets.put(dimension, new TreeMap<>());
+        }
+        
+        List<CourseSummary> matches = new ArrayList<>();
+        boolean[] passes = new boolean[DIMENSIONS.length];
+        for (CourseSummary course : activeCourses()) {
+            if (textMatches != null && !textMatches.contains(course.getId())) {
+                continue;
+            }
+            
+            passes[0] = isEmpty(departments) || departments.contains(course.getDepartment());
+            passes[1] = isEmpty(semesters) || semesters.contains(course.getSemester());
+            passes[2] = isEmpty(credits) || credits.contains(course.getCredits());
+            passes[3] = enrollmentOpen == null || enrollmentOpen.equals(course.getEnrollmentOpen());
+            passes[4] = hasSeats == null || hasSeats.equals(hasSeats(course));
+            
+            int failed = -1;
+            int failures = 0;
+            for (int d = 0; d < passes.length; d++) {
+                if (!passes[d]) {
+                    failed = d;
+                    failures++;
+                }
+            }
+            
+            if (failures == 0) {
+                matches.add(course);
+                for (int d = 0; d < DIMENSIONS.length; d++) {
+                    count(facets, d, course);
+                }
+            } else if (failures == 1) {
+                count(facets, failed, course);
+            }
+        }
+        
+        matches.sort(BY_CODE);
+        List<CourseSummary> rows = new ArrayList<>(pageSize + 1);
+        for (CourseSummary course : matches) {
+            if (isAfter(course, after)) {
+                rows.add(course);
+                if (rows.size() > pageSize) {
+                    break;
+                }
+            }
+        }
+        CursorPage<CourseSummary> page = CursorPage.fromRows(rows, pageSize, CourseSummary::getCourseCode, CourseSummary::getId);
+        return new CourseFacetPage(page, (long) matches.size(), facets);
+    }
+    
+    // ================================
+    // HELPER METHODS
+    // ================================
+    
+    private List<CourseSummary> activeCourses() {
+        return courseCatalogCache.get(CourseCatalogCache.ACTIVE_COURSES, courseRepository::findActiveSummaries);
+    }
+    
+    private static void count(Map<String, Map<String, Long>> facets, int dimension, CourseSummary course) {
+        Object value;
+        switch (dimension) {
+            case 0:
+                value = course.getDepartment();
+                break;
+            case 1:
+                value = course.getSemester();
+                break;
+            case 2:
+                value = course.getCredits();
+                break;
+            case 3:
+                value = course.getEnrollmentOpen();
+                break;
+            default:
+                value = hasSeats(course);
+                break;
+        }
+        if (value != null) {
+            facets.get(DIMENSIONS[dimension]).merge(value.toString(), 1L, Long::sum);
+        }
+    }
+    
+    private static boolean hasSeats(CourseSummary course) {
+        return !Boolean.TRUE.equals(course.getIsFull());
+    }
+    
+    private static boolean isAfter(CourseSummary course, KeysetCursor after) {
+        int byCode = course.getCourseCode().compareTo(after.getKey());
+        return byCode > 0 || (byCode == 0 && course.getId() > after.getId());
+    }
+    
+    private static boolean isEmpty(List<?> values) {
+        return values == null || values.isEmpty();
+    }
+}
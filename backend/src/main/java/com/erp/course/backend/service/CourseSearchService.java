@@ -0,0 +1,164 @@
+package com.erp.course.backend.service;
+
+import com.erp.course.backend.dto.CourseSummary;
+import com.erp.course.backend.event.CourseChangedEvent;
+import com.erp.course.backend.repository.CourseRepository;
+import com.erp.course.backend.util.ReloadableIndex;
+import com.erp.course.backend.util.TextIndex;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Ranked course search over code, name, department and description, served from an
+// in-memory TextIndex instead of LIKE '%term%' scans. Only active courses are indexed, so the
+// top hits are never crowded out by inactive ones; a deactivated course leaves the index with
+// its change event. Loaded once the application is ready, updated after each committed course
+// change, and periodically reloaded to pick up changes made outside this instance. Until the
+// first load finishes, searches use the LIKE query.
+@Service
+public class CourseSearchService {
+    
+    private static final Logger logger = Logger.getLogger(CourseSearchService.class.getName());
+    
+    // Field weights, in the order the fields are indexed: code, name, department, description
+    private static final double[] FIELD_WEIGHTS = {3.0, 2.0, 1.0, 0.5};
+    
+    private static final int MAX_RESULTS = 100;
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    @Value("${app.search.course-index.refresh-interval-ms:900000}")
+    private long refreshIntervalMs;
+    
+    private final ReloadableIndex<Long, TextIndex> index =
+            new ReloadableIndex<>(new TextIndex(FIELD_WEIGHTS), this::loadIndex, this::refreshCourse);
+    
+    private ScheduledExecutorService refresher;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "course-search-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.execute(this::reloadQuietly);
+        if (refreshIntervalMs > 0) {
+            refresher.scheduleWithFixedDelay(this::reloadQuietly, refreshIntervalMs, refreshIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    @PreDestroy
+    public void stop() {
+        if (refresher != null) {
+            refresher.shutdown();
+        }
+    }
+    
+    // ================================
+    // SEARCH
+    // ================================
+    
+    // Active courses matching every word of the search term, best match first
+    public List<CourseSummary> searchActiveCourses(String searchTerm) {
+        if (!index.isReady()) {
+            return courseRepository.searchSummariesByNameOrCode(searchTerm);
+        }
+        
+        List<Long> ids = index.current().search(searchTerm, MAX_RESULTS);
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        Map<Long, Integer> rank = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            rank.put(ids.get(i), i);
+        }
+        List<CourseSummary> courses = new ArrayList<>(courseRepository.findActiveSummariesByIds(ids));
+        courses.sort((a, b) -> Integer.compare(rank.get(a.getId()), rank.get(b.getId())));
+        return courses;
+    }
+    
+    // Ids of the courses matching the search term, for use as a filter rather than a ranking
+    public Set<Long> matchingCourseIds(String searchTerm) {
+        if (!index.isReady()) {
+            Set<Long> ids = new HashSet<>();
+            for (CourseSummary course : courseRepository.searchSummariesByNameOrCode(searchTerm)) {
+                ids.add(course.getId());
+            }
+            return ids;
+        }
+        return new HashSet<>(index.current().search(searchTerm, Integer.MAX_VALUE));
+    }
+    
+    // ================================
+    // UPDATES (after commit)
+    // ================================
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        if (event.isListingOnly()) {
+            return;
+        }
+        index.refresh(event.getCourseId());
+    }
+    
+    // ================================
+    // LOADING
+    // ================================
+    
+    public void reload() {
+        TextIndex loaded = index.reload();
+        logger.info("Course search index loaded for " + loaded.size() + " courses");
+    }
+    
+    private void reloadQuietly() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Course search index reload failed", e);
+        }
+    }
+    
+    // ================================
+    // HELPER METHODS
+    // ================================
+    
+    private TextIndex loadIndex() {
+        TextIndex loaded = new TextIndex(FIELD_WEIGHTS);
+        for (Object[] row : courseRepository.findActiveSearchText()) {
+            put(loaded, row);
+        }
+        return loaded;
+    }
+    
+    private void refreshCourse(TextIndex target, Long courseId) {
+        List<Object[]> rows = courseRepository.findActiveSearchTextById(courseId);
+        if (rows.isEmpty()) {
+            target.remove(courseId);
+        } else {
+            put(target, rows.get(0));
+        }
+    }
+    
+    private static void put(TextIndex target, Object[] row) {
+        target.put((Long) row[0], (String) row[1], (String) row[2], (String) row[3], (String) row[4]);
+    }
+}
@@ -5,11 +5,18 @@ import com.erp.course.backend.entity.Instructor;
 import com.erp.course.backend.entity.Student;
 import com.erp.course.backend.dto.CourseRequest;
 import com.erp.course.backend.dto.CourseResponse;
+import com.erp.course.backend.dto.CourseSummary;
+import com.erp.course.backend.dto.CursorPage;
 import com.erp.course.backend.dto.StudentResponse;
+import com.erp.course.backend.event.CourseChangedEvent;
 import com.erp.course.backend.repository.CourseRepository;
 import com.erp.course.backend.repository.InstructorRepository;
 import com.erp.course.backend.repository.StudentRepository;
+import com.erp.course.backend.util.ETags;
+import com.erp.course.backend.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,20 +37,45 @@ public class CourseService {
     @Autowired
     private StudentRepository studentRepository;
     
+    @Autowired
+    private EnrollmentService enrollmentService;
+    
+    @Autowired
+    private WaitlistService waitlistService;
+    
+    @Autowired
+    private CourseCatalogCache courseCatalogCache;
+    
+    @Autowired
+    private CourseSearchService courseSearchService;
+    
+    @Autowired
+    private GpaService gpaService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     // ================================
     // BASIC CRUD OPERATIONS
     // ================================
     
-    public List<CourseResponse> getAllCourses() {
-        return courseRepository.findAll().stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+    public List<CourseSummary> getAllCourses() {
+        return courseRepository.findAllSummaries();
     }
     
-    public List<CourseResponse> getAllActiveCourses() {
-        return courseRepository.findByIsActiveTrue().stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+    public List<CourseSummary> getAllActiveCourses() {
+        return courseRepository.findActiveSummaries();
+    }
+    
+    // Page ordered by (courseCode, id); null filters are ignored
+    public CursorPage<CourseSummary> getCoursePage(boolean activeOnly, boolean openOnly, boolean availableOnly,
+                                                   String department, Integer semester, Long instructorId,
+                                                   String cursor, Integer limit) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = KeysetCursor.clampLimit(limit);
+        List<CourseSummary> rows = courseRepository.findSummaryPageAfter(activeOnly, openOnly, availableOnly,
+                department, semester, instructorId, after.getKey(), after.getId(), PageRequest.of(0, pageSize + 1));
+        return CursorPage.fromRows(rows, pageSize, CourseSummary::getCourseCode, CourseSummary::getId);
     }
     
     public Optional<CourseResponse> getCourseById(Long id) {
@@ -81,11 +113,13 @@ public class CourseService {
         course.setInstructor(instructor);
         
         Course savedCourse = courseRepository.save(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(savedCourse.getId(), false));
         return convertToResponse(savedCourse);
     }
     
     public CourseResponse updateCourse(Long id, CourseRequest request) {
-        Course existingCourse = courseRepository.findById(id)
+        // Locked first, so seat claims wait and the waitlist promotion below sees the current count
+        Course existingCourse = courseRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new RuntimeException("Course not found with id: " + id));
         
         // Validate course code uniqueness (exclude current course)
@@ -102,15 +136,24 @@ public class CourseService {
             throw new RuntimeException("End date must be after start date");
         }
         
+        int previousCapacity = existingCourse.getMaxCapacity();
+        Integer previousCredits = existingCourse.getCredits();
         updateCourseFields(existingCourse, request);
         existingCourse.setInstructor(instructor);
         
         Course updatedCourse = courseRepository.save(existingCourse);
+        gpaService.courseCreditsChanged(id, previousCredits, updatedCourse.getCredits());
+        eventPublisher.publishEvent(new CourseChangedEvent(id, false));
+        
+        // Hand newly created seats to the waitlist in the same transaction
+        if (updatedCourse.getMaxCapacity() > previousCapacity) {
+            waitlistService.promote(id);
+        }
         return convertToResponse(updatedCourse);
     }
     
     public void deleteCourse(Long id) {
-        Course course = courseRepository.findById(id)
+        Course course = courseRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new RuntimeException("Course not found with id: " + id));
         
         // Check if course has enrolled students
@@ -120,6 +163,7 @@ public class CourseService {
         
         course.setIsActive(false);
         courseRepository.save(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(id, false));
     }
     
     public void permanentDeleteCourse(Long id) {
@@ -132,14 +176,16 @@ public class CourseService {
         }
         
         courseRepository.delete(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(id, false));
     }
     
     public CourseResponse activateCourse(Long id) {
-        Course course = courseRepository.findById(id)
+        Course course = courseRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new RuntimeException("Course not found with id: " + id));
         
         course.setIsActive(true);
         Course updatedCourse = courseRepository.save(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(id, false));
         return convertToResponse(updatedCourse);
     }
     
@@ -147,46 +193,42 @@ public class CourseService {
     // SEARCH AND FILTER OPERATIONS
     // ================================
     
-    public List<CourseResponse> getCoursesByDepartment(String department) {
-        return courseRepository.findByDepartmentAndIsActiveTrue(department).stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+    public List<CourseSummary> getCoursesByDepartment(String department) {
+        return courseRepository.findActiveSummariesByDepartment(department);
     }
     
-    public List<CourseResponse> getCoursesBySemester(Integer semester) {
-        return courseRepository.findBySemesterAndIsActiveTrue(semester).stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+    public List<CourseSummary> getCoursesBySemester(Integer semester) {
+        return courseRepository.findActiveSummariesBySemester(semester);
     }
     
-    public List<CourseResponse> getCoursesByInstructor(Long instructorId) {
-        return courseRepository.findByInstructorId(instructorId).stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+    public List<CourseSummary> getCoursesByInstructor(Long instructorId) {
+        return courseRepository.findSummariesByInstructorId(instructorId);
     }
     
-    public List<CourseResponse> getActiveCoursesByInstructor(Long instructorId) {
-        return courseRepository.findByInstructorIdAndIsActiveTrue(instructorId).stream()
+    // Full responses including rosters, loaded with one fetch-join query
+    public List<CourseResponse> getCoursesWithRosterByInstructor(Long instructorId) {
+        return courseRepository.findByInstructorIdWithRoster(instructorId).stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
     
-    public List<CourseResponse> searchCoursesByNameOrCode(String searchTerm) {
-        return courseRepository.searchCoursesByNameOrCode(searchTerm).stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+    public List<CourseSummary> getActiveCoursesByInstructor(Long instructorId) {
+        return courseRepository.findActiveSummariesByInstructorId(instructorId);
     }
     
-    public List<CourseResponse> getCoursesWithAvailableSpots() {
-        return courseRepository.findCoursesWithAvailableSpots().stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+    public List<CourseSummary> searchCoursesByNameOrCode(String searchTerm) {
+        return courseSearchService.searchActiveCourses(searchTerm);
     }
     
-    public List<CourseResponse> getCoursesWithOpenEnrollment() {
-        return courseRepository.findByEnrollmentOpenTrueAndIsActiveTrue().stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+    // Catalog reads are served from CourseCatalogCache
+    public List<CourseSummary> getCoursesWithAvailableSpots() {
+        return courseCatalogCache.get(CourseCatalogCache.AVAILABLE_SPOTS,
+                courseRepository::findSummariesWithAvailableSpots);
+    }
+    
+    public List<CourseSummary> getCoursesWithOpenEnrollment() {
+        return courseCatalogCache.get(CourseCatalogCache.OPEN_ENROLLMENT,
+                courseRepository::findSummariesWithOpenEnrollment);
     }
     
     // ================================
@@ -194,74 +236,43 @@ public class CourseService {
     // ================================
     
     public CourseResponse enrollStudent(Long courseId, Long studentId) {
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new RuntimeException("Course not found with id: " + courseId));
-        
-        Student student = studentRepository.findById(studentId)
-                .orElseThrow(() -> new RuntimeException("Student not found with id: " + studentId));
-        
-        // Validate enrollment conditions
-        if (!course.getIsActive()) {
-            throw new RuntimeException("Cannot enroll in inactive course");
-        }
-        
-        if (!course.getEnrollmentOpen()) {
-            throw new RuntimeException("Enrollment is closed for this course");
-        }
-        
-        if (course.isFull()) {
-            throw new RuntimeException("Course is full");
-        }
-        
-        // Check if student is already enrolled
-        if (course.getEnrolledStudents().contains(student)) {
-            throw new RuntimeException("Student is already enrolled in this course");
-        }
-        
-        // Enroll the student
-        course.enrollStudent(student);
-        Course updatedCourse = courseRepository.save(course);
-        return convertToResponse(updatedCourse);
+        // Seat claim and join-table insert never touch the enrolled roster
+        enrollmentService.enroll(courseId, studentId);
+        return getCourseByIdOrThrow(courseId);
     }
     
     public CourseResponse removeStudentFromCourse(Long courseId, Long studentId) {
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new RuntimeException("Course not found with id: " + courseId));
-        
-        Student student = studentRepository.findById(studentId)
-                .orElseThrow(() -> new RuntimeException("Student not found with id: " + studentId));
-        
-        // Check if student is enrolled
-        if (!course.getEnrolledStudents().contains(student)) {
-            throw new RuntimeException("Student is not enrolled in this course");
-        }
-        
-        // Remove the student
-        course.removeStudent(student);
-        Course updatedCourse = courseRepository.save(course);
-        return convertToResponse(updatedCourse);
+        // The freed seat goes to the head of the waitlist before the transaction commits
+        waitlistService.unenrollAndPromote(courseId, studentId);
+        return getCourseByIdOrThrow(courseId);
     }
     
-    public List<CourseResponse> getCoursesForStudent(Long studentId) {
-        return courseRepository.findCoursesByEnrolledStudent(studentId).stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+    public List<CourseSummary> getCoursesForStudent(Long studentId) {
+        return courseRepository.findSummariesByEnrolledStudent(studentId);
     }
     
-    public List<CourseResponse> getAvailableCoursesForStudent(Long studentId) {
-        return courseRepository.findAvailableCoursesForStudent(studentId).stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+    // Changes whenever the student's enrolled-course list would, without loading it
+    public String getCoursesForStudentETag(Long studentId) {
+        Object[] version = courseRepository.findEnrolledCoursesVersion(studentId).get(0);
+        return ETags.weak("courses", studentId, version[0], version[1], version[2]);
+    }
+    
+    public List<CourseSummary> getAvailableCoursesForStudent(Long studentId) {
+        return courseRepository.findAvailableSummariesForStudent(studentId);
     }
     
     public boolean isStudentEnrolledInCourse(Long studentId, Long courseId) {
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new RuntimeException("Course not found with id: " + courseId));
-        
-        Student student = studentRepository.findById(studentId)
-                .orElseThrow(() -> new RuntimeException("Student not found with id: " + studentId));
+        if (enrollmentService.isEnrolled(courseId, studentId)) {
+            return true;
+        }
         
-        return course.getEnrolledStudents().contains(student);
+        if (!courseRepository.existsById(courseId)) {
+            throw new RuntimeException("Course not found with id: " + courseId);
+        }
+        if (!studentRepository.existsById(studentId)) {
+            throw new RuntimeException("Student not found with id: " + studentId);
+        }
+        return false;
     }
     
     // ================================
@@ -269,20 +280,23 @@ public class CourseService {
     // ================================
     
     public CourseResponse openEnrollment(Long courseId) {
-        Course course = courseRepository.findById(courseId)
+        Course course = courseRepository.findByIdForUpdate(courseId)
                 .orElseThrow(() -> new RuntimeException("Course not found with id: " + courseId));
         
         course.setEnrollmentOpen(true);
         Course updatedCourse = courseRepository.save(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(courseId, true));
+        waitlistService.promote(courseId);
         return convertToResponse(updatedCourse);
     }
     
     public CourseResponse closeEnrollment(Long courseId) {
-        Course course = courseRepository.findById(courseId)
+        Course course = courseRepository.findByIdForUpdate(courseId)
                 .orElseThrow(() -> new RuntimeException("Course not found with id: " + courseId));
         
         course.setEnrollmentOpen(false);
         Course updatedCourse = courseRepository.save(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(courseId, true));
         return convertToResponse(updatedCourse);
     }
     
@@ -291,11 +305,11 @@ public class CourseService {
     // ================================
     
     public List<String> getAllDepartments() {
-        return courseRepository.findDistinctDepartments();
+        return courseCatalogCache.get(CourseCatalogCache.DEPARTMENTS, courseRepository::findDistinctDepartments);
     }
     
     public List<Integer> getAllSemesters() {
-        return courseRepository.findDistinctSemesters();
+        return courseCatalogCache.get(CourseCatalogCache.SEMESTERS, courseRepository::findDistinctSemesters);
     }
     
     public long getActiveCourseCount() {
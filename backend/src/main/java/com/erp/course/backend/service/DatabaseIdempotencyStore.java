@@ -0,0 +1,90 @@
+package com.erp.course.backend.service;
+
+import com.erp.course.backend.entity.IdempotencyRecord;
+import com.erp.course.backend.repository.IdempotencyRecordRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Shared store for multi-instance deployments. The unique key on idempotency_keys decides
+// which instance wins a race; each call runs in its own short repository transaction.
+@Service
+@ConditionalOnProperty(name = "app.idempotency.store", havingValue = "database")
+public class DatabaseIdempotencyStore implements IdempotencyStore {
+    
+    // Expired rows are purged every this many claims
+    private static final int PURGE_EVERY = 500;
+    
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+    
+    @Value("${app.idempotency.ttl-ms:86400000}")
+    private long ttlMs;
+    
+    @Value("${app.idempotency.lock-timeout-ms:60000}")
+    private long lockTimeoutMs;
+    
+    private final AtomicInteger claims = new AtomicInteger();
+    
+    @Override
+    public Optional<IdempotencyRecord> claim(String key, String requestHash) {
+        LocalDateTime now = LocalDateTime.now();
+        if (claims.incrementAndGet() % PURGE_EVERY == 0) {
+            idempotencyRecordRepository.deleteExpired(now);
+        }
+        
+        Optional<IdempotencyRecord> existing = idempotencyRecordRepository.findByIdempotencyKey(key);
+        if (existing.isPresent()) {
+            IdempotencyRecord record = existing.get();
+            if (!isStale(record, now)) {
+                return existing;
+            }
+            if (idempotencyRecordRepository.deleteIfUnchanged(record.getId(), record.getState(), record.getCreatedAt()) == 0) {
+                // Another instance replaced the stale claim first
+                return Optional.of(currentOrBusy(key, requestHash, now));
+            }
+        }
+        
+        try {
+            idempotencyRecordRepository.saveAndFlush(
+                    new IdempotencyRecord(key, requestHash, now, now.plus(Duration.ofMillis(ttlMs))));
+            return Optional.empty();
+        } catch (DataIntegrityViolationException e) {
+            // Lost the race to a concurrent request with the same key
+            return Optional.of(currentOrBusy(key, requestHash, now));
+        }
+    }
+    
+    @Override
+    public void complete(String key, int status, String contentType, byte[] body) {
+        idempotencyRecordRepository.findByIdempotencyKey(key).ifPresent(record -> {
+            record.complete(status, contentType, body, LocalDateTime.now().plus(Duration.ofMillis(ttlMs)));
+            idempotencyRecordRepository.save(record);
+        });
+    }
+    
+    @Override
+    public void release(String key) {
+        idempotencyRecordRepository.deleteByKey(key);
+    }
+    
+    // The winner may already have released its claim; report it as busy so the client retries
+    private IdempotencyRecord currentOrBusy(String key, String requestHash, LocalDateTime now) {
+        return idempotencyRecordRepository.findByIdempotencyKey(key)
+                .orElseGet(() -> new IdempotencyRecord(key, requestHash, now, now));
+    }
+    
+    private boolean isStale(IdempotencyRecord record, LocalDateTime now) {
+        if (record.isExpired(now)) {
+            return true;
+        }
+        return !record.isCompleted() && record.getCreatedAt().plus(Duration.ofMillis(lockTimeoutMs)).isBefore(now);
+    }
+}
@@ -0,0 +1,219 @@
+package com.erp.course.backend.service;
+
+import com.erp.course.backend.util.IntBitmap;
+import com.erp.course.backend.util.ReloadableIndex;
+import com.erp.course.backend.util.TransactionHooks;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// In-memory copy of course_enrollments: one compressed bitmap of student ids per course.
+// Loaded once the application is ready, kept current by EnrollmentService after each
+// commit, and periodically reloaded to pick up changes made outside this instance.
+// Until the first load finishes, lookups fall back to the join table. It can lag behind
+// other instances, so it serves enrollment statistics only; membership checks that grant
+// access go to the join table (EnrollmentService.isEnrolled).
+@Service
+public class EnrollmentIndexService {
+    
+    private static final Logger logger = Logger.getLogger(EnrollmentIndexService.class.getName());
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Value("${app.enrollment.index.refresh-interval-ms:900000}")
+    private long refreshIntervalMs;
+    
+    private final ReloadableIndex<Long, Map<Long, IntBitmap>> bitmaps =
+            new ReloadableIndex<>(new ConcurrentHashMap<>(), this::loadBitmaps, this::reloadCourse);
+    
+    private ScheduledExecutorService refresher;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "enrollment-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.execute(this::reloadQuietly);
+        if (refreshIntervalMs > 0) {
+            refresher.scheduleWithFixedDelay(this::reloadQuietly, refreshIntervalMs, refreshIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    @PreDestroy
+    public void stop() {
+        if (refresher != null) {
+            refresher.shutdown();
+        }
+    }
+    
+    // ================================
+    // MEMBERSHIP QUERIES
+    // ================================
+    
+    public int getEnrollmentCount(Long courseId) {
+        if (!bitmaps.isReady()) {
+            Integer count = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM course_enrollments WHERE course_id = ?", Integer.class, courseId);
+            return count != null ? count : 0;
+        }
+        IntBitmap bitmap = bitmaps.current().get(courseId);
+        if (bitmap == null) {
+            return 0;
+        }
+        synchronized (bitmap) {
+            return bitmap.cardinality();
+        }
+    }
+    
+    public int getCoEnrollmentCount(Long courseId, Long otherCourseId) {
+        if (!bitmaps.isReady()) {
+            Integer count = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM course_enrollments a JOIN course_enrollments b " +
+                    "ON a.student_id = b.student_id WHERE a.course_id = ? AND b.course_id = ?",
+                    Integer.class, courseId, otherCourseId);
+            return count != null ? count : 0;
+        }
+        IntBitmap first = snapshot(courseId);
+        IntBitmap second = bitmaps.current().get(otherCourseId);
+        if (first == null || second == null) {
+            return 0;
+        }
+        synchronized (second) {
+            return first.andCardinality(second);
+        }
+    }
+    
+    public List<Long> getCoEnrolledStudentIds(Long courseId, Long otherCourseId) {
+        if (!bitmaps.isReady()) {
+            return jdbcTemplate.queryForList(
+                    "SELECT a.student_id FROM course_enrollments a JOIN course_enrollments b " +
+                    "ON a.student_id = b.student_id WHERE a.course_id = ? AND b.course_id = ? ORDER BY a.student_id",
+                    Long.class, courseId, otherCourseId);
+        }
+        List<Long> studentIds = new ArrayList<>();
+        IntBitmap first = snapshot(courseId);
+        IntBitmap second = bitmaps.current().get(otherCourseId);
+        if (first == null || second == null) {
+            return studentIds;
+        }
+        IntBitmap shared;
+        synchronized (second) {
+            shared = first.and(second);
+        }
+        for (int studentId : shared.toArray()) {
+            studentIds.add((long) studentId);
+        }
+        return studentIds;
+    }
+    
+    // ================================
+    // UPDATES (applied after commit)
+    // ================================
+    
+    public void recordEnrollments(Long courseId, Collection<Long> studentIds) {
+        List<Long> added = new ArrayList<>(studentIds);
+        TransactionHooks.afterCommit(() -> bitmaps.update(courseId, target -> {
+            IntBitmap bitmap = target.computeIfAbsent(courseId, id -> new IntBitmap());
+            synchronized (bitmap) {
+                for (Long studentId : added) {
+                    if (fitsIndex(studentId)) {
+                        bitmap.add(studentId.intValue());
+                    }
+                }
+            }
+        }));
+    }
+    
+    public void recordUnenrollment(Long courseId, Long studentId) {
+        TransactionHooks.afterCommit(() -> bitmaps.update(courseId, target -> {
+            IntBitmap bitmap = target.get(courseId);
+            if (bitmap != null && fitsIndex(studentId)) {
+                synchronized (bitmap) {
+                    bitmap.remove(studentId.intValue());
+                }
+            }
+        }));
+    }
+    
+    // ================================
+    // LOADING
+    // ================================
+    
+    public void reload() {
+        Map<Long, IntBitmap> loaded = bitmaps.reload();
+        logger.info("Enrollment index loaded for " + loaded.size() + " courses");
+    }
+    
+    private void reloadQuietly() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Enrollment index reload failed", e);
+        }
+    }
+    
+    // ================================
+    // HELPER METHODS
+    // ================================
+    
+    private Map<Long, IntBitmap> loadBitmaps() {
+        Map<Long, IntBitmap> loaded = new ConcurrentHashMap<>();
+        jdbcTemplate.query("SELECT course_id, student_id FROM course_enrollments", (RowCallbackHandler) rs -> {
+            long studentId = rs.getLong(2);
+            if (fitsIndex(studentId)) {
+                loaded.computeIfAbsent(rs.getLong(1), id -> new IntBitmap()).add((int) studentId);
+            }
+        });
+        return loaded;
+    }
+    
+    // Replaces one course's bitmap with its current roster
+    private void reloadCourse(Map<Long, IntBitmap> target, Long courseId) {
+        IntBitmap bitmap = new IntBitmap();
+        jdbcTemplate.query("SELECT student_id FROM course_enrollments WHERE course_id = ?", (RowCallbackHandler) rs -> {
+            long studentId = rs.getLong(1);
+            if (fitsIndex(studentId)) {
+                bitmap.add((int) studentId);
+            }
+        }, courseId);
+        if (bitmap.cardinality() == 0) {
+            target.remove(courseId);
+        } else {
+            target.put(courseId, bitmap);
+        }
+    }
+    
+    // Copy taken under the bitmap's own lock so two bitmaps are never locked at once
+    private IntBitmap snapshot(Long courseId) {
+        IntBitmap bitmap = bitmaps.current().get(courseId);
+        if (bitmap == null) {
+            return null;
+        }
+        synchronized (bitmap) {
+            return bitmap.copy();
+        }
+    }
+    
+    private static boolean fitsIndex(Long studentId) {
+        return studentId != null && studentId >= 0 && studentId <= Integer.MAX_VALUE;
+    }
+}
@@ -0,0 +1,170 @@
+package com.erp.course.backend.service;
+
+import com.erp.course.backend.dto.EnrollmentResult;
+import com.erp.course.backend.dto.EnrollmentTicket;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Per-course admission queue for registration rushes. Requests are accepted in arrival
+// order and a single drainer thread allocates seats in batches, one transaction per
+// batch, so the number of connections used for enrollment stays at one regardless of
+// how many requests arrive at once.
+@Service
+public class EnrollmentQueueService {
+    
+    private static final Logger logger = Logger.getLogger(EnrollmentQueueService.class.getName());
+    
+    @Autowired
+    private WaitlistService waitlistService;
+    
+    @Value("${app.enrollment.queue.batch-size:50}")
+    private int batchSize;
+    
+    @Value("${app.enrollment.queue.max-pending-per-course:5000}")
+    private int maxPendingPerCourse;
+    
+    @Value("${app.enrollment.queue.drain-interval-ms:50}")
+    private long drainIntervalMs;
+    
+    @Value("${app.enrollment.queue.await-ms:5000}")
+    private long awaitMs;
+    
+    @Value("${app.enrollment.queue.ticket-ttl-ms:600000}")
+    private long ticketTtlMs;
+    
+    private final Map<Long, CourseQueue> queues = new ConcurrentHashMap<>();
+    private final Map<String, EnrollmentTicket> tickets = new ConcurrentHashMap<>();
+    private ScheduledExecutorService drainer;
+    
+    @PostConstruct
+    public void start() {
+        drainer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "enrollment-queue");
+            thread.setDaemon(true);
+            return thread;
+        });
+        drainer.scheduleWithFixedDelay(this::drainAll, drainIntervalMs, drainIntervalMs, TimeUnit.MILLISECONDS);
+    }
+    
+    @PreDestroy
+    public void stop() {
+        drainer.shutdown();
+    }
+    
+    // ================================
+    // SUBMISSION AND LOOKUP
+    // ================================
+    
+    public EnrollmentTicket submit(Long courseId, Long studentId) {
+        CourseQueue queue = queues.computeIfAbsent(courseId, id -> new CourseQueue());
+        int position = queue.pending.incrementAndGet();
+        if (position > maxPendingPerCourse) {
+            queue.pending.decrementAndGet();
+            throw new RuntimeException("Enrollment queue for this course is full, please try again shortly");
+        }
+        
+        EnrollmentTicket ticket = new EnrollmentTicket(UUID.randomUUID().toString(), courseId, studentId, position);
+        tickets.put(ticket.getTicketId(), ticket);
+        queue.tickets.add(ticket);
+        return ticket;
+    }
+    
+    // Submits without blocking the caller: the future completes once the batch has run, or after
+    // the await time with the ticket still QUEUED for the caller to hand back for polling
+    public CompletableFuture<EnrollmentTicket> submitAsync(Long courseId, Long studentId) {
+        EnrollmentTicket ticket = submit(courseId, studentId);
+        return ticket.getCompletion().copy().completeOnTimeout(ticket, awaitMs, TimeUnit.MILLISECONDS);
+    }
+    
+    public Optional<EnrollmentTicket> getTicket(String ticketId) {
+        return Optional.ofNullable(tickets.get(ticketId));
+    }
+    
+    public int getPendingCount(Long courseId) {
+        CourseQueue queue = queues.get(courseId);
+        return queue != null ? queue.pending.get() : 0;
+    }
+    
+    // ================================
+    // BATCH DRAINING
+    // ================================
+    
+    void drainAll() {
+        try {
+            for (Map.Entry<Long, CourseQueue> entry : queues.entrySet()) {
+                drainCourse(entry.getKey(), entry.getValue());
+            }
+            evictExpiredTickets();
+        } catch (RuntimeException e) {
+            // Never let an exception cancel the scheduled drainer
+            logger.log(Level.SEVERE, "Enrollment queue drain failed", e);
+        }
+    }
+    
+    private void drainCourse(Long courseId, CourseQueue queue) {
+        List<EnrollmentTicket> batch = new ArrayList<>(batchSize);
+        EnrollmentTicket ticket;
+        while ((ticket = queue.tickets.poll()) != null) {
+            batch.add(ticket);
+            if (batch.size() == batchSize) {
+                processBatch(courseId, batch, queue);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            processBatch(courseId, batch, queue);
+        }
+    }
+    
+    private void processBatch(Long courseId, List<EnrollmentTicket> batch, CourseQueue queue) {
+        List<Long> studentIds = new ArrayList<>(batch.size());
+        for (EnrollmentTicket ticket : batch) {
+            studentIds.add(ticket.getStudentId());
+        }
+        
+        try {
+            List<EnrollmentResult> results = waitlistService.enrollOrWaitlist(courseId, studentIds);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).complete(results.get(i));
+            }
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Enrollment batch failed for course " + courseId, e);
+            for (EnrollmentTicket ticket : batch) {
+                ticket.fail("Enrollment could not be processed, please try again");
+            }
+        } finally {
+            queue.pending.addAndGet(-batch.size());
+        }
+    }
+    
+    private void evictExpiredTickets() {
+        LocalDateTime cutoff = LocalDateTime.now().minusNanos(TimeUnit.MILLISECONDS.toNanos(ticketTtlMs));
+        tickets.values().removeIf(ticket -> ticket.getCompletedAt() != null && ticket.getCompletedAt().isBefore(cutoff));
+    }
+    
+    // Inner class holding one course's pending tickets
+    private static class CourseQueue {
+        private final Queue<EnrollmentTicket> tickets = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pending = new AtomicInteger();
+    }
+}
@@ -0,0 +1,260 @@
+package com.erp.course.backend.service;
+
+import com.erp.course.backend.dto.BulkEnrollmentSummary;
+import com.erp.course.backend.dto.EnrollmentResult;
+import com.erp.course.backend.entity.Course;
+import com.erp.course.backend.event.CourseSeatsChangedEvent;
+import com.erp.course.backend.repository.CourseRepository;
+import com.erp.course.backend.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+@Transactional
+public class EnrollmentService {
+    
+    // Rows per JDBC batch when inserting into course_enrollments
+    private static final int INSERT_BATCH_SIZE = 500;
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private EnrollmentIndexService enrollmentIndexService;
+    
+    @Autowired
+    private ScheduleConflictService scheduleConflictService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    // ================================
+    // SINGLE ENROLLMENT OPERATIONS
+    // ================================
+    
+    // Enrolls a student without loading Course.enrolledStudents: one conditional
+    // seat update plus one join-table insert, both rolled back together on failure
+    public EnrollmentResult enroll(Long courseId, Long studentId) {
+        if (!studentRepository.existsById(studentId)) {
+            throw new RuntimeException("Student not found with id: " + studentId);
+        }
+        
+        if (isEnrolled(courseId, studentId)) {
+            throw new RuntimeException("Student is already enrolled in this course");
+        }
+        
+        String conflictWarning = checkScheduleConflicts(
+                scheduleConflictService.findConflicts(courseId, studentId));
+        
+        if (courseRepository.claimSeat(courseId, LocalDateTime.now()) == 0) {
+            throw seatUnavailable(courseId);
+        }
+        
+        try {
+            courseRepository.insertEnrollment(courseId, studentId);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request enrolled the same student first
+            throw new RuntimeException("Student is already enrolled in this course");
+        }
+        enrollmentIndexService.recordEnrollments(courseId, List.of(studentId));
+        eventPublisher.publishEvent(new CourseSeatsChangedEvent(courseId));
+        
+        return new EnrollmentResult(courseId, studentId, "ENROLLED",
+                courseRepository.findAvailableSpots(courseId), withWarning("Successfully enrolled in course", conflictWarning));
+    }
+    
+    public EnrollmentResult unenroll(Long courseId, Long studentId) {
+        if (courseRepository.deleteEnrollment(courseId, studentId) == 0) {
+            if (!courseRepository.existsById(courseId)) {
+                throw new RuntimeException("Course not found with id: " + courseId);
+            }
+            if (!studentRepository.existsById(studentId)) {
+                throw new RuntimeException("Student not found with id: " + studentId);
+            }
+            throw new RuntimeException("Student is not enrolled in this course");
+        }
+        
+        courseRepository.releaseSeat(courseId, LocalDateTime.now());
+        enrollmentIndexService.recordUnenrollment(courseId, studentId);
+        eventPublisher.publishEvent(new CourseSeatsChangedEvent(courseId));
+        
+        return new EnrollmentResult(courseId, studentId, "UNENROLLED",
+                courseRepository.findAvailableSpots(courseId), "Successfully unenrolled from course");
+    }
+    
+    // One lookup on the course_enrollments unique key. Not served from the in-memory index:
+    // it only hears about enrollments made on other instances at its next reload.
+    public boolean isEnrolled(Long courseId, Long studentId) {
+        return courseRepository.countEnrollment(courseId, studentId) > 0;
+    }
+    
+    // ================================
+    // BATCH ENROLLMENT OPERATIONS
+    // ================================
+    
+    // Allocates seats to the given students in order inside one transaction. The course
+    // row is locked once, membership and existence are resolved with one query each, and
+    // admitted students are inserted with JDBC batched inserts. Per-student failures are
+    // reported in the returned list (same order as the input) instead of thrown.
+    public List<EnrollmentResult> enrollBatch(Long courseId, List<Long> studentIds) {
+        return enrollBatch(courseId, studentIds, true);
+    }
+    
+    // Waitlist promotion: the seats go to students who queued while enrollment was open,
+    // so closing the enrollment window afterwards does not take them away
+    public List<EnrollmentResult> enrollFromWaitlist(Long courseId, List<Long> studentIds) {
+        return enrollBatch(courseId, studentIds, false);
+    }
+    
+    private List<EnrollmentResult> enrollBatch(Long courseId, List<Long> studentIds, boolean requireOpenEnrollment) {
+        List<EnrollmentResult> results = new ArrayList<>(studentIds.size());
+        if (studentIds.isEmpty()) {
+            return results;
+        }
+        
+        Course course = courseRepository.findByIdForUpdate(courseId).orElse(null);
+        String rejection = null;
+        if (course == null) {
+            rejection = "Course not found with id: " + courseId;
+        } else if (!course.getIsActive()) {
+            rejection = "Cannot enroll in inactive course";
+        } else if (requireOpenEnrollment && !course.getEnrollmentOpen()) {
+            rejection = "Enrollment is closed for this course";
+        }
+        if (rejection != null) {
+            for (Long studentId : studentIds) {
+                results.add(new EnrollmentResult(courseId, studentId, "REJECTED", null, rejection));
+            }
+            return results;
+        }
+        
+        Set<Long> distinctIds = new LinkedHashSet<>(studentIds);
+        Set<Long> existing = new HashSet<>(studentRepository.findExistingIds(distinctIds));
+        Set<Long> enrolled = new HashSet<>(courseRepository.findEnrolledStudentIds(courseId, distinctIds));
+        Map<Long, List<String>> conflicts = scheduleConflictService.findConflicts(course, distinctIds);
+        boolean rejectConflicts = scheduleConflictService.getPolicy() == ScheduleConflictService.ConflictPolicy.REJECT;
+        
+        int seatsLeft = course.getAvailableSpots();
+        List<Long> admitted = new ArrayList<>();
+        Map<Long, EnrollmentResult> firstOutcome = new HashMap<>();
+        for (Long studentId : studentIds) {
+            EnrollmentResult previous = firstOutcome.get(studentId);
+            EnrollmentResult result;
+            if (previous != null) {
+                // Repeated request for the same student in this batch
+                result = "ENROLLED".equals(previous.getStatus())
+                        ? new EnrollmentResult(courseId, studentId, "ALREADY_ENROLLED", null,
+                                "Student is already enrolled in this course")
+                        : new EnrollmentResult(courseId, studentId, previous.getStatus(), null, previous.getMessage());
+            } else if (!existing.contains(studentId)) {
+                result = new EnrollmentResult(courseId, studentId, "REJECTED", null,
+                        "Student not found with id: " + studentId);
+            } else if (enrolled.contains(studentId)) {
+                result = new EnrollmentResult(courseId, studentId, "ALREADY_ENROLLED", null,
+                        "Student is already enrolled in this course");
+            } else if (rejectConflicts && conflicts.containsKey(studentId)) {
+                result = new EnrollmentResult(courseId, studentId, "REJECTED", null,
+                        conflictMessage(conflicts.get(studentId)));
+            } else if (seatsLeft <= 0) {
+                result = new EnrollmentResult(courseId, studentId, "FULL", null, "Course is full");
+            } else {
+                admitted.add(studentId);
+                seatsLeft--;
+                String warning = conflicts.containsKey(studentId) ? conflictMessage(conflicts.get(studentId)) : null;
+                result = new EnrollmentResult(courseId, studentId, "ENROLLED", null,
+                        withWarning("Successfully enrolled in course", warning));
+            }
+            firstOutcome.putIfAbsent(studentId, result);
+            results.add(result);
+        }
+        
+        if (!admitted.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO course_enrollments (course_id, student_id) VALUES (?, ?)",
+                    admitted, INSERT_BATCH_SIZE,
+                    (ps, studentId) -> {
+                        ps.setLong(1, courseId);
+                        ps.setLong(2, studentId);
+                    });
+            courseRepository.addSeats(courseId, admitted.size(), LocalDateTime.now());
+            // The count column is never written from the entity; keep the managed copy in step
+            course.setCurrentEnrollment(course.getCurrentEnrollment() + admitted.size());
+            enrollmentIndexService.recordEnrollments(courseId, admitted);
+            eventPublisher.publishEvent(new CourseSeatsChangedEvent(courseId));
+        }
+        
+        for (EnrollmentResult result : results) {
+            result.setAvailableSpots(seatsLeft);
+        }
+        return results;
+    }
+    
+    // Admin roster upload: same single-lock allocation as enrollBatch, summarised per outcome
+    public BulkEnrollmentSummary bulkEnroll(Long courseId, List<Long> studentIds) {
+        if (studentIds == null || studentIds.isEmpty()) {
+            throw new RuntimeException("At least one student id is required");
+        }
+        if (studentIds.contains(null)) {
+            throw new RuntimeException("Student ids must not be null");
+        }
+        return new BulkEnrollmentSummary(courseId, enrollBatch(courseId, studentIds));
+    }
+    
+    // ================================
+    // HELPER METHODS
+    // ================================
+    
+    // Throws under the REJECT policy; otherwise returns the warning to attach (or null)
+    private String checkScheduleConflicts(List<String> conflicts) {
+        if (conflicts.isEmpty()) {
+            return null;
+        }
+        if (scheduleConflictService.getPolicy() == ScheduleConflictService.ConflictPolicy.REJECT) {
+            throw new RuntimeException(conflictMessage(conflicts));
+        }
+        return conflictMessage(conflicts);
+    }
+    
+    private String conflictMessage(List<String> conflicts) {
+        return "Schedule conflicts with " + String.join(", ", conflicts);
+    }
+    
+    private String withWarning(String message, String warning) {
+        return warning != null ? message + " (" + warning + ")" : message;
+    }
+    
+    // Only called after the conditional update failed, so the extra read is off the hot path
+    private RuntimeException seatUnavailable(Long courseId) {
+        Course course = courseRepository.findById(courseId).orElse(null);
+        
+        if (course == null) {
+            return new RuntimeException("Course not found with id: " + courseId);
+        }
+        if (!course.getIsActive()) {
+            return new RuntimeException("Cannot enroll in inactive course");
+        }
+        if (!course.getEnrollmentOpen()) {
+            return new RuntimeException("Enrollment is closed for this course");
+        }
+        return new RuntimeException("Course is full");
+    }
+}
@@ -0,0 +1,209 @@
+package com.erp.course.backend.service;
+
+import com.erp.course.backend.dto.CourseSummary;
+import com.erp.course.backend.entity.Instructor;
+import com.erp.course.backend.entity.Student;
+import com.erp.course.backend.repository.CourseRepository;
+import com.erp.course.backend.repository.InstructorRepository;
+import com.erp.course.backend.repository.ResultRepository;
+import com.erp.course.backend.repository.StudentRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Writes whole tables as NDJSON or CSV in keyset chunks: each chunk of rows after the last id
+// written is read in its own short read-only transaction, and the connection goes back to the
+// pool before the chunk is written out. A slow client therefore never holds a connection, and
+// memory use stays at one chunk however large the table is. The export is not a snapshot: rows
+// changed while it runs appear as of the chunk that reads them.
+@Service
+public class ExportService {
+    
+    public enum Dataset {
+        STUDENTS, INSTRUCTORS, COURSES, RESULTS
+    }
+    
+    public enum Format {
+        NDJSON, CSV
+    }
+    
+    private static final int CHUNK_SIZE = 1000;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    
+    private static final String[] STUDENT_COLUMNS = {
+        "id", "studentId", "firstName", "lastName", "email", "phoneNumber", "dateOfBirth", "gender",
+        "major", "year", "enrollmentDate", "graduationDate", "gpa", "status", "isActive", "createdAt"
+    };
+    private static final String[] INSTRUCTOR_COLUMNS = {
+        "id", "employeeId", "firstName", "lastName", "email", "phoneNumber", "department",
+        "specialization", "qualification", "hireDate", "isActive", "createdAt"
+    };
+    private static final String[] COURSE_COLUMNS = {
+        "id", "courseCode", "courseName", "credits", "department", "semester", "startDate", "endDate",
+        "schedule", "location", "maxCapacity", "currentEnrollment", "isActive", "enrollmentOpen",
+        "instructorId", "instructorName"
+    };
+    private static final String[] RESULT_COLUMNS = {
+        "id", "studentId", "studentFirstName", "studentLastName", "courseCode", "resultType", "title",
+        "resultValue", "isReleased", "releasedAt", "createdAt"
+    };
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private InstructorRepository instructorRepository;
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    @Autowired
+    private ResultRepository resultRepository;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    public String contentType(Format format) {
+        return format == Format.CSV ? "text/csv" : "application/x-ndjson";
+    }
+    
+    public String fileName(Dataset dataset, Format format) {
+        return dataset.name().toLowerCase() + (format == Format.CSV ? ".csv" : ".ndjson");
+    }
+    
+    public void export(Dataset dataset, Format format, OutputStream out) throws IOException {
+        switch (dataset) {
+            case STUDENTS:
+                write(STUDENT_COLUMNS, (afterId, chunk) ->
+                        map(studentRepository.findExportChunkAfter(afterId, chunk), this::studentValues), format, out);
+                break;
+            case INSTRUCTORS:
+                write(INSTRUCTOR_COLUMNS, (afterId, chunk) ->
+                        map(instructorRepository.findExportChunkAfter(afterId, chunk), this::instructorValues), format, out);
+                break;
+            case COURSES:
+                write(COURSE_COLUMNS, (afterId, chunk) ->
+                        map(courseRepository.findExportChunkAfter(afterId, chunk), this::courseValues), format, out);
+                break;
+            case RESULTS:
+                write(RESULT_COLUMNS, resultRepository::findExportChunkAfter, format, out);
+                break;
+        }
+    }
+    
+    // ================================
+    // WRITERS
+    // ================================
+    
+    // Reads chunks of rows (id first) after the last id written until a chunk comes back short
+    private void write(String[] columns, BiFunction<Long, Pageable, List<Object[]>> chunkAfter,
+                       Format format, OutputStream out) throws IOException {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        Pageable chunk = PageRequest.of(0, CHUNK_SIZE);
+        
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        if (format == Format.CSV) {
+            writeCsvLine(writer, columns);
+        }
+        
+        long afterId = 0;
+        List<Object[]> rows;
+        do {
+            long after = afterId;
+            rows = readOnly.execute(status -> chunkAfter.apply(after, chunk));
+            for (Object[] row : rows) {
+                if (format == Format.CSV) {
+                    writeCsvLine(writer, row);
+                } else {
+                    writeJsonLine(writer, columns, row);
+                }
+            }
+            if (!rows.isEmpty()) {
+                afterId = (Long) rows.get(rows.size() - 1)[0];
+            }
+        } while (rows.size() == CHUNK_SIZE);
+        writer.flush();
+    }
+    
+    private void writeJsonLine(Writer writer, String[] columns, Object[] row) throws IOException {
+        Map<String, Object> object = new LinkedHashMap<>();
+        for (int i = 0; i < columns.length; i++) {
+            object.put(columns[i], row[i]);
+        }
+        writer.write(objectMapper.writeValueAsString(object));
+        writer.write('\n');
+    }
+    
+    private void writeCsvLine(Writer writer, Object[] row) throws IOException {
+        for (int i = 0; i < row.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (row[i] != null) {
+                writer.write(escapeCsv(row[i].toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+    
+    private String escapeCsv(String value) {
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        return quote ? "\"" + value.replace("\"", "\"\"") + "\"" : value;
+    }
+    
+    // ================================
+    // ROW MAPPINGS
+    // ================================
+    
+    // Mapped inside the chunk's transaction, before its entities are detached
+    private <T> List<Object[]> map(List<T> rows, Function<T, Object[]> values) {
+        return rows.stream().map(values).collect(Collectors.toList());
+    }
+    
+    private Object[] studentValues(Student s) {
+        return new Object[] {
+            s.getId(), s.getStudentId(), s.getFirstName(), s.getLastName(), s.getEmail(), s.getPhoneNumber(),
+            s.getDateOfBirth(), s.getGender(), s.getMajor(), s.getYear(), s.getEnrollmentDate(),
+            s.getGraduationDate(), s.getGpa(), s.getStatus(), s.getIsActive(), s.getCreatedAt()
+        };
+    }
+    
+    private Object[] instructorValues(Instructor i) {
+        return new Object[] {
+            i.getId(), i.getEmployeeId(), i.getFirstName(), i.getLastName(), i.getEmail(), i.getPhoneNumber(),
+            i.getDepartment(), i.getSpecialization(), i.getQualification(), i.getHireDate(), i.getIsActive(),
+            i.getCreatedAt()
+        };
+    }
+    
+    private Object[] courseValues(CourseSummary c) {
+        return new Object[] {
+            c.getId(), c.getCourseCode(), c.getCourseName(), c.getCredits(), c.getDepartment(), c.getSemester(),
+            c.getStartDate(), c.getEndDate(), c.getSchedule(), c.getLocation(), c.getMaxCapacity(),
+            c.getCurrentEnrollment(), c.getIsActive(), c.getEnrollmentOpen(), c.getInstructorId(),
+            c.getInstructorName()
+        };
+    }
+}
@@ -0,0 +1,514 @@
+package com.erp.course.backend.service;
+
+import com.erp.course.backend.dto.FinalGradeResponse;
+import com.erp.course.backend.dto.GradeWeightEntry;
+import com.erp.course.backend.dto.GradingScheme;
+import com.erp.course.backend.entity.Course;
+import com.erp.course.backend.entity.FinalGrade;
+import com.erp.course.backend.entity.GradeWeight;
+import com.erp.course.backend.entity.Result;
+import com.erp.course.backend.entity.Result.ResultType;
+import com.erp.course.backend.entity.StaleFinalGrade;
+import com.erp.course.backend.event.ResultChangedEvent;
+import com.erp.course.backend.repository.CourseRepository;
+import com.erp.course.backend.repository.FinalGradeRepository;
+import com.erp.course.backend.repository.GradeWeightRepository;
+import com.erp.course.backend.repository.ResultRepository;
+import com.erp.course.backend.repository.StaleFinalGradeRepository;
+import com.erp.course.backend.repository.StudentRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+// Weighted final grades per (course, student), materialized in final_grades. Each category of a
+// course's grading scheme averages the released results of one type after dropping the lowest N;
+// regular categories are combined by weight (renormalized over the categories graded so far) and
+// extra-credit categories add their weighted points on top, capped at 100. Without a scheme the
+// final grade is the plain average of released results.
+//
+// A single result change recomputes only that student's grade from their own results; batch entry
+// and bulk release recompute the course with one query. Both run after the change commits, queued
+// to one background worker, so a result write never holds a second pooled connection. The change
+// also leaves a stale_final_grades marker in its own transaction, cleared by the recompute; a
+// periodic drain recomputes whatever is still marked, so a full queue, a restart or repeated
+// failures only delay a grade. Scheme changes recompute the course in their own transaction.
+// recomputeAllCourses rebuilds every course in parallel, one transaction per course, at term end.
+// Letter grade changes are passed on to GpaService in the same transaction.
+@Service
+@Transactional
+public class FinalGradeService {
+    
+    private static final Logger logger = Logger.getLogger(FinalGradeService.class.getName());
+    
+    private static final BigDecimal FULL_WEIGHT = BigDecimal.valueOf(100);
+    private static final int RECOMPUTE_ATTEMPTS = 3;
+    private static final long RECOMPUTE_RETRY_DELAY_MS = 500;
+    private static final int STALE_DRAIN_BATCH = 500;
+    
+    @Autowired
+    private FinalGradeRepository finalGradeRepository;
+    
+    @Autowired
+    private GradeWeightRepository gradeWeightRepository;
+    
+    @Autowired
+    private ResultRepository resultRepository;
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private StaleFinalGradeRepository staleFinalGradeRepository;
+    
+    @Autowired
+    private GpaService gpaService;
+    
+    @Autowired
+    private RankService rankService;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Value("${app.grades.recompute-threads:4}")
+    private int recomputeThreads;
+    
+    @Value("${app.grades.result-recompute-queue-size:10000}")
+    private int resultRecomputeQueueSize;
+    
+    @Value("${app.grades.stale-drain-interval-ms:60000}")
+    private long staleDrainIntervalMs;
+    
+    // Recomputes after result changes, one at a time
+    private ThreadPoolExecutor resultRecomputer;
+    
+    // Recomputes grades still marked stale
+    private ScheduledExecutorService staleDrainer;
+    
+    @PostConstruct
+    public void start() {
+        resultRecomputer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(resultRecomputeQueueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "final-grade-result-recompute");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (task, executor) -> logger.warning("Final grade recompute queue is full; the stale drain will pick the change up"));
+        staleDrainer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "final-grade-stale-drain");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (staleDrainIntervalMs > 0) {
+            staleDrainer.scheduleWithFixedDelay(this::drainStale, staleDrainIntervalMs, staleDrainIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    @PreDestroy
+    public void stop() {
+        resultRecomputer.shutdown();
+        staleDrainer.shutdown();
+    }
+    
+    // ================================
+    // GRADING SCHEME
+    // ================================
+    
+    public GradingScheme getGradingScheme(Long courseId) {
+        List<GradeWeightEntry> categories = new ArrayList<>();
+        for (GradeWeight gradeWeight : gradeWeightRepository.findByCourse_IdOrderByResultType(courseId)) {
+            categories.add(new GradeWeightEntry(gradeWeight));
+        }
+        return new GradingScheme(courseId, categories);
+    }
+    
+    // Replace a course's grading scheme and recompute its final grades
+    public GradingScheme setGradingScheme(Long courseId, Long instructorId, GradingScheme scheme) {
+        Course course = courseRepository.findById(courseId)
+            .orElseThrow(() -> new RuntimeException("Course not found"));
+        if (course.getInstructor() == null || !course.getInstructor().getId().equals(instructorId)) {
+            throw new RuntimeException("Instructor is not assigned to this course");
+        }
+        
+        List<GradeWeight> weights = new ArrayList<>();
+        Set<ResultType> seen = EnumSet.noneOf(ResultType.class);
+        BigDecimal regularTotal = BigDecimal.ZERO;
+        for (GradeWeightEntry entry : scheme.getCategories()) {
+            ResultType resultType = parseResultType(entry.getResultType());
+            if (!seen.add(resultType)) {
+                throw new RuntimeException("Result type " + resultType + " appears more than once in the grading scheme");
+            }
+            if (entry.getWeight() == null || entry.getWeight().signum() < 0 || entry.getWeight().compareTo(FULL_WEIGHT) > 0) {
+                throw new RuntimeException("Weight of " + resultType + " must be between 0 and 100");
+            }
+            int dropLowest = entry.getDropLowest() != null ? entry.getDropLowest() : 0;
+            if (dropLowest < 0) {
+                throw new RuntimeException("Drop lowest of " + resultType + " cannot be negative");
+            }
+            boolean extraCredit = Boolean.TRUE.equals(entry.getExtraCredit());
+            if (!extraCredit) {
+                regularTotal = regularTotal.add(entry.getWeight());
+            }
+            weights.add(new GradeWeight(course, resultType, entry.getWeight(), dropLowest, extraCredit));
+        }
+        if (!weights.isEmpty() && regularTotal.compareTo(FULL_WEIGHT) != 0) {
+            throw new RuntimeException("Weights of regular categories must add up to 100 (got " + regularTotal.stripTrailingZeros().toPlainString() + ")");
+        }
+        
+        gradeWeightRepository.deleteByCourseId(courseId);
+        gradeWeightRepository.saveAll(weights);
+        recomputeCourse(courseId);
+        return getGradingScheme(courseId);
+    }
+    
+    // ================================
+    // FINAL GRADES
+    // ================================
+    
+    public List<FinalGradeResponse> getFinalGradesForCourse(Long courseId) {
+        return finalGradeRepository.findWithStudentsByCourse(courseId).stream()
+            .map(FinalGradeResponse::new)
+            .collect(Collectors.toList());
+    }
+    
+    public List<FinalGradeResponse> getFinalGradesForStudent(Long studentId) {
+        return finalGradeRepository.findWithCoursesByStudent(studentId).stream()
+            .map(FinalGradeResponse::new)
+            .collect(Collectors.toList());
+    }
+    
+    // ================================
+    // RECOMPUTE
+    // ================================
+    
+    // Runs inside the transaction that changed the results, so the marker commits or rolls back with them
+    @EventListener
+    public void markStale(ResultChangedEvent event) {
+        staleFinalGradeRepository.save(new StaleFinalGrade(event.getCourseId(), event.getStudentId(), LocalDateTime.now()));
+    }
+    
+    // Queued once the result change commits and run on the worker in its own transaction, after
+    // the request has given its connection back; a failure never rolls back the grade entry itself
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onResultChanged(ResultChangedEvent event) {
+        resultRecomputer.execute(() -> recompute(event));
+    }
+    
+    // Retried a few times; a unique key violation means a concurrent recompute inserted the
+    // final grade first, and the next attempt locks and updates that row
+    private void recompute(ResultChangedEvent event) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transaction.executeWithoutResult(status -> recomputeStale(event.getCourseId(), event.getStudentId()));
+                return;
+            } catch (RuntimeException e) {
+                String target = "course " + event.getCourseId()
+                        + (event.getStudentId() != null ? ", student " + event.getStudentId() : "");
+                if (attempt == RECOMPUTE_ATTEMPTS) {
+                    logger.log(Level.SEVERE, "Final grade recompute failed for " + target + " after " + attempt
+                            + " attempts; it stays marked stale for the next drain", e);
+                    return;
+                }
+                logger.log(Level.WARNING, "Final grade recompute failed for " + target + ", retrying", e);
+                if (!(e instanceof DataIntegrityViolationException) && !pause(RECOMPUTE_RETRY_DELAY_MS * attempt)) {
+                    return;
+                }
+            }
+        }
+    }
+    
+    // Recomputes every grade still marked stale, oldest first, one transaction per course; a course
+    // that fails keeps its markers for the next run
+    void drainStale() {
+        try {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            boolean more = true;
+            while (more) {
+                List<StaleFinalGrade> markers = staleFinalGradeRepository.findOldest(PageRequest.of(0, STALE_DRAIN_BATCH));
+                // Stale students per course; null stands for the whole course
+                Map<Long, Set<Long>> studentsByCourse = new LinkedHashMap<>();
+                for (StaleFinalGrade marker : markers) {
+                    if (marker.getStudentId() == null) {
+                        studentsByCourse.put(marker.getCourseId(), null);
+                    } else if (!studentsByCourse.containsKey(marker.getCourseId()) || studentsByCourse.get(marker.getCourseId()) != null) {
+                        studentsByCourse.computeIfAbsent(marker.getCourseId(), id -> new LinkedHashSet<>()).add(marker.getStudentId());
+                    }
+                }
+                
+                more = markers.size() == STALE_DRAIN_BATCH;
+                for (Map.Entry<Long, Set<Long>> entry : studentsByCourse.entrySet()) {
+                    try {
+                        transaction.executeWithoutResult(status -> {
+                            if (entry.getValue() == null) {
+                                recomputeStale(entry.getKey(), null);
+                            } else {
+                                for (Long studentId : entry.getValue()) {
+                                    recomputeStale(entry.getKey(), studentId);
+                                }
+                            }
+                        });
+                    } catch (RuntimeException e) {
+                        logger.log(Level.WARNING, "Stale final grade recompute failed for course " + entry.getKey(), e);
+                        more = false;
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            // Never let an exception cancel the scheduled drain
+            logger.log(Level.SEVERE, "Stale final grade drain failed", e);
+        }
+    }
+    
+    // Recomputes one student, or the whole course when studentId is null, if still marked stale, and
+    // clears the markers read before the recompute. Markers written meanwhile belong to changes the
+    // recompute may not have seen, so they stay for the next pass.
+    private void recomputeStale(Long courseId, Long studentId) {
+        List<StaleFinalGrade> markers = studentId != null
+                ? staleFinalGradeRepository.findByCourseIdAndStudentId(courseId, studentId)
+                : staleFinalGradeRepository.findByCourseId(courseId);
+        if (markers.isEmpty()) {
+            // Already recomputed after the change committed
+            return;
+        }
+        if (studentId != null) {
+            recomputeStudent(courseId, studentId);
+        } else {
+            recomputeCourse(courseId);
+        }
+        staleFinalGradeRepository.deleteAllInBatch(markers);
+    }
+    
+    private static boolean pause(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+    
+    // One student in one course: reads only that student's released results
+    public void recomputeStudent(Long courseId, Long studentId) {
+        List<GradeWeight> scheme = gradeWeightRepository.findByCourse_IdOrderByResultType(courseId);
+        Map<ResultType, List<BigDecimal>> values = new EnumMap<>(ResultType.class);
+        for (Object[] row : resultRepository.findReleasedTypeValues(courseId, studentId)) {
+            values.computeIfAbsent((ResultType) row[0], type -> new ArrayList<>()).add((BigDecimal) row[1]);
+        }
+        FinalGrade existing = finalGradeRepository.findForUpdate(courseId, studentId).orElse(null);
+        GpaService.Changes gpaChanges = new GpaService.Changes(courseRepository.findCreditsById(courseId));
+        store(courseId, studentId, existing, compute(values, scheme), LocalDateTime.now(), gpaChanges);
+        gpaService.apply(gpaChanges);
+    }
+    
+    // Every student in a course from one query; returns the number of final grades the course now has
+    public int recomputeCourse(Long courseId) {
+        List<GradeWeight> scheme = gradeWeightRepository.findByCourse_IdOrderByResultType(courseId);
+        Map<Long, Map<ResultType, List<BigDecimal>>> valuesByStudent = new HashMap<>();
+        for (Object[] row : resultRepository.findReleasedTypeValuesByCourse(courseId)) {
+            valuesByStudent.computeIfAbsent((Long) row[0], id -> new EnumMap<>(ResultType.class))
+                .computeIfAbsent((ResultType) row[1], type -> new ArrayList<>())
+                .add((BigDecimal) row[2]);
+        }
+        
+        Map<Long, FinalGrade> existing = new HashMap<>();
+        for (FinalGrade finalGrade : finalGradeRepository.findByCourseForUpdate(courseId)) {
+            existing.put(finalGrade.getStudent().getId(), finalGrade);
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        GpaService.Changes gpaChanges = new GpaService.Changes(courseRepository.findCreditsById(courseId));
+        int graded = 0;
+        for (Map.Entry<Long, Map<ResultType, List<BigDecimal>>> entry : valuesByStudent.entrySet()) {
+            Computed computed = compute(entry.getValue(), scheme);
+            store(courseId, entry.getKey(), existing.remove(entry.getKey()), computed, now, gpaChanges);
+            if (computed != null) {
+                graded++;
+            }
+        }
+        // Students left over no longer have any released results in the course
+        for (Map.Entry<Long, FinalGrade> entry : existing.entrySet()) {
+            store(courseId, entry.getKey(), entry.getValue(), null, now, gpaChanges);
+        }
+        gpaService.apply(gpaChanges);
+        return graded;
+    }
+    
+    // Term-end rebuild of every course, several courses at a time, one transaction per course
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Map<String, Object> recomputeAllCourses() {
+        long started = System.currentTimeMillis();
+        List<Long> courseIds = courseRepository.findAllIds();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, recomputeThreads), runnable -> {
+            Thread thread = new Thread(runnable, "final-grade-recompute");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Map<Long, Future<Integer>> pending = new LinkedHashMap<>();
+        try {
+            for (Long courseId : courseIds) {
+                pending.put(courseId, executor.submit(() -> transaction.execute(status -> recomputeCourse(courseId))));
+            }
+            
+            int finalGrades = 0;
+            List<Long> failedCourseIds = new ArrayList<>();
+            for (Map.Entry<Long, Future<Integer>> entry : pending.entrySet()) {
+                try {
+                    finalGrades += entry.getValue().get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Final grade recompute was interrupted");
+                } catch (Exception e) {
+                    logger.log(Level.WARNING, "Final grade recompute failed for course " + entry.getKey(), e);
+                    failedCourseIds.add(entry.getKey());
+                }
+            }
+            
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("courses", courseIds.size());
+            summary.put("finalGrades", finalGrades);
+            summary.put("failedCourseIds", failedCourseIds);
+            summary.put("elapsedMs", System.currentTimeMillis() - started);
+            return summary;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    // ================================
+    // HELPER METHODS
+    // ================================
+    
+    // Grade of one student from their released values by type, or null when nothing counts yet
+    private static Computed compute(Map<ResultType, List<BigDecimal>> valuesByType, List<GradeWeight> scheme) {
+        if (scheme.isEmpty()) {
+            double sum = 0;
+            int count = 0;
+            for (List<BigDecimal> values : valuesByType.values()) {
+                for (BigDecimal value : values) {
+                    sum += value.doubleValue();
+                    count++;
+                }
+            }
+            return count == 0 ? null : new Computed(sum / count, count);
+        }
+        
+        double weighted = 0;
+        double weightUsed = 0;
+        double extra = 0;
+        int count = 0;
+        for (GradeWeight category : scheme) {
+            List<BigDecimal> values = valuesByType.get(category.getResultType());
+            if (values == null || values.isEmpty()) {
+                continue;
+            }
+            List<BigDecimal> sorted = new ArrayList<>(values);
+            sorted.sort(null);
+            // Always keep at least one result of the category
+            int drop = Math.min(category.getDropLowest(), sorted.size() - 1);
+            double sum = 0;
+            for (int i = drop; i < sorted.size(); i++) {
+                sum += sorted.get(i).doubleValue();
+            }
+            int kept = sorted.size() - drop;
+            double average = sum / kept;
+            double weight = category.getWeight().doubleValue();
+            if (Boolean.TRUE.equals(category.getExtraCredit())) {
+                extra += weight * average / 100;
+            } else {
+                weighted += weight * average;
+                weightUsed += weight;
+            }
+            count += kept;
+        }
+        // Only extra credit or types outside the scheme so far
+        if (weightUsed == 0) {
+            return null;
+        }
+        return new Computed(Math.min(100, weighted / weightUsed + extra), count);
+    }
+    
+    private void store(Long courseId, Long studentId, FinalGrade existing, Computed computed, LocalDateTime now,
+                       GpaService.Changes gpaChanges) {
+        String previousLetter = existing != null ? existing.getLetterGrade() : null;
+        if (computed == null) {
+            if (existing != null) {
+                finalGradeRepository.delete(existing);
+                gpaChanges.finalGradeChanged(studentId, previousLetter, null);
+                rankService.recordFinalGradeChanged(courseId, studentId);
+            }
+            return;
+        }
+        
+        BigDecimal grade = BigDecimal.valueOf(computed.grade).setScale(2, RoundingMode.HALF_UP);
+        if (existing != null && grade.compareTo(existing.getGrade()) == 0 && existing.getResultCount() == computed.count) {
+            return;
+        }
+        FinalGrade finalGrade = existing != null ? existing
+            : new FinalGrade(courseRepository.getReferenceById(courseId), studentRepository.getReferenceById(studentId));
+        finalGrade.setGrade(grade);
+        finalGrade.setLetterGrade(Result.letterFor(grade));
+        finalGrade.setResultCount(computed.count);
+        finalGrade.setComputedAt(now);
+        finalGradeRepository.save(finalGrade);
+        gpaChanges.finalGradeChanged(studentId, previousLetter, finalGrade.getLetterGrade());
+        rankService.recordFinalGradeChanged(courseId, studentId);
+    }
+    
+    private ResultType parseResultType(String resultType) {
+        try {
+            return ResultType.valueOf(resultType);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new RuntimeException("Invalid result type: " + resultType);
+        }
+    }
+    
+    private static final class Computed {
+        private final double grade;
+        private final int count;
+        
+        private Computed(double grade, int count) {
+            this.grade = grade;
+            this.count = count;
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.erp.course.backend.service;
+
+import com.erp.course.backend.dto.GpaRecomputeStatus;
+import com.erp.course.backend.entity.FinalGrade;
+import com.erp.course.backend.repository.FinalGradeRepository;
+import com.erp.course.backend.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Student.gpa derived from final grades: each course contributes credits x grade points of its
+// letter grade. Every student keeps the running sums (gpa_points, gpa_credits) next to gpa, and
+// a change of final grade applies only the difference in one UPDATE, in the transaction that
+// changed the grade. A background job rebuilds the sums for the whole student body in chunks,
+// several chunks at a time, reporting progress through getRecomputeStatus.
+//
+// Lock order: final grade rows, then student rows in id order. The bulk job locks a chunk's
+// students before reading their final grades, so incremental updates wait for the rewrite.
+@Service
+@Transactional
+public class GpaService {
+    
+    private static final Logger logger = Logger.getLogger(GpaService.class.getName());
+    
+    private static final int CHUNK_SIZE = 500;
+    
+    // Grade points on a 4.0 scale, per letter of Result.letterFor
+    private static final Map<String, BigDecimal> GRADE_POINTS = Map.of(
+            "A", BigDecimal.valueOf(4),
+            "B", BigDecimal.valueOf(3),
+            "C", BigDecimal.valueOf(2),
+            "D", BigDecimal.valueOf(1),
+            "F", BigDecimal.ZERO);
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private FinalGradeRepository finalGradeRepository;
+    
+    @Autowired
+    private RankService rankService;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Value("${app.grades.recompute-threads:4}")
+    private int recomputeThreads;
+    
+    // Latest bulk recompute; guarded by jobLock
+    private final Object jobLock = new Object();
+    private Job job;
+    
+    // ================================
+    // INCREMENTAL UPDATES
+    // ================================
+    
+    // Write the collected changes, one UPDATE per student in id order
+    public void apply(Changes changes) {
+        for (Map.Entry<Long, Integer> entry : changes.credits.entrySet()) {
+            BigDecimal points = changes.points.get(entry.getKey());
+            if (entry.getValue() != 0 || points.signum() != 0) {
+                studentRepository.addGradePoints(entry.getKey(), points, entry.getValue());
+                rankService.recordGpaChanged(entry.getKey());
+            }
+        }
+    }
+    
+    // Re-weight a course's final grades after its credit hours changed
+    public void courseCreditsChanged(Long courseId, Integer previousCredits, Integer credits) {
+        if (Objects.equals(previousCredits, credits)) {
+            return;
+        }
+        Changes changes = new Changes(null);
+        for (FinalGrade finalGrade : finalGradeRepository.findByCourseForUpdate(courseId)) {
+            Long studentId = finalGrade.getStudent().getId();
+            changes.add(studentId, previousCredits, finalGrade.getLetterGrade(), -1);
+            changes.add(studentId, credits, finalGrade.getLetterGrade(), 1);
+        }
+        apply(changes);
+    }
+    
+    // ================================
+    // BULK RECOMPUTE
+    // ================================
+    
+    // Start rebuilding every student's GPA in the background; one job at a time
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public GpaRecomputeStatus startRecompute() {
+        synchronized (jobLock) {
+            if (job != null && job.finishedAt == null) {
+                throw new RuntimeException("A GPA recompute is already running");
+            }
+            Job started = new Job();
+            job = started;
+            Thread thread = new Thread(() -> run(started), "gpa-recompute");
+            thread.setDaemon(true);
+            thread.start();
+            return started.status();
+        }
+    }
+    
+    // Progress of the running or last finished job, or null if none was started
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public GpaRecomputeStatus getRecomputeStatus() {
+        synchronized (jobLock) {
+            return job != null ? job.status() : null;
+        }
+    }
+    
+    private void run(Job job) {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, recomputeThreads), runnable -> {
+            Thread thread = new Thread(runnable, "gpa-recompute-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Long> studentIds = studentRepository.findAllIds();
+            job.total = studentIds.size();
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            
+            List<Future<?>> chunks = new ArrayList<>();
+            for (int from = 0; from < studentIds.size(); from += CHUNK_SIZE) {
+                List<Long> chunk = studentIds.subList(from, Math.min(from + CHUNK_SIZE, studentIds.size()));
+                chunks.add(executor.submit(() -> {
+                    try {
+                        transaction.executeWithoutResult(status -> recomputeChunk(chunk));
+                        job.processed.addAndGet(chunk.size());
+                    } catch (RuntimeException e) {
+                        logger.log(Level.WARNING, "GPA recompute failed for students " + chunk.get(0)
+                                + ".." + chunk.get(chunk.size() - 1), e);
+                        job.failed.addAndGet(chunk.size());
+                    }
+                }));
+            }
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+            job.finish("COMPLETED");
+            // Chunks rewrote GPAs in bulk; pick them up in one pass rather than per student
+            try {
+                rankService.reload();
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Rank index reload after GPA recompute failed", e);
+            }
+            logger.info("GPA recompute finished: " + job.processed.get() + " students updated, " + job.failed.get() + " failed");
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            logger.log(Level.WARNING, "GPA recompute failed", e);
+            job.finish("FAILED");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    private void recomputeChunk(List<Long> studentIds) {
+        studentRepository.findAllForUpdate(studentIds);
+        
+        Changes sums = new Changes(null);
+        for (Object[] row : finalGradeRepository.findGpaRowsByStudents(studentIds)) {
+            sums.add((Long) row[0], (Integer) row[2], (String) row[1], 1);
+        }
+        
+        // Students without graded credits keep whatever gpa they had
+        jdbcTemplate.batchUpdate(
+                "UPDATE students SET gpa = COALESCE(?, gpa), gpa_points = ?, gpa_credits = ? WHERE id = ?",
+                studentIds, CHUNK_SIZE,
+                (ps, studentId) -> {
+                    BigDecimal points = sums.points.getOrDefault(studentId, BigDecimal.ZERO);
+                    int credits = sums.credits.getOrDefault(studentId, 0);
+                    if (credits > 0) {
+                        ps.setBigDecimal(1, points.divide(BigDecimal.valueOf(credits), 2, RoundingMode.HALF_UP));
+                    } else {
+                        ps.setNull(1, Types.DECIMAL);
+                    }
+                    ps.setBigDecimal(2, points);
+                    ps.setInt(3, credits);
+                    ps.setLong(4, studentId);
+                });
+    }
+    
+    // ================================
+    // HELPER CLASSES
+    // ================================
+    
+    // GPA changes collected while final grades of one course are rewritten, summed per student
+    public static final class Changes {
+        
+        private final Integer courseCredits;
+        private final Map<Long, BigDecimal> points = new TreeMap<>();
+        private final Map<Long, Integer> credits = new TreeMap<>();
+        
+        public Changes(Integer courseCredits) {
+            this.courseCredits = courseCredits;
+        }
+        
+        // A letter of null means the student has no final grade in the course
+        public void finalGradeChanged(Long studentId, String previousLetter, String letter) {
+            if (Objects.equals(previousLetter, letter)) {
+                return;
+            }
+            if (previousLetter != null) {
+                add(studentId, courseCredits, previousLetter, -1);
+            }
+            if (letter != null) {
+                add(studentId, courseCredits, letter, 1);
+            }
+        }
+        
+        // Courses without credit hours do not count towards the GPA
+        private void add(Long studentId, Integer courseCredits, String letter, int sign) {
+            BigDecimal gradePoints = GRADE_POINTS.get(letter);
+            if (courseCredits == null || courseCredits <= 0 || gradePoints == null) {
+                return;
+            }
+            points.merge(studentId, gradePoints.multiply(BigDecimal.valueOf((long) sign * courseCredits)), BigDecimal::add);
+            credits.merge(studentId, sign * courseCredits, Integer::sum);
+        }
+    }
+    
+    private static final class Job {
+        
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final AtomicInteger processed = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private volatile int total;
+        private volatile String state = "RUNNING";
+        private volatile LocalDateTime finishedAt;
+        
+        private void finish(String finalState) {
+            state = finalState;
+            finishedAt = LocalDateTime.now();
+        }
+        
+        private GpaRecomputeStatus status() {
+            return new GpaRecomputeStatus(state, total, processed.get(), failed.get(), startedAt, finishedAt);
+        }
+    }
+}
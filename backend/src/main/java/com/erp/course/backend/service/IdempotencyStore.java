@@ -0,0 +1,20 @@
+package com.erp.course.backend.service;
+
+import com.erp.course.backend.entity.IdempotencyRecord;
+
+import java.util.Optional;
+
+// Backing store for IdempotencyKeyFilter. Selected with app.idempotency.store:
+// "memory" (default, single instance) or "database" (shared idempotency_keys table).
+public interface IdempotencyStore {
+    
+    // Claims the key for a new request. Returns empty when the caller now owns the key,
+    // otherwise the existing record (still IN_PROGRESS or COMPLETED with a response).
+    Optional<IdempotencyRecord> claim(String key, String requestHash);
+    
+    // Stores the response of a claimed request so retries can replay it
+    void complete(String key, int status, String contentType, byte[] body);
+    
+    // Drops a claim whose request failed, so the client may retry with the same key
+    void release(String key);
+}
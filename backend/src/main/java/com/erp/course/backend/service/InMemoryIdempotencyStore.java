@@ -0,0 +1,76 @@
+package com.erp.course.backend.service;
+
+import com.erp.course.backend.entity.IdempotencyRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+// Bounded LRU of idempotency records; entries also expire after the configured TTL
+@Service
+@ConditionalOnProperty(name = "app.idempotency.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+    
+    @Value("${app.idempotency.ttl-ms:86400000}")
+    private long ttlMs;
+    
+    @Value("${app.idempotency.lock-timeout-ms:60000}")
+    private long lockTimeoutMs;
+    
+    @Value("${app.idempotency.max-entries:10000}")
+    private int maxEntries;
+    
+    private final Map<String, IdempotencyRecord> records = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, IdempotencyRecord> eldest) {
+            return size() > maxEntries;
+        }
+    };
+    
+    @Override
+    public synchronized Optional<IdempotencyRecord> claim(String key, String requestHash) {
+        LocalDateTime now = LocalDateTime.now();
+        IdempotencyRecord existing = records.get(key);
+        if (existing != null && !isStale(existing, now)) {
+            return Optional.of(snapshot(existing));
+        }
+        records.put(key, new IdempotencyRecord(key, requestHash, now, now.plus(Duration.ofMillis(ttlMs))));
+        return Optional.empty();
+    }
+    
+    @Override
+    public synchronized void complete(String key, int status, String contentType, byte[] body) {
+        IdempotencyRecord record = records.get(key);
+        if (record != null) {
+            record.complete(status, contentType, body, LocalDateTime.now().plus(Duration.ofMillis(ttlMs)));
+        }
+    }
+    
+    @Override
+    public synchronized void release(String key) {
+        records.remove(key);
+    }
+    
+    // Callers read the record outside the lock, so hand out a copy
+    private IdempotencyRecord snapshot(IdempotencyRecord record) {
+        IdempotencyRecord copy = new IdempotencyRecord(record.getIdempotencyKey(), record.getRequestHash(),
+                record.getCreatedAt(), record.getExpiresAt());
+        if (record.isCompleted()) {
+            copy.complete(record.getResponseStatus(), record.getContentType(), record.getResponseBody(), record.getExpiresAt());
+        }
+        return copy;
+    }
+    
+    // Expired, or claimed by a request that never finished (e.g. the thread died)
+    private boolean isStale(IdempotencyRecord record, LocalDateTime now) {
+        if (record.isExpired(now)) {
+            return true;
+        }
+        return !record.isCompleted() && record.getCreatedAt().plus(Duration.ofMillis(lockTimeoutMs)).isBefore(now);
+    }
+}
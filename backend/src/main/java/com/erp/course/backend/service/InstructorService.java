@@ -3,11 +3,16 @@ package com.erp.course.backend.service;
 import com.erp.course.backend.entity.Instructor;
 import com.erp.course.backend.entity.User;
 import com.erp.course.backend.entity.Role;
+import com.erp.course.backend.dto.CursorPage;
 import com.erp.course.backend.dto.InstructorRequest;
 import com.erp.course.backend.dto.InstructorResponse;
+import com.erp.course.backend.event.InstructorChangedEvent;
 import com.erp.course.backend.repository.InstructorRepository;
 import com.erp.course.backend.repository.UserRepository;
+import com.erp.course.backend.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -29,6 +34,12 @@ public class InstructorService {
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    @Autowired
+    private PeopleSearchService peopleSearchService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     public List<InstructorResponse> getAllInstructors() {
         return instructorRepository.findAll().stream()
                 .map(this::convertToResponse)
@@ -41,6 +52,18 @@ public class InstructorService {
                 .collect(Collectors.toList());
     }
     
+    // Page ordered by (lastName, id); a null department is ignored
+    public CursorPage<InstructorResponse> getInstructorPage(boolean activeOnly, String department,
+                                                            String cursor, Integer limit) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = KeysetCursor.clampLimit(limit);
+        List<InstructorResponse> rows = instructorRepository.findPageAfter(activeOnly, department,
+                        after.getKey(), after.getId(), PageRequest.of(0, pageSize + 1)).stream()
+                .map(this::convertToResponse)
+                .collect(Collectors.toList());
+        return CursorPage.fromRows(rows, pageSize, InstructorResponse::getLastName, InstructorResponse::getId);
+    }
+    
     public Optional<InstructorResponse> getInstructorById(Long id) {
         return instructorRepository.findById(id)
                 .map(this::convertToResponse);
@@ -64,7 +87,7 @@ public class InstructorService {
     }
     
     public List<InstructorResponse> searchInstructorsByName(String name) {
-        return instructorRepository.findActiveInstructorsByNameContaining(name).stream()
+        return peopleSearchService.searchActiveInstructors(name).stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
@@ -107,6 +130,7 @@ public class InstructorService {
         user.setIsActive(true);
         userRepository.save(user);
         
+        eventPublisher.publishEvent(new InstructorChangedEvent(savedInstructor.getId()));
         return convertToResponse(savedInstructor);
     }
     
@@ -127,6 +151,7 @@ public class InstructorService {
                     
                     updateInstructorFields(instructor, request);
                     Instructor updatedInstructor = instructorRepository.save(instructor);
+                    eventPublisher.publishEvent(new InstructorChangedEvent(id));
                     return convertToResponse(updatedInstructor);
                 })
                 .orElseThrow(() -> new RuntimeException("Instructor not found with id: " + id));
@@ -146,6 +171,7 @@ public class InstructorService {
                                 userRepository.save(user);
                             });
                     
+                    eventPublisher.publishEvent(new InstructorChangedEvent(id));
                     return updatedInstructor;
                 })
                 .orElseThrow(() -> new RuntimeException("Instructor not found with id: " + id));
@@ -156,6 +182,7 @@ public class InstructorService {
             throw new RuntimeException("Instructor not found with id: " + id);
         }
         instructorRepository.deleteById(id);
+        eventPublisher.publishEvent(new InstructorChangedEvent(id));
     }
     
     public InstructorResponse activateInstructor(Long id) {
@@ -163,6 +190,7 @@ public class InstructorService {
                 .map(instructor -> {
                     instructor.setIsActive(true);
                     Instructor updatedInstructor = instructorRepository.save(instructor);
+                    eventPublisher.publishEvent(new InstructorChangedEvent(id));
                     return convertToResponse(updatedInstructor);
                 })
                 .orElseThrow(() -> new RuntimeException("Instructor not found with id: " + id));
@@ -0,0 +1,179 @@
+package com.erp.course.backend.service;
+
+import com.erp.course.backend.entity.Instructor;
+import com.erp.course.backend.entity.Student;
+import com.erp.course.backend.event.InstructorChangedEvent;
+import com.erp.course.backend.event.StudentChangedEvent;
+import com.erp.course.backend.repository.InstructorRepository;
+import com.erp.course.backend.repository.StudentRepository;
+import com.erp.course.backend.util.ReloadableIndex;
+import com.erp.course.backend.util.TextIndex;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Ranked admin search over students and instructors (ID number, first and last name, email),
+// served from in-memory TextIndexes instead of LIKE '%name%' scans. Case and accents are
+// ignored; prefixes, substrings and small typos match. Only active people are indexed, and a
+// deactivation drops the person with its change event, so the top hits are all usable. Loaded
+// once the application is ready, updated after each committed change, and periodically
+// reloaded to pick up changes made outside this instance. Until the first load finishes,
+// searches use the LIKE queries.
+@Service
+public class PeopleSearchService {
+    
+    private static final Logger logger = Logger.getLogger(PeopleSearchService.class.getName());
+    
+    // Field weights, in the order the fields are indexed: ID number, first name, last name, email
+    private static final double[] FIELD_WEIGHTS = {3.0, 2.0, 2.0, 1.0};
+    
+    private static final int MAX_RESULTS = 100;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private InstructorRepository instructorRepository;
+    
+    @Value("${app.search.people-index.refresh-interval-ms:900000}")
+    private long refreshIntervalMs;
+    
+    // Rows are id, ID number, first name, last name, email. Lambdas rather than method references:
+    // the repositories are injected after construction.
+    private final ReloadableIndex<Long, TextIndex> students = new ReloadableIndex<>(new TextIndex(FIELD_WEIGHTS),
+            () -> load(studentRepository.findActiveSearchText()),
+            (target, id) -> refresh(target, id, studentRepository.findActiveSearchTextById(id)));
+    private final ReloadableIndex<Long, TextIndex> instructors = new ReloadableIndex<>(new TextIndex(FIELD_WEIGHTS),
+            () -> load(instructorRepository.findActiveSearchText()),
+            (target, id) -> refresh(target, id, instructorRepository.findActiveSearchTextById(id)));
+    
+    private ScheduledExecutorService refresher;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "people-search-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.execute(this::reloadQuietly);
+        if (refreshIntervalMs > 0) {
+            refresher.scheduleWithFixedDelay(this::reloadQuietly, refreshIntervalMs, refreshIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    @PreDestroy
+    public void stop() {
+        if (refresher != null) {
+            refresher.shutdown();
+        }
+    }
+    
+    // ================================
+    // SEARCH
+    // ================================
+    
+    // Active students matching every word of the query, best match first
+    public List<Student> searchActiveStudents(String query) {
+        if (!students.isReady()) {
+            return studentRepository.findActiveStudentsByNameContaining(query);
+        }
+        List<Long> ids = students.current().search(query, MAX_RESULTS);
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return inRankOrder(ids, studentRepository.findByIdInAndIsActiveTrue(ids), Student::getId);
+    }
+    
+    // Active instructors matching every word of the query, best match first
+    public List<Instructor> searchActiveInstructors(String query) {
+        if (!instructors.isReady()) {
+            return instructorRepository.findActiveInstructorsByNameContaining(query);
+        }
+        List<Long> ids = instructors.current().search(query, MAX_RESULTS);
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return inRankOrder(ids, instructorRepository.findByIdInAndIsActiveTrue(ids), Instructor::getId);
+    }
+    
+    // ================================
+    // UPDATES (after commit)
+    // ================================
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        students.refresh(event.getStudentId());
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInstructorChanged(InstructorChangedEvent event) {
+        instructors.refresh(event.getInstructorId());
+    }
+    
+    // ================================
+    // LOADING
+    // ================================
+    
+    public void reload() {
+        logger.info("Student search index loaded for " + students.reload().size() + " rows");
+        logger.info("Instructor search index loaded for " + instructors.reload().size() + " rows");
+    }
+    
+    private void reloadQuietly() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "People search index reload failed", e);
+        }
+    }
+    
+    // ================================
+    // HELPER METHODS
+    // ================================
+    
+    private static <T> List<T> inRankOrder(List<Long> ids, List<T> rows, Function<T, Long> idOf) {
+        Map<Long, Integer> rank = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            rank.put(ids.get(i), i);
+        }
+        List<T> ordered = new ArrayList<>(rows);
+        ordered.sort((a, b) -> Integer.compare(rank.get(idOf.apply(a)), rank.get(idOf.apply(b))));
+        return ordered;
+    }
+    
+    private static TextIndex load(List<Object[]> rows) {
+        TextIndex loaded = new TextIndex(FIELD_WEIGHTS);
+        for (Object[] row : rows) {
+            put(loaded, row);
+        }
+        return loaded;
+    }
+    
+    private static void refresh(TextIndex target, Long id, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            target.remove(id);
+        } else {
+            put(target, rows.get(0));
+        }
+    }
+    
+    private static void put(TextIndex target, Object[] row) {
+        target.put((Long) row[0], (String) row[1], (String) row[2], (String) row[3], (String) row[4]);
+    }
+}
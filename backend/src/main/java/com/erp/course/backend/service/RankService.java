@@ -0,0 +1,330 @@
+package com.erp.course.backend.service;
+
+import com.erp.course.backend.dto.RankResponse;
+import com.erp.course.backend.event.StudentChangedEvent;
+import com.erp.course.backend.repository.FinalGradeRepository;
+import com.erp.course.backend.repository.StudentRepository;
+import com.erp.course.backend.util.ReloadableIndex;
+import com.erp.course.backend.util.ScoreRanking;
+import com.erp.course.backend.util.TransactionHooks;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Class rank and percentile per course (by final grade, in tenths of a point) and per major (by GPA,
+// in hundredths of a point among active students), answered in O(log n) from one ScoreRanking per
+// course and per major. Loaded once the application is ready, and after each committed final grade,
+// GPA or student change the changed row is re-read, so updates that arrive out of order still leave
+// the latest score in place. Periodically reloaded to pick up changes made outside this instance.
+// Until the first load finishes, a ranking is built from the database for each request.
+@Service
+public class RankService {
+    
+    private static final Logger logger = Logger.getLogger(RankService.class.getName());
+    
+    private static final int GRADE_UPPER = 100;
+    private static final int GRADE_STEPS = 10;
+    private static final int GPA_UPPER = 4;
+    private static final int GPA_STEPS = 100;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private FinalGradeRepository finalGradeRepository;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Value("${app.results.rank-index.refresh-interval-ms:900000}")
+    private long refreshIntervalMs;
+    
+    private final ReloadableIndex<Key, Indexes> indexes =
+            new ReloadableIndex<>(new Indexes(), this::loadIndexes, this::refreshKey);
+    
+    // One lock per student, held while one of their rows is read and installed
+    private final Map<Long, Object> refreshLocks = new ConcurrentHashMap<>();
+    
+    private ScheduledExecutorService refresher;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rank-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.execute(this::reloadQuietly);
+        if (refreshIntervalMs > 0) {
+            refresher.scheduleWithFixedDelay(this::reloadQuietly, refreshIntervalMs, refreshIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    @PreDestroy
+    public void stop() {
+        if (refresher != null) {
+            refresher.shutdown();
+        }
+    }
+    
+    // ================================
+    // RANK QUERIES
+    // ================================
+    
+    public RankResponse getCourseRank(Long courseId, Long studentId) {
+        ScoreRanking ranking = indexes.isReady() ? indexes.current().courses.get(courseId) : loadCourse(courseId);
+        RankResponse rank = ranking == null ? null : rankOf(ranking, studentId, "COURSE", courseId, null);
+        if (rank == null) {
+            throw new RuntimeException("No final grade in this course yet");
+        }
+        return rank;
+    }
+    
+    // Rank by GPA among the active students of the student's own major
+    public RankResponse getMajorRank(Long studentId) {
+        String major;
+        ScoreRanking ranking;
+        if (indexes.isReady()) {
+            Indexes current = indexes.current();
+            major = current.majorOf.get(studentId);
+            ranking = major != null ? current.majors.get(major) : null;
+        } else {
+            List<Object[]> rows = studentRepository.findRankRow(studentId);
+            major = rows.isEmpty() ? null : (String) rows.get(0)[0];
+            ranking = major != null ? loadMajor(major) : null;
+        }
+        RankResponse rank = ranking == null ? null : rankOf(ranking, studentId, "MAJOR", null, major);
+        if (rank == null) {
+            throw new RuntimeException("No GPA to rank yet");
+        }
+        return rank;
+    }
+    
+    // Lowest final grade that still places a student in the top N percent of a course, e.g. top=10
+    public Map<String, BigDecimal> getCourseCutoffs(Long courseId, List<Double> topPercents) {
+        Map<String, BigDecimal> cutoffs = new LinkedHashMap<>();
+        ScoreRanking ranking = indexes.isReady() ? indexes.current().courses.get(courseId) : loadCourse(courseId);
+        for (Double topPercent : topPercents) {
+            if (topPercent == null || topPercent <= 0 || topPercent > 100) {
+                throw new RuntimeException("Top percentages must be greater than 0 and at most 100: " + topPercent);
+            }
+            BigDecimal cutoff = null;
+            if (ranking != null) {
+                synchronized (ranking) {
+                    long rank = (long) Math.ceil(ranking.size() * topPercent / 100.0);
+                    cutoff = ranking.scoreAtRank(Math.max(1, rank));
+                }
+            }
+            cutoffs.put("top" + BigDecimal.valueOf(topPercent).stripTrailingZeros().toPlainString(), cutoff);
+        }
+        return cutoffs;
+    }
+    
+    // ================================
+    // UPDATES (applied after commit)
+    // ================================
+    
+    // A final grade was written or removed inside the current transaction; re-read it once that commits
+    public void recordFinalGradeChanged(Long courseId, Long studentId) {
+        TransactionHooks.afterCommit(() -> indexes.refresh(Key.course(courseId, studentId)));
+    }
+    
+    // A student's GPA changed inside the current transaction; re-read it once that commits
+    public void recordGpaChanged(Long studentId) {
+        TransactionHooks.afterCommit(() -> indexes.refresh(Key.major(studentId)));
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        indexes.refresh(Key.major(event.getStudentId()));
+    }
+    
+    // ================================
+    // LOADING
+    // ================================
+    
+    public void reload() {
+        Indexes loaded = indexes.reload();
+        logger.info("Rank index loaded for " + loaded.courses.size() + " courses and " + loaded.majors.size() + " majors");
+    }
+    
+    private void reloadQuietly() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Rank index reload failed", e);
+        }
+    }
+    
+    // ================================
+    // HELPER METHODS
+    // ================================
+    
+    private Indexes loadIndexes() {
+        Indexes loaded = new Indexes();
+        jdbcTemplate.query("SELECT course_id, student_id, grade FROM final_grades", (RowCallbackHandler) rs ->
+                applyTo(loaded, Update.course(rs.getLong(1), rs.getLong(2), rs.getBigDecimal(3))));
+        jdbcTemplate.query("SELECT id, major, gpa FROM students WHERE is_active = TRUE AND gpa IS NOT NULL AND major IS NOT NULL",
+                (RowCallbackHandler) rs -> applyTo(loaded, Update.major(rs.getLong(1), rs.getString(2), rs.getBigDecimal(3))));
+        return loaded;
+    }
+    
+    // Re-reads one final grade or one student's GPA and major into the target; under the student's
+    // lock, so a read that started earlier never installs over a later one
+    private void refreshKey(Indexes target, Key key) {
+        synchronized (refreshLocks.computeIfAbsent(key.studentId, id -> new Object())) {
+            if (key.courseId != null) {
+                List<BigDecimal> grades = finalGradeRepository.findGrade(key.courseId, key.studentId);
+                applyTo(target, Update.course(key.courseId, key.studentId, grades.isEmpty() ? null : grades.get(0)));
+                return;
+            }
+            List<Object[]> rows = studentRepository.findRankRow(key.studentId);
+            if (rows.isEmpty() || !Boolean.TRUE.equals(rows.get(0)[2])) {
+                applyTo(target, Update.major(key.studentId, null, null));
+            } else {
+                applyTo(target, Update.major(key.studentId, (String) rows.get(0)[0], (BigDecimal) rows.get(0)[1]));
+            }
+        }
+    }
+    
+    // Callers hold the student's refresh lock (or own the target exclusively while loading)
+    private static void applyTo(Indexes target, Update update) {
+        if (update.courseId != null) {
+            ScoreRanking ranking = target.courses.computeIfAbsent(update.courseId, id -> new ScoreRanking(GRADE_UPPER, GRADE_STEPS));
+            synchronized (ranking) {
+                ranking.put(update.studentId, update.score);
+            }
+            return;
+        }
+        
+        boolean ranked = update.major != null && update.score != null;
+        String previous = ranked ? target.majorOf.put(update.studentId, update.major) : target.majorOf.remove(update.studentId);
+        if (previous != null && !previous.equals(update.major)) {
+            ScoreRanking old = target.majors.get(previous);
+            if (old != null) {
+                synchronized (old) {
+                    old.remove(update.studentId);
+                }
+            }
+        }
+        if (ranked) {
+            ScoreRanking ranking = target.majors.computeIfAbsent(update.major, major -> new ScoreRanking(GPA_UPPER, GPA_STEPS));
+            synchronized (ranking) {
+                ranking.put(update.studentId, update.score);
+            }
+        }
+    }
+    
+    private static RankResponse rankOf(ScoreRanking ranking, Long studentId, String scope, Long courseId, String major) {
+        long above;
+        long below;
+        long total;
+        synchronized (ranking) {
+            if (!ranking.contains(studentId)) {
+                return null;
+            }
+            above = ranking.countAbove(studentId);
+            below = ranking.countBelow(studentId);
+            total = ranking.size();
+        }
+        long rank = above + 1;
+        return new RankResponse(scope, courseId, major, studentId, rank, total,
+                Math.round(1000.0 * rank / total) / 10.0, Math.round(1000.0 * below / total) / 10.0);
+    }
+    
+    private ScoreRanking loadCourse(Long courseId) {
+        ScoreRanking ranking = new ScoreRanking(GRADE_UPPER, GRADE_STEPS);
+        for (Object[] row : finalGradeRepository.findGradesByCourse(courseId)) {
+            ranking.put((Long) row[0], (BigDecimal) row[1]);
+        }
+        return ranking;
+    }
+    
+    private ScoreRanking loadMajor(String major) {
+        ScoreRanking ranking = new ScoreRanking(GPA_UPPER, GPA_STEPS);
+        for (Object[] row : studentRepository.findGpasByMajor(major)) {
+            ranking.put((Long) row[0], (BigDecimal) row[1]);
+        }
+        return ranking;
+    }
+    
+    private static final class Indexes {
+        private final Map<Long, ScoreRanking> courses = new ConcurrentHashMap<>();
+        private final Map<String, ScoreRanking> majors = new ConcurrentHashMap<>();
+        private final Map<Long, String> majorOf = new ConcurrentHashMap<>(); // ranked students only
+    }
+    
+    // A course key is one final grade; a key without a course is one student's GPA and major
+    private static final class Key {
+        private final Long courseId;
+        private final Long studentId;
+        
+        private Key(Long courseId, Long studentId) {
+            this.courseId = courseId;
+            this.studentId = studentId;
+        }
+        
+        private static Key course(Long courseId, Long studentId) {
+            return new Key(courseId, studentId);
+        }
+        
+        private static Key major(Long studentId) {
+            return new Key(null, studentId);
+        }
+        
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return Objects.equals(courseId, key.courseId) && studentId.equals(key.studentId);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(courseId, studentId);
+        }
+    }
+    
+    // Course updates carry a courseId; major updates have none and a null major or score unranks the student
+    private static final class Update {
+        private final Long courseId;
+        private final Long studentId;
+        private final String major;
+        private final BigDecimal score;
+        
+        private Update(Long courseId, Long studentId, String major, BigDecimal score) {
+            this.courseId = courseId;
+            this.studentId = studentId;
+            this.major = major;
+            this.score = score;
+        }
+        
+        private static Update course(Long courseId, Long studentId, BigDecimal grade) {
+            return new Update(courseId, studentId, null, grade);
+        }
+        
+        private static Update major(Long studentId, String major, BigDecimal gpa) {
+            return new Update(null, studentId, major, gpa);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.erp.course.backend.service;
+
+import com.erp.course.backend.dto.DistributionBin;
+import com.erp.course.backend.dto.GradeDistribution;
+import com.erp.course.backend.dto.ResultDistribution;
+import com.erp.course.backend.entity.Result.ResultType;
+import com.erp.course.backend.event.ResultChangedEvent;
+import com.erp.course.backend.repository.ResultRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Grade distributions for a course, binned in the database. One grouped query per course and
+// release state counts results per type and whole point (at most 101 rows per type); every
+// whole-point bin width, the letter grades and the per-type breakdowns are summed from those
+// counts. The counts are cached until a result in the course changes on this instance, and
+// for at most the TTL so changes made on other instances show up too.
+@Service
+public class ResultDistributionService {
+    
+    private static final int MAX_POINTS = 100;
+    
+    // Lowest whole point of each letter grade, as in Result.getLetterResult
+    private static final String[] LETTERS = {"A", "B", "C", "D", "F"};
+    private static final int[] LETTER_FLOORS = {90, 80, 70, 60, 0};
+    
+    @Autowired
+    private ResultRepository resultRepository;
+    
+    @Value("${app.results.distribution-cache.ttl-ms:300000}")
+    private long ttlMs;
+    
+    @Value("${app.results.distribution-cache.max-entries:256}")
+    private int maxEntries;
+    
+    // Counts per type and whole point, keyed by course and release state; guarded by this
+    private final Map<String, Entry> cache = new LinkedHashMap<>(16, 0.75f, true);
+    
+    // Bumped on every invalidation so loads that raced with one are not stored
+    private long generation = 0;
+    
+    // released: true or false to count only released or unreleased results, null for both
+    public ResultDistribution getDistribution(Long courseId, Boolean released, int binWidth) {
+        if (binWidth < 1 || binWidth > MAX_POINTS) {
+            throw new RuntimeException("Bin width must be a whole number between 1 and " + MAX_POINTS);
+        }
+        
+        Map<ResultType, long[]> counts = counts(courseId, released);
+        long[] overall = new long[MAX_POINTS + 1];
+        Map<String, GradeDistribution> byResultType = new LinkedHashMap<>();
+        for (Map.Entry<ResultType, long[]> entry : counts.entrySet()) {
+            long[] points = entry.getValue();
+            for (int point = 0; point <= MAX_POINTS; point++) {
+                overall[point] += points[point];
+            }
+            byResultType.put(entry.getKey().name(), summarize(points, binWidth));
+        }
+        return new ResultDistribution(courseId, released, binWidth, summarize(overall, binWidth), byResultType);
+    }
+    
+    // ================================
+    // INVALIDATION (after commit)
+    // ================================
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onResultChanged(ResultChangedEvent event) {
+        generation++;
+        cache.remove(key(event.getCourseId(), null));
+        cache.remove(key(event.getCourseId(), true));
+        cache.remove(key(event.getCourseId(), false));
+    }
+    
+    // ================================
+    // HELPER METHODS
+    // ================================
+    
+    private Map<ResultType, long[]> counts(Long courseId, Boolean released) {
+        String key = key(courseId, released);
+        long loadGeneration;
+        synchronized (this) {
+            Entry cached = cache.get(key);
+            if (cached != null && cached.expiresAt > System.currentTimeMillis()) {
+                return cached.counts;
+            }
+            if (cached != null) {
+                cache.remove(key);
+            }
+            loadGeneration = generation;
+        }
+        
+        List<Object[]> rows = released == null
+                ? resultRepository.countByTypeAndPointForCourse(courseId)
+                : resultRepository.countByTypeAndPointForCourseAndReleased(courseId, released);
+        // EnumMap keeps the breakdown in ResultType order
+        Map<ResultType, long[]> counts = new EnumMap<>(ResultType.class);
+        for (Object[] row : rows) {
+            int point = Math.max(0, Math.min(MAX_POINTS, ((Number) row[1]).intValue()));
+            counts.computeIfAbsent((ResultType) row[0], type -> new long[MAX_POINTS + 1])[point] += ((Number) row[2]).longValue();
+        }
+        
+        synchronized (this) {
+            if (loadGeneration == generation) {
+                cache.put(key, new Entry(counts, System.currentTimeMillis() + ttlMs));
+                if (cache.size() > maxEntries) {
+                    cache.remove(cache.keySet().iterator().next());
+                }
+            }
+        }
+        return counts;
+    }
+    
+    private static GradeDistribution summarize(long[] points, int binWidth) {
+        long total = 0;
+        for (long count : points) {
+            total += count;
+        }
+        
+        List<DistributionBin> bins = new ArrayList<>();
+        for (int lower = 0; lower < MAX_POINTS; lower += binWidth) {
+            int upper = Math.min(lower + binWidth, MAX_POINTS);
+            // The last bin is closed so a perfect score has somewhere to go
+            long count = upper == MAX_POINTS ? points[MAX_POINTS] : 0;
+            for (int point = lower; point < upper; point++) {
+                count += points[point];
+            }
+            bins.add(new DistributionBin(lower, upper, count));
+        }
+        
+        Map<String, Long> letterGrades = new LinkedHashMap<>();
+        int ceiling = MAX_POINTS + 1;
+        for (int i = 0; i < LETTERS.length; i++) {
+            long count = 0;
+            for (int point = LETTER_FLOORS[i]; point < ceiling; point++) {
+                count += points[point];
+            }
+            letterGrades.put(LETTERS[i], count);
+            ceiling = LETTER_FLOORS[i];
+        }
+        return new GradeDistribution(total, bins, letterGrades);
+    }
+    
+    private static String key(Long courseId, Boolean released) {
+        return courseId + ":" + released;
+    }
+    
+    private static final class Entry {
+        private final Map<ResultType, long[]> counts;
+        private final long expiresAt;
+        
+        private Entry(Map<ResultType, long[]> counts, long expiresAt) {
+            this.counts = counts;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
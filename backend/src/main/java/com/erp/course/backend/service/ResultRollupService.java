@@ -0,0 +1,369 @@
+package com.erp.course.backend.service;
+
+import com.erp.course.backend.dto.ResultAggregate;
+import com.erp.course.backend.entity.Result;
+import com.erp.course.backend.util.ReloadableIndex;
+import com.erp.course.backend.util.TransactionHooks;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Running totals (count, sum, sum of squares, min, max) of released, active results per
+// course, student, course and student, and assessment (course and title), so averages and
+// standard deviations are O(1) reads instead of AVG() scans. Values are kept in exact
+// hundredths, so removing a result undoes its addition without drift. ResultService
+// records each change after commit; a periodic reload picks up changes made outside this
+// instance. A reload re-aggregates the rollups of results changed meanwhile from the table
+// instead of adding their deltas again. Until the first load finishes, reads aggregate from
+// the results table.
+@Service
+public class ResultRollupService {
+    
+    private static final Logger logger = Logger.getLogger(ResultRollupService.class.getName());
+    
+    private static final String RELEASED = "FROM results WHERE is_released = TRUE AND is_active = TRUE";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Value("${app.results.rollup.refresh-interval-ms:900000}")
+    private long refreshIntervalMs;
+    
+    private final ReloadableIndex<Key, Rollups> rollups =
+            new ReloadableIndex<>(new Rollups(), this::loadRollups, this::reaggregate);
+    
+    private ScheduledExecutorService refresher;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "result-rollups");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.execute(this::reloadQuietly);
+        if (refreshIntervalMs > 0) {
+            refresher.scheduleWithFixedDelay(this::reloadQuietly, refreshIntervalMs, refreshIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    @PreDestroy
+    public void stop() {
+        if (refresher != null) {
+            refresher.shutdown();
+        }
+    }
+    
+    // ================================
+    // READS
+    // ================================
+    
+    public ResultAggregate getCourseAggregate(Long courseId) {
+        if (!rollups.isReady()) {
+            return query("course_id = ?", courseId);
+        }
+        return aggregate(rollups.current().byCourse.get(courseId), "course_id = ?", courseId);
+    }
+    
+    public ResultAggregate getStudentAggregate(Long studentId) {
+        if (!rollups.isReady()) {
+            return query("student_id = ?", studentId);
+        }
+        return aggregate(rollups.current().byStudent.get(studentId), "student_id = ?", studentId);
+    }
+    
+    public ResultAggregate getCourseStudentAggregate(Long courseId, Long studentId) {
+        if (!rollups.isReady()) {
+            return query("course_id = ? AND student_id = ?", courseId, studentId);
+        }
+        Map<Long, Rollup> students = rollups.current().byCourseStudent.get(courseId);
+        return aggregate(students != null ? students.get(studentId) : null,
+                "course_id = ? AND student_id = ?", courseId, studentId);
+    }
+    
+    // One aggregate per assessment title in the course, in title order
+    public Map<String, ResultAggregate> getAssessmentAggregates(Long courseId) {
+        Map<String, ResultAggregate> aggregates = new TreeMap<>();
+        if (!rollups.isReady()) {
+            List<String> titles = jdbcTemplate.queryForList(
+                    "SELECT DISTINCT title " + RELEASED + " AND course_id = ?", String.class, courseId);
+            for (String title : titles) {
+                aggregates.put(title, query("course_id = ? AND title = ?", courseId, title));
+            }
+            return aggregates;
+        }
+        Map<String, Rollup> titles = rollups.current().byAssessment.get(courseId);
+        if (titles != null) {
+            titles.forEach((title, rollup) -> {
+                ResultAggregate aggregate = aggregate(rollup, "course_id = ? AND title = ?", courseId, title);
+                if (aggregate.getTotalResults() > 0) {
+                    aggregates.put(title, aggregate);
+                }
+            });
+        }
+        return aggregates;
+    }
+    
+    // ================================
+    // UPDATES (applied after commit)
+    // ================================
+    
+    // Call with the result as it is before a change; only released, active results count
+    public void recordRemoved(Result result) {
+        if (counts(result)) {
+            record(result.getCourse().getId(), result.getStudent().getId(), result.getTitle(), result.getResultValue(), -1);
+        }
+    }
+    
+    // Call with the result as it is after a change
+    public void recordAdded(Result result) {
+        if (counts(result)) {
+            record(result.getCourse().getId(), result.getStudent().getId(), result.getTitle(), result.getResultValue(), 1);
+        }
+    }
+    
+    // For rows written without an entity (batch inserts); the caller knows they are active
+    public void recordAdded(Long courseId, Long studentId, String title, BigDecimal value, boolean released) {
+        if (released) {
+            record(courseId, studentId, title, value, 1);
+        }
+    }
+    
+    // For active rows a bulk update releases (true) or unreleases (false): [studentId, title, resultValue]
+    public void recordBulkRelease(Long courseId, List<Object[]> rows, boolean released) {
+        for (Object[] row : rows) {
+            record(courseId, (Long) row[0], (String) row[1], (BigDecimal) row[2], released ? 1 : -1);
+        }
+    }
+    
+    // ================================
+    // LOADING
+    // ================================
+    
+    public void reload() {
+        Rollups loaded = rollups.reload();
+        logger.info("Result rollups loaded for " + loaded.byCourse.size() + " courses and "
+                + loaded.byStudent.size() + " students");
+    }
+    
+    private void reloadQuietly() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Result rollup reload failed", e);
+        }
+    }
+    
+    // ================================
+    // HELPER METHODS
+    // ================================
+    
+    private static boolean counts(Result result) {
+        return Boolean.TRUE.equals(result.getIsReleased()) && Boolean.TRUE.equals(result.getIsActive());
+    }
+    
+    private void record(Long courseId, Long studentId, String title, BigDecimal value, int sign) {
+        Change change = new Change(courseId, studentId, title, hundredths(value), sign);
+        rollups.beginChange();
+        TransactionHooks.afterCompletion(committed -> {
+            if (committed) {
+                rollups.commitChange(new Key(courseId, studentId, title), target -> target.apply(change));
+            } else {
+                rollups.abandonChange();
+            }
+        });
+    }
+    
+    private Rollups loadRollups() {
+        Rollups loaded = new Rollups();
+        jdbcTemplate.query("SELECT course_id, student_id, title, result_value " + RELEASED, (RowCallbackHandler) rs ->
+                loaded.apply(new Change(rs.getLong(1), rs.getLong(2), rs.getString(3), hundredths(rs.getBigDecimal(4)), 1)));
+        return loaded;
+    }
+    
+    // Replaces every rollup a result with this key counts in with totals read from the table
+    private void reaggregate(Rollups target, Key key) {
+        target.byCourse.put(key.courseId, total("course_id = ?", key.courseId));
+        target.byStudent.put(key.studentId, total("student_id = ?", key.studentId));
+        target.byCourseStudent.computeIfAbsent(key.courseId, id -> new ConcurrentHashMap<>())
+                .put(key.studentId, total("course_id = ? AND student_id = ?", key.courseId, key.studentId));
+        target.byAssessment.computeIfAbsent(key.courseId, id -> new ConcurrentHashMap<>())
+                .put(key.title, total("course_id = ? AND title = ?", key.courseId, key.title));
+    }
+    
+    private Rollup total(String where, Object... args) {
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT COUNT(*) AS total, SUM(result_value) AS value_sum, SUM(result_value * result_value) AS square_sum, " +
+                "MIN(result_value) AS lowest, MAX(result_value) AS highest " + RELEASED + " AND " + where, args);
+        Rollup rollup = new Rollup();
+        rollup.count = ((Number) row.get("total")).longValue();
+        if (rollup.count > 0) {
+            rollup.sum = hundredths(decimal(row.get("value_sum")));
+            // Squares of hundredths: the squared values carry four decimals
+            rollup.sumOfSquares = decimal(row.get("square_sum")).movePointRight(4).setScale(0, RoundingMode.HALF_UP).longValue();
+            rollup.min = hundredths(decimal(row.get("lowest")));
+            rollup.max = hundredths(decimal(row.get("highest")));
+        }
+        return rollup;
+    }
+    
+    private static BigDecimal decimal(Object value) {
+        return value instanceof BigDecimal ? (BigDecimal) value : new BigDecimal(value.toString());
+    }
+    
+    private static long hundredths(BigDecimal value) {
+        return value.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue();
+    }
+    
+    // Min and max cannot be undone by a removal; re-read them for this key when one was removed
+    private ResultAggregate aggregate(Rollup rollup, String where, Object... args) {
+        if (rollup == null) {
+            return empty();
+        }
+        synchronized (rollup) {
+            if (rollup.count == 0) {
+                return empty();
+            }
+            if (rollup.extremesStale) {
+                Map<String, Object> extremes = jdbcTemplate.queryForMap(
+                        "SELECT MIN(result_value) AS lowest, MAX(result_value) AS highest " + RELEASED + " AND " + where, args);
+                if (extremes.get("lowest") != null) {
+                    rollup.min = hundredths((BigDecimal) extremes.get("lowest"));
+                    rollup.max = hundredths((BigDecimal) extremes.get("highest"));
+                    rollup.extremesStale = false;
+                }
+            }
+            double n = rollup.count;
+            double mean = rollup.sum / n;
+            double variance = Math.max(0.0, (rollup.sumOfSquares - rollup.sum * mean) / n) / 10000.0;
+            return new ResultAggregate(rollup.count, mean / 100.0, rollup.max / 100.0, rollup.min / 100.0,
+                    Math.sqrt(variance), variance);
+        }
+    }
+    
+    private ResultAggregate query(String where, Object... args) {
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT COUNT(*) AS total, AVG(result_value) AS average, MAX(result_value) AS highest, " +
+                "MIN(result_value) AS lowest, AVG(result_value * result_value) AS mean_square " + RELEASED + " AND " + where, args);
+        long total = ((Number) row.get("total")).longValue();
+        if (total == 0) {
+            return empty();
+        }
+        double mean = ((Number) row.get("average")).doubleValue();
+        double variance = Math.max(0.0, ((Number) row.get("mean_square")).doubleValue() - mean * mean);
+        return new ResultAggregate(total, mean, ((Number) row.get("highest")).doubleValue(),
+                ((Number) row.get("lowest")).doubleValue(), Math.sqrt(variance), variance);
+    }
+    
+    private static ResultAggregate empty() {
+        return new ResultAggregate(0L, null, null, null, null, null);
+    }
+    
+    // All four rollup maps, swapped together on reload
+    private static final class Rollups {
+        private final Map<Long, Rollup> byCourse = new ConcurrentHashMap<>();
+        private final Map<Long, Rollup> byStudent = new ConcurrentHashMap<>();
+        private final Map<Long, Map<Long, Rollup>> byCourseStudent = new ConcurrentHashMap<>();
+        private final Map<Long, Map<String, Rollup>> byAssessment = new ConcurrentHashMap<>();
+        
+        private void apply(Change change) {
+            byCourse.computeIfAbsent(change.courseId, id -> new Rollup()).apply(change);
+            byStudent.computeIfAbsent(change.studentId, id -> new Rollup()).apply(change);
+            byCourseStudent.computeIfAbsent(change.courseId, id -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(change.studentId, id -> new Rollup()).apply(change);
+            byAssessment.computeIfAbsent(change.courseId, id -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(change.title, title -> new Rollup()).apply(change);
+        }
+    }
+    
+    // Totals in hundredths of a point
+    private static final class Rollup {
+        private long count;
+        private long sum;
+        private long sumOfSquares;
+        private long min = Long.MAX_VALUE;
+        private long max = Long.MIN_VALUE;
+        private boolean extremesStale;
+        
+        private synchronized void apply(Change change) {
+            long value = change.hundredths;
+            count += change.sign;
+            sum += change.sign * value;
+            sumOfSquares += change.sign * value * value;
+            if (count <= 0) {
+                count = 0;
+                sum = 0;
+                sumOfSquares = 0;
+                min = Long.MAX_VALUE;
+                max = Long.MIN_VALUE;
+                extremesStale = false;
+            } else if (change.sign > 0) {
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            } else if (value <= min || value >= max) {
+                extremesStale = true;
+            }
+        }
+    }
+    
+    // The rollups one result counts in: its course, student, and course and title
+    private static final class Key {
+        private final Long courseId;
+        private final Long studentId;
+        private final String title;
+        
+        private Key(Long courseId, Long studentId, String title) {
+            this.courseId = courseId;
+            this.studentId = studentId;
+            this.title = title;
+        }
+        
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return courseId.equals(key.courseId) && studentId.equals(key.studentId) && Objects.equals(title, key.title);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(courseId, studentId, title);
+        }
+    }
+    
+    private static final class Change {
+        private final Long courseId;
+        private final Long studentId;
+        private final String title;
+        private final long hundredths;
+        private final int sign;
+        
+        private Change(Long courseId, Long studentId, String title, long hundredths, int sign) {
+            this.courseId = courseId;
+            this.studentId = studentId;
+            this.title = title;
+            this.hundredths = hundredths;
+            this.sign = sign;
+        }
+    }
+}
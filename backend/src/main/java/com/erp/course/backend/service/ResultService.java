@@ -1,5 +1,11 @@
 package com.erp.course.backend.service;
 
+import com.erp.course.backend.dto.ResultAggregate;
+import com.erp.course.backend.dto.ResultBatchEntry;
+import com.erp.course.backend.dto.ResultBatchRequest;
+import com.erp.course.backend.dto.ResultBatchSummary;
+import com.erp.course.backend.dto.ResultDistribution;
+import com.erp.course.backend.dto.ResultEntryOutcome;
 import com.erp.course.backend.dto.ResultRequest;
 import com.erp.course.backend.dto.ResultResponse;
 import com.erp.course.backend.entity.Result;
@@ -7,23 +13,40 @@ import com.erp.course.backend.entity.Result.ResultType;
 import com.erp.course.backend.entity.Course;
 import com.erp.course.backend.entity.Instructor;
 import com.erp.course.backend.entity.Student;
+import com.erp.course.backend.event.ResultChangedEvent;
 import com.erp.course.backend.repository.ResultRepository;
 import com.erp.course.backend.repository.CourseRepository;
 import com.erp.course.backend.repository.InstructorRepository;
 import com.erp.course.backend.repository.StudentRepository;
+import com.erp.course.backend.util.ETags;
+import com.erp.course.backend.util.RunningStatistics;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class ResultService {
     
+    private static final int INSERT_BATCH_SIZE = 500;
+    
     @Autowired
     private ResultRepository resultRepository;
     
@@ -36,6 +59,21 @@ public class ResultService {
     @Autowired
     private StudentRepository studentRepository;
     
+    @Autowired
+    private EnrollmentService enrollmentService;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private ResultRollupService resultRollupService;
+    
+    @Autowired
+    private ResultDistributionService resultDistributionService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     // Create a new result
     public ResultResponse createResult(ResultRequest request) {
         // Validate that the course exists
@@ -51,7 +89,7 @@ public class ResultService {
             .orElseThrow(() -> new RuntimeException("Student not found"));
         
         // Validate that the student is enrolled in the course
-        if (!course.getEnrolledStudents().contains(student)) {
+        if (!enrollmentService.isEnrolled(course.getId(), student.getId())) {
             throw new RuntimeException("Student is not enrolled in this course");
         }
         
@@ -80,9 +118,96 @@ public class ResultService {
         result.setIsActive(true);
         
         Result savedResult = resultRepository.save(result);
+        resultRollupService.recordAdded(savedResult);
+        eventPublisher.publishEvent(new ResultChangedEvent(course.getId(), student.getId()));
         return new ResultResponse(savedResult);
     }
     
+    // Gradebook column entry: enrollment and duplicates are checked for the whole batch with
+    // set queries, accepted rows are inserted in JDBC batches, and every entry gets an outcome
+    public ResultBatchSummary createResultBatch(Long courseId, Long instructorId, ResultBatchRequest request) {
+        ResultType resultType = parseResultType(request.getResultType());
+        String title = request.getTitle();
+        
+        Course course = courseRepository.findById(courseId)
+            .orElseThrow(() -> new RuntimeException("Course not found"));
+        if (course.getInstructor() == null || !course.getInstructor().getId().equals(instructorId)) {
+            throw new RuntimeException("Instructor is not assigned to this course");
+        }
+        
+        Set<Long> distinctIds = new LinkedHashSet<>();
+        for (ResultBatchEntry entry : request.getEntries()) {
+            if (entry != null && entry.getStudentId() != null) {
+                distinctIds.add(entry.getStudentId());
+            }
+        }
+        Set<Long> enrolled = new HashSet<>();
+        Set<Long> graded = new HashSet<>();
+        if (!distinctIds.isEmpty()) {
+            enrolled.addAll(courseRepository.findEnrolledStudentIds(courseId, distinctIds));
+            graded.addAll(resultRepository.findGradedStudentIds(courseId, resultType, title, distinctIds));
+        }
+        
+        List<ResultEntryOutcome> outcomes = new ArrayList<>();
+        List<ResultBatchEntry> accepted = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        for (ResultBatchEntry entry : request.getEntries()) {
+            Long studentId = entry != null ? entry.getStudentId() : null;
+            BigDecimal value = entry != null ? entry.getResultValue() : null;
+            String rejection = null;
+            if (studentId == null) {
+                rejection = "Student ID is required";
+            } else if (!seen.add(studentId)) {
+                rejection = "Student appears more than once in this batch";
+            } else if (value == null) {
+                rejection = "Result value is required";
+            } else if (value.signum() < 0 || value.compareTo(BigDecimal.valueOf(100)) > 0) {
+                rejection = "Result must be between 0 and 100";
+            } else if (!enrolled.contains(studentId)) {
+                rejection = "Student is not enrolled in this course";
+            }
+            
+            if (rejection != null) {
+                outcomes.add(new ResultEntryOutcome(studentId, value, "REJECTED", rejection));
+            } else if (graded.contains(studentId)) {
+                outcomes.add(new ResultEntryOutcome(studentId, value, "ALREADY_EXISTS",
+                        "A result already exists for this assessment"));
+            } else {
+                accepted.add(entry);
+                outcomes.add(new ResultEntryOutcome(studentId, value, "CREATED", "Result recorded"));
+            }
+        }
+        
+        if (!accepted.isEmpty()) {
+            boolean released = Boolean.TRUE.equals(request.getIsReleased());
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO results (result_value, result_type, title, description, is_released, is_active, " +
+                    "created_at, updated_at, released_at, student_id, course_id, instructor_id) " +
+                    "VALUES (?, ?, ?, ?, ?, TRUE, ?, ?, ?, ?, ?, ?)",
+                    accepted, INSERT_BATCH_SIZE,
+                    (ps, entry) -> {
+                        ps.setBigDecimal(1, entry.getResultValue());
+                        ps.setString(2, resultType.name());
+                        ps.setString(3, title);
+                        ps.setString(4, request.getDescription());
+                        ps.setBoolean(5, released);
+                        ps.setTimestamp(6, now);
+                        ps.setTimestamp(7, now);
+                        ps.setTimestamp(8, released ? now : null);
+                        ps.setLong(9, entry.getStudentId());
+                        ps.setLong(10, courseId);
+                        ps.setLong(11, instructorId);
+                    });
+            for (ResultBatchEntry entry : accepted) {
+                resultRollupService.recordAdded(courseId, entry.getStudentId(), title, entry.getResultValue(), released);
+            }
+            eventPublisher.publishEvent(new ResultChangedEvent(courseId));
+        }
+        
+        return new ResultBatchSummary(courseId, resultType.name(), title, outcomes);
+    }
+    
     // Get a result by ID
     public ResultResponse getResultById(Long id) {
         Result result = resultRepository.findById(id)
@@ -108,6 +233,9 @@ public class ResultService {
             .orElseThrow(() -> new RuntimeException("Student not found"));
         
         // Update the result
+        Long previousCourseId = result.getCourse().getId();
+        Long previousStudentId = result.getStudent().getId();
+        resultRollupService.recordRemoved(result);
         result.setResultValue(request.getResultValue());
         result.setResultType(ResultType.valueOf(request.getResultType()));
         result.setTitle(request.getTitle());
@@ -118,6 +246,11 @@ public class ResultService {
         result.setIsReleased(request.getIsReleased());
         
         Result updatedResult = resultRepository.save(result);
+        resultRollupService.recordAdded(updatedResult);
+        eventPublisher.publishEvent(new ResultChangedEvent(course.getId(), student.getId()));
+        if (!previousCourseId.equals(course.getId()) || !previousStudentId.equals(student.getId())) {
+            eventPublisher.publishEvent(new ResultChangedEvent(previousCourseId, previousStudentId));
+        }
         return new ResultResponse(updatedResult);
     }
     
@@ -125,16 +258,21 @@ public class ResultService {
     public void deleteResult(Long id) {
         Result result = resultRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Result not found"));
+        resultRollupService.recordRemoved(result);
         result.setIsActive(false);
         resultRepository.save(result);
+        eventPublisher.publishEvent(new ResultChangedEvent(result.getCourse().getId(), result.getStudent().getId()));
     }
     
     // Release a result
     public ResultResponse releaseResult(Long id) {
         Result result = resultRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Result not found"));
+        resultRollupService.recordRemoved(result);
         result.release();
         Result releasedResult = resultRepository.save(result);
+        resultRollupService.recordAdded(releasedResult);
+        eventPublisher.publishEvent(new ResultChangedEvent(releasedResult.getCourse().getId(), releasedResult.getStudent().getId()));
         return new ResultResponse(releasedResult);
     }
     
@@ -142,8 +280,10 @@ public class ResultService {
     public ResultResponse unreleaseResult(Long id) {
         Result result = resultRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Result not found"));
+        resultRollupService.recordRemoved(result);
         result.unrelease();
         Result unreleasedResult = resultRepository.save(result);
+        eventPublisher.publishEvent(new ResultChangedEvent(unreleasedResult.getCourse().getId(), unreleasedResult.getStudent().getId()));
         return new ResultResponse(unreleasedResult);
     }
     
@@ -179,6 +319,12 @@ public class ResultService {
             .collect(Collectors.toList());
     }
     
+    // Changes whenever the student's released results would, without loading them
+    public String getReleasedResultsETag(Long studentId) {
+        Object[] version = resultRepository.findReleasedResultsVersion(studentId).get(0);
+        return ETags.weak("results", studentId, version[0], version[1], version[2], version[3], version[4]);
+    }
+    
     // Get results for a specific course and student
     public List<ResultResponse> getResultsByCourseAndStudent(Long courseId, Long studentId) {
         List<Result> results = resultRepository.findByCourseIdAndStudentIdAndIsActiveTrue(courseId, studentId);
@@ -205,17 +351,27 @@ public class ResultService {
     
     // Get average result for a student in a course
     public Double getAverageResultForStudentInCourse(Long courseId, Long studentId) {
-        return resultRepository.getAverageResultForStudentInCourse(courseId, studentId);
+        return resultRollupService.getCourseStudentAggregate(courseId, studentId).getAverageResult();
     }
     
     // Get average result for a student across all courses
     public Double getAverageResultForStudent(Long studentId) {
-        return resultRepository.getAverageResultForStudent(studentId);
+        return resultRollupService.getStudentAggregate(studentId).getAverageResult();
     }
     
     // Get average result for a course
     public Double getAverageResultForCourse(Long courseId) {
-        return resultRepository.getAverageResultForCourse(courseId);
+        return resultRollupService.getCourseAggregate(courseId).getAverageResult();
+    }
+    
+    // Count, average, spread and range of a course's released results
+    public ResultAggregate getResultAggregateForCourse(Long courseId) {
+        return resultRollupService.getCourseAggregate(courseId);
+    }
+    
+    // The same summary for each assessment title in a course
+    public Map<String, ResultAggregate> getAssessmentAggregatesForCourse(Long courseId) {
+        return resultRollupService.getAssessmentAggregates(courseId);
     }
     
     // Get result distribution for a course
@@ -223,90 +379,118 @@ public class ResultService {
         return resultRepository.getResultDistributionForCourse(courseId);
     }
     
+    // Binned distribution with letter grades and a per-type breakdown; released null counts both states
+    public ResultDistribution getBinnedDistributionForCourse(Long courseId, Boolean released, int binWidth) {
+        return resultDistributionService.getDistribution(courseId, released, binWidth);
+    }
+    
     // Get result statistics for a course
     public ResultStatistics getResultStatisticsForCourse(Long courseId) {
-        List<Result> results = resultRepository.findByCourseIdAndIsReleasedTrueAndIsActiveTrue(courseId);
-        
-        if (results.isEmpty()) {
-            return new ResultStatistics(0L, 0.0, 0.0, 0.0, 0.0, 0.0);
+        return getResultStatisticsForCourse(courseId, Collections.emptyList());
+    }
+    
+    // Result statistics for a course, plus the requested percentiles (0-100)
+    public ResultStatistics getResultStatisticsForCourse(Long courseId, List<Double> percentiles) {
+        checkPercentiles(percentiles);
+        try (Stream<BigDecimal> values = resultRepository.streamReleasedValuesByCourse(courseId)) {
+            return summarize(values, percentiles);
         }
-        
-        long totalResults = results.size();
-        double average = results.stream()
-            .mapToDouble(r -> r.getResultValue().doubleValue())
-            .average()
-            .orElse(0.0);
-        
-        double highest = results.stream()
-            .mapToDouble(r -> r.getResultValue().doubleValue())
-            .max()
-            .orElse(0.0);
-        
-        double lowest = results.stream()
-            .mapToDouble(r -> r.getResultValue().doubleValue())
-            .min()
-            .orElse(0.0);
-        
-        // Calculate standard deviation
-        double variance = results.stream()
-            .mapToDouble(r -> Math.pow(r.getResultValue().doubleValue() - average, 2))
-            .average()
-            .orElse(0.0);
-        double standardDeviation = Math.sqrt(variance);
-        
-        return new ResultStatistics(totalResults, average, highest, lowest, standardDeviation, variance);
     }
     
     // Get result statistics for a student
     public ResultStatistics getResultStatisticsForStudent(Long studentId) {
-        List<Result> results = resultRepository.findByStudentIdAndIsReleasedTrueAndIsActiveTrue(studentId);
-        
-        if (results.isEmpty()) {
-            return new ResultStatistics(0L, 0.0, 0.0, 0.0, 0.0, 0.0);
+        return getResultStatisticsForStudent(studentId, Collections.emptyList());
+    }
+    
+    // Result statistics for a student, plus the requested percentiles (0-100)
+    public ResultStatistics getResultStatisticsForStudent(Long studentId, List<Double> percentiles) {
+        checkPercentiles(percentiles);
+        try (Stream<BigDecimal> values = resultRepository.streamReleasedValuesByStudent(studentId)) {
+            return summarize(values, percentiles);
         }
-        
-        long totalResults = results.size();
-        double average = results.stream()
-            .mapToDouble(r -> r.getResultValue().doubleValue())
-            .average()
-            .orElse(0.0);
-        
-        double highest = results.stream()
-            .mapToDouble(r -> r.getResultValue().doubleValue())
-            .max()
-            .orElse(0.0);
-        
-        double lowest = results.stream()
-            .mapToDouble(r -> r.getResultValue().doubleValue())
-            .min()
-            .orElse(0.0);
-        
-        // Calculate standard deviation
-        double variance = results.stream()
-            .mapToDouble(r -> Math.pow(r.getResultValue().doubleValue() - average, 2))
-            .average()
-            .orElse(0.0);
-        double standardDeviation = Math.sqrt(variance);
-        
-        return new ResultStatistics(totalResults, average, highest, lowest, standardDeviation, variance);
     }
     
     // Bulk release results for a course
-    public void bulkReleaseResultsForCourse(Long courseId) {
-        List<Result> unreleasedResults = resultRepository.findByCourseIdAndIsReleasedFalseAndIsActiveTrue(courseId);
-        for (Result result : unreleasedResults) {
-            result.release();
-        }
-        resultRepository.saveAll(unreleasedResults);
+    public int bulkReleaseResultsForCourse(Long courseId) {
+        return releaseAll(courseId, null, null);
     }
     
     // Bulk unrelease results for a course
-    public void bulkUnreleaseResultsForCourse(Long courseId) {
-        List<Result> releasedResults = resultRepository.findByCourseIdAndIsReleasedTrueAndIsActiveTrue(courseId);
-        for (Result result : releasedResults) {
-            result.unrelease();
+    public int bulkUnreleaseResultsForCourse(Long courseId) {
+        return unreleaseAll(courseId, null, null);
+    }
+    
+    // Release a course's results in one UPDATE, optionally only one assessment title and/or
+    // result type; returns how many were released. Only the course's own instructor may.
+    public int bulkReleaseResults(Long courseId, Long instructorId, String title, String resultType) {
+        checkCourseInstructor(courseId, instructorId);
+        return releaseAll(courseId, title, resultType);
+    }
+    
+    // Unrelease a course's results in one UPDATE, with the same optional filters and check
+    public int bulkUnreleaseResults(Long courseId, Long instructorId, String title, String resultType) {
+        checkCourseInstructor(courseId, instructorId);
+        return unreleaseAll(courseId, title, resultType);
+    }
+    
+    private void checkCourseInstructor(Long courseId, Long instructorId) {
+        Course course = courseRepository.findById(courseId)
+            .orElseThrow(() -> new RuntimeException("Course not found"));
+        if (course.getInstructor() == null || !course.getInstructor().getId().equals(instructorId)) {
+            throw new RuntimeException("Instructor is not assigned to this course");
+        }
+    }
+    
+    private int releaseAll(Long courseId, String title, String resultType) {
+        ResultType type = resultType != null ? parseResultType(resultType) : null;
+        List<Object[]> rows = resultRepository.findBulkReleaseRows(courseId, false, title, type);
+        int released = resultRepository.releaseAll(courseId, title, type, LocalDateTime.now());
+        if (released > 0) {
+            resultRollupService.recordBulkRelease(courseId, rows, true);
+            eventPublisher.publishEvent(new ResultChangedEvent(courseId));
+        }
+        return released;
+    }
+    
+    private int unreleaseAll(Long courseId, String title, String resultType) {
+        ResultType type = resultType != null ? parseResultType(resultType) : null;
+        List<Object[]> rows = resultRepository.findBulkReleaseRows(courseId, true, title, type);
+        int unreleased = resultRepository.unreleaseAll(courseId, title, type, LocalDateTime.now());
+        if (unreleased > 0) {
+            resultRollupService.recordBulkRelease(courseId, rows, false);
+            eventPublisher.publishEvent(new ResultChangedEvent(courseId));
+        }
+        return unreleased;
+    }
+    
+    // One pass over the values; results are 0-100 with two decimals, so percentiles are exact
+    private ResultStatistics summarize(Stream<BigDecimal> values, List<Double> percentiles) {
+        RunningStatistics stats = new RunningStatistics(100, 100);
+        values.forEach(value -> stats.add(value.doubleValue()));
+        
+        Map<String, Double> requested = new LinkedHashMap<>();
+        for (Double p : percentiles) {
+            requested.put("p" + BigDecimal.valueOf(p).stripTrailingZeros().toPlainString(), stats.percentile(p));
+        }
+        return new ResultStatistics(stats.count(), stats.mean(), stats.max(), stats.min(),
+                stats.standardDeviation(), stats.variance(),
+                stats.percentile(25), stats.median(), stats.percentile(75), requested);
+    }
+    
+    private void checkPercentiles(List<Double> percentiles) {
+        for (Double p : percentiles) {
+            if (p == null || !(p >= 0 && p <= 100)) {
+                throw new RuntimeException("Percentiles must be between 0 and 100");
+            }
+        }
+    }
+    
+    private ResultType parseResultType(String resultType) {
+        try {
+            return ResultType.valueOf(resultType);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new RuntimeException("Invalid result type: " + resultType);
         }
-        resultRepository.saveAll(releasedResults);
     }
     
     // Inner class for result statistics
@@ -317,15 +501,25 @@ public class ResultService {
         private Double lowestResult;
         private Double standardDeviation;
         private Double variance;
+        private Double firstQuartile;
+        private Double median;
+        private Double thirdQuartile;
+        private Map<String, Double> percentiles; // requested percentiles keyed "p90", "p99.5", ...
         
         public ResultStatistics(Long totalResults, Double averageResult, Double highestResult, 
-                              Double lowestResult, Double standardDeviation, Double variance) {
+                              Double lowestResult, Double standardDeviation, Double variance,
+                              Double firstQuartile, Double median, Double thirdQuartile,
+                              Map<String, Double> percentiles) {
             this.totalResults = totalResults;
             this.averageResult = averageResult;
             this.highestResult = highestResult;
             this.lowestResult = lowestResult;
             this.standardDeviation = standardDeviation;
             this.variance = variance;
+            this.firstQuartile = firstQuartile;
+            this.median = median;
+            this.thirdQuartile = thirdQuartile;
+            this.percentiles = percentiles;
         }
         
         // Getters
@@ -335,5 +529,9 @@ public class ResultService {
         public Double getLowestResult() { return lowestResult; }
         public Double getStandardDeviation() { return standardDeviation; }
         public Double getVariance() { return variance; }
+        public Double getFirstQuartile() { return firstQuartile; }
+        public Double getMedian() { return median; }
+        public Double getThirdQuartile() { return thirdQuartile; }
+        public Map<String, Double> getPercentiles() { return percentiles; }
     }
 } 
\ No newline at end of file
@@ -0,0 +1,181 @@
+package com.erp.course.backend.service;
+
+import com.erp.course.backend.dto.ScheduleConflict;
+import com.erp.course.backend.entity.Course;
+import com.erp.course.backend.repository.CourseRepository;
+import com.erp.course.backend.util.WeeklySchedule;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Detects timetable clashes using the weekly slot masks stored on each course. A student's
+// courses are OR-ed into one mask and AND-ed against the target, so the common no-conflict
+// case costs one query and a few dozen word operations per student.
+@Service
+@Transactional(readOnly = true)
+public class ScheduleConflictService {
+    
+    public enum ConflictPolicy {
+        REJECT, // refuse the enrollment
+        WARN,   // enroll and report the clash in the result message
+        IGNORE  // skip the check entirely
+    }
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    @Value("${app.enrollment.schedule-conflict-policy:WARN}")
+    private ConflictPolicy policy;
+    
+    public ConflictPolicy getPolicy() {
+        return policy;
+    }
+    
+    // ================================
+    // ENROLLMENT CHECKS
+    // ================================
+    
+    // Codes of the student's current courses that clash with the given course
+    public List<String> findConflicts(Long courseId, Long studentId) {
+        if (policy == ConflictPolicy.IGNORE) {
+            return new ArrayList<>();
+        }
+        List<Object[]> window = courseRepository.findScheduleWindow(courseId);
+        if (window.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Object[] row = window.get(0);
+        long[] target = WeeklySchedule.resolve((byte[]) row[1], (String) row[0]);
+        Map<Long, List<String>> conflicts = findConflicts(courseId, target,
+                (LocalDate) row[2], (LocalDate) row[3], List.of(studentId));
+        return conflicts.getOrDefault(studentId, new ArrayList<>());
+    }
+    
+    // Same check for a batch of students with one query; students without clashes are absent
+    public Map<Long, List<String>> findConflicts(Course course, Collection<Long> studentIds) {
+        if (policy == ConflictPolicy.IGNORE) {
+            return new HashMap<>();
+        }
+        long[] target = WeeklySchedule.resolve(course.getScheduleMask(), course.getSchedule());
+        return findConflicts(course.getId(), target, course.getStartDate(), course.getEndDate(), studentIds);
+    }
+    
+    // ================================
+    // CONFLICT REPORT
+    // ================================
+    
+    // Every pair of active courses a student attends whose weekly slots and dates overlap
+    public List<ScheduleConflict> findAllConflicts() {
+        List<ScheduleConflict> conflicts = new ArrayList<>();
+        List<ScheduledCourse> studentCourses = new ArrayList<>();
+        Long currentStudentId = null;
+        
+        for (Object[] row : courseRepository.findActiveEnrollmentSchedules()) {
+            Long studentId = (Long) row[0];
+            if (!studentId.equals(currentStudentId)) {
+                collectConflicts(currentStudentId, studentCourses, conflicts);
+                studentCourses.clear();
+                currentStudentId = studentId;
+            }
+            long[] mask = WeeklySchedule.resolve((byte[]) row[4], (String) row[3]);
+            if (mask != null) {
+                studentCourses.add(new ScheduledCourse((Long) row[1], (String) row[2], (String) row[3], mask,
+                        (LocalDate) row[5], (LocalDate) row[6]));
+            }
+        }
+        collectConflicts(currentStudentId, studentCourses, conflicts);
+        return conflicts;
+    }
+    
+    // ================================
+    // HELPER METHODS
+    // ================================
+    
+    private Map<Long, List<String>> findConflicts(Long courseId, long[] target, LocalDate startDate,
+                                                  LocalDate endDate, Collection<Long> studentIds) {
+        Map<Long, List<String>> conflicts = new HashMap<>();
+        if (target == null || studentIds.isEmpty()) {
+            return conflicts;
+        }
+        
+        List<Object[]> rows = courseRepository.findOverlappingEnrollmentSchedules(courseId, studentIds, startDate, endDate);
+        Map<Long, long[]> weekly = new HashMap<>();
+        Map<Long, List<ScheduledCourse>> byStudent = new HashMap<>();
+        for (Object[] row : rows) {
+            long[] mask = WeeklySchedule.resolve((byte[]) row[4], (String) row[3]);
+            if (mask == null) {
+                continue;
+            }
+            Long studentId = (Long) row[0];
+            WeeklySchedule.orInto(weekly.computeIfAbsent(studentId, id -> new long[WeeklySchedule.WORDS]), mask);
+            byStudent.computeIfAbsent(studentId, id -> new ArrayList<>())
+                    .add(new ScheduledCourse((Long) row[1], (String) row[2], (String) row[3], mask, startDate, endDate));
+        }
+        
+        for (Map.Entry<Long, long[]> entry : weekly.entrySet()) {
+            if (!WeeklySchedule.overlaps(target, entry.getValue())) {
+                continue;
+            }
+            // Only students that clash pay for the per-course pass that names the courses
+            List<String> codes = new ArrayList<>();
+            for (ScheduledCourse course : byStudent.get(entry.getKey())) {
+                if (WeeklySchedule.overlaps(target, course.mask)) {
+                    codes.add(course.courseCode);
+                }
+            }
+            conflicts.put(entry.getKey(), codes);
+        }
+        return conflicts;
+    }
+    
+    private void collectConflicts(Long studentId, List<ScheduledCourse> courses, List<ScheduleConflict> conflicts) {
+        if (studentId == null || courses.size() < 2) {
+            return;
+        }
+        long[] seen = new long[WeeklySchedule.WORDS];
+        for (int j = 0; j < courses.size(); j++) {
+            ScheduledCourse later = courses.get(j);
+            if (WeeklySchedule.overlaps(seen, later.mask)) {
+                for (int i = 0; i < j; i++) {
+                    ScheduledCourse earlier = courses.get(i);
+                    if (earlier.overlapsDates(later) && WeeklySchedule.overlaps(earlier.mask, later.mask)) {
+                        conflicts.add(new ScheduleConflict(studentId, earlier.courseId, earlier.courseCode, earlier.schedule,
+                                later.courseId, later.courseCode, later.schedule));
+                    }
+                }
+            }
+            WeeklySchedule.orInto(seen, later.mask);
+        }
+    }
+    
+    private static final class ScheduledCourse {
+        private final Long courseId;
+        private final String courseCode;
+        private final String schedule;
+        private final long[] mask;
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+        
+        private ScheduledCourse(Long courseId, String courseCode, String schedule, long[] mask,
+                                LocalDate startDate, LocalDate endDate) {
+            this.courseId = courseId;
+            this.courseCode = courseCode;
+            this.schedule = schedule;
+            this.mask = mask;
+            this.startDate = startDate;
+            this.endDate = endDate;
+        }
+        
+        private boolean overlapsDates(ScheduledCourse other) {
+            return !startDate.isAfter(other.endDate) && !other.startDate.isAfter(endDate);
+        }
+    }
+}
@@ -3,11 +3,16 @@ package com.erp.course.backend.service;
 import com.erp.course.backend.entity.Student;
 import com.erp.course.backend.entity.User;
 import com.erp.course.backend.entity.Role;
+import com.erp.course.backend.dto.CursorPage;
 import com.erp.course.backend.dto.StudentRequest;
 import com.erp.course.backend.dto.StudentResponse;
+import com.erp.course.backend.event.StudentChangedEvent;
 import com.erp.course.backend.repository.StudentRepository;
 import com.erp.course.backend.repository.UserRepository;
+import com.erp.course.backend.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -29,6 +34,12 @@ public class StudentService {
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    @Autowired
+    private PeopleSearchService peopleSearchService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     public List<StudentResponse> getAllStudents() {
         return studentRepository.findAll().stream()
                 .map(this::convertToResponse)
@@ -41,6 +52,18 @@ public class StudentService {
                 .collect(Collectors.toList());
     }
     
+    // Page ordered by (lastName, id); null filters are ignored
+    public CursorPage<StudentResponse> getStudentPage(boolean activeOnly, String major, Integer year, String status,
+                                                      String cursor, Integer limit) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = KeysetCursor.clampLimit(limit);
+        List<StudentResponse> rows = studentRepository.findPageAfter(activeOnly, major, year, status,
+                        after.getKey(), after.getId(), PageRequest.of(0, pageSize + 1)).stream()
+                .map(this::convertToResponse)
+                .collect(Collectors.toList());
+        return CursorPage.fromRows(rows, pageSize, StudentResponse::getLastName, StudentResponse::getId);
+    }
+    
     public Optional<StudentResponse> getStudentById(Long id) {
         return studentRepository.findById(id)
                 .map(this::convertToResponse);
@@ -88,7 +111,7 @@ public class StudentService {
     }
     
     public List<StudentResponse> searchStudentsByName(String name) {
-        return studentRepository.findActiveStudentsByNameContaining(name).stream()
+        return peopleSearchService.searchActiveStudents(name).stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
@@ -131,6 +154,7 @@ public class StudentService {
         user.setIsActive(true);
         userRepository.save(user);
         
+        eventPublisher.publishEvent(new StudentChangedEvent(savedStudent.getId()));
         return convertToResponse(savedStudent);
     }
     
@@ -151,6 +175,7 @@ public class StudentService {
                     
                     updateStudentFields(student, request);
                     Student updatedStudent = studentRepository.save(student);
+                    eventPublisher.publishEvent(new StudentChangedEvent(id));
                     return convertToResponse(updatedStudent);
                 })
                 .orElseThrow(() -> new RuntimeException("Student not found with id: " + id));
@@ -170,6 +195,7 @@ public class StudentService {
                                 userRepository.save(user);
                             });
                     
+                    eventPublisher.publishEvent(new StudentChangedEvent(id));
                     return updatedStudent;
                 })
                 .orElseThrow(() -> new RuntimeException("Student not found with id: " + id));
@@ -180,6 +206,7 @@ public class StudentService {
             throw new RuntimeException("Student not found with id: " + id);
         }
         studentRepository.deleteById(id);
+        eventPublisher.publishEvent(new StudentChangedEvent(id));
     }
     
     public StudentResponse activateStudent(Long id) {
@@ -187,6 +214,7 @@ public class StudentService {
                 .map(student -> {
                     student.setIsActive(true);
                     Student updatedStudent = studentRepository.save(student);
+                    eventPublisher.publishEvent(new StudentChangedEvent(id));
                     return convertToResponse(updatedStudent);
                 })
                 .orElseThrow(() -> new RuntimeException("Student not found with id: " + id));
@@ -252,7 +280,10 @@ public class StudentService {
         student.setYear(request.getYear());
         student.setEnrollmentDate(request.getEnrollmentDate());
         student.setGraduationDate(request.getGraduationDate());
-        student.setGpa(request.getGpa());
+        // Once results are graded the GPA is derived (see GpaService) and no longer entered by hand
+        if (student.getGpaCredits() == null || student.getGpaCredits() == 0) {
+            student.setGpa(request.getGpa());
+        }
         student.setStatus(request.getStatus() != null ? request.getStatus() : "ACTIVE");
         student.setAddress(request.getAddress());
         student.setParentGuardianName(request.getParentGuardianName());
@@ -0,0 +1,316 @@
+package com.erp.course.backend.service;
+
+import com.erp.course.backend.dto.CourseSummary;
+import com.erp.course.backend.dto.Suggestion;
+import com.erp.course.backend.event.CourseChangedEvent;
+import com.erp.course.backend.event.InstructorChangedEvent;
+import com.erp.course.backend.event.StudentChangedEvent;
+import com.erp.course.backend.repository.CourseRepository;
+import com.erp.course.backend.repository.InstructorRepository;
+import com.erp.course.backend.repository.StudentRepository;
+import com.erp.course.backend.util.PrefixTrie;
+import com.erp.course.backend.util.ReloadableIndex;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Typeahead over course codes and names, student names and IDs, and instructor names.
+// Each type is served from an immutable PrefixTrie ranked by popularity (students enrolled
+// in the course, or across the instructor's courses). Committed changes update the rows in
+// memory and schedule a debounced rebuild, which swaps in a new trie (copy-on-write), so
+// lookups never lock. A periodic full reload refreshes popularity and picks up changes made
+// outside this instance. Until the first load finishes, no suggestions are returned.
+@Service
+public class SuggestService {
+    
+    private static final Logger logger = Logger.getLogger(SuggestService.class.getName());
+    
+    public enum Type {
+        COURSE,
+        INSTRUCTOR,
+        STUDENT
+    }
+    
+    private static final Comparator<Suggestion> BY_POPULARITY =
+            Comparator.comparing(Suggestion::getPopularity, Comparator.reverseOrder());
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private InstructorRepository instructorRepository;
+    
+    @Value("${app.search.suggest.refresh-interval-ms:900000}")
+    private long refreshIntervalMs;
+    
+    @Value("${app.search.suggest.rebuild-delay-ms:1000}")
+    private long rebuildDelayMs;
+    
+    // Lambdas rather than method references: the repositories are injected after construction
+    private final Source courses = new Source(Type.COURSE,
+            () -> courseEntries(courseRepository.findActiveSummaries()),
+            id -> courseEntries(courseRepository.findActiveSummariesByIds(List.of(id))));
+    private final Source students = new Source(Type.STUDENT,
+            () -> studentEntries(studentRepository.findActiveSuggestRows()),
+            id -> studentEntries(studentRepository.findActiveSuggestRowById(id)));
+    private final Source instructors = new Source(Type.INSTRUCTOR,
+            () -> instructorEntries(instructorRepository.findActiveSuggestRows()),
+            id -> instructorEntries(instructorRepository.findActiveSuggestRowById(id)));
+    
+    private ScheduledExecutorService refresher;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "suggest-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.execute(this::reloadQuietly);
+        if (refreshIntervalMs > 0) {
+            refresher.scheduleWithFixedDelay(this::reloadQuietly, refreshIntervalMs, refreshIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    @PreDestroy
+    public void stop() {
+        if (refresher != null) {
+            refresher.shutdown();
+        }
+    }
+    
+    // ================================
+    // SUGGEST
+    // ================================
+    
+    // Most popular completions of the prefix across the requested types, at most limit of them
+    public List<Suggestion> suggest(String prefix, Set<Type> types, int limit) {
+        int k = Math.max(0, Math.min(limit, PrefixTrie.MAX_K));
+        List<Suggestion> merged = new ArrayList<>();
+        for (Type type : Type.values()) {
+            if (types.contains(type)) {
+                merged.addAll(source(type).trie.complete(prefix, k));
+            }
+        }
+        // Stable sort: equal popularity keeps each type's own order
+        merged.sort(BY_POPULARITY);
+        return merged.size() > k ? new ArrayList<>(merged.subList(0, k)) : merged;
+    }
+    
+    // ================================
+    // UPDATES (after commit)
+    // ================================
+    
+    // Seat changes are not tracked here; popularity catches up on the periodic reload
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        if (!event.isListingOnly()) {
+            courses.refresh(event.getCourseId());
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        students.refresh(event.getStudentId());
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInstructorChanged(InstructorChangedEvent event) {
+        instructors.refresh(event.getInstructorId());
+    }
+    
+    // ================================
+    // LOADING
+    // ================================
+    
+    public void reload() {
+        courses.reload();
+        instructors.reload();
+        students.reload();
+    }
+    
+    private void reloadQuietly() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Suggest index reload failed", e);
+        }
+    }
+    
+    // ================================
+    // HELPER METHODS
+    // ================================
+    
+    private Source source(Type type) {
+        switch (type) {
+            case COURSE:
+                return courses;
+            case INSTRUCTOR:
+                return instructors;
+            default:
+                return students;
+        }
+    }
+    
+    // Keys: code, and the name from each of its words ("intro to databases", "databases", ...)
+    private static List<Entry> courseEntries(List<CourseSummary> rows) {
+        List<Entry> entries = new ArrayList<>(rows.size());
+        for (CourseSummary course : rows) {
+            long enrolled = course.getCurrentEnrollment() != null ? course.getCurrentEnrollment() : 0L;
+            Suggestion suggestion = new Suggestion(Type.COURSE.name(), course.getId(),
+                    course.getCourseName(), course.getCourseCode(), enrolled);
+            List<String> keys = wordSuffixes(course.getCourseName());
+            keys.add(course.getCourseCode());
+            entries.add(new Entry(suggestion, keys));
+        }
+        return entries;
+    }
+    
+    // Rows: id, studentId, first name, last name; keys: full name, last name, student ID
+    private static List<Entry> studentEntries(List<Object[]> rows) {
+        List<Entry> entries = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            String name = row[2] + " " + row[3];
+            Suggestion suggestion = new Suggestion(Type.STUDENT.name(), (Long) row[0], name, (String) row[1], 0L);
+            entries.add(new Entry(suggestion, Arrays.asList(name, (String) row[3], (String) row[1])));
+        }
+        return entries;
+    }
+    
+    // Rows: id, employeeId, first name, last name, department, students taught;
+    // keys: full name, last name, employee ID
+    private static List<Entry> instructorEntries(List<Object[]> rows) {
+        List<Entry> entries = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            String name = row[2] + " " + row[3];
+            long taught = ((Number) row[5]).longValue();
+            Suggestion suggestion = new Suggestion(Type.INSTRUCTOR.name(), (Long) row[0], name, (String) row[4], taught);
+            entries.add(new Entry(suggestion, Arrays.asList(name, (String) row[3], (String) row[1])));
+        }
+        return entries;
+    }
+    
+    private static List<String> wordSuffixes(String text) {
+        List<String> suffixes = new ArrayList<>();
+        String folded = PrefixTrie.fold(text);
+        int start = 0;
+        while (start < folded.length()) {
+            suffixes.add(folded.substring(start));
+            int space = folded.indexOf(' ', start);
+            start = space < 0 ? folded.length() : space + 1;
+        }
+        return suffixes;
+    }
+    
+    private static final class Entry {
+        private final Suggestion suggestion;
+        private final List<String> keys;
+        
+        private Entry(Suggestion suggestion, List<String> keys) {
+            this.suggestion = suggestion;
+            this.keys = keys;
+        }
+    }
+    
+    // One suggestable table: current rows by id, and the trie last built from them
+    private final class Source {
+        
+        private final Type type;
+        private final Supplier<List<Entry>> loadAll;
+        private final Function<Long, List<Entry>> loadOne;
+        
+        private final ReloadableIndex<Long, Map<Long, Entry>> rows;
+        private volatile PrefixTrie<Suggestion> trie = PrefixTrie.<Suggestion>builder().build();
+        private final AtomicBoolean rebuildPending = new AtomicBoolean();
+        
+        private Source(Type type, Supplier<List<Entry>> loadAll, Function<Long, List<Entry>> loadOne) {
+            this.type = type;
+            this.loadAll = loadAll;
+            this.loadOne = loadOne;
+            this.rows = new ReloadableIndex<>(new ConcurrentHashMap<>(), this::loadRows, this::reloadRow);
+        }
+        
+        private void refresh(Long id) {
+            rows.refresh(id);
+            scheduleRebuild();
+        }
+        
+        private void reload() {
+            rows.reload();
+            rebuild();
+            logger.info(type + " suggestions loaded: " + trie.size() + " rows, " + trie.keyCount() + " keys");
+        }
+        
+        private Map<Long, Entry> loadRows() {
+            Map<Long, Entry> loaded = new ConcurrentHashMap<>();
+            for (Entry entry : loadAll.get()) {
+                loaded.put(entry.suggestion.getId(), entry);
+            }
+            return loaded;
+        }
+        
+        private void reloadRow(Map<Long, Entry> target, Long id) {
+            List<Entry> found = loadOne.apply(id);
+            if (found.isEmpty()) {
+                target.remove(id);
+            } else {
+                target.put(id, found.get(0));
+            }
+        }
+        
+        // Coalesces bursts of changes into one rebuild on the refresher thread
+        private void scheduleRebuild() {
+            if (refresher != null && rebuildPending.compareAndSet(false, true)) {
+                try {
+                    refresher.schedule(this::rebuildQuietly, rebuildDelayMs, TimeUnit.MILLISECONDS);
+                } catch (RuntimeException e) {
+                    rebuildPending.set(false);
+                    logger.log(Level.WARNING, type + " suggest rebuild could not be scheduled", e);
+                }
+            }
+        }
+        
+        private void rebuildQuietly() {
+            rebuildPending.set(false);
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, type + " suggest rebuild failed", e);
+            }
+        }
+        
+        // Added in label order so equally popular completions come back alphabetically
+        private synchronized void rebuild() {
+            List<Entry> entries = new ArrayList<>(rows.current().values());
+            entries.sort(Comparator.comparing(entry -> entry.suggestion.getLabel(), Comparator.nullsLast(Comparator.naturalOrder())));
+            PrefixTrie.Builder<Suggestion> builder = PrefixTrie.builder();
+            for (Entry entry : entries) {
+                builder.add(entry.suggestion, entry.suggestion.getPopularity(), entry.keys.toArray(new String[0]));
+            }
+            trie = builder.build();
+        }
+    }
+}
@@ -0,0 +1,359 @@
+package com.erp.course.backend.service;
+
+import com.erp.course.backend.dto.EnrollmentResult;
+import com.erp.course.backend.dto.WaitlistPosition;
+import com.erp.course.backend.entity.Course;
+import com.erp.course.backend.entity.Student;
+import com.erp.course.backend.entity.WaitlistEntry;
+import com.erp.course.backend.repository.CourseRepository;
+import com.erp.course.backend.repository.StudentRepository;
+import com.erp.course.backend.repository.WaitlistEntryRepository;
+import com.erp.course.backend.util.FenwickTree;
+import com.erp.course.backend.util.ReloadableIndex;
+import com.erp.course.backend.util.TransactionHooks;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+@Service
+@Transactional
+public class WaitlistService {
+    
+    private static final Logger logger = Logger.getLogger(WaitlistService.class.getName());
+    
+    @Autowired
+    private WaitlistEntryRepository waitlistEntryRepository;
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private EnrollmentService enrollmentService;
+    
+    @Value("${app.waitlist.index.refresh-interval-ms:900000}")
+    private long refreshIntervalMs;
+    
+    private static final int COMPACT_SLACK = 64;
+    
+    // Per-course order-statistic index over waitlist positions. Loaded once the application is
+    // ready and periodically reloaded; after each commit that changes a course's waitlist, that
+    // course is re-read from the table. Until the first load finishes, ranks are counted in SQL.
+    private final ReloadableIndex<Long, Map<Long, CourseWaitlistIndex>> indexes =
+            new ReloadableIndex<>(new ConcurrentHashMap<>(), this::loadIndexes, this::reloadCourse);
+    
+    // One lock per course, held while its positions are read and installed
+    private final Map<Long, Object> reloadLocks = new ConcurrentHashMap<>();
+    
+    private ScheduledExecutorService refresher;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "waitlist-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.execute(this::reloadQuietly);
+        if (refreshIntervalMs > 0) {
+            refresher.scheduleWithFixedDelay(this::reloadQuietly, refreshIntervalMs, refreshIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    @PreDestroy
+    public void stop() {
+        if (refresher != null) {
+            refresher.shutdown();
+        }
+    }
+    
+    // ================================
+    // STUDENT WAITLIST OPERATIONS
+    // ================================
+    
+    public WaitlistPosition joinWaitlist(Long courseId, Long studentId) {
+        // Course row lock serializes position assignment per course
+        Course course = courseRepository.findByIdForUpdate(courseId)
+                .orElseThrow(() -> new RuntimeException("Course not found with id: " + courseId));
+        
+        Student student = studentRepository.findById(studentId)
+                .orElseThrow(() -> new RuntimeException("Student not found with id: " + studentId));
+        
+        if (!course.getIsActive()) {
+            throw new RuntimeException("Cannot join the waitlist of an inactive course");
+        }
+        
+        if (enrollmentService.isEnrolled(courseId, studentId)) {
+            throw new RuntimeException("Student is already enrolled in this course");
+        }
+        
+        WaitlistEntry existing = waitlistEntryRepository.findByCourse_IdAndStudent_Id(courseId, studentId).orElse(null);
+        if (existing != null) {
+            return toPosition(existing, courseId, studentId);
+        }
+        
+        if (!course.isFull()) {
+            throw new RuntimeException("Course has available seats, please enroll directly");
+        }
+        
+        long size = waitlistEntryRepository.countByCourse_Id(courseId);
+        WaitlistEntry entry = append(course, student, waitlistEntryRepository.findMaxPosition(courseId) + 1);
+        refreshAfterCommit(courseId);
+        return new WaitlistPosition(courseId, studentId, size + 1, size + 1, entry.getCreatedAt());
+    }
+    
+    public void leaveWaitlist(Long courseId, Long studentId) {
+        // Same course row lock as joins and promotions, so positions are never renumbered under us
+        courseRepository.findByIdForUpdate(courseId)
+                .orElseThrow(() -> new RuntimeException("Course not found with id: " + courseId));
+        WaitlistEntry entry = waitlistEntryRepository.findByCourse_IdAndStudent_Id(courseId, studentId)
+                .orElseThrow(() -> new RuntimeException("Student is not on the waitlist for this course"));
+        remove(entry);
+        compactIfSparse(courseId);
+        refreshAfterCommit(courseId);
+    }
+    
+    @Transactional(readOnly = true)
+    public WaitlistPosition getPosition(Long courseId, Long studentId) {
+        WaitlistEntry entry = waitlistEntryRepository.findByCourse_IdAndStudent_Id(courseId, studentId)
+                .orElseThrow(() -> new RuntimeException("Student is not on the waitlist for this course"));
+        return toPosition(entry, courseId, studentId);
+    }
+    
+    // ================================
+    // ENROLLMENT INTEGRATION
+    // ================================
+    
+    // Batched enrollment used by the admission queue: students who hit a full course are
+    // appended to the waitlist in the same transaction instead of being told to retry
+    public List<EnrollmentResult> enrollOrWaitlist(Long courseId, List<Long> studentIds) {
+        List<EnrollmentResult> results = enrollmentService.enrollBatch(courseId, studentIds);
+        
+        Set<Long> fullStudentIds = new LinkedHashSet<>();
+        for (EnrollmentResult result : results) {
+            if ("FULL".equals(result.getStatus())) {
+                fullStudentIds.add(result.getStudentId());
+            }
+        }
+        if (fullStudentIds.isEmpty()) {
+            return results;
+        }
+        
+        // enrollBatch already holds the course row lock for this transaction, so the table is exact
+        // here while the index may not yet have caught up with the previous holder's commit
+        Map<Long, Long> rankByStudent = new HashMap<>();
+        for (WaitlistEntry entry : waitlistEntryRepository.findByCourseAndStudents(courseId, fullStudentIds)) {
+            rankByStudent.put(entry.getStudent().getId(), waitlistEntryRepository.countUpToPosition(courseId, entry.getPosition()));
+        }
+        
+        Course course = courseRepository.getReferenceById(courseId);
+        long size = waitlistEntryRepository.countByCourse_Id(courseId);
+        long nextPosition = waitlistEntryRepository.findMaxPosition(courseId) + 1;
+        for (Long studentId : fullStudentIds) {
+            if (!rankByStudent.containsKey(studentId)) {
+                append(course, studentRepository.getReferenceById(studentId), nextPosition++);
+                rankByStudent.put(studentId, ++size);
+            }
+        }
+        refreshAfterCommit(courseId);
+        
+        for (EnrollmentResult result : results) {
+            if ("FULL".equals(result.getStatus())) {
+                result.setStatus("WAITLISTED");
+                result.setMessage("Course is full; you are number " + rankByStudent.get(result.getStudentId()) + " on the waitlist");
+            }
+        }
+        return results;
+    }
+    
+    // Moves students from the head of the waitlist into free seats. Runs inside the
+    // caller's transaction so a seat freed by an unenroll or capacity raise is handed
+    // to the next student atomically. Promotion ignores the enrollment window; heads that
+    // can never be admitted (student gone, timetable clash under the REJECT policy) are
+    // dropped so they do not block the students behind them. Returns the number promoted.
+    public int promote(Long courseId) {
+        Course course = courseRepository.findByIdForUpdate(courseId).orElse(null);
+        if (course == null || !course.getIsActive()) {
+            return 0;
+        }
+        
+        int promoted = 0;
+        boolean changed = false;
+        boolean progressed = true;
+        while (progressed && course.getAvailableSpots() > 0) {
+            List<WaitlistEntry> head = waitlistEntryRepository.findHead(courseId, PageRequest.of(0, course.getAvailableSpots()));
+            if (head.isEmpty()) {
+                break;
+            }
+            
+            List<Long> studentIds = new ArrayList<>(head.size());
+            for (WaitlistEntry entry : head) {
+                studentIds.add(entry.getStudent().getId());
+            }
+            
+            // enrollFromWaitlist updates the managed course's enrollment count
+            List<EnrollmentResult> results = enrollmentService.enrollFromWaitlist(courseId, studentIds);
+            progressed = false;
+            for (int i = 0; i < head.size(); i++) {
+                String status = results.get(i).getStatus();
+                if (!"FULL".equals(status)) {
+                    remove(head.get(i));
+                    progressed = true;
+                    changed = true;
+                }
+                if ("ENROLLED".equals(status)) {
+                    promoted++;
+                }
+            }
+        }
+        if (changed) {
+            compactIfSparse(courseId);
+            refreshAfterCommit(courseId);
+        }
+        return promoted;
+    }
+    
+    public EnrollmentResult unenrollAndPromote(Long courseId, Long studentId) {
+        EnrollmentResult result = enrollmentService.unenroll(courseId, studentId);
+        if (promote(courseId) > 0) {
+            result.setAvailableSpots(courseRepository.findAvailableSpots(courseId));
+        }
+        return result;
+    }
+    
+    // ================================
+    // HELPER METHODS
+    // ================================
+    
+    private WaitlistEntry append(Course course, Student student, long position) {
+        return waitlistEntryRepository.save(new WaitlistEntry(course, student, position));
+    }
+    
+    private void remove(WaitlistEntry entry) {
+        waitlistEntryRepository.delete(entry);
+    }
+    
+    // Positions only grow, and so does the index built over them. Once most of the handed-out
+    // positions are gone, renumber the waitlist 1..n; callers hold the course row lock, so no
+    // other transaction renumbers concurrently, and the course is re-read into the index after commit.
+    private void compactIfSparse(Long courseId) {
+        long size = waitlistEntryRepository.countByCourse_Id(courseId);
+        if (waitlistEntryRepository.findMaxPosition(courseId) <= 2 * size + COMPACT_SLACK) {
+            return;
+        }
+        long position = 1;
+        for (WaitlistEntry entry : waitlistEntryRepository.findHead(courseId, Pageable.unpaged())) {
+            entry.setPosition(position++);
+        }
+    }
+    
+    // Re-reads the course into the index once this transaction's changes are visible
+    private void refreshAfterCommit(Long courseId) {
+        TransactionHooks.afterCommit(() -> indexes.refresh(courseId));
+    }
+    
+    private WaitlistPosition toPosition(WaitlistEntry entry, Long courseId, Long studentId) {
+        // Counted in SQL until the index is loaded, or when the course was waitlisted on another
+        // instance since the last reload
+        CourseWaitlistIndex index = indexes.isReady() ? indexes.current().get(courseId) : null;
+        if (index == null) {
+            return new WaitlistPosition(courseId, studentId,
+                    waitlistEntryRepository.countUpToPosition(courseId, entry.getPosition()),
+                    waitlistEntryRepository.countByCourse_Id(courseId), entry.getCreatedAt());
+        }
+        return new WaitlistPosition(courseId, studentId, index.rank(entry.getPosition()), index.size(), entry.getCreatedAt());
+    }
+    
+    // ================================
+    // LOADING
+    // ================================
+    
+    public void reload() {
+        Map<Long, CourseWaitlistIndex> loaded = indexes.reload();
+        logger.info("Waitlist index loaded for " + loaded.size() + " courses");
+    }
+    
+    private void reloadQuietly() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Waitlist index reload failed", e);
+        }
+    }
+    
+    private Map<Long, CourseWaitlistIndex> loadIndexes() {
+        Map<Long, List<Long>> positionsByCourse = new HashMap<>();
+        for (Object[] row : waitlistEntryRepository.findAllPositions()) {
+            positionsByCourse.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((Long) row[1]);
+        }
+        Map<Long, CourseWaitlistIndex> loaded = new ConcurrentHashMap<>();
+        positionsByCourse.forEach((courseId, positions) -> loaded.put(courseId, new CourseWaitlistIndex(positions)));
+        return loaded;
+    }
+    
+    // Replaces one course's index with its current positions. Refreshes run after their commits, and
+    // the read and the install happen under one lock per course, so the last refresh to run has read
+    // every earlier commit and an older read is never installed over a newer one.
+    private void reloadCourse(Map<Long, CourseWaitlistIndex> target, Long courseId) {
+        synchronized (reloadLocks.computeIfAbsent(courseId, id -> new Object())) {
+            List<Long> positions = waitlistEntryRepository.findPositionsByCourse(courseId);
+            if (positions.isEmpty()) {
+                target.remove(courseId);
+            } else {
+                target.put(courseId, new CourseWaitlistIndex(positions));
+            }
+        }
+    }
+    
+    // Inner class: O(log n) rank of a position among one course's waitlisted positions. Built
+    // whole from the table and never changed afterwards; a change to the waitlist replaces it.
+    private static class CourseWaitlistIndex {
+        private final FenwickTree tree;
+        
+        CourseWaitlistIndex(List<Long> positions) {
+            long max = 0;
+            for (Long position : positions) {
+                max = Math.max(max, position);
+            }
+            tree = new FenwickTree(Math.toIntExact(max));
+            BitSet present = new BitSet();
+            for (Long position : positions) {
+                int key = Math.toIntExact(position);
+                if (!present.get(key)) {
+                    present.set(key);
+                    tree.add(key, 1);
+                }
+            }
+        }
+        
+        long rank(long position) {
+            return tree.prefixSum(Math.toIntExact(position));
+        }
+        
+        long size() {
+            return tree.total();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.erp.course.backend.util;
+
+// Binary indexed tree over non-negative int keys (1-based) with O(log n) point updates,
+// prefix sums and order-statistic lookups. Grows automatically as larger keys are added.
+public class FenwickTree {
+    
+    private long[] tree;
+    
+    public FenwickTree(int capacity) {
+        this.tree = new long[Math.max(2, capacity + 1)];
+    }
+    
+    public void add(int index, long delta) {
+        if (index < 1) {
+            throw new IllegalArgumentException("Fenwick index must be >= 1: " + index);
+        }
+        ensureCapacity(index);
+        for (int i = index; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+    
+    // Sum of values at keys 1..index
+    public long prefixSum(int index) {
+        long sum = 0;
+        for (int i = Math.min(index, tree.length - 1); i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+    
+    public long total() {
+        return prefixSum(tree.length - 1);
+    }
+    
+    // Smallest key whose prefix sum reaches k (k >= 1), or -1 if the total is below k
+    public int findByOrder(long k) {
+        if (k < 1 || k > total()) {
+            return -1;
+        }
+        int index = 0;
+        int step = Integer.highestOneBit(tree.length - 1);
+        for (; step > 0; step >>= 1) {
+            int next = index + step;
+            if (next < tree.length && tree[next] < k) {
+                index = next;
+                k -= tree[next];
+            }
+        }
+        return index + 1;
+    }
+    
+    public int capacity() {
+        return tree.length - 1;
+    }
+    
+    private void ensureCapacity(int index) {
+        if (index < tree.length) {
+            return;
+        }
+        int newLength = tree.length;
+        while (newLength <= index) {
+            newLength <<= 1;
+        }
+        // Recover point values and rebuild in O(n); amortized by doubling
+        long[] values = new long[tree.length];
+        for (int i = 1; i < tree.length; i++) {
+            values[i] = prefixSum(i) - prefixSum(i - 1);
+        }
+        long[] grown = new long[newLength];
+        for (int i = 1; i < newLength; i++) {
+            if (i < values.length) {
+                grown[i] += values[i];
+            }
+            int parent = i + (i & -i);
+            if (parent < newLength) {
+                grown[parent] += grown[i];
+            }
+        }
+        tree = grown;
+    }
+}
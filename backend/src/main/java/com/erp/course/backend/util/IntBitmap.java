@@ -0,0 +1,397 @@
+package com.erp.course.backend.util;
+
+import java.util.Arrays;
+
+// Compressed set of ints laid out like a Roaring bitmap: values are split on their high
+// 16 bits into chunks, and each chunk keeps its low 16 bits either as a sorted char array
+// (sparse, up to 4096 values) or as a 65536-bit bitmap (dense). Not thread-safe.
+public class IntBitmap {
+    
+    private static final int ARRAY_MAX = 4096;
+    
+    private char[] keys = new char[4];
+    private Container[] containers = new Container[4];
+    private int size;
+    
+    public IntBitmap() {}
+    
+    public boolean add(int value) {
+        char high = (char) (value >>> 16);
+        int i = Arrays.binarySearch(keys, 0, size, high);
+        if (i < 0) {
+            i = -i - 1;
+            insertChunk(i, high, new ArrayContainer());
+        }
+        Container container = containers[i];
+        int before = container.cardinality();
+        containers[i] = container.add((char) value);
+        return containers[i].cardinality() > before;
+    }
+    
+    public boolean remove(int value) {
+        char high = (char) (value >>> 16);
+        int i = Arrays.binarySearch(keys, 0, size, high);
+        if (i < 0) {
+            return false;
+        }
+        Container container = containers[i];
+        int before = container.cardinality();
+        containers[i] = container.remove((char) value);
+        int after = containers[i].cardinality();
+        if (after == 0) {
+            removeChunk(i);
+        }
+        return after < before;
+    }
+    
+    public boolean contains(int value) {
+        int i = Arrays.binarySearch(keys, 0, size, (char) (value >>> 16));
+        return i >= 0 && containers[i].contains((char) value);
+    }
+    
+    public int cardinality() {
+        int total = 0;
+        for (int i = 0; i < size; i++) {
+            total += containers[i].cardinality();
+        }
+        return total;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    public IntBitmap and(IntBitmap other) {
+        IntBitmap result = new IntBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                Container shared = containers[i].and(other.containers[j]);
+                if (shared.cardinality() > 0) {
+                    result.insertChunk(result.size, keys[i], shared);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+    
+    public int andCardinality(IntBitmap other) {
+        int total = 0;
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                total += containers[i].andCardinality(other.containers[j]);
+                i++;
+                j++;
+            }
+        }
+        return total;
+    }
+    
+    public IntBitmap copy() {
+        IntBitmap copy = new IntBitmap();
+        copy.keys = Arrays.copyOf(keys, keys.length);
+        copy.containers = new Container[containers.length];
+        for (int i = 0; i < size; i++) {
+            copy.containers[i] = containers[i].copy();
+        }
+        copy.size = size;
+        return copy;
+    }
+    
+    // Values in ascending unsigned order
+    public int[] toArray() {
+        int[] values = new int[cardinality()];
+        int offset = 0;
+        for (int i = 0; i < size; i++) {
+            offset = containers[i].fill(values, offset, keys[i] << 16);
+        }
+        return values;
+    }
+    
+    private void insertChunk(int index, char key, Container container) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = container;
+        size++;
+    }
+    
+    private void removeChunk(int index) {
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+        size--;
+        containers[size] = null;
+    }
+    
+    // ================================
+    // CONTAINERS
+    // ================================
+    
+    private abstract static class Container {
+        abstract int cardinality();
+        abstract boolean contains(char low);
+        abstract Container add(char low);
+        abstract Container remove(char low);
+        abstract Container and(Container other);
+        abstract int andCardinality(Container other);
+        abstract Container copy();
+        abstract int fill(int[] target, int offset, int high);
+    }
+    
+    private static final class ArrayContainer extends Container {
+        
+        private char[] values;
+        private int cardinality;
+        
+        ArrayContainer() {
+            this(new char[4], 0);
+        }
+        
+        ArrayContainer(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+        
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+        
+        @Override
+        boolean contains(char low) {
+            return Arrays.binarySearch(values, 0, cardinality, low) >= 0;
+        }
+        
+        @Override
+        Container add(char low) {
+            int i = Arrays.binarySearch(values, 0, cardinality, low);
+            if (i >= 0) {
+                return this;
+            }
+            if (cardinality == ARRAY_MAX) {
+                return toBitmap().add(low);
+            }
+            i = -i - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX, cardinality * 2));
+            }
+            System.arraycopy(values, i, values, i + 1, cardinality - i);
+            values[i] = low;
+            cardinality++;
+            return this;
+        }
+        
+        @Override
+        Container remove(char low) {
+            int i = Arrays.binarySearch(values, 0, cardinality, low);
+            if (i >= 0) {
+                System.arraycopy(values, i + 1, values, i, cardinality - i - 1);
+                cardinality--;
+            }
+            return this;
+        }
+        
+        @Override
+        Container and(Container other) {
+            char[] shared = new char[Math.min(cardinality, other.cardinality())];
+            int count = 0;
+            if (other instanceof ArrayContainer) {
+                ArrayContainer array = (ArrayContainer) other;
+                int i = 0;
+                int j = 0;
+                while (i < cardinality && j < array.cardinality) {
+                    if (values[i] < array.values[j]) {
+                        i++;
+                    } else if (values[i] > array.values[j]) {
+                        j++;
+                    } else {
+                        shared[count++] = values[i];
+                        i++;
+                        j++;
+                    }
+                }
+            } else {
+                for (int i = 0; i < cardinality; i++) {
+                    if (other.contains(values[i])) {
+                        shared[count++] = values[i];
+                    }
+                }
+            }
+            return new ArrayContainer(shared, count);
+        }
+        
+        @Override
+        int andCardinality(Container other) {
+            if (other instanceof ArrayContainer) {
+                ArrayContainer array = (ArrayContainer) other;
+                int count = 0;
+                int i = 0;
+                int j = 0;
+                while (i < cardinality && j < array.cardinality) {
+                    if (values[i] < array.values[j]) {
+                        i++;
+                    } else if (values[i] > array.values[j]) {
+                        j++;
+                    } else {
+                        count++;
+                        i++;
+                        j++;
+                    }
+                }
+                return count;
+            }
+            int count = 0;
+            for (int i = 0; i < cardinality; i++) {
+                if (other.contains(values[i])) {
+                    count++;
+                }
+            }
+            return count;
+        }
+        
+        @Override
+        Container copy() {
+            return new ArrayContainer(Arrays.copyOf(values, Math.max(cardinality, 4)), cardinality);
+        }
+        
+        @Override
+        int fill(int[] target, int offset, int high) {
+            for (int i = 0; i < cardinality; i++) {
+                target[offset++] = high | values[i];
+            }
+            return offset;
+        }
+        
+        private BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < cardinality; i++) {
+                bitmap.add(values[i]);
+            }
+            return bitmap;
+        }
+    }
+    
+    private static final class BitmapContainer extends Container {
+        
+        private final long[] words;
+        private int cardinality;
+        
+        BitmapContainer() {
+            this(new long[1024], 0);
+        }
+        
+        BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+        
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+        
+        @Override
+        boolean contains(char low) {
+            return (words[low >>> 6] & (1L << low)) != 0;
+        }
+        
+        @Override
+        Container add(char low) {
+            long bit = 1L << low;
+            if ((words[low >>> 6] & bit) == 0) {
+                words[low >>> 6] |= bit;
+                cardinality++;
+            }
+            return this;
+        }
+        
+        @Override
+        Container remove(char low) {
+            long bit = 1L << low;
+            if ((words[low >>> 6] & bit) != 0) {
+                words[low >>> 6] &= ~bit;
+                cardinality--;
+                if (cardinality <= ARRAY_MAX) {
+                    return toArrayContainer();
+                }
+            }
+            return this;
+        }
+        
+        @Override
+        Container and(Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.and(this);
+            }
+            BitmapContainer bitmap = (BitmapContainer) other;
+            long[] shared = new long[1024];
+            int count = 0;
+            for (int i = 0; i < 1024; i++) {
+                shared[i] = words[i] & bitmap.words[i];
+                count += Long.bitCount(shared[i]);
+            }
+            BitmapContainer result = new BitmapContainer(shared, count);
+            return count > ARRAY_MAX ? result : result.toArrayContainer();
+        }
+        
+        @Override
+        int andCardinality(Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.andCardinality(this);
+            }
+            BitmapContainer bitmap = (BitmapContainer) other;
+            int count = 0;
+            for (int i = 0; i < 1024; i++) {
+                count += Long.bitCount(words[i] & bitmap.words[i]);
+            }
+            return count;
+        }
+        
+        @Override
+        Container copy() {
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+        
+        @Override
+        int fill(int[] target, int offset, int high) {
+            for (int i = 0; i < 1024; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    target[offset++] = high | (i << 6) | Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                }
+            }
+            return offset;
+        }
+        
+        private ArrayContainer toArrayContainer() {
+            char[] values = new char[Math.max(cardinality, 4)];
+            int count = 0;
+            for (int i = 0; i < 1024; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    values[count++] = (char) ((i << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return new ArrayContainer(values, count);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.erp.course.backend.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Position in a list ordered by (sort key, id). Handed to clients as URL-safe base64 so they
+// treat it as an opaque token; the seek queries continue strictly after it, so every page
+// costs one index range scan no matter how deep the client has paged.
+public final class KeysetCursor {
+    
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+    
+    // Sorts before every row: "" is the smallest string and generated ids start at 1
+    public static final KeysetCursor START = new KeysetCursor("", 0L);
+    
+    private final String key;
+    private final Long id;
+    
+    private KeysetCursor(String key, Long id) {
+        this.key = key;
+        this.id = id;
+    }
+    
+    public String getKey() {
+        return key;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+        try {
+            String text = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            int separator = text.indexOf(':');
+            if (separator < 1) {
+                throw new IllegalArgumentException(cursor);
+            }
+            return new KeysetCursor(text.substring(separator + 1), Long.parseLong(text.substring(0, separator)));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+    
+    public static String encode(String key, Long id) {
+        String text = id + ":" + (key != null ? key : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public static int clampLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.max(1, Math.min(MAX_LIMIT, limit));
+    }
+}
@@ -0,0 +1,235 @@
+package com.erp.course.backend.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+// Immutable radix trie for typeahead. Keys are folded like TextIndex words (lower-case, no
+// accents, words joined by single spaces) and every node keeps its best MAX_K values by
+// weight, so a lookup is a walk down the prefix plus a copy of at most k results. Built once
+// by a Builder and safe to share between threads; replace the whole trie when data changes.
+public final class PrefixTrie<T> {
+    
+    public static final int MAX_K = 10;
+    
+    private final Node root;
+    private final List<T> values;
+    private final int keyCount;
+    
+    private PrefixTrie(Node root, List<T> values, int keyCount) {
+        this.root = root;
+        this.values = values;
+        this.keyCount = keyCount;
+    }
+    
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+    
+    // Best values (highest weight first, then insertion order) with a key starting with the prefix
+    public List<T> complete(String prefix, int k) {
+        String folded = fold(prefix);
+        if (folded.isEmpty() || root == null || k <= 0) {
+            return Collections.emptyList();
+        }
+        
+        Node node = root;
+        int pos = 0;
+        while (true) {
+            for (int i = 0; i < node.label.length; i++, pos++) {
+                if (pos == folded.length()) {
+                    return valuesOf(node, k);
+                }
+                if (folded.charAt(pos) != node.label[i]) {
+                    return Collections.emptyList();
+                }
+            }
+            if (pos == folded.length()) {
+                return valuesOf(node, k);
+            }
+            int child = Arrays.binarySearch(node.childChars, folded.charAt(pos));
+            if (child < 0) {
+                return Collections.emptyList();
+            }
+            node = node.children[child];
+        }
+    }
+    
+    public int size() {
+        return values.size();
+    }
+    
+    public int keyCount() {
+        return keyCount;
+    }
+    
+    // Lower-case, accent-free words joined by single spaces
+    public static String fold(String text) {
+        return String.join(" ", TextIndex.tokenize(text));
+    }
+    
+    private List<T> valuesOf(Node node, int k) {
+        int count = Math.min(k, node.top.length);
+        List<T> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(values.get(node.top[i]));
+        }
+        return result;
+    }
+    
+    // ================================
+    // BUILDER
+    // ================================
+    
+    public static final class Builder<T> {
+        
+        private final List<T> values = new ArrayList<>();
+        private final List<Long> weights = new ArrayList<>();
+        private final List<String> keys = new ArrayList<>();
+        private final List<Integer> keyValues = new ArrayList<>();
+        
+        private Builder() {}
+        
+        // One value reachable through several keys is still returned once per lookup
+        public Builder<T> add(T value, long weight, String... valueKeys) {
+            int index = values.size();
+            values.add(value);
+            weights.add(weight);
+            for (String key : valueKeys) {
+                String folded = fold(key);
+                if (!folded.isEmpty()) {
+                    keys.add(folded);
+                    keyValues.add(index);
+                }
+            }
+            return this;
+        }
+        
+        public PrefixTrie<T> build() {
+            long[] weightArray = new long[weights.size()];
+            for (int i = 0; i < weightArray.length; i++) {
+                weightArray[i] = weights.get(i);
+            }
+            
+            Integer[] order = new Integer[keys.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> keys.get(a).compareTo(keys.get(b)));
+            String[] sortedKeys = new String[order.length];
+            int[] sortedValues = new int[order.length];
+            for (int i = 0; i < order.length; i++) {
+                sortedKeys[i] = keys.get(order[i]);
+                sortedValues[i] = keyValues.get(order[i]);
+            }
+            
+            Node root = sortedKeys.length == 0 ? null
+                    : new NodeBuilder(sortedKeys, sortedValues, weightArray).build(0, sortedKeys.length, 0);
+            return new PrefixTrie<>(root, new ArrayList<>(values), sortedKeys.length);
+        }
+    }
+    
+    // ================================
+    // NODES
+    // ================================
+    
+    private static final class Node {
+        private final char[] label;      // edge label leading into this node (compressed path)
+        private final char[] childChars; // first character of each child's label, sorted
+        private final Node[] children;
+        private final int[] top;         // best value indexes in this subtree, best first
+        
+        private Node(char[] label, char[] childChars, Node[] children, int[] top) {
+            this.label = label;
+            this.childChars = childChars;
+            this.children = children;
+            this.top = top;
+        }
+    }
+    
+    // Builds nodes from keys sorted lexicographically; a node covers a range of keys sharing a prefix
+    private static final class NodeBuilder {
+        
+        private final String[] keys;
+        private final int[] keyValues;
+        private final long[] weights;
+        
+        private NodeBuilder(String[] keys, int[] keyValues, long[] weights) {
+            this.keys = keys;
+            this.keyValues = keyValues;
+            this.weights = weights;
+        }
+        
+        private Node build(int from, int to, int depth) {
+            // Extend the edge while every key in the range continues with the same character;
+            // sorted keys agree on a position when the first and last key do
+            int start = depth;
+            while (keys[from].length() > depth && keys[to - 1].length() > depth
+                    && keys[from].charAt(depth) == keys[to - 1].charAt(depth)) {
+                depth++;
+            }
+            char[] label = keys[from].substring(start, depth).toCharArray();
+            
+            // Keys ending here sort before their extensions
+            int childFrom = from;
+            List<Integer> candidates = new ArrayList<>();
+            while (childFrom < to && keys[childFrom].length() == depth) {
+                candidates.add(keyValues[childFrom]);
+                childFrom++;
+            }
+            
+            List<Node> children = new ArrayList<>();
+            StringBuilder childChars = new StringBuilder();
+            int groupFrom = childFrom;
+            while (groupFrom < to) {
+                char c = keys[groupFrom].charAt(depth);
+                int groupTo = groupFrom + 1;
+                while (groupTo < to && keys[groupTo].charAt(depth) == c) {
+                    groupTo++;
+                }
+                Node child = build(groupFrom, groupTo, depth);
+                children.add(child);
+                childChars.append(c);
+                for (int value : child.top) {
+                    candidates.add(value);
+                }
+                groupFrom = groupTo;
+            }
+            
+            return new Node(label, childChars.toString().toCharArray(), children.toArray(new Node[0]), best(candidates));
+        }
+        
+        // Up to MAX_K distinct values by weight (then insertion order), picked by repeated selection
+        private int[] best(List<Integer> candidates) {
+            int[] top = new int[Math.min(MAX_K, candidates.size())];
+            int count = 0;
+            while (count < top.length) {
+                int pick = -1;
+                for (int value : candidates) {
+                    if (!contains(top, count, value) && (pick < 0 || better(value, pick))) {
+                        pick = value;
+                    }
+                }
+                if (pick < 0) {
+                    break;
+                }
+                top[count++] = pick;
+            }
+            return count == top.length ? top : Arrays.copyOf(top, count);
+        }
+        
+        private boolean better(int a, int b) {
+            return weights[a] != weights[b] ? weights[a] > weights[b] : a < b;
+        }
+        
+        private static boolean contains(int[] values, int count, int value) {
+            for (int i = 0; i < count; i++) {
+                if (values[i] == value) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.erp.course.backend.util;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// An in-memory index that is rebuilt from the database in the background while it keeps serving
+// reads and taking committed changes. A rebuild remembers only which keys changed while it ran;
+// after the swap each of them is re-read from the database into the new index, in passes until
+// none changed during the last one. Re-reading rows rather than replaying the changes means a
+// change the bulk read already saw is never applied twice.
+//
+// Indexes that apply deltas rather than re-reading rows also announce each change before its
+// transaction commits (beginChange); a reload then does not finish while one is still open, since
+// the database may already have shown it to the reload before its delta arrives.
+public final class ReloadableIndex<K, I> {
+    
+    private static final long OPEN_CHANGE_WAIT_MS = 10;
+    
+    private final Supplier<I> loadAll;
+    private final BiConsumer<I, K> reloadKey;
+    
+    private volatile I index;
+    private volatile boolean ready = false;
+    
+    // Keys changed while a reload runs, null otherwise; and changes begun but not yet completed
+    private final Object updateLock = new Object();
+    private Set<K> changedDuringReload;
+    private int openChanges;
+    
+    // empty is served until the first reload; reloadKey re-reads one key into the given index,
+    // removing it when its row is gone
+    public ReloadableIndex(I empty, Supplier<I> loadAll, BiConsumer<I, K> reloadKey) {
+        this.index = empty;
+        this.loadAll = loadAll;
+        this.reloadKey = reloadKey;
+    }
+    
+    public I current() {
+        return index;
+    }
+    
+    // Whether a full load has finished; callers fall back to the database until then
+    public boolean isReady() {
+        return ready;
+    }
+    
+    // A committed change to the key: re-read it from the database
+    public void refresh(K key) {
+        update(key, target -> reloadKey.accept(target, key));
+    }
+    
+    // A committed change to the key that the caller applies to the index itself
+    public void update(K key, Consumer<I> change) {
+        I target;
+        synchronized (updateLock) {
+            if (changedDuringReload != null) {
+                changedDuringReload.add(key);
+            }
+            target = index;
+        }
+        change.accept(target);
+    }
+    
+    // A change to be applied as a delta: call inside its transaction, before the commit, and
+    // follow with exactly one of commitChange or abandonChange once the transaction completes
+    public void beginChange() {
+        synchronized (updateLock) {
+            openChanges++;
+        }
+    }
+    
+    public void commitChange(K key, Consumer<I> change) {
+        I target;
+        synchronized (updateLock) {
+            openChanges--;
+            if (changedDuringReload != null) {
+                changedDuringReload.add(key);
+            }
+            target = index;
+            updateLock.notifyAll();
+        }
+        change.accept(target);
+    }
+    
+    public void abandonChange() {
+        synchronized (updateLock) {
+            openChanges--;
+            updateLock.notifyAll();
+        }
+    }
+    
+    // Builds a new index, swaps it in and returns it; one reload at a time
+    public synchronized I reload() {
+        synchronized (updateLock) {
+            changedDuringReload = new LinkedHashSet<>();
+        }
+        try {
+            I loaded = loadAll.get();
+            Set<K> changed = swap(loaded);
+            while (changed != null) {
+                for (K key : changed) {
+                    reloadKey.accept(loaded, key);
+                }
+                changed = swap(loaded);
+            }
+            ready = true;
+            return loaded;
+        } finally {
+            synchronized (updateLock) {
+                changedDuringReload = null;
+            }
+        }
+    }
+    
+    // Publishes the index and takes the keys changed since the last call, or null once none
+    // changed and no change is open
+    private Set<K> swap(I loaded) {
+        synchronized (updateLock) {
+            index = loaded;
+            if (changedDuringReload.isEmpty() && openChanges > 0) {
+                try {
+                    updateLock.wait(OPEN_CHANGE_WAIT_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return null;
+                }
+            }
+            if (changedDuringReload.isEmpty() && openChanges == 0) {
+                return null;
+            }
+            Set<K> changed = changedDuringReload;
+            changedDuringReload = new LinkedHashSet<>();
+            return changed;
+        }
+    }
+}
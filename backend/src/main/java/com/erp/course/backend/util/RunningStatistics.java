@@ -0,0 +1,95 @@
+package com.erp.course.backend.util;
+
+// One-pass summary statistics for bounded, fixed-precision values such as result percentages.
+// Mean and variance use Welford's update over primitive doubles (stable, no second pass),
+// and percentiles come from a histogram with one bin per representable value, so they are
+// exact without keeping or sorting the values.
+public class RunningStatistics {
+    
+    private final int stepsPerUnit;
+    private final long[] bins;
+    
+    private long count;
+    private double mean;
+    private double m2; // sum of squared deviations from the running mean
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    
+    // Values in [0, upper] with stepsPerUnit representable values per unit (100 for two decimals)
+    public RunningStatistics(int upper, int stepsPerUnit) {
+        if (upper <= 0 || stepsPerUnit <= 0) {
+            throw new IllegalArgumentException("Range and resolution must be positive");
+        }
+        this.stepsPerUnit = stepsPerUnit;
+        this.bins = new long[upper * stepsPerUnit + 1];
+    }
+    
+    public void add(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        
+        // Out-of-range values still count, in the edge bins
+        long bin = Math.round(value * stepsPerUnit);
+        bins[(int) Math.max(0, Math.min(bins.length - 1, bin))]++;
+    }
+    
+    public long count() {
+        return count;
+    }
+    
+    public double mean() {
+        return count > 0 ? mean : 0.0;
+    }
+    
+    // Population variance, as the result statistics have always reported
+    public double variance() {
+        return count > 0 ? m2 / count : 0.0;
+    }
+    
+    public double standardDeviation() {
+        return Math.sqrt(variance());
+    }
+    
+    public double min() {
+        return count > 0 ? min : 0.0;
+    }
+    
+    public double max() {
+        return count > 0 ? max : 0.0;
+    }
+    
+    // p in [0, 100], interpolating linearly between the closest ranks (spreadsheet PERCENTILE.INC)
+    public double percentile(double p) {
+        if (p < 0 || p > 100 || Double.isNaN(p)) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100: " + p);
+        }
+        if (count == 0) {
+            return 0.0;
+        }
+        double rank = p / 100.0 * (count - 1);
+        long lowRank = (long) Math.floor(rank);
+        double low = valueAtRank(lowRank);
+        double fraction = rank - lowRank;
+        return fraction == 0 ? low : low + fraction * (valueAtRank(lowRank + 1) - low);
+    }
+    
+    public double median() {
+        return percentile(50);
+    }
+    
+    // The rank-th smallest value (0-based)
+    private double valueAtRank(long rank) {
+        long seen = 0;
+        for (int i = 0; i < bins.length; i++) {
+            seen += bins[i];
+            if (seen > rank) {
+                return (double) i / stepsPerUnit;
+            }
+        }
+        return max;
+    }
+}
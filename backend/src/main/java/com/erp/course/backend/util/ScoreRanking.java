@@ -0,0 +1,81 @@
+package com.erp.course.backend.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.Map;
+
+// Ranks members by a bounded score, e.g. final grades in a course. Scores are bucketed at a fixed
+// resolution (stepsPerUnit buckets per unit) and counted in a FenwickTree, so placing a member,
+// counting the members above or below it and finding the score at a given rank are all O(log n)
+// in the number of buckets. Members in the same bucket tie. Not thread-safe; callers lock it.
+public class ScoreRanking {
+    
+    private final int stepsPerUnit;
+    private final int scale; // decimals needed to print a bucket floor
+    private final int maxKey;
+    private final FenwickTree tree;
+    private final Map<Long, Integer> keys = new HashMap<>();
+    
+    // Scores in [0, upper]; out-of-range scores count in the edge buckets
+    public ScoreRanking(int upper, int stepsPerUnit) {
+        if (upper <= 0 || stepsPerUnit <= 0) {
+            throw new IllegalArgumentException("Range and resolution must be positive");
+        }
+        this.stepsPerUnit = stepsPerUnit;
+        this.scale = (int) Math.ceil(Math.log10(stepsPerUnit));
+        this.maxKey = upper * stepsPerUnit + 1;
+        this.tree = new FenwickTree(maxKey);
+    }
+    
+    // Place a member at a score, replacing its previous one; a null score removes it
+    public void put(Long member, BigDecimal score) {
+        remove(member);
+        if (score != null) {
+            int key = key(score);
+            tree.add(key, 1);
+            keys.put(member, key);
+        }
+    }
+    
+    public void remove(Long member) {
+        Integer key = keys.remove(member);
+        if (key != null) {
+            tree.add(key, -1);
+        }
+    }
+    
+    public boolean contains(Long member) {
+        return keys.containsKey(member);
+    }
+    
+    public int size() {
+        return keys.size();
+    }
+    
+    // Members with a strictly higher score, or -1 if the member is not ranked
+    public long countAbove(Long member) {
+        Integer key = keys.get(member);
+        return key == null ? -1 : tree.total() - tree.prefixSum(key);
+    }
+    
+    // Members with a strictly lower score, or -1 if the member is not ranked
+    public long countBelow(Long member) {
+        Integer key = keys.get(member);
+        return key == null ? -1 : tree.prefixSum(key - 1);
+    }
+    
+    // Lowest score (bucket floor) held by the member at the given rank, 1 being the best, or null
+    public BigDecimal scoreAtRank(long rank) {
+        if (rank < 1 || rank > keys.size()) {
+            return null;
+        }
+        int key = tree.findByOrder(keys.size() - rank + 1);
+        return BigDecimal.valueOf(key - 1L).divide(BigDecimal.valueOf(stepsPerUnit), scale, RoundingMode.HALF_UP);
+    }
+    
+    private int key(BigDecimal score) {
+        long step = score.multiply(BigDecimal.valueOf(stepsPerUnit)).setScale(0, RoundingMode.FLOOR).longValue();
+        return (int) Math.max(1, Math.min(maxKey, step + 1));
+    }
+}
@@ -0,0 +1,476 @@
+package com.erp.course.backend.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+// In-memory full-text index over a few weighted text fields per document. Words are
+// case- and accent-folded and indexed as whole terms (sorted, so prefixes are a range scan)
+// and as trigrams, so a query word can also match inside a longer word the way
+// LIKE '%word%' did. A word with no such match falls back to terms within one or two edits.
+// Every query word must match; documents are ranked with BM25, exact words scoring above
+// prefix, infix and fuzzy matches. Postings are IntBitmaps, so ids must fit in an int.
+// Thread-safe: searches share a read lock and updates take the write lock.
+public class TextIndex {
+    
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    
+    private static final double EXACT_MATCH = 1.0;
+    private static final double PREFIX_MATCH = 0.7;
+    private static final double INFIX_MATCH = 0.4;
+    private static final double FUZZY_MATCH = 0.3;
+    
+    // Index terms one query word may expand to, so a one-letter prefix stays cheap
+    private static final int MAX_EXPANSIONS = 256;
+    private static final int FUZZY_MIN_LENGTH = 4;
+    
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    
+    private final double[] fieldWeights;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    // Indexed by id; ids are dense auto-increment keys, so an array beats a boxed map here
+    private Document[] documents = new Document[1024];
+    private int documentCount = 0;
+    private final NavigableMap<String, IntBitmap> terms = new TreeMap<>();
+    private final Map<String, IntBitmap> trigrams = new HashMap<>();
+    private double totalLength = 0;
+    
+    public TextIndex(double... fieldWeights) {
+        this.fieldWeights = fieldWeights;
+    }
+    
+    // ================================
+    // UPDATES
+    // ================================
+    
+    // Adds or replaces a document; fields are given in the order of the weights
+    public void put(long id, String... fields) {
+        int key = toKey(id);
+        Map<String, Double> frequencies = new LinkedHashMap<>();
+        double length = 0;
+        for (int f = 0; f < fields.length && f < fieldWeights.length; f++) {
+            List<String> tokens = tokenize(fields[f]);
+            for (String token : tokens) {
+                frequencies.merge(token, fieldWeights[f], Double::sum);
+            }
+            if (tokens.size() == 2 || tokens.size() == 3) {
+                // Short fields such as "CS-101" are also searchable written together ("cs101")
+                frequencies.merge(String.join("", tokens), fieldWeights[f], Double::sum);
+            }
+            length += tokens.size() * fieldWeights[f];
+        }
+        
+        lock.writeLock().lock();
+        try {
+            removeLocked(key);
+            Document document = new Document(frequencies.size(), (float) length);
+            int t = 0;
+            for (Map.Entry<String, Double> entry : frequencies.entrySet()) {
+                String term = entry.getKey();
+                IntBitmap postings = terms.get(term);
+                if (postings == null) {
+                    postings = new IntBitmap();
+                    terms.put(term, postings);
+                } else {
+                    // Share the map's key instance rather than holding a copy per document
+                    term = terms.ceilingKey(term);
+                }
+                postings.add(key);
+                for (String gram : trigramsOf(term)) {
+                    trigrams.computeIfAbsent(gram, g -> new IntBitmap()).add(key);
+                }
+                document.terms[t] = term;
+                document.frequencies[t] = entry.getValue().floatValue();
+                t++;
+            }
+            if (key >= documents.length) {
+                documents = Arrays.copyOf(documents, Math.max(key + 1, documents.length * 2));
+            }
+            documents[key] = document;
+            documentCount++;
+            totalLength += document.length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(toKey(id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // ================================
+    // SEARCH
+    // ================================
+    
+    // Ids of the best matching documents, highest score first (ties by id)
+    public List<Long> search(String query, int limit) {
+        Set<String> queryTerms = new LinkedHashSet<>(tokenize(query));
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+        
+        Hits hits = null;
+        lock.readLock().lock();
+        try {
+            for (String queryTerm : queryTerms) {
+                Hits termHits = scoreTerm(queryTerm);
+                hits = hits == null ? termHits : hits.intersectSum(termHits);
+                if (hits.size == 0) {
+                    break;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return hits.top(limit);
+    }
+    
+    // Lower-cased, accent-free letter/digit runs; everything else separates words
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String folded = (isAscii(text) ? text
+                : COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll(""))
+                .toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean wordChar = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(folded.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+    
+    // ================================
+    // HELPER METHODS
+    // ================================
+    
+    // Best match of one query word per document: exact term, term prefix, term infix or typo
+    private Hits scoreTerm(String queryTerm) {
+        Map<String, Double> matchedTerms = new HashMap<>();
+        for (String term : terms.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, false).keySet()) {
+            if (matchedTerms.size() >= MAX_EXPANSIONS) {
+                break;
+            }
+            matchedTerms.put(term, term.equals(queryTerm) ? EXACT_MATCH : PREFIX_MATCH);
+        }
+        if (queryTerm.length() >= 3 && matchedTerms.size() < MAX_EXPANSIONS) {
+            addInfixMatches(queryTerm, matchedTerms);
+        }
+        if (matchedTerms.isEmpty() && queryTerm.length() >= FUZZY_MIN_LENGTH) {
+            addFuzzyMatches(queryTerm, matchedTerms);
+        }
+        
+        // Scores by key (0 = no match; BM25 scores are always positive), keeping the best
+        // match per document, then compacted in key order
+        double[] best = new double[documents.length];
+        int matchedDocuments = 0;
+        double averageLength = documentCount == 0 ? 1 : Math.max(totalLength / documentCount, 1);
+        for (Map.Entry<String, Double> match : matchedTerms.entrySet()) {
+            int[] keys = terms.get(match.getKey()).toArray();
+            double idf = Math.log(1 + (documentCount - keys.length + 0.5) / (keys.length + 0.5));
+            for (int key : keys) {
+                Document document = documents[key];
+                double tf = document.frequencyOf(match.getKey());
+                double norm = tf * (K1 + 1) / (tf + K1 * (1 - B + B * document.length / averageLength));
+                double score = match.getValue() * idf * norm;
+                if (best[key] == 0) {
+                    matchedDocuments++;
+                }
+                best[key] = Math.max(best[key], score);
+            }
+        }
+        
+        int[] keys = new int[matchedDocuments];
+        double[] scores = new double[matchedDocuments];
+        for (int key = 0, n = 0; n < matchedDocuments; key++) {
+            if (best[key] > 0) {
+                keys[n] = key;
+                scores[n++] = best[key];
+            }
+        }
+        return new Hits(keys, scores, matchedDocuments);
+    }
+    
+    // Terms containing the word, found through documents holding all of its trigrams
+    private void addInfixMatches(String queryTerm, Map<String, Double> matchedTerms) {
+        List<IntBitmap> postings = new ArrayList<>();
+        for (String gram : trigramsOf(queryTerm)) {
+            IntBitmap keys = trigrams.get(gram);
+            if (keys == null) {
+                return;
+            }
+            postings.add(keys);
+        }
+        postings.sort(Comparator.comparingInt(IntBitmap::cardinality));
+        IntBitmap candidates = postings.get(0);
+        for (int i = 1; i < postings.size() && !candidates.isEmpty(); i++) {
+            candidates = candidates.and(postings.get(i));
+        }
+        for (int key : candidates.toArray()) {
+            for (String term : documents[key].terms) {
+                if (!matchedTerms.containsKey(term) && term.contains(queryTerm)) {
+                    matchedTerms.put(term, INFIX_MATCH);
+                    if (matchedTerms.size() >= MAX_EXPANSIONS) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+    
+    // Terms within one edit (two for long words), sharing the first letter to bound the scan
+    private void addFuzzyMatches(String queryTerm, Map<String, Double> matchedTerms) {
+        int maxEdits = queryTerm.length() >= 8 ? 2 : 1;
+        String first = queryTerm.substring(0, 1);
+        for (String term : terms.subMap(first, true, first + Character.MAX_VALUE, false).keySet()) {
+            if (Math.abs(term.length() - queryTerm.length()) > maxEdits) {
+                continue;
+            }
+            int edits = editDistance(queryTerm, term, maxEdits);
+            if (edits <= maxEdits) {
+                matchedTerms.put(term, FUZZY_MATCH / edits);
+                if (matchedTerms.size() >= MAX_EXPANSIONS) {
+                    return;
+                }
+            }
+        }
+    }
+    
+    // Optimal string alignment distance (adjacent swaps count once); maxEdits + 1 when further
+    private static int editDistance(String a, String b, int maxEdits) {
+        int[] previous2 = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    current[j] = Math.min(current[j], previous2[j - 2] + 1);
+                }
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxEdits) {
+                return maxEdits + 1;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()];
+    }
+    
+    private void removeLocked(int key) {
+        Document document = key < documents.length ? documents[key] : null;
+        if (document == null) {
+            return;
+        }
+        documents[key] = null;
+        documentCount--;
+        for (String term : document.terms) {
+            removePosting(terms, term, key);
+            for (String gram : trigramsOf(term)) {
+                removePosting(trigrams, gram, key);
+            }
+        }
+        totalLength -= document.length;
+    }
+    
+    private static void removePosting(Map<String, IntBitmap> index, String term, int key) {
+        IntBitmap keys = index.get(term);
+        if (keys != null) {
+            keys.remove(key);
+            if (keys.isEmpty()) {
+                index.remove(term);
+            }
+        }
+    }
+    
+    private static Set<String> trigramsOf(String term) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= term.length(); i++) {
+            grams.add(term.substring(i, i + 3));
+        }
+        return grams;
+    }
+    
+    // Most names and codes need no accent folding; skip the normalizer for them
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static int toKey(long id) {
+        if (id < 0 || id > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Id out of range for text index: " + id);
+        }
+        return (int) id;
+    }
+    
+    // Scores keyed by document, as parallel arrays sorted by key
+    private static final class Hits {
+        private final int[] keys;
+        private final double[] scores;
+        private final int size;
+        
+        private Hits(int[] keys, double[] scores, int size) {
+            this.keys = keys;
+            this.scores = scores;
+            this.size = size;
+        }
+        
+        // Documents in both, adding the scores (every query word must match)
+        private Hits intersectSum(Hits other) {
+            int[] sharedKeys = new int[Math.min(size, other.size)];
+            double[] sharedScores = new double[sharedKeys.length];
+            int i = 0;
+            int j = 0;
+            int n = 0;
+            while (i < size && j < other.size) {
+                if (keys[i] < other.keys[j]) {
+                    i++;
+                } else if (keys[i] > other.keys[j]) {
+                    j++;
+                } else {
+                    sharedKeys[n] = keys[i];
+                    sharedScores[n++] = scores[i++] + other.scores[j++];
+                }
+            }
+            return new Hits(sharedKeys, sharedScores, n);
+        }
+        
+        // Best ids first, ties by id; a bounded min-heap keeps this O(n log limit)
+        private List<Long> top(int limit) {
+            int count = Math.min(limit, size);
+            int[] heap = new int[count];
+            int heapSize = 0;
+            for (int i = 0; i < size; i++) {
+                if (heapSize < count) {
+                    heap[heapSize] = i;
+                    siftUp(heap, heapSize++);
+                } else if (better(i, heap[0])) {
+                    heap[0] = i;
+                    siftDown(heap, heapSize);
+                }
+            }
+            List<Long> ids = new ArrayList<>(count);
+            for (int n = heapSize; n > 0; n--) {
+                ids.add((long) keys[heap[0]]);
+                heap[0] = heap[n - 1];
+                siftDown(heap, n - 1);
+            }
+            Collections.reverse(ids);
+            return ids;
+        }
+        
+        private boolean better(int a, int b) {
+            return scores[a] > scores[b] || (scores[a] == scores[b] && keys[a] < keys[b]);
+        }
+        
+        private void siftUp(int[] heap, int index) {
+            while (index > 0) {
+                int parent = (index - 1) / 2;
+                if (!better(heap[parent], heap[index])) {
+                    return;
+                }
+                swap(heap, parent, index);
+                index = parent;
+            }
+        }
+        
+        private void siftDown(int[] heap, int heapSize) {
+            int index = 0;
+            while (true) {
+                int worst = index;
+                int left = 2 * index + 1;
+                int right = left + 1;
+                if (left < heapSize && better(heap[worst], heap[left])) {
+                    worst = left;
+                }
+                if (right < heapSize && better(heap[worst], heap[right])) {
+                    worst = right;
+                }
+                if (worst == index) {
+                    return;
+                }
+                swap(heap, index, worst);
+                index = worst;
+            }
+        }
+        
+        private static void swap(int[] heap, int a, int b) {
+            int t = heap[a];
+            heap[a] = heap[b];
+            heap[b] = t;
+        }
+    }
+    
+    // Terms and weighted frequencies as parallel arrays; documents hold only a handful of terms
+    private static final class Document {
+        private final String[] terms;
+        private final float[] frequencies;
+        private final float length;
+        
+        private Document(int termCount, float length) {
+            this.terms = new String[termCount];
+            this.frequencies = new float[termCount];
+            this.length = length;
+        }
+        
+        private double frequencyOf(String term) {
+            for (int i = 0; i < terms.length; i++) {
+                if (terms[i].equals(term)) {
+                    return frequencies[i];
+                }
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.erp.course.backend.util;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Parses free-text course schedules ("MWF 10:00-11:00", "TTh 2:00 PM-3:30 PM",
+// "Mon/Wed 09:00-10:30; Fri 13:00-14:00") into a weekly bitset of 5-minute slots:
+// 7 days x 288 slots packed into 32 longs, so an overlap test is 32 ANDs.
+public final class WeeklySchedule {
+    
+    public static final int SLOT_MINUTES = 5;
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    public static final int WORDS = (7 * SLOTS_PER_DAY + 63) / 64;
+    
+    // Longest tokens first so "th" wins over "t" and "thursday" over "thu"
+    private static final String[] DAY_TOKENS = {
+        "monday", "tuesday", "wednesday", "thursday", "friday", "saturday", "sunday",
+        "thurs", "tues", "thur", "mon", "tue", "wed", "thu", "fri", "sat", "sun",
+        "th", "tu", "sa", "su", "m", "t", "w", "r", "f", "s", "u"
+    };
+    private static final int[] DAY_INDEX = {
+        0, 1, 2, 3, 4, 5, 6,
+        3, 1, 3, 0, 1, 2, 3, 4, 5, 6,
+        3, 1, 5, 6, 0, 1, 2, 3, 4, 5, 6
+    };
+    
+    private static final Pattern SEGMENT = Pattern.compile(
+            "([A-Za-z][A-Za-z/&,.\\s]*?)\\s*" +
+            "(\\d{1,2})(?:[:.](\\d{2}))?\\s*([AaPp][Mm])?\\s*(?:-|–|to)\\s*" +
+            "(\\d{1,2})(?:[:.](\\d{2}))?\\s*([AaPp][Mm])?");
+    
+    private WeeklySchedule() {}
+    
+    // Returns null when nothing in the text could be understood
+    public static long[] parse(String schedule) {
+        if (schedule == null || schedule.isBlank()) {
+            return null;
+        }
+        
+        long[] mask = new long[WORDS];
+        boolean any = false;
+        Matcher matcher = SEGMENT.matcher(schedule);
+        while (matcher.find()) {
+            int days = parseDays(matcher.group(1));
+            String endMeridiem = matcher.group(7);
+            String startMeridiem = matcher.group(4) != null ? matcher.group(4) : endMeridiem;
+            int start = toMinutes(matcher.group(2), matcher.group(3), startMeridiem);
+            int end = toMinutes(matcher.group(5), matcher.group(6), endMeridiem);
+            if (matcher.group(4) == null && endMeridiem != null && start > end) {
+                // "11-1pm": the start is in the morning
+                start = toMinutes(matcher.group(2), matcher.group(3), "am");
+            }
+            if (days == 0 || start < 0 || end < 0 || end <= start) {
+                continue;
+            }
+            
+            int firstSlot = start / SLOT_MINUTES;
+            int lastSlot = (end + SLOT_MINUTES - 1) / SLOT_MINUTES;
+            for (int day = 0; day < 7; day++) {
+                if ((days & (1 << day)) != 0) {
+                    setRange(mask, day * SLOTS_PER_DAY + firstSlot, day * SLOTS_PER_DAY + lastSlot);
+                    any = true;
+                }
+            }
+        }
+        return any ? mask : null;
+    }
+    
+    public static boolean overlaps(long[] a, long[] b) {
+        if (a == null || b == null) {
+            return false;
+        }
+        for (int i = 0; i < WORDS; i++) {
+            if ((a[i] & b[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    public static void orInto(long[] target, long[] source) {
+        if (source == null) {
+            return;
+        }
+        for (int i = 0; i < WORDS; i++) {
+            target[i] |= source[i];
+        }
+    }
+    
+    // ================================
+    // STORAGE ENCODING
+    // ================================
+    
+    public static byte[] encode(String schedule) {
+        return toBytes(parse(schedule));
+    }
+    
+    public static byte[] toBytes(long[] mask) {
+        if (mask == null) {
+            return null;
+        }
+        byte[] bytes = new byte[WORDS * 8];
+        for (int i = 0; i < WORDS; i++) {
+            for (int b = 0; b < 8; b++) {
+                bytes[i * 8 + b] = (byte) (mask[i] >>> (b * 8));
+            }
+        }
+        return bytes;
+    }
+    
+    public static long[] fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length != WORDS * 8) {
+            return null;
+        }
+        long[] mask = new long[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            long word = 0;
+            for (int b = 0; b < 8; b++) {
+                word |= (bytes[i * 8 + b] & 0xFFL) << (b * 8);
+            }
+            mask[i] = word;
+        }
+        return mask;
+    }
+    
+    // Stored mask when present, otherwise parsed from the text (rows saved before the column existed)
+    public static long[] resolve(byte[] storedMask, String schedule) {
+        long[] mask = fromBytes(storedMask);
+        return mask != null ? mask : parse(schedule);
+    }
+    
+    // ================================
+    // HELPER METHODS
+    // ================================
+    
+    private static int parseDays(String text) {
+        String days = text.toLowerCase();
+        int result = 0;
+        int i = 0;
+        while (i < days.length()) {
+            char c = days.charAt(i);
+            if (!Character.isLetter(c)) {
+                i++;
+                continue;
+            }
+            boolean matched = false;
+            for (int t = 0; t < DAY_TOKENS.length; t++) {
+                if (days.startsWith(DAY_TOKENS[t], i)) {
+                    result |= 1 << DAY_INDEX[t];
+                    i += DAY_TOKENS[t].length();
+                    matched = true;
+                    break;
+                }
+            }
+            if (!matched) {
+                // Not a day list (e.g. a room name); skip the word
+                while (i < days.length() && Character.isLetter(days.charAt(i))) {
+                    i++;
+                }
+                result = 0;
+            }
+        }
+        return result;
+    }
+    
+    private static int toMinutes(String hourText, String minuteText, String meridiem) {
+        int hour = Integer.parseInt(hourText);
+        int minute = minuteText != null ? Integer.parseInt(minuteText) : 0;
+        if (minute > 59) {
+            return -1;
+        }
+        if (meridiem != null) {
+            if (hour < 1 || hour > 12) {
+                return -1;
+            }
+            boolean pm = Character.toLowerCase(meridiem.charAt(0)) == 'p';
+            hour = hour % 12 + (pm ? 12 : 0);
+        } else if (hour > 24 || (hour == 24 && minute > 0)) {
+            return -1;
+        }
+        return hour * 60 + minute;
+    }
+    
+    private static void setRange(long[] mask, int from, int to) {
+        for (int slot = from; slot < to; slot++) {
+            mask[slot >>> 6] |= 1L << slot;
+        }
+    }
+}
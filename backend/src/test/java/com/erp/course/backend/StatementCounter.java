@@ -0,0 +1,22 @@
+package com.erp.course.backend;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+// Counts the JDBC statements Hibernate prepares while some work runs, queries and lazy loads
+// alike. Relies on hibernate.generate_statistics, which the test profile turns on.
+public final class StatementCounter {
+    
+    private final Statistics statistics;
+    
+    public StatementCounter(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+    
+    public long count(Runnable work) {
+        statistics.clear();
+        work.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,32 @@
+package com.erp.course.backend;
+
+import com.erp.course.backend.entity.Course;
+import com.erp.course.backend.entity.Instructor;
+import com.erp.course.backend.entity.Student;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Valid, unsaved entities for repository tests and benchmarks; n keeps the unique columns apart
+public final class TestEntities {
+    
+    private TestEntities() {}
+    
+    public static Instructor instructor(int n) {
+        return new Instructor(String.format("EMP%05d", n), "Instructor", "Number" + n,
+                "instructor" + n + "@test.edu", null, "Computer Science", null, null,
+                LocalDate.of(2015, 1, 1), BigDecimal.valueOf(50000), null);
+    }
+    
+    public static Student student(int n) {
+        return new Student(String.format("STU%06d", n), "Student", "Number" + n,
+                "student" + n + "@test.edu", null, LocalDate.of(2004, 1, 1), "Other",
+                "Computer Science", 1, LocalDate.of(2023, 9, 1), null);
+    }
+    
+    public static Course course(String courseCode, Instructor instructor, int maxCapacity) {
+        return new Course(courseCode, "Course " + courseCode, null, 3, "Computer Science", 1,
+                LocalDate.of(2025, 9, 1), LocalDate.of(2025, 12, 20), "MWF 10:00-11:00", "Room 1",
+                maxCapacity, instructor);
+    }
+}
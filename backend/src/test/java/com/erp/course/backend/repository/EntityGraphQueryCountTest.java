@@ -0,0 +1,130 @@
+package com.erp.course.backend.repository;
+
+import com.erp.course.backend.StatementCounter;
+import com.erp.course.backend.TestEntities;
+import com.erp.course.backend.dto.ResultResponse;
+import com.erp.course.backend.entity.Course;
+import com.erp.course.backend.entity.CourseContent;
+import com.erp.course.backend.entity.CourseContent.ContentType;
+import com.erp.course.backend.entity.Instructor;
+import com.erp.course.backend.entity.Result;
+import com.erp.course.backend.entity.Result.ResultType;
+import com.erp.course.backend.entity.Student;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Result and course content lists load their student, course, instructor and author through the
+// entity graphs, so converting a list for the response is one SELECT, not one per row and association
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class EntityGraphQueryCountTest {
+    
+    @Autowired
+    private ResultRepository resultRepository;
+    
+    @Autowired
+    private CourseContentRepository courseContentRepository;
+    
+    @Autowired
+    private TestEntityManager entityManager;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    private StatementCounter statements;
+    private Long courseId;
+    private Long studentId;
+    private Long instructorId;
+    
+    @BeforeEach
+    void setUp() {
+        statements = new StatementCounter(entityManagerFactory);
+        
+        Instructor instructor = entityManager.persist(TestEntities.instructor(1));
+        Instructor coInstructor = entityManager.persist(TestEntities.instructor(2));
+        Course course = entityManager.persist(TestEntities.course("CS101", instructor, 50));
+        List<Student> students = new ArrayList<>();
+        for (int n = 1; n <= 8; n++) {
+            students.add(entityManager.persist(TestEntities.student(n)));
+        }
+        
+        // Results graded by two instructors, so rows reference distinct students and instructors
+        for (int n = 0; n < students.size(); n++) {
+            Instructor grader = n % 2 == 0 ? instructor : coInstructor;
+            entityManager.persist(new Result(BigDecimal.valueOf(60 + n), ResultType.QUIZ, "Quiz 1", null,
+                    students.get(n), course, grader));
+            Result midterm = new Result(BigDecimal.valueOf(70 + n), ResultType.MIDTERM, "Midterm", null,
+                    students.get(n), course, grader);
+            midterm.release();
+            entityManager.persist(midterm);
+        }
+        for (int n = 0; n < 6; n++) {
+            CourseContent content = new CourseContent("Week " + n, null, ContentType.LECTURE_NOTES, "Notes",
+                    course, n % 2 == 0 ? instructor : coInstructor);
+            content.setSortOrder(n);
+            content.setIsPublished(true);
+            entityManager.persist(content);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        
+        courseId = course.getId();
+        studentId = students.get(3).getId();
+        instructorId = coInstructor.getId();
+    }
+    
+    @Test
+    void resultListsAreOneSelect() {
+        assertSingleSelect(16, () -> toResponses(resultRepository.findByCourseIdAndIsActiveTrue(courseId)));
+        assertSingleSelect(2, () -> toResponses(resultRepository.findByStudentIdAndIsActiveTrue(studentId)));
+        assertSingleSelect(8, () -> toResponses(resultRepository.findByInstructorIdAndIsActiveTrue(instructorId)));
+        assertSingleSelect(8, () -> toResponses(resultRepository.findByCourseIdAndIsReleasedTrueAndIsActiveTrue(courseId)));
+        assertSingleSelect(8, () -> toResponses(resultRepository.findByCourseIdAndIsReleasedFalseAndIsActiveTrue(courseId)));
+        assertSingleSelect(16, () -> toResponses(resultRepository.getLatestResultsForCourse(courseId)));
+        assertSingleSelect(1, () -> toResponses(resultRepository.getLatestResultsForStudent(studentId)));
+    }
+    
+    @Test
+    void courseContentListsAreOneSelect() {
+        assertSingleSelect(6, () -> touchAll(courseContentRepository.findByCourse_IdAndIsActiveTrue(courseId)));
+        assertSingleSelect(6, () -> touchAll(courseContentRepository
+                .findByCourse_IdAndIsActiveTrueAndIsPublishedTrueOrderBySortOrderAsc(courseId)));
+        assertSingleSelect(3, () -> touchAll(courseContentRepository.findByCreatedByIdAndIsActiveTrue(instructorId)));
+    }
+    
+    private void assertSingleSelect(int expectedRows, Supplier<List<?>> listCall) {
+        List<List<?>> result = new ArrayList<>();
+        long count = statements.count(() -> result.add(listCall.get()));
+        assertEquals(expectedRows, result.get(0).size());
+        assertEquals(1, count, "statements for one list call");
+        entityManager.clear();
+    }
+    
+    private static List<ResultResponse> toResponses(List<Result> results) {
+        return results.stream().map(ResultResponse::new).collect(Collectors.toList());
+    }
+    
+    // Reads what CourseContentService puts into each response
+    private static List<CourseContent> touchAll(List<CourseContent> contents) {
+        for (CourseContent content : contents) {
+            content.getCourse().getCourseCode();
+            content.getCreatedBy().getFullName();
+        }
+        return contents;
+    }
+}
@@ -0,0 +1,128 @@
+package com.erp.course.backend.security;
+
+import com.erp.course.backend.service.InMemoryIdempotencyStore;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Retries racing the original request: whatever the interleaving, the handler runs once per
+// key, concurrent duplicates are refused while it runs, and later retries get its response back.
+class IdempotencyKeyFilterTest {
+    
+    private static final String URI = "/api/student/courses/1/enroll";
+    private static final String RESPONSE = "{\"status\":\"ENROLLED\"}";
+    private static final int CLIENTS = 8;
+    
+    private final InMemoryIdempotencyStore store = new InMemoryIdempotencyStore();
+    private final IdempotencyKeyFilter filter = new IdempotencyKeyFilter(store);
+    private final AtomicInteger handled = new AtomicInteger();
+    
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(store, "ttlMs", 60000L);
+        ReflectionTestUtils.setField(store, "lockTimeoutMs", 60000L);
+        ReflectionTestUtils.setField(store, "maxEntries", 100);
+    }
+    
+    @Test
+    void concurrentDuplicatesRunTheHandlerOnce() throws Exception {
+        // The handler holds the claim until every duplicate has been answered
+        CountDownLatch duplicatesAnswered = new CountDownLatch(CLIENTS - 1);
+        FilterChain chain = (request, response) -> {
+            handled.incrementAndGet();
+            try {
+                duplicatesAnswered.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write(RESPONSE);
+        };
+        
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<MockHttpServletResponse>> responses = new ArrayList<>();
+        try {
+            for (int i = 0; i < CLIENTS; i++) {
+                responses.add(clients.submit(() -> {
+                    start.await();
+                    MockHttpServletResponse response = send("key-1", "{}", chain);
+                    duplicatesAnswered.countDown();
+                    return response;
+                }));
+            }
+            start.countDown();
+            
+            int completed = 0;
+            int refused = 0;
+            for (Future<MockHttpServletResponse> future : responses) {
+                MockHttpServletResponse response = future.get(20, TimeUnit.SECONDS);
+                if (response.getStatus() == 200) {
+                    completed++;
+                    assertEquals(RESPONSE, response.getContentAsString());
+                    assertNull(response.getHeader(IdempotencyKeyFilter.REPLAYED_HEADER));
+                } else {
+                    refused++;
+                    assertEquals(409, response.getStatus());
+                }
+            }
+            assertEquals(1, completed);
+            assertEquals(CLIENTS - 1, refused);
+        } finally {
+            clients.shutdownNow();
+        }
+        
+        MockHttpServletResponse retry = send("key-1", "{}", chain);
+        assertEquals(200, retry.getStatus());
+        assertEquals("true", retry.getHeader(IdempotencyKeyFilter.REPLAYED_HEADER));
+        assertEquals(RESPONSE, retry.getContentAsString());
+        assertEquals(1, handled.get());
+    }
+    
+    @Test
+    void failedRequestReleasesTheKeyAndOtherBodiesAreRefused() throws Exception {
+        FilterChain failing = (request, response) -> {
+            handled.incrementAndGet();
+            throw new IllegalStateException("database unavailable");
+        };
+        assertThrows(IllegalStateException.class, () -> send("key-2", "{}", failing));
+        
+        FilterChain succeeding = (request, response) -> {
+            handled.incrementAndGet();
+            response.getWriter().write(RESPONSE);
+        };
+        assertEquals(200, send("key-2", "{}", succeeding).getStatus());
+        assertEquals(2, handled.get());
+        
+        assertEquals(422, send("key-2", "{\"other\":true}", succeeding).getStatus());
+        assertEquals(2, handled.get());
+    }
+    
+    private MockHttpServletResponse send(String key, String body, FilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", URI);
+        request.addHeader(IdempotencyKeyFilter.HEADER, key);
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
@@ -0,0 +1,106 @@
+package com.erp.course.backend.service;
+
+import com.erp.course.backend.TestEntities;
+import com.erp.course.backend.dto.BulkEnrollmentSummary;
+import com.erp.course.backend.entity.Course;
+import com.erp.course.backend.entity.Instructor;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Integration benchmark for bulk roster enrollment, POST /api/admin/courses/{courseId}/enroll
+// (./gradlew benchmark). Enrolls cohorts of doubling size through EnrollmentService.bulkEnroll
+// against H2 and reports the cost per student, which stays flat when the path is linear: one
+// course lock, one membership query and batched join-table inserts, whatever the cohort size.
+// The in-memory enrollment index and the timetable check are mocked out; they are not part of
+// the insert path.
+@Tag("benchmark")
+// Bean validation off so courses can hold cohorts past the entity's @Max(500) capacity
+@DataJpaTest(properties = "spring.jpa.properties.jakarta.persistence.validation.mode=none")
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(EnrollmentService.class)
+class BulkEnrollmentBenchmark {
+    
+    private static final int[] COHORT_SIZES = {500, 1000, 2000, 4000, 8000};
+    private static final int ROUNDS = 3;
+    
+    @Autowired
+    private EnrollmentService enrollmentService;
+    
+    @Autowired
+    private TestEntityManager entityManager;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @MockitoBean
+    private EnrollmentIndexService enrollmentIndexService;
+    
+    @MockitoBean
+    private ScheduleConflictService scheduleConflictService;
+    
+    @Test
+    void bulkEnrollmentScalesLinearly() {
+        Instructor instructor = entityManager.persist(TestEntities.instructor(1));
+        List<Long> studentIds = new ArrayList<>();
+        int largest = COHORT_SIZES[COHORT_SIZES.length - 1];
+        for (int n = 1; n <= largest; n++) {
+            studentIds.add(entityManager.persist(TestEntities.student(n)).getId());
+            if (n % 500 == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        
+        // Warm up the JIT and the statement caches before measuring
+        enroll(instructor, "WARMUP", studentIds.subList(0, COHORT_SIZES[0]));
+        
+        double[] nanosPerStudent = new double[COHORT_SIZES.length];
+        System.out.printf("%10s %12s %16s%n", "students", "best ms", "us per student");
+        for (int i = 0; i < COHORT_SIZES.length; i++) {
+            int size = COHORT_SIZES[i];
+            long best = Long.MAX_VALUE;
+            for (int round = 0; round < ROUNDS; round++) {
+                best = Math.min(best, enroll(instructor, "B" + size + "R" + round, studentIds.subList(0, size)));
+            }
+            nanosPerStudent[i] = (double) best / size;
+            System.out.printf("%10d %12.1f %16.2f%n", size, best / 1e6, nanosPerStudent[i] / 1e3);
+        }
+        
+        // Linear means a flat cost per student; allow generous noise rather than a quadratic 16x
+        assertTrue(nanosPerStudent[COHORT_SIZES.length - 1] < 3 * nanosPerStudent[0],
+                "Cost per student grew from " + nanosPerStudent[0] + " ns to "
+                        + nanosPerStudent[COHORT_SIZES.length - 1] + " ns");
+    }
+    
+    // Enrolls the cohort into a fresh course with room for everyone; returns the elapsed nanos
+    private long enroll(Instructor instructor, String courseCode, List<Long> cohort) {
+        Course course = entityManager.persist(TestEntities.course(courseCode, instructor, 500));
+        entityManager.flush();
+        jdbcTemplate.update("UPDATE courses SET max_capacity = ? WHERE id = ?", cohort.size(), course.getId());
+        entityManager.clear();
+        
+        long start = System.nanoTime();
+        BulkEnrollmentSummary summary = enrollmentService.bulkEnroll(course.getId(), cohort);
+        entityManager.flush();
+        long elapsed = System.nanoTime() - start;
+        
+        assertEquals(cohort.size(), summary.getEnrolled());
+        entityManager.clear();
+        return elapsed;
+    }
+}
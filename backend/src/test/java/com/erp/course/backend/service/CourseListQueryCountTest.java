@@ -0,0 +1,120 @@
+package com.erp.course.backend.service;
+
+import com.erp.course.backend.StatementCounter;
+import com.erp.course.backend.TestEntities;
+import com.erp.course.backend.dto.CourseSummary;
+import com.erp.course.backend.entity.Course;
+import com.erp.course.backend.entity.Instructor;
+import com.erp.course.backend.entity.Student;
+import com.erp.course.backend.repository.CourseRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Every course list endpoint is served by one SELECT through the CourseSummary projection,
+// however many courses and enrolled students there are (no roster or instructor lazy loads)
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(CourseService.class)
+class CourseListQueryCountTest {
+    
+    @Autowired
+    private CourseService courseService;
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    @Autowired
+    private TestEntityManager entityManager;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @MockitoBean
+    private EnrollmentService enrollmentService;
+    
+    @MockitoBean
+    private WaitlistService waitlistService;
+    
+    @MockitoBean
+    private CourseCatalogCache courseCatalogCache;
+    
+    @MockitoBean
+    private CourseSearchService courseSearchService;
+    
+    @MockitoBean
+    private GpaService gpaService;
+    
+    private StatementCounter statements;
+    private Long instructorId;
+    private Long studentId;
+    
+    @BeforeEach
+    void setUp() {
+        statements = new StatementCounter(entityManagerFactory);
+        
+        List<Instructor> instructors = new ArrayList<>();
+        for (int n = 1; n <= 3; n++) {
+            instructors.add(entityManager.persist(TestEntities.instructor(n)));
+        }
+        List<Student> students = new ArrayList<>();
+        for (int n = 1; n <= 20; n++) {
+            students.add(entityManager.persist(TestEntities.student(n)));
+        }
+        for (int c = 0; c < 6; c++) {
+            Course course = TestEntities.course("CS" + (101 + c), instructors.get(c % instructors.size()), 50);
+            // Rosters of different sizes: every course would cost its own lazy load per student
+            for (int s = c; s < students.size(); s += 2) {
+                course.getEnrolledStudents().add(students.get(s));
+            }
+            course.setCurrentEnrollment(course.getEnrolledStudents().size());
+            entityManager.persist(course);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        
+        instructorId = instructors.get(0).getId();
+        studentId = students.get(4).getId();
+    }
+    
+    @Test
+    void everyCourseListIsOneSelect() {
+        assertSingleSelect(6, courseService::getAllCourses);
+        assertSingleSelect(6, courseService::getAllActiveCourses);
+        assertSingleSelect(6, () -> courseService.getCoursesByDepartment("Computer Science"));
+        assertSingleSelect(6, () -> courseService.getCoursesBySemester(1));
+        assertSingleSelect(2, () -> courseService.getCoursesByInstructor(instructorId));
+        assertSingleSelect(2, () -> courseService.getActiveCoursesByInstructor(instructorId));
+        assertSingleSelect(3, () -> courseService.getCoursesForStudent(studentId));
+        assertSingleSelect(3, () -> courseService.getAvailableCoursesForStudent(studentId));
+        // Loaders behind the catalog cache (the cache itself is mocked out here)
+        assertSingleSelect(6, courseRepository::findSummariesWithAvailableSpots);
+        assertSingleSelect(6, courseRepository::findSummariesWithOpenEnrollment);
+    }
+    
+    private void assertSingleSelect(int expectedCourses, Supplier<List<CourseSummary>> listCall) {
+        List<List<CourseSummary>> result = new ArrayList<>();
+        long count = statements.count(() -> {
+            List<CourseSummary> courses = listCall.get();
+            // Touch what the JSON view serializes, instructor included
+            courses.forEach(course -> course.getInstructorId());
+            result.add(courses);
+        });
+        assertEquals(expectedCourses, result.get(0).size());
+        assertEquals(1, count, "statements for one course list call");
+    }
+}
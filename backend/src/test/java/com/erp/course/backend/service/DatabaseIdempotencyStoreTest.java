@@ -0,0 +1,90 @@
+package com.erp.course.backend.service;
+
+import com.erp.course.backend.entity.IdempotencyRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Claims racing on the shared idempotency_keys table, as they do across instances: the unique
+// key lets exactly one request own the key, and the rest see its claim. Runs outside a test
+// transaction so every claim commits on its own.
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = "app.idempotency.store=database")
+@Import(DatabaseIdempotencyStore.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DatabaseIdempotencyStoreTest {
+    
+    private static final String KEY = "store-test:key-1";
+    private static final int CLIENTS = 8;
+    
+    @Autowired
+    private DatabaseIdempotencyStore store;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE idempotency_key LIKE 'store-test:%'");
+    }
+    
+    @Test
+    void exactlyOneConcurrentClaimWins() throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Optional<IdempotencyRecord>>> claims = new ArrayList<>();
+        try {
+            for (int i = 0; i < CLIENTS; i++) {
+                claims.add(clients.submit(() -> {
+                    start.await();
+                    return store.claim(KEY, "hash");
+                }));
+            }
+            start.countDown();
+            
+            int owners = 0;
+            for (Future<Optional<IdempotencyRecord>> claim : claims) {
+                Optional<IdempotencyRecord> existing = claim.get();
+                if (existing.isEmpty()) {
+                    owners++;
+                } else {
+                    assertFalse(existing.get().isCompleted());
+                    assertEquals("hash", existing.get().getRequestHash());
+                }
+            }
+            assertEquals(1, owners);
+        } finally {
+            clients.shutdownNow();
+        }
+        
+        store.complete(KEY, 200, "application/json", "{}".getBytes());
+        Optional<IdempotencyRecord> replay = store.claim(KEY, "hash");
+        assertTrue(replay.isPresent() && replay.get().isCompleted());
+        assertEquals(200, replay.get().getResponseStatus());
+        
+        store.release(KEY);
+        assertTrue(store.claim(KEY, "hash").isEmpty());
+    }
+}
@@ -0,0 +1,149 @@
+package com.erp.course.backend.service;
+
+import com.erp.course.backend.dto.EnrollmentResult;
+import com.erp.course.backend.dto.EnrollmentTicket;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Admission queue under a registration rush: many request threads submit at once while the
+// drainer allocates seats, and every ticket must come back with its own student's result.
+class EnrollmentQueueServiceTest {
+    
+    private static final Long COURSE_ID = 1L;
+    private static final int BATCH_SIZE = 20;
+    private static final int MAX_PENDING = 1000;
+    
+    private final WaitlistService waitlistService = mock(WaitlistService.class);
+    private final EnrollmentQueueService queueService = new EnrollmentQueueService();
+    
+    // Batches seen by the waitlist service, and how many ran at the same time
+    private final ConcurrentLinkedQueue<Integer> batchSizes = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger overlapping = new AtomicInteger();
+    
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(queueService, "waitlistService", waitlistService);
+        ReflectionTestUtils.setField(queueService, "batchSize", BATCH_SIZE);
+        ReflectionTestUtils.setField(queueService, "maxPendingPerCourse", MAX_PENDING);
+        ReflectionTestUtils.setField(queueService, "drainIntervalMs", 5L);
+        ReflectionTestUtils.setField(queueService, "awaitMs", 5000L);
+        ReflectionTestUtils.setField(queueService, "ticketTtlMs", 600000L);
+        
+        when(waitlistService.enrollOrWaitlist(eq(COURSE_ID), anyList())).thenAnswer(invocation -> {
+            if (running.incrementAndGet() > 1) {
+                overlapping.incrementAndGet();
+            }
+            try {
+                List<Long> studentIds = invocation.getArgument(1);
+                batchSizes.add(studentIds.size());
+                List<EnrollmentResult> results = new ArrayList<>(studentIds.size());
+                for (Long studentId : studentIds) {
+                    results.add(new EnrollmentResult(COURSE_ID, studentId, "ENROLLED", null, "student " + studentId));
+                }
+                return results;
+            } finally {
+                running.decrementAndGet();
+            }
+        });
+    }
+    
+    @AfterEach
+    void tearDown() {
+        if (ReflectionTestUtils.getField(queueService, "drainer") != null) {
+            queueService.stop();
+        }
+    }
+    
+    @Test
+    void concurrentSubmissionsAreEachAnsweredWithTheirOwnResult() throws Exception {
+        int students = 500;
+        ExecutorService submitters = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<CompletableFuture<EnrollmentTicket>>> submissions = new ArrayList<>();
+        queueService.start();
+        try {
+            for (long studentId = 1; studentId <= students; studentId++) {
+                Long id = studentId;
+                submissions.add(submitters.submit(() -> {
+                    start.await();
+                    return queueService.submitAsync(COURSE_ID, id);
+                }));
+            }
+            start.countDown();
+            
+            for (Future<CompletableFuture<EnrollmentTicket>> submission : submissions) {
+                EnrollmentTicket ticket = submission.get().get(10, TimeUnit.SECONDS);
+                assertTrue(ticket.isEnrolled(), "Ticket " + ticket.getTicketId() + " is " + ticket.getStatus());
+                assertEquals("student " + ticket.getStudentId(), ticket.getMessage());
+            }
+        } finally {
+            submitters.shutdownNow();
+        }
+        
+        assertEquals(students, batchSizes.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(batchSizes.stream().allMatch(size -> size <= BATCH_SIZE), "Batch larger than " + BATCH_SIZE);
+        assertEquals(0, overlapping.get(), "Batches for one course ran concurrently");
+        assertEquals(0, queueService.getPendingCount(COURSE_ID));
+    }
+    
+    @Test
+    void submissionsPastTheLimitAreRejectedWithoutLeakingPendingSlots() throws Exception {
+        // Not started, so nothing drains while the queue fills
+        ExecutorService submitters = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> submissions = new ArrayList<>();
+        try {
+            for (long studentId = 1; studentId <= MAX_PENDING + 200; studentId++) {
+                Long id = studentId;
+                submissions.add(submitters.submit(() -> {
+                    start.await();
+                    try {
+                        queueService.submit(COURSE_ID, id);
+                        accepted.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> submission : submissions) {
+                submission.get();
+            }
+        } finally {
+            submitters.shutdownNow();
+        }
+        
+        assertEquals(MAX_PENDING, accepted.get());
+        assertEquals(200, rejected.get());
+        assertEquals(MAX_PENDING, queueService.getPendingCount(COURSE_ID));
+        assertThrows(RuntimeException.class, () -> queueService.submit(COURSE_ID, 0L));
+        
+        queueService.drainAll();
+        assertEquals(0, queueService.getPendingCount(COURSE_ID));
+    }
+}
@@ -0,0 +1,111 @@
+package com.erp.course.backend.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Integration benchmark for the student export, GET /api/admin/export/students (./gradlew benchmark).
+// Grows the table to a million synthetic rows, exporting it as NDJSON at each doubling, and reports
+// the cost per row. Keyset chunks cost the same wherever they start, so the cost per row stays flat;
+// an OFFSET-paged export would grow with the table. Runs outside a test transaction so every chunk
+// reads in its own transaction, as it does behind the endpoint.
+@Tag("benchmark")
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import(ExportService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ExportBenchmark {
+    
+    private static final int[] TABLE_SIZES = {125_000, 250_000, 500_000, 1_000_000};
+    
+    @Autowired
+    private ExportService exportService;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM students WHERE student_id LIKE 'EXP%'");
+    }
+    
+    @Test
+    void exportCostPerRowStaysFlat() throws IOException {
+        double[] nanosPerRow = new double[TABLE_SIZES.length];
+        int inserted = 0;
+        System.out.printf("%10s %12s %14s %12s%n", "rows", "ms", "ns per row", "MB written");
+        for (int i = 0; i < TABLE_SIZES.length; i++) {
+            insertStudents(inserted + 1, TABLE_SIZES[i]);
+            inserted = TABLE_SIZES[i];
+            
+            LineCountingStream out = new LineCountingStream();
+            long start = System.nanoTime();
+            exportService.export(ExportService.Dataset.STUDENTS, ExportService.Format.NDJSON, out);
+            long elapsed = System.nanoTime() - start;
+            
+            assertEquals(inserted, out.lines);
+            nanosPerRow[i] = (double) elapsed / inserted;
+            System.out.printf("%10d %12.1f %14.1f %12.1f%n", inserted, elapsed / 1e6, nanosPerRow[i], out.bytes / 1e6);
+        }
+        
+        // The first size also pays for warm-up, so compare against the cheapest
+        double cheapest = Double.MAX_VALUE;
+        for (double cost : nanosPerRow) {
+            cheapest = Math.min(cheapest, cost);
+        }
+        assertTrue(nanosPerRow[TABLE_SIZES.length - 1] < 3 * cheapest,
+                "Cost per row grew from " + cheapest + " ns to " + nanosPerRow[TABLE_SIZES.length - 1] + " ns");
+    }
+    
+    // Synthetic students numbered from..to, generated inside H2
+    private void insertStudents(int from, int to) {
+        jdbcTemplate.update("INSERT INTO students (student_id, first_name, last_name, email, date_of_birth, gender, " +
+                "major, year, enrollment_date, status, is_active, created_at) " +
+                "SELECT 'EXP' || LPAD(CAST(X AS VARCHAR), 7, '0'), 'Student', 'Number' || X, " +
+                "'export' || X || '@test.edu', DATE '2004-01-01', 'Other', 'Computer Science', 1 + MOD(X, 4), " +
+                "DATE '2023-09-01', 'ACTIVE', TRUE, CURRENT_TIMESTAMP FROM SYSTEM_RANGE(?, ?)", from, to);
+    }
+    
+    // Discards the export, counting what a client would have received
+    private static final class LineCountingStream extends OutputStream {
+        
+        private long bytes;
+        private long lines;
+        
+        @Override
+        public void write(int b) {
+            bytes++;
+            if (b == '\n') {
+                lines++;
+            }
+        }
+        
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+    }
+}
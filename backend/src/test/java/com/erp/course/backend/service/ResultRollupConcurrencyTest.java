@@ -0,0 +1,208 @@
+package com.erp.course.backend.service;
+
+import com.erp.course.backend.TestEntities;
+import com.erp.course.backend.dto.ResultAggregate;
+import com.erp.course.backend.entity.Course;
+import com.erp.course.backend.entity.Instructor;
+import com.erp.course.backend.repository.CourseRepository;
+import com.erp.course.backend.repository.InstructorRepository;
+import com.erp.course.backend.repository.StudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Result rollups while results are recorded, rolled back and unreleased on several threads and
+// the rollups are reloaded underneath them: once everything has settled, every rollup must equal
+// an aggregate over the table. Runs outside a test transaction so each change commits on its own
+// and its after-commit hook runs, as it does behind the endpoints.
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(ResultRollupService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ResultRollupConcurrencyTest {
+    
+    // Numbered from 9400 so the unique columns stay clear of other tests in the shared database
+    private static final int FIRST_STUDENT = 9400;
+    private static final int STUDENTS = 20;
+    private static final int WRITERS = 6;
+    private static final int CHANGES_PER_WRITER = 60;
+    private static final String[] TITLES = {"Quiz 1", "Quiz 2", "Midterm", "Final"};
+    
+    @Autowired
+    private ResultRollupService rollupService;
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    @Autowired
+    private InstructorRepository instructorRepository;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM results WHERE course_id IN (SELECT id FROM courses WHERE course_code = 'ROLL101')");
+        jdbcTemplate.update("DELETE FROM courses WHERE course_code = 'ROLL101'");
+        jdbcTemplate.update("DELETE FROM students WHERE student_id BETWEEN 'STU009400' AND 'STU009499'");
+        jdbcTemplate.update("DELETE FROM instructors WHERE employee_id = 'EMP09400'");
+    }
+    
+    @Test
+    void rollupsMatchTheTableAfterConcurrentChangesAndReloads() throws Exception {
+        Instructor instructor = instructorRepository.save(TestEntities.instructor(FIRST_STUDENT));
+        Course course = courseRepository.save(TestEntities.course("ROLL101", instructor, 50));
+        Long courseId = course.getId();
+        Long instructorId = instructor.getId();
+        List<Long> studentIds = new ArrayList<>();
+        for (int n = 1; n <= STUDENTS; n++) {
+            studentIds.add(studentRepository.save(TestEntities.student(FIRST_STUDENT + n)).getId());
+        }
+        rollupService.reload();
+        
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        ConcurrentLinkedQueue<Object[]> released = new ConcurrentLinkedQueue<>();
+        AtomicBoolean writing = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> writers = new ArrayList<>();
+        try {
+            for (int w = 0; w < WRITERS; w++) {
+                Random random = new Random(w);
+                writers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < CHANGES_PER_WRITER; i++) {
+                        if (i % 3 == 2) {
+                            unreleaseOne(transaction, courseId, released);
+                        } else {
+                            recordOne(transaction, courseId, instructorId, studentIds.get(random.nextInt(STUDENTS)),
+                                    TITLES[random.nextInt(TITLES.length)],
+                                    BigDecimal.valueOf(random.nextInt(10001), 2), i % 5 == 4, released);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            Future<?> reloader = executor.submit(() -> {
+                start.await();
+                while (writing.get()) {
+                    rollupService.reload();
+                }
+                return null;
+            });
+            start.countDown();
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+            writing.set(false);
+            reloader.get();
+        } finally {
+            executor.shutdownNow();
+        }
+        
+        assertMatches(rollupService.getCourseAggregate(courseId), "course_id = ?", courseId);
+        for (Long studentId : studentIds) {
+            assertMatches(rollupService.getStudentAggregate(studentId), "student_id = ?", studentId);
+            assertMatches(rollupService.getCourseStudentAggregate(courseId, studentId),
+                    "course_id = ? AND student_id = ?", courseId, studentId);
+        }
+        Map<String, ResultAggregate> assessments = rollupService.getAssessmentAggregates(courseId);
+        for (String title : TITLES) {
+            ResultAggregate aggregate = assessments.getOrDefault(title, new ResultAggregate(0L, null, null, null, null, null));
+            assertMatches(aggregate, "course_id = ? AND title = ?", courseId, title);
+        }
+    }
+    
+    // Inserts a released result and records it, as the batch endpoint does; rolled back when asked
+    private void recordOne(TransactionTemplate transaction, Long courseId, Long instructorId, Long studentId,
+                           String title, BigDecimal value, boolean rollBack, ConcurrentLinkedQueue<Object[]> released) {
+        try {
+            Long id = transaction.execute(status -> {
+                KeyHolder keys = new GeneratedKeyHolder();
+                jdbcTemplate.update(connection -> {
+                    PreparedStatement ps = connection.prepareStatement(
+                            "INSERT INTO results (result_value, result_type, title, is_released, is_active, " +
+                            "created_at, student_id, course_id, instructor_id) " +
+                            "VALUES (?, 'QUIZ', ?, TRUE, TRUE, CURRENT_TIMESTAMP, ?, ?, ?)",
+                            Statement.RETURN_GENERATED_KEYS);
+                    ps.setBigDecimal(1, value);
+                    ps.setString(2, title);
+                    ps.setLong(3, studentId);
+                    ps.setLong(4, courseId);
+                    ps.setLong(5, instructorId);
+                    return ps;
+                }, keys);
+                rollupService.recordAdded(courseId, studentId, title, value, true);
+                if (rollBack) {
+                    throw new IllegalStateException("rolled back on purpose");
+                }
+                return keys.getKey().longValue();
+            });
+            released.add(new Object[]{id, studentId, title, value});
+        } catch (IllegalStateException e) {
+            // Its rollup change must be abandoned
+        }
+    }
+    
+    // Unreleases a committed result and records it, as the bulk release endpoint does
+    private void unreleaseOne(TransactionTemplate transaction, Long courseId, ConcurrentLinkedQueue<Object[]> released) {
+        Object[] row = released.poll();
+        if (row == null) {
+            return;
+        }
+        transaction.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE results SET is_released = FALSE WHERE id = ?", row[0]);
+            List<Object[]> rows = new ArrayList<>();
+            rows.add(new Object[]{row[1], row[2], row[3]});
+            rollupService.recordBulkRelease(courseId, rows, false);
+        });
+    }
+    
+    private void assertMatches(ResultAggregate actual, String where, Object... args) {
+        Map<String, Object> expected = jdbcTemplate.queryForMap(
+                "SELECT COUNT(*) AS total, SUM(result_value) AS value_sum, MIN(result_value) AS lowest, " +
+                "MAX(result_value) AS highest FROM results WHERE is_released = TRUE AND is_active = TRUE AND " + where, args);
+        long total = ((Number) expected.get("total")).longValue();
+        assertEquals(total, actual.getTotalResults().longValue(), "Count for " + where);
+        if (total > 0) {
+            double average = ((Number) expected.get("value_sum")).doubleValue() / total;
+            assertEquals(average, actual.getAverageResult(), 1e-6, "Average for " + where);
+            assertEquals(((Number) expected.get("lowest")).doubleValue(), actual.getLowestResult(), 1e-6, "Lowest for " + where);
+            assertEquals(((Number) expected.get("highest")).doubleValue(), actual.getHighestResult(), 1e-6, "Highest for " + where);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.erp.course.backend.service;
+
+import com.erp.course.backend.TestEntities;
+import com.erp.course.backend.dto.CourseRequest;
+import com.erp.course.backend.entity.Course;
+import com.erp.course.backend.entity.Instructor;
+import com.erp.course.backend.repository.CourseRepository;
+import com.erp.course.backend.repository.InstructorRepository;
+import com.erp.course.backend.repository.StudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Seat claims racing capacity edits: single and batch enrollments run on several threads while
+// the admin raises the capacity, and the stored seat count must still match the roster. Runs
+// outside a test transaction so every call commits on its own, as it does behind the endpoints.
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({CourseService.class, EnrollmentService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SeatClaimConcurrencyTest {
+    
+    // Numbered from 9000 so the unique columns stay clear of other tests in the shared database
+    private static final int STUDENTS = 80;
+    private static final int FIRST_CAPACITY = 30;
+    private static final int LAST_CAPACITY = 60;
+    private static final int THREADS = 6;
+    
+    @Autowired
+    private CourseService courseService;
+    
+    @Autowired
+    private EnrollmentService enrollmentService;
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    @Autowired
+    private InstructorRepository instructorRepository;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @MockitoBean
+    private WaitlistService waitlistService;
+    
+    @MockitoBean
+    private CourseCatalogCache courseCatalogCache;
+    
+    @MockitoBean
+    private CourseSearchService courseSearchService;
+    
+    @MockitoBean
+    private GpaService gpaService;
+    
+    @MockitoBean
+    private EnrollmentIndexService enrollmentIndexService;
+    
+    @MockitoBean
+    private ScheduleConflictService scheduleConflictService;
+    
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM course_enrollments WHERE course_id IN " +
+                "(SELECT id FROM courses WHERE course_code = 'SEAT101')");
+        jdbcTemplate.update("DELETE FROM courses WHERE course_code = 'SEAT101'");
+        jdbcTemplate.update("DELETE FROM students WHERE student_id LIKE 'STU0090%'");
+        jdbcTemplate.update("DELETE FROM instructors WHERE employee_id = 'EMP09000'");
+    }
+    
+    @Test
+    void seatCountMatchesTheRosterWhenEnrollmentsRaceCapacityEdits() throws Exception {
+        Instructor instructor = instructorRepository.save(TestEntities.instructor(9000));
+        Course course = courseRepository.save(TestEntities.course("SEAT101", instructor, FIRST_CAPACITY));
+        Long courseId = course.getId();
+        List<Long> studentIds = new ArrayList<>();
+        for (int n = 1; n <= STUDENTS; n++) {
+            studentIds.add(studentRepository.save(TestEntities.student(9000 + n)).getId());
+        }
+        
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> tasks = new ArrayList<>();
+        try {
+            // Half the students one by one, the other half in batches of five
+            for (int i = 0; i < STUDENTS / 2; i++) {
+                Long studentId = studentIds.get(i);
+                tasks.add(executor.submit(() -> quietly(start, () -> enrollmentService.enroll(courseId, studentId))));
+            }
+            for (int i = STUDENTS / 2; i < STUDENTS; i += 5) {
+                List<Long> batch = studentIds.subList(i, i + 5);
+                tasks.add(executor.submit(() -> quietly(start, () -> enrollmentService.enrollBatch(courseId, batch))));
+            }
+            for (int capacity = FIRST_CAPACITY + 5; capacity <= LAST_CAPACITY; capacity += 5) {
+                CourseRequest request = request(course, instructor.getId(), capacity);
+                tasks.add(executor.submit(() -> quietly(start, () -> courseService.updateCourse(courseId, request))));
+            }
+            start.countDown();
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        
+        int stored = jdbcTemplate.queryForObject("SELECT current_enrollment FROM courses WHERE id = ?", Integer.class, courseId);
+        int enrolled = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM course_enrollments WHERE course_id = ?", Integer.class, courseId);
+        assertEquals(enrolled, stored, "Stored seat count drifted from the roster");
+        assertTrue(enrolled >= FIRST_CAPACITY, "Only " + enrolled + " students were enrolled");
+        assertTrue(enrolled <= LAST_CAPACITY, enrolled + " students in " + LAST_CAPACITY + " seats");
+    }
+    
+    // A full course or a lock timeout is an expected outcome of the race, not a test failure
+    private static void quietly(CountDownLatch start, Runnable work) {
+        try {
+            start.await();
+            work.run();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            // Counted through the roster afterwards
+        }
+    }
+    
+    private static CourseRequest request(Course course, Long instructorId, int maxCapacity) {
+        return new CourseRequest(course.getCourseCode(), course.getCourseName(), course.getDescription(),
+                course.getCredits(), course.getDepartment(), course.getSemester(), course.getStartDate(),
+                course.getEndDate(), course.getSchedule(), course.getLocation(), maxCapacity, instructorId);
+    }
+}
@@ -0,0 +1,176 @@
+package com.erp.course.backend.service;
+
+import com.erp.course.backend.TestEntities;
+import com.erp.course.backend.dto.WaitlistPosition;
+import com.erp.course.backend.entity.Course;
+import com.erp.course.backend.entity.Instructor;
+import com.erp.course.backend.repository.CourseRepository;
+import com.erp.course.backend.repository.InstructorRepository;
+import com.erp.course.backend.repository.StudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Waitlist ranks under concurrent joins, leaves and promotions: once everything has committed,
+// the in-memory rank index must agree with the table for every student still waiting, including
+// after the positions have been renumbered. Runs outside a test transaction so every call commits
+// on its own, as it does behind the endpoints.
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({WaitlistService.class, EnrollmentService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class WaitlistConcurrencyTest {
+    
+    // Numbered from 9100 so the unique columns stay clear of other tests in the shared database
+    private static final int FIRST_STUDENT = 9100;
+    private static final int JOINERS = 200;
+    private static final int LATE_JOINERS = 20;
+    private static final int LEAVERS = 170;
+    private static final int PROMOTIONS = 10;
+    private static final int THREADS = 6;
+    
+    @Autowired
+    private WaitlistService waitlistService;
+    
+    @Autowired
+    private EnrollmentService enrollmentService;
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    @Autowired
+    private InstructorRepository instructorRepository;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @MockitoBean
+    private EnrollmentIndexService enrollmentIndexService;
+    
+    @MockitoBean
+    private ScheduleConflictService scheduleConflictService;
+    
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM course_waitlist WHERE course_id IN " +
+                "(SELECT id FROM courses WHERE course_code = 'WAIT101')");
+        jdbcTemplate.update("DELETE FROM course_enrollments WHERE course_id IN " +
+                "(SELECT id FROM courses WHERE course_code = 'WAIT101')");
+        jdbcTemplate.update("DELETE FROM courses WHERE course_code = 'WAIT101'");
+        jdbcTemplate.update("DELETE FROM students WHERE student_id BETWEEN 'STU009100' AND 'STU009999'");
+        jdbcTemplate.update("DELETE FROM instructors WHERE employee_id = 'EMP09100'");
+    }
+    
+    @Test
+    void ranksMatchTheTableAfterConcurrentJoinsLeavesAndPromotions() throws Exception {
+        Instructor instructor = instructorRepository.save(TestEntities.instructor(FIRST_STUDENT));
+        Course course = courseRepository.save(TestEntities.course("WAIT101", instructor, 1));
+        Long courseId = course.getId();
+        List<Long> studentIds = new ArrayList<>();
+        for (int n = 0; n <= JOINERS + LATE_JOINERS; n++) {
+            studentIds.add(studentRepository.save(TestEntities.student(FIRST_STUDENT + n)).getId());
+        }
+        // The first student takes the only seat, so everyone else has to wait
+        enrollmentService.enroll(courseId, studentIds.get(0));
+        waitlistService.reload();
+        
+        List<Long> joiners = studentIds.subList(1, JOINERS + 1);
+        List<Runnable> joins = new ArrayList<>();
+        for (Long studentId : joiners) {
+            joins.add(() -> waitlistService.joinWaitlist(courseId, studentId));
+        }
+        runConcurrently(joins);
+        assertEquals(JOINERS, waitlistSize(courseId));
+        assertRanksMatchTable(courseId);
+        
+        // Most of the waitlist leaves while late joiners arrive and seats are handed on, which
+        // leaves the positions sparse enough to be renumbered
+        List<Runnable> tasks = new ArrayList<>();
+        for (Long studentId : joiners.subList(JOINERS - LEAVERS, JOINERS)) {
+            tasks.add(() -> waitlistService.leaveWaitlist(courseId, studentId));
+        }
+        for (Long studentId : studentIds.subList(JOINERS + 1, studentIds.size())) {
+            tasks.add(() -> waitlistService.joinWaitlist(courseId, studentId));
+        }
+        for (int i = 0; i < PROMOTIONS; i++) {
+            tasks.add(() -> {
+                Long holder = jdbcTemplate.queryForObject(
+                        "SELECT MIN(student_id) FROM course_enrollments WHERE course_id = ?", Long.class, courseId);
+                if (holder != null) {
+                    waitlistService.unenrollAndPromote(courseId, holder);
+                }
+            });
+        }
+        runConcurrently(tasks);
+        
+        long maxPosition = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(MAX(position), 0) FROM course_waitlist WHERE course_id = ?", Long.class, courseId);
+        assertTrue(maxPosition < JOINERS, "Positions were not renumbered, highest is " + maxPosition);
+        assertRanksMatchTable(courseId);
+    }
+    
+    // Every student still waiting gets their place in table order and the table's size
+    private void assertRanksMatchTable(Long courseId) {
+        List<Long> waiting = jdbcTemplate.queryForList(
+                "SELECT student_id FROM course_waitlist WHERE course_id = ? ORDER BY position", Long.class, courseId);
+        for (int i = 0; i < waiting.size(); i++) {
+            WaitlistPosition position = waitlistService.getPosition(courseId, waiting.get(i));
+            assertEquals(Long.valueOf(i + 1), position.getPosition(), "Rank of student " + waiting.get(i));
+            assertEquals(Long.valueOf(waiting.size()), position.getWaitlistSize());
+        }
+    }
+    
+    private int waitlistSize(Long courseId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM course_waitlist WHERE course_id = ?", Integer.class, courseId);
+    }
+    
+    // Starts every task at once; a task that loses a race (already left, nobody enrolled) is
+    // an expected outcome, and the table is what the ranks are checked against
+    private static void runConcurrently(List<Runnable> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (Runnable task : tasks) {
+                futures.add(executor.submit(() -> {
+                    try {
+                        start.await();
+                        task.run();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } catch (RuntimeException e) {
+                        // Checked through the table afterwards
+                    }
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
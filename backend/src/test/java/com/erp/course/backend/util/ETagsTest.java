@@ -0,0 +1,35 @@
+package com.erp.course.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ETagsTest {
+    
+    @Test
+    void weakTagsDependOnlyOnTheVersion() {
+        String etag = ETags.weak(3L, "2025-01-01T10:00");
+        
+        assertTrue(etag.matches("W/\"[0-9a-f]{24}\""), etag);
+        assertEquals(etag, ETags.weak(3L, "2025-01-01T10:00"));
+        assertNotEquals(etag, ETags.weak(4L, "2025-01-01T10:00"));
+        assertNotEquals(etag, ETags.weak(3L, "2025-01-01T10:01"));
+    }
+    
+    @Test
+    void ifNoneMatchUsesWeakComparison() {
+        String etag = ETags.weak(3L);
+        String opaque = etag.substring(2);
+        
+        assertTrue(ETags.matches(etag, etag));
+        assertTrue(ETags.matches(opaque, etag));
+        assertTrue(ETags.matches("\"other\", " + etag, etag));
+        assertTrue(ETags.matches("*", etag));
+        assertFalse(ETags.matches(ETags.weak(4L), etag));
+        assertFalse(ETags.matches(null, etag));
+        assertFalse(ETags.matches(etag, null));
+    }
+}
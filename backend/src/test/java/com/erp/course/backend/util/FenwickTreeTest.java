@@ -0,0 +1,78 @@
+package com.erp.course.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FenwickTreeTest {
+    
+    @Test
+    void prefixSumsCountEveryKeyUpToTheIndex() {
+        FenwickTree tree = sample();
+        
+        assertEquals(0, tree.prefixSum(0));
+        assertEquals(3, tree.prefixSum(1));
+        assertEquals(3, tree.prefixSum(3));
+        assertEquals(6, tree.prefixSum(4));
+        assertEquals(6, tree.prefixSum(6));
+        assertEquals(11, tree.prefixSum(7));
+        // Past the capacity the sum is the total
+        assertEquals(11, tree.prefixSum(1000));
+        assertEquals(11, tree.total());
+    }
+    
+    @Test
+    void findByOrderReturnsTheSmallestKeyReachingK() {
+        FenwickTree tree = sample();
+        
+        assertEquals(1, tree.findByOrder(1));
+        assertEquals(1, tree.findByOrder(3));
+        assertEquals(4, tree.findByOrder(4));
+        assertEquals(4, tree.findByOrder(6));
+        assertEquals(7, tree.findByOrder(7));
+        assertEquals(7, tree.findByOrder(11));
+        assertEquals(-1, tree.findByOrder(12));
+        assertEquals(-1, tree.findByOrder(0));
+    }
+    
+    @Test
+    void growsWhenALargerKeyIsAdded() {
+        FenwickTree tree = new FenwickTree(4);
+        tree.add(2, 1);
+        tree.add(3, 2);
+        tree.add(100, 4);
+        
+        assertTrue(tree.capacity() >= 100);
+        assertEquals(1, tree.prefixSum(2));
+        assertEquals(3, tree.prefixSum(99));
+        assertEquals(7, tree.prefixSum(100));
+        assertEquals(100, tree.findByOrder(4));
+    }
+    
+    @Test
+    void negativeDeltasRemoveCounts() {
+        FenwickTree tree = new FenwickTree(8);
+        tree.add(5, 1);
+        tree.add(5, -1);
+        
+        assertEquals(0, tree.total());
+        assertEquals(-1, tree.findByOrder(1));
+    }
+    
+    @Test
+    void rejectsKeysBelowOne() {
+        assertThrows(IllegalArgumentException.class, () -> new FenwickTree(8).add(0, 1));
+    }
+    
+    // 3 at key 1, 3 at key 4, 5 at key 7
+    private static FenwickTree sample() {
+        FenwickTree tree = new FenwickTree(8);
+        tree.add(1, 3);
+        tree.add(4, 2);
+        tree.add(4, 1);
+        tree.add(7, 5);
+        return tree;
+    }
+}
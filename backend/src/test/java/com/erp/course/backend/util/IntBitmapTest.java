@@ -0,0 +1,92 @@
+package com.erp.course.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntBitmapTest {
+    
+    @Test
+    void addAndRemoveReportWhetherTheSetChanged() {
+        IntBitmap bitmap = new IntBitmap();
+        
+        assertTrue(bitmap.add(5));
+        assertFalse(bitmap.add(5));
+        assertTrue(bitmap.contains(5));
+        assertFalse(bitmap.contains(6));
+        assertTrue(bitmap.remove(5));
+        assertFalse(bitmap.remove(5));
+        assertTrue(bitmap.isEmpty());
+    }
+    
+    @Test
+    void valuesAcrossChunksComeBackInUnsignedOrder() {
+        IntBitmap bitmap = new IntBitmap();
+        bitmap.add(70000);
+        bitmap.add(-1);
+        bitmap.add(3);
+        bitmap.add(65536);
+        
+        assertEquals(4, bitmap.cardinality());
+        assertArrayEquals(new int[] {3, 65536, 70000, -1}, bitmap.toArray());
+    }
+    
+    @Test
+    void denseChunksSwitchToABitmapAndBack() {
+        IntBitmap bitmap = new IntBitmap();
+        for (int i = 0; i < 10000; i++) {
+            bitmap.add(i);
+        }
+        assertEquals(10000, bitmap.cardinality());
+        assertTrue(bitmap.contains(9999));
+        assertArrayEquals(IntStream.range(0, 10000).toArray(), bitmap.toArray());
+        
+        for (int i = 4000; i < 10000; i++) {
+            bitmap.remove(i);
+        }
+        assertEquals(4000, bitmap.cardinality());
+        assertFalse(bitmap.contains(4000));
+        assertArrayEquals(IntStream.range(0, 4000).toArray(), bitmap.toArray());
+    }
+    
+    @Test
+    void andMatchesAndCardinalityForEveryContainerPair() {
+        IntBitmap evens = of(IntStream.range(0, 10000).map(i -> i * 2).toArray());
+        IntBitmap threes = of(IntStream.range(0, 10000).map(i -> i * 3).toArray());
+        IntBitmap sparse = of(6, 7, 12, 70000);
+        
+        int[] sixes = IntStream.range(0, 3334).map(i -> i * 6).toArray();
+        assertArrayEquals(sixes, evens.and(threes).toArray());
+        assertEquals(sixes.length, evens.andCardinality(threes));
+        
+        assertArrayEquals(new int[] {6, 12}, evens.and(sparse).toArray());
+        assertArrayEquals(new int[] {6, 12}, sparse.and(evens).toArray());
+        assertEquals(2, sparse.andCardinality(evens));
+        assertEquals(2, sparse.andCardinality(of(12, 70000)));
+        assertTrue(sparse.and(of(1, 2, 3)).isEmpty());
+    }
+    
+    @Test
+    void copiesAreIndependent() {
+        IntBitmap original = of(1, 2, 3);
+        IntBitmap copy = original.copy();
+        copy.add(4);
+        copy.remove(1);
+        
+        assertArrayEquals(new int[] {1, 2, 3}, original.toArray());
+        assertArrayEquals(new int[] {2, 3, 4}, copy.toArray());
+    }
+    
+    private static IntBitmap of(int... values) {
+        IntBitmap bitmap = new IntBitmap();
+        for (int value : values) {
+            bitmap.add(value);
+        }
+        return bitmap;
+    }
+}
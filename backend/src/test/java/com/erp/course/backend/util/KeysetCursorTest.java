@@ -0,0 +1,76 @@
+package com.erp.course.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeysetCursorTest {
+    
+    @Test
+    void decodeReturnsWhatWasEncoded() {
+        assertRoundTrip("Smith, Ann", 42L);
+        assertRoundTrip("Zoë Ünal", 7L);
+        // Only the first colon separates the id from the key
+        assertRoundTrip("CS:101", 3L);
+        assertRoundTrip("", Long.MAX_VALUE);
+    }
+    
+    @Test
+    void aNullKeyEncodesAsEmpty() {
+        KeysetCursor cursor = KeysetCursor.decode(KeysetCursor.encode(null, 9L));
+        
+        assertEquals("", cursor.getKey());
+        assertEquals(Long.valueOf(9), cursor.getId());
+    }
+    
+    @Test
+    void tokensAreUrlSafe() {
+        String token = KeysetCursor.encode("??>>~~ÿÿ", 1L);
+        
+        assertFalse(token.contains("+") || token.contains("/") || token.contains("="), token);
+    }
+    
+    @Test
+    void aMissingCursorStartsAtTheBeginning() {
+        assertSame(KeysetCursor.START, KeysetCursor.decode(null));
+        assertSame(KeysetCursor.START, KeysetCursor.decode("  "));
+    }
+    
+    @Test
+    void tamperedCursorsAreRejected() {
+        assertInvalid("not a cursor!");
+        assertInvalid(token("abc:Smith"));
+        assertInvalid(token(":Smith"));
+        assertInvalid(token("Smith"));
+        assertInvalid(KeysetCursor.encode("Smith", 42L).substring(1));
+    }
+    
+    @Test
+    void limitsAreClamped() {
+        assertEquals(KeysetCursor.DEFAULT_LIMIT, KeysetCursor.clampLimit(null));
+        assertEquals(1, KeysetCursor.clampLimit(0));
+        assertEquals(20, KeysetCursor.clampLimit(20));
+        assertEquals(KeysetCursor.MAX_LIMIT, KeysetCursor.clampLimit(10000));
+    }
+    
+    private static void assertRoundTrip(String key, Long id) {
+        KeysetCursor cursor = KeysetCursor.decode(KeysetCursor.encode(key, id));
+        assertEquals(key, cursor.getKey());
+        assertEquals(id, cursor.getId());
+    }
+    
+    private static void assertInvalid(String cursor) {
+        RuntimeException e = assertThrows(RuntimeException.class, () -> KeysetCursor.decode(cursor));
+        assertEquals("Invalid cursor", e.getMessage());
+    }
+    
+    private static String token(String text) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
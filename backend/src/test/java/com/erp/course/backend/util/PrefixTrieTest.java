@@ -0,0 +1,78 @@
+package com.erp.course.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrefixTrieTest {
+    
+    @Test
+    void completionsAreRankedByWeightThenInsertionOrder() {
+        PrefixTrie<String> trie = PrefixTrie.<String>builder()
+                .add("Alice", 5, "Alice")
+                .add("Alan", 9, "Alan")
+                .add("Albert", 5, "Albert")
+                .add("Bob", 7, "Bob")
+                .build();
+        
+        assertEquals(List.of("Alan", "Alice", "Albert"), trie.complete("al", 10));
+        assertEquals(List.of("Alan", "Alice"), trie.complete("Al", 2));
+        assertEquals(List.of("Alice"), trie.complete("alic", 10));
+        assertEquals(List.of("Bob"), trie.complete("b", 10));
+    }
+    
+    @Test
+    void aValueWithSeveralKeysIsReturnedOnce() {
+        PrefixTrie<String> trie = PrefixTrie.<String>builder()
+                .add("CS101", 1, "CS101", "Computer Science 101")
+                .add("CHEM201", 2, "CHEM201", "Chemistry")
+                .build();
+        
+        assertEquals(List.of("CHEM201", "CS101"), trie.complete("c", 10));
+        assertEquals(List.of("CS101"), trie.complete("computer sci", 10));
+        assertEquals(4, trie.keyCount());
+        assertEquals(2, trie.size());
+    }
+    
+    @Test
+    void keysAreFoldedLikeTheTextIndex() {
+        PrefixTrie<String> trie = PrefixTrie.<String>builder()
+                .add("Zoë Ünal", 1, "Zoë Ünal")
+                .add("Zoltán Nagy", 1, "Zoltán  Nagy")
+                .build();
+        
+        assertEquals(List.of("Zoë Ünal"), trie.complete("ZOE", 10));
+        assertEquals(List.of("Zoë Ünal"), trie.complete("zoë  ü", 10));
+        assertEquals(List.of("Zoltán Nagy"), trie.complete("zoltan n", 10));
+        assertEquals(List.of("Zoë Ünal", "Zoltán Nagy"), trie.complete("zo", 10));
+        // Keys match from their start only
+        assertTrue(trie.complete("unal", 10).isEmpty());
+    }
+    
+    @Test
+    void missingPrefixesReturnNothing() {
+        PrefixTrie<String> trie = PrefixTrie.<String>builder()
+                .add("Physics", 1, "Physics")
+                .add("Philosophy", 1, "Philosophy")
+                .build();
+        
+        assertTrue(trie.complete("phx", 10).isEmpty());
+        assertTrue(trie.complete("physicsx", 10).isEmpty());
+        assertTrue(trie.complete("", 10).isEmpty());
+        assertTrue(trie.complete("ph", 0).isEmpty());
+        assertTrue(PrefixTrie.<String>builder().build().complete("ph", 10).isEmpty());
+    }
+    
+    @Test
+    void atMostMaxKValuesAreKeptPerNode() {
+        PrefixTrie.Builder<Integer> builder = PrefixTrie.builder();
+        for (int i = 1; i <= 15; i++) {
+            builder.add(i, i, "x" + i);
+        }
+        
+        assertEquals(List.of(15, 14, 13, 12, 11, 10, 9, 8, 7, 6), builder.build().complete("x", 20));
+    }
+}
@@ -0,0 +1,81 @@
+package com.erp.course.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Percentages with two decimals, as the result statistics use
+class RunningStatisticsTest {
+    
+    private static final double DELTA = 1e-9;
+    
+    @Test
+    void summarizesInOnePass() {
+        RunningStatistics stats = of(2, 4, 4, 4, 5, 5, 7, 9);
+        
+        assertEquals(8, stats.count());
+        assertEquals(5.0, stats.mean(), DELTA);
+        assertEquals(4.0, stats.variance(), DELTA);
+        assertEquals(2.0, stats.standardDeviation(), DELTA);
+        assertEquals(2.0, stats.min(), DELTA);
+        assertEquals(9.0, stats.max(), DELTA);
+    }
+    
+    @Test
+    void percentilesInterpolateBetweenClosestRanks() {
+        RunningStatistics stats = of(5, 1, 4, 2, 3);
+        
+        assertEquals(1.0, stats.percentile(0), DELTA);
+        assertEquals(1.4, stats.percentile(10), DELTA);
+        assertEquals(2.0, stats.percentile(25), DELTA);
+        assertEquals(3.0, stats.median(), DELTA);
+        assertEquals(5.0, stats.percentile(100), DELTA);
+    }
+    
+    @Test
+    void percentilesAreExactAtTwoDecimals() {
+        RunningStatistics stats = of(85.25, 90.5);
+        
+        assertEquals(87.875, stats.median(), DELTA);
+        assertEquals(85.25, stats.percentile(0), DELTA);
+    }
+    
+    @Test
+    void outOfRangeValuesLandInTheEdgeBins() {
+        RunningStatistics stats = of(-5, 50, 150);
+        
+        assertEquals(-5.0, stats.min(), DELTA);
+        assertEquals(150.0, stats.max(), DELTA);
+        assertEquals(0.0, stats.percentile(0), DELTA);
+        assertEquals(100.0, stats.percentile(100), DELTA);
+    }
+    
+    @Test
+    void emptyStatisticsAreZero() {
+        RunningStatistics stats = new RunningStatistics(100, 100);
+        
+        assertEquals(0, stats.count());
+        assertEquals(0.0, stats.mean(), DELTA);
+        assertEquals(0.0, stats.variance(), DELTA);
+        assertEquals(0.0, stats.median(), DELTA);
+    }
+    
+    @Test
+    void rejectsPercentilesOutsideZeroToHundred() {
+        RunningStatistics stats = of(1);
+        
+        assertThrows(IllegalArgumentException.class, () -> stats.percentile(-1));
+        assertThrows(IllegalArgumentException.class, () -> stats.percentile(100.5));
+        assertThrows(IllegalArgumentException.class, () -> stats.percentile(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> new RunningStatistics(0, 100));
+    }
+    
+    private static RunningStatistics of(double... values) {
+        RunningStatistics stats = new RunningStatistics(100, 100);
+        for (double value : values) {
+            stats.add(value);
+        }
+        return stats;
+    }
+}
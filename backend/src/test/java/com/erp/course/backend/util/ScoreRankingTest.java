@@ -0,0 +1,84 @@
+package com.erp.course.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Grades out of 100 in tenths of a point, as the course rankings use
+class ScoreRankingTest {
+    
+    @Test
+    void scoresInTheSameBucketTie() {
+        ScoreRanking ranking = new ScoreRanking(100, 10);
+        ranking.put(1L, new BigDecimal("90.00"));
+        ranking.put(2L, new BigDecimal("90.04"));
+        ranking.put(3L, new BigDecimal("80"));
+        ranking.put(4L, new BigDecimal("95"));
+        
+        assertEquals(1, ranking.countAbove(1L));
+        assertEquals(1, ranking.countAbove(2L));
+        assertEquals(1, ranking.countBelow(1L));
+        assertEquals(1, ranking.countBelow(2L));
+        assertEquals(0, ranking.countAbove(4L));
+        assertEquals(0, ranking.countBelow(3L));
+    }
+    
+    @Test
+    void putReplacesAndNullRemoves() {
+        ScoreRanking ranking = new ScoreRanking(100, 10);
+        ranking.put(1L, new BigDecimal("70"));
+        ranking.put(2L, new BigDecimal("80"));
+        
+        ranking.put(1L, new BigDecimal("99"));
+        assertEquals(2, ranking.size());
+        assertEquals(0, ranking.countAbove(1L));
+        assertEquals(1, ranking.countAbove(2L));
+        
+        ranking.put(1L, null);
+        assertFalse(ranking.contains(1L));
+        assertEquals(-1, ranking.countAbove(1L));
+        assertEquals(-1, ranking.countBelow(1L));
+        assertEquals(0, ranking.countAbove(2L));
+    }
+    
+    @Test
+    void outOfRangeScoresCountInTheEdgeBuckets() {
+        ScoreRanking ranking = new ScoreRanking(100, 10);
+        ranking.put(1L, new BigDecimal("-5"));
+        ranking.put(2L, BigDecimal.ZERO);
+        ranking.put(3L, new BigDecimal("150"));
+        ranking.put(4L, new BigDecimal("100"));
+        
+        assertEquals(2, ranking.countAbove(1L));
+        assertEquals(0, ranking.countBelow(2L));
+        assertEquals(0, ranking.countAbove(3L));
+        assertEquals(2, ranking.countBelow(4L));
+        assertEquals(new BigDecimal("100.0"), ranking.scoreAtRank(1));
+        assertEquals(new BigDecimal("0.0"), ranking.scoreAtRank(4));
+    }
+    
+    @Test
+    void scoreAtRankReturnsTheBucketFloor() {
+        ScoreRanking ranking = new ScoreRanking(100, 10);
+        ranking.put(1L, new BigDecimal("70"));
+        ranking.put(2L, new BigDecimal("85.5"));
+        ranking.put(3L, new BigDecimal("92.37"));
+        
+        assertEquals(new BigDecimal("92.3"), ranking.scoreAtRank(1));
+        assertEquals(new BigDecimal("85.5"), ranking.scoreAtRank(2));
+        assertEquals(new BigDecimal("70.0"), ranking.scoreAtRank(3));
+        assertNull(ranking.scoreAtRank(0));
+        assertNull(ranking.scoreAtRank(4));
+    }
+    
+    @Test
+    void rejectsAnEmptyRange() {
+        assertThrows(IllegalArgumentException.class, () -> new ScoreRanking(0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new ScoreRanking(100, 0));
+    }
+}
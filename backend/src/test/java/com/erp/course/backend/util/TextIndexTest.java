@@ -0,0 +1,97 @@
+package com.erp.course.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Two fields, a title weighted above a description, as in the course search
+class TextIndexTest {
+    
+    @Test
+    void exactWordsRankAbovePrefixAndInfixMatches() {
+        TextIndex index = new TextIndex(3.0, 1.0);
+        index.put(1, "Databases", "");
+        index.put(2, "Data Mining", "");
+        index.put(3, "Metadata Management", "");
+        
+        assertEquals(List.of(2L, 1L, 3L), index.search("data", 10));
+    }
+    
+    @Test
+    void heavierFieldsRankHigher() {
+        TextIndex index = new TextIndex(3.0, 1.0);
+        index.put(1, "Operating Systems", "Covers scheduling and memory");
+        index.put(2, "Memory Systems", "Caches and storage");
+        
+        assertEquals(List.of(2L, 1L), index.search("memory", 10));
+    }
+    
+    @Test
+    void everyQueryWordMustMatch() {
+        TextIndex index = new TextIndex(3.0, 1.0);
+        index.put(1, "Data Structures", "");
+        index.put(2, "Database Systems", "");
+        
+        assertEquals(List.of(2L), index.search("data systems", 10));
+        assertEquals(List.of(), index.search("data chemistry", 10));
+    }
+    
+    @Test
+    void misspelledWordsFallBackToNearbyTerms() {
+        TextIndex index = new TextIndex(3.0, 1.0);
+        index.put(1, "Algorithms", "");
+        index.put(2, "Linear Algebra", "");
+        
+        assertEquals(List.of(1L), index.search("algoritm", 10));
+        assertEquals(List.of(2L), index.search("lineer", 10));
+    }
+    
+    @Test
+    void accentsAndCaseAreFolded() {
+        TextIndex index = new TextIndex(3.0, 1.0);
+        index.put(1, "Économie Générale", "Introducción a la economía");
+        index.put(2, "Microeconomics", "");
+        
+        assertEquals(List.of(1L), index.search("ÉCONOMIE generale", 10));
+        assertEquals(List.of(1L), index.search("introduccion", 10));
+        assertEquals(Arrays.asList("zoe", "unal", "smith"), TextIndex.tokenize("Zoë Ünal-Smith"));
+    }
+    
+    @Test
+    void shortFieldsAreAlsoSearchableWrittenTogether() {
+        TextIndex index = new TextIndex(3.0, 1.0);
+        index.put(1, "CS-101", "");
+        
+        assertEquals(List.of(1L), index.search("cs101", 10));
+        assertEquals(List.of(1L), index.search("CS 101", 10));
+    }
+    
+    @Test
+    void tiesAreOrderedByIdAndLimited() {
+        TextIndex index = new TextIndex(1.0);
+        for (long id = 10; id > 0; id--) {
+            index.put(id, "Physics");
+        }
+        
+        assertEquals(List.of(1L, 2L, 3L), index.search("physics", 3));
+        assertEquals(List.of(), index.search("physics", 0));
+    }
+    
+    @Test
+    void removedAndReplacedDocumentsLeaveNoStalePostings() {
+        TextIndex index = new TextIndex(1.0);
+        index.put(1, "Chemistry");
+        index.put(2, "Organic Chemistry");
+        
+        index.remove(1);
+        index.put(2, "Biology");
+        
+        assertEquals(1, index.size());
+        assertTrue(index.search("chemistry", 10).isEmpty());
+        assertEquals(List.of(2L), index.search("biology", 10));
+    }
+}
@@ -0,0 +1,76 @@
+package com.erp.course.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WeeklyScheduleTest {
+    
+    @Test
+    void backToBackMeetingsDoNotOverlap() {
+        assertFalse(overlap("MWF 10:00-11:00", "MWF 11:00-12:00"));
+        assertTrue(overlap("MWF 10:00-11:00", "MWF 10:55-12:00"));
+    }
+    
+    @Test
+    void meetingsAreWidenedToWholeSlots() {
+        // 10:52 rounds up to 10:55, which is where the next meeting starts
+        assertFalse(overlap("M 10:00-10:52", "M 10:55-11:30"));
+        // 10:57 rounds up to 11:00 and takes the 10:55 slot
+        assertTrue(overlap("M 10:00-10:57", "M 10:55-11:30"));
+    }
+    
+    @Test
+    void sameTimeOnOtherDaysDoesNotOverlap() {
+        assertFalse(overlap("MWF 10:00-11:00", "TTh 10:00-11:00"));
+        assertTrue(overlap("TTh 2:00 PM-3:30 PM", "R 15:00-16:00"));
+        assertFalse(overlap("TTh 2:00 PM-3:30 PM", "R 15:30-16:00"));
+    }
+    
+    @Test
+    void sundayNightDoesNotRunIntoMondayMorning() {
+        assertFalse(overlap("Su 23:00-24:00", "M 00:00-01:00"));
+        assertTrue(overlap("Su 23:00-24:00", "Sunday 23:55-24:00"));
+    }
+    
+    @Test
+    void everySegmentOfAScheduleCounts() {
+        String schedule = "Mon/Wed 09:00-10:30; Fri 13:00-14:00";
+        
+        assertTrue(overlap(schedule, "F 13:30-14:00"));
+        assertTrue(overlap(schedule, "W 10:00-10:05"));
+        assertFalse(overlap(schedule, "W 10:30-11:00"));
+        assertFalse(overlap(schedule, "T 09:00-10:30"));
+    }
+    
+    @Test
+    void aStartWithoutMeridiemBeforeAPmEndIsInTheMorning() {
+        assertTrue(overlap("M 11-1pm", "M 12:00-12:30"));
+        assertFalse(overlap("M 11-1pm", "M 13:00-14:00"));
+    }
+    
+    @Test
+    void unreadableSchedulesNeverOverlap() {
+        assertNull(WeeklySchedule.parse("TBA"));
+        assertNull(WeeklySchedule.parse("MWF 11:00-10:00"));
+        assertNull(WeeklySchedule.parse(""));
+        assertFalse(WeeklySchedule.overlaps(null, WeeklySchedule.parse("MWF 10:00-11:00")));
+    }
+    
+    @Test
+    void storedMasksRoundTrip() {
+        long[] mask = WeeklySchedule.parse("TTh 2:00 PM-3:30 PM");
+        
+        assertArrayEquals(mask, WeeklySchedule.fromBytes(WeeklySchedule.toBytes(mask)));
+        assertArrayEquals(mask, WeeklySchedule.resolve(WeeklySchedule.encode("TTh 2:00 PM-3:30 PM"), null));
+        assertArrayEquals(mask, WeeklySchedule.resolve(null, "TTh 2:00 PM-3:30 PM"));
+        assertNull(WeeklySchedule.fromBytes(new byte[3]));
+    }
+    
+    private static boolean overlap(String a, String b) {
+        return WeeklySchedule.overlaps(WeeklySchedule.parse(a), WeeklySchedule.parse(b));
+    }
+}